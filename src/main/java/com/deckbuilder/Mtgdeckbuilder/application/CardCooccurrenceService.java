@@ -0,0 +1,36 @@
+package com.deckbuilder.mtgdeckbuilder.application;
+
+import com.deckbuilder.mtgdeckbuilder.infrastructure.exception.CardNotFoundException;
+import com.deckbuilder.mtgdeckbuilder.model.CardCompanion;
+
+import java.util.List;
+
+/**
+ * Service counting which cards are played together across the main decks of all decks.
+ */
+public interface CardCooccurrenceService {
+
+    /**
+     * Cards sharing the most main decks with a card.
+     *
+     * @param cardId the card ID
+     * @param limit maximum number of cards to return, at most 50
+     * @return companions, most shared decks first; none until the matrix is loaded
+     * @throws CardNotFoundException if the card does not exist
+     */
+    List<CardCompanion> findCompanions(Long cardId, int limit);
+
+    /**
+     * Count the whole matrix again, e.g. after decks were written outside the application.
+     *
+     * @return the number of cards with a row
+     */
+    int rebuildIndex();
+
+    /**
+     * Load the matrix from its persisted rows, or count it when nothing was persisted yet.
+     *
+     * @return the number of cards with a row
+     */
+    int loadIndex();
+}
@@ -0,0 +1,21 @@
+package com.deckbuilder.mtgdeckbuilder.application;
+
+import com.deckbuilder.mtgdeckbuilder.infrastructure.exception.CardNotFoundException;
+import com.deckbuilder.mtgdeckbuilder.model.CardPopularity;
+
+import java.util.List;
+
+/**
+ * Service reading how widely cards are played, from the aggregated per-format deck counts.
+ */
+public interface CardPopularityService {
+
+    /**
+     * Share of each format's decks whose main deck plays a card.
+     *
+     * @param cardId the card ID
+     * @return one entry per format playing the card, highest inclusion rate first
+     * @throws CardNotFoundException if the card does not exist
+     */
+    List<CardPopularity> findInclusionRates(Long cardId);
+}
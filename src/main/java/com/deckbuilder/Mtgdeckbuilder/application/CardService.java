@@ -3,9 +3,12 @@ package com.deckbuilder.mtgdeckbuilder.application;
 import com.deckbuilder.mtgdeckbuilder.model.Card;
 import com.deckbuilder.mtgdeckbuilder.model.CardSearchCriteria;
 import com.deckbuilder.mtgdeckbuilder.model.CardSearchResult;
+import com.deckbuilder.mtgdeckbuilder.model.CardSummary;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface CardService {
 	// Basic CRUD operations
@@ -18,6 +21,8 @@ public interface CardService {
 	// Search and query operations
 	List<Card> searchCards(String query, int pageSize, int pageNumber);
 	List<Card> getCardsByFormat(Long formatId);
+	void streamByFormat(Long formatId, Consumer<Card> consumer); // Cards legal in the format, read from a cursor
+	List<CardSummary> findSummaries(Collection<Long> ids); // One IN query, cards not found are left out
 
 	// Variant-specific operations
 	List<Card> findByCollectorNumber(String collectorNumber);
@@ -0,0 +1,46 @@
+package com.deckbuilder.mtgdeckbuilder.application;
+
+import com.deckbuilder.mtgdeckbuilder.application.export.DeckExportFormat;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.DeckRepository.DeckNameView;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.exception.DeckNotFoundException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Service streaming decks out as decklist files.
+ * <p>
+ * Decks are looked up before the response starts, so unknown decks still produce a 404; the export itself then
+ * streams card rows from a database cursor straight into the response.
+ */
+public interface DeckExportService {
+
+	/**
+	 * Look up the decks to export, ordered by id
+	 *
+	 * @throws DeckNotFoundException if any of the decks does not exist
+	 */
+	List<DeckNameView> findDecks(Collection<Long> deckIds);
+
+	/**
+	 * Look up every deck registered for a tournament, ordered by id
+	 */
+	List<DeckNameView> findTournamentDecks(String tournament);
+
+	/**
+	 * Write one deck in the given format
+	 */
+	void exportDeck(DeckNameView deck, DeckExportFormat format, OutputStream out) throws IOException;
+
+	/**
+	 * Write several decks as a zip archive with one file per deck, holding only one chunk of card rows in memory
+	 */
+	void exportDecks(List<DeckNameView> decks, DeckExportFormat format, OutputStream out) throws IOException;
+
+	/**
+	 * File name of a deck in the given format, e.g. "42-mono-red-burn.dek"
+	 */
+	String fileName(DeckNameView deck, DeckExportFormat format);
+}
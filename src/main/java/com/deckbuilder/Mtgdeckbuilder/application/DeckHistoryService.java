@@ -0,0 +1,30 @@
+package com.deckbuilder.mtgdeckbuilder.application;
+
+import com.deckbuilder.mtgdeckbuilder.infrastructure.exception.DeckNotFoundException;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.exception.DeckRevisionNotFoundException;
+import com.deckbuilder.mtgdeckbuilder.model.DeckDiff;
+import com.deckbuilder.mtgdeckbuilder.model.DeckRevision;
+
+/**
+ * Service reading past revisions of a deck's contents.
+ */
+public interface DeckHistoryService {
+
+    /**
+     * Contents of a deck at a revision, rebuilt from the nearest snapshot and the deltas after it.
+     *
+     * @param deckId the deck ID
+     * @param revision the revision, from 1 (the first recorded card mutation) to the deck's current revision
+     * @throws DeckNotFoundException if the deck does not exist
+     * @throws DeckRevisionNotFoundException if the revision was never recorded
+     */
+    DeckRevision getRevision(Long deckId, long revision);
+
+    /**
+     * Cards whose quantity differs between two revisions of a deck.
+     *
+     * @throws DeckNotFoundException if the deck does not exist
+     * @throws DeckRevisionNotFoundException if either revision was never recorded
+     */
+    DeckDiff diff(Long deckId, long fromRevision, long toRevision);
+}
@@ -0,0 +1,24 @@
+package com.deckbuilder.mtgdeckbuilder.application;
+
+import com.deckbuilder.mtgdeckbuilder.infrastructure.exception.DeckNotFoundException;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.exception.InvalidDeckCompositionException;
+import com.deckbuilder.mtgdeckbuilder.model.DeckDelta;
+
+/**
+ * Service importing text decklists into decks.
+ */
+public interface DeckImportService {
+
+    /**
+     * Parses a decklist, resolves every card name in memory and applies the result as one validated batch.
+     * Nothing is imported if any line cannot be parsed or resolved.
+     *
+     * @param deckId the deck ID
+     * @param decklist one card per line, e.g. "4 Lightning Bolt" or "1 Fire // Ice (MH2) 290"
+     * @param replace whether the list replaces the current contents instead of being added to them
+     * @return the rows that changed, the resulting section totals and the new deck version
+     * @throws DeckNotFoundException if the deck does not exist
+     * @throws InvalidDeckCompositionException if a line is invalid or the result violates deck rules
+     */
+    DeckDelta importDecklist(Long deckId, String decklist, boolean replace);
+}
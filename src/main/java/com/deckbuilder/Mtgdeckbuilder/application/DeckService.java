@@ -1,20 +1,32 @@
 package com.deckbuilder.mtgdeckbuilder.application;
 
 import com.deckbuilder.mtgdeckbuilder.model.Deck;
+import com.deckbuilder.mtgdeckbuilder.model.DeckCardOperation;
+import com.deckbuilder.mtgdeckbuilder.model.DeckDelta;
+import com.deckbuilder.mtgdeckbuilder.model.DeckSummary;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface DeckService {
 	List<Deck> getAll(int pageSize, int pageNumber);
 	Optional<Deck> findById(Long id);
+	Optional<Long> findVersion(Long id);
 	List<Deck> findByUserId(Long userId, int pageSize, int pageNumber);
-	List<Deck> findByFormat(Long formatId);
+	// Format listings carry no cards: keyset-paged after a deck id, or streamed from a cursor
+	List<DeckSummary> findByFormat(Long formatId, Long afterId, int limit);
+	void streamByFormat(Long formatId, Consumer<DeckSummary> consumer);
 	Deck create(Deck deck);
 	Deck update(Long id, Deck deck);
 	boolean deleteById(Long id);
 
+	// Forking: non-null name, userId, formatId and isPrivate of the overrides replace the source's values
+	Deck fork(Long sourceDeckId, Deck overrides);
+	List<Deck> forkAll(List<Long> sourceDeckIds, Deck overrides);
+
 	// Card management
-	Deck addCard(Long deckId, Long cardId, int quantity, String section);
-	Deck removeCard(Long deckId, Long cardId, int quantity, String section);
+	DeckDelta addCard(Long deckId, Long cardId, int quantity, String section);
+	DeckDelta removeCard(Long deckId, Long cardId, int quantity, String section);
+	DeckDelta applyCardOperations(Long deckId, List<DeckCardOperation> operations);
 }
\ No newline at end of file
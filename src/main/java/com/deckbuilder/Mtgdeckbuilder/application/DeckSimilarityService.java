@@ -0,0 +1,33 @@
+package com.deckbuilder.mtgdeckbuilder.application;
+
+import com.deckbuilder.mtgdeckbuilder.infrastructure.exception.DeckNotFoundException;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.exception.InvalidRequestException;
+import com.deckbuilder.mtgdeckbuilder.model.SimilarDeck;
+
+import java.util.List;
+
+/**
+ * Service finding decks with similar main decks, for "decks like this one" and near-duplicate detection.
+ */
+public interface DeckSimilarityService {
+
+    /**
+     * Public decks sharing the most distinct main deck cards with the given deck.
+     *
+     * @param deckId the deck ID
+     * @param limit maximum number of decks to return
+     * @param minSimilarity minimum Jaccard similarity between 0 and 1; near-duplicates score close to 1
+     * @return similar decks, most similar first; none until the index is built at startup
+     * @throws DeckNotFoundException if the deck does not exist
+     * @throws InvalidRequestException if the minimum similarity is not between 0 and 1
+     */
+    List<SimilarDeck> findSimilar(Long deckId, int limit, double minSimilarity);
+
+    /**
+     * Recompute the signatures of every deck: once at startup, and e.g. after bulk imports written outside the
+     * application.
+     *
+     * @return the number of decks indexed
+     */
+    int rebuildIndex();
+}
@@ -0,0 +1,37 @@
+package com.deckbuilder.mtgdeckbuilder.application;
+
+import com.deckbuilder.mtgdeckbuilder.infrastructure.exception.DeckNotFoundException;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.exception.InvalidRequestException;
+import com.deckbuilder.mtgdeckbuilder.model.DeckSimulation;
+import com.deckbuilder.mtgdeckbuilder.model.DeckSimulationResult;
+import com.deckbuilder.mtgdeckbuilder.model.ManaBaseAdvice;
+
+/**
+ * Service answering draw questions about a deck's main section, such as "two lands and a 2-drop by turn 2" or
+ * "enough blue sources for a turn-two counterspell".
+ */
+public interface DeckSimulationService {
+
+    /**
+     * Probability that every condition of the simulation holds by its turn.
+     *
+     * @param deckId the deck ID
+     * @param simulation the turn, play or draw, and the conditions to meet
+     * @return an exact result for a single condition, otherwise a Monte Carlo estimate
+     * @throws DeckNotFoundException if the deck does not exist
+     * @throws InvalidRequestException if a condition is invalid or the main deck is empty
+     */
+    DeckSimulationResult simulate(Long deckId, DeckSimulation simulation);
+
+    /**
+     * Colored sources needed to cast each main deck spell on curve, and a suggested land count.
+     *
+     * @param deckId the deck ID
+     * @param targetProbability chance of having the colored sources on the spell's turn, e.g. 0.9
+     * @param onThePlay whether the first turn has no draw step
+     * @return per color, the sources in the deck and those its most demanding spell needs
+     * @throws DeckNotFoundException if the deck does not exist
+     * @throws InvalidRequestException if the target is not a probability or the main deck is empty
+     */
+    ManaBaseAdvice adviseManaBase(Long deckId, double targetProbability, boolean onThePlay);
+}
@@ -0,0 +1,19 @@
+package com.deckbuilder.mtgdeckbuilder.application;
+
+import com.deckbuilder.mtgdeckbuilder.infrastructure.exception.DeckNotFoundException;
+import com.deckbuilder.mtgdeckbuilder.model.DeckStats;
+
+/**
+ * Service computing deck statistics such as the mana curve, color pips and type breakdown.
+ */
+public interface DeckStatsService {
+
+    /**
+     * Statistics of a deck's main section at its current version.
+     *
+     * @param deckId the deck ID
+     * @return the statistics, served from cache when the deck has not changed
+     * @throws DeckNotFoundException if the deck does not exist
+     */
+    DeckStats getStats(Long deckId);
+}
@@ -1,6 +1,11 @@
 package com.deckbuilder.mtgdeckbuilder.application;
 
+import com.deckbuilder.mtgdeckbuilder.infrastructure.exception.DeckNotFoundException;
 import com.deckbuilder.mtgdeckbuilder.infrastructure.exception.InvalidDeckCompositionException;
+import com.deckbuilder.mtgdeckbuilder.model.DeckValidationReport;
+
+import java.util.List;
+import java.util.Map;
 
 /**
  * Service responsible for validating deck composition rules.
@@ -9,16 +14,19 @@ import com.deckbuilder.mtgdeckbuilder.infrastructure.exception.InvalidDeckCompos
 public interface DeckValidationService {
 
     /**
-     * Validates whether a card can be added to a deck in the specified quantity and section.
+     * Validates the resulting state of adding copies of a card to one section of a deck. The caller passes the
+     * deck's state it already holds, so nothing is read from the database; maybeboard cards are never validated.
      *
-     * @param deckId the deck ID
+     * @param formatId the deck's format ID
+     * @param commanderCardId the deck's commander, or null when it has none
      * @param cardId the card ID
-     * @param quantity the quantity to add
      * @param section the section (main, sideboard, maybeboard)
-     * @param isUpdate whether this is an update operation (affects total card count calculations)
+     * @param playedCopies resulting copies of the card across main deck and sideboard
+     * @param sectionTotal resulting number of cards in the section
      * @throws InvalidDeckCompositionException if the addition violates deck rules
      */
-    void validateCardAddition(Long deckId, Long cardId, Integer quantity, String section, boolean isUpdate);
+    void validateCardAddition(Long formatId, Long commanderCardId, Long cardId, String section, int playedCopies,
+                              int sectionTotal);
 
     /**
      * Validates whether a card removal is valid.
@@ -31,6 +39,58 @@ public interface DeckValidationService {
      */
     void validateCardRemoval(Long deckId, Long cardId, Integer quantity, String section);
 
+    /**
+     * Validates the resulting state of a batch of card operations. The format, the affected cards and their
+     * legality are loaded once for the whole batch.
+     *
+     * @param formatId the deck's format ID
+     * @param commanderCardId the deck's commander, or null when it has none
+     * @param increasedCardCopies for every card whose main deck or sideboard quantity grew, its resulting copies
+     *                            across main deck and sideboard
+     * @param sectionTotals resulting number of cards per section
+     * @throws InvalidDeckCompositionException if any card or section violates deck rules
+     */
+    void validateBatch(Long formatId, Long commanderCardId, Map<Long, Integer> increasedCardCopies,
+                       Map<String, Integer> sectionTotals);
+
+    /**
+     * Validates that the card designated as a deck's commander exists. Nothing is checked for decks without one.
+     *
+     * @param commanderCardId the commander's card ID, may be null
+     * @throws InvalidDeckCompositionException if the card does not exist
+     */
+    void validateCommander(Long commanderCardId);
+
+    /**
+     * Evaluates every rule against the current contents of a deck and reports all violations instead of
+     * stopping at the first one. Copy limits count main deck and sideboard together.
+     *
+     * @param deckId the deck ID
+     * @return the report, valid when no violation was found
+     * @throws DeckNotFoundException if the deck does not exist
+     */
+    DeckValidationReport validateDeck(Long deckId);
+
+    /**
+     * Evaluates every rule against the current contents of a deck as if it belonged to another format,
+     * e.g. before forking it into that format.
+     *
+     * @param deckId the deck ID
+     * @param formatId the format to check the contents against
+     * @return the report, valid when no violation was found
+     * @throws DeckNotFoundException if the deck does not exist
+     */
+    DeckValidationReport validateDeckForFormat(Long deckId, Long formatId);
+
+    /**
+     * Validates many decks at once. Decks and contents are loaded with one query each and the decks are
+     * evaluated in parallel on a bounded executor.
+     *
+     * @param deckIds the deck IDs
+     * @return one report per distinct ID, in request order; unknown IDs get a DECK_NOT_FOUND report
+     */
+    List<DeckValidationReport> validateDecks(List<Long> deckIds);
+
     /**
      * Gets the maximum allowed quantity for a specific card in a format.
      *
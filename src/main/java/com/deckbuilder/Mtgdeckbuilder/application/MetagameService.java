@@ -0,0 +1,40 @@
+package com.deckbuilder.mtgdeckbuilder.application;
+
+import com.deckbuilder.mtgdeckbuilder.infrastructure.exception.InvalidRequestException;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.exception.TournamentNotFoundException;
+import com.deckbuilder.mtgdeckbuilder.model.Metagame;
+
+import java.util.List;
+
+/**
+ * Service aggregating the decks registered for tournaments into archetype shares and top cards.
+ */
+public interface MetagameService {
+
+    /**
+     * Archetype shares and most played cards of a tournament, read from its rollups.
+     *
+     * @param tournament the tournament name
+     * @param topCards maximum number of cards to return
+     * @return the tournament's metagame
+     * @throws TournamentNotFoundException if no deck is registered for the tournament
+     * @throws InvalidRequestException if the tournament name is blank
+     */
+    Metagame getMetagame(String tournament, int topCards);
+
+    /**
+     * Recompute and store the rollups of a tournament from its decks.
+     *
+     * @param tournament the tournament name
+     * @return the number of decks registered for the tournament
+     */
+    int refreshTournament(String tournament);
+
+    /**
+     * Tournaments with registered decks whose rollups were never computed, e.g. decks from before the rollups
+     * existed.
+     *
+     * @return the tournament names
+     */
+    List<String> findTournamentsWithoutRollup();
+}
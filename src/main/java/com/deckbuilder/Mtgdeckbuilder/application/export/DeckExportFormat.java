@@ -0,0 +1,65 @@
+package com.deckbuilder.mtgdeckbuilder.application.export;
+
+import com.deckbuilder.mtgdeckbuilder.infrastructure.exception.InvalidRequestException;
+import org.springframework.http.MediaType;
+
+import java.io.Writer;
+
+/**
+ * Decklist file formats a deck can be exported to
+ */
+public enum DeckExportFormat {
+	/**
+	 * Plain text with section headers and printings, e.g. "4 Lightning Bolt (Magic 2010) 141". Can be imported again.
+	 */
+	TEXT("txt", MediaType.TEXT_PLAIN),
+	/**
+	 * MTG Arena clipboard format: "Deck" and "Sideboard" sections with names only
+	 */
+	ARENA("txt", MediaType.TEXT_PLAIN),
+	/**
+	 * Magic Online .dek XML
+	 */
+	MTGO("dek", MediaType.APPLICATION_XML);
+
+	private final String extension;
+	private final MediaType mediaType;
+
+	DeckExportFormat(String extension, MediaType mediaType) {
+		this.extension = extension;
+		this.mediaType = mediaType;
+	}
+
+	public String getExtension() {
+		return this.extension;
+	}
+
+	public MediaType getMediaType() {
+		return this.mediaType;
+	}
+
+	/**
+	 * Start writing one deck in this format
+	 */
+	public DeckListWriter newWriter(Writer out) {
+		return switch (this) {
+			case TEXT -> new TextDeckListWriter(out, true);
+			case ARENA -> new TextDeckListWriter(out, false);
+			case MTGO -> new MtgoDeckListWriter(out);
+		};
+	}
+
+	/**
+	 * Parse an export format from its API value (text, arena, mtgo); defaults to text
+	 */
+	public static DeckExportFormat fromString(String value) {
+		if (value == null || value.isEmpty()) {
+			return TEXT;
+		}
+		try {
+			return DeckExportFormat.valueOf(value.toUpperCase());
+		} catch (final IllegalArgumentException e) {
+			throw new InvalidRequestException("Unknown deck export format: " + value);
+		}
+	}
+}
@@ -0,0 +1,21 @@
+package com.deckbuilder.mtgdeckbuilder.application.export;
+
+import com.deckbuilder.mtgdeckbuilder.infrastructure.CardInDeckRepository.DeckExportLineView;
+
+import java.io.IOException;
+
+/**
+ * Writes one deck line by line. Lines arrive ordered by section (main, sideboard, maybeboard), so writers
+ * only keep the current section and never buffer the list.
+ */
+public interface DeckListWriter {
+
+	void begin(String deckName) throws IOException;
+
+	void write(DeckExportLineView line) throws IOException;
+
+	/**
+	 * Finish the deck and flush, without closing the underlying stream
+	 */
+	void end() throws IOException;
+}
@@ -0,0 +1,59 @@
+package com.deckbuilder.mtgdeckbuilder.application.export;
+
+import com.deckbuilder.mtgdeckbuilder.infrastructure.CardInDeckRepository.DeckExportLineView;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Magic Online .dek files. Cards are identified by name only since no MTGO catalog ids are stored; split cards use
+ * MTGO's "Fire/Ice" spelling. MTGO has no maybeboard, so those lines are left out.
+ */
+final class MtgoDeckListWriter implements DeckListWriter {
+	private final Writer out;
+
+	MtgoDeckListWriter(Writer out) {
+		this.out = out;
+	}
+
+	@Override
+	public void begin(String deckName) throws IOException {
+		this.out.write("<?xml version=\"1.0\" encoding=\"utf-8\"?>\n");
+		this.out.write("<Deck xmlns:xsd=\"http://www.w3.org/2001/XMLSchema\" "
+				+ "xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\">\n");
+		this.out.write("  <NetDeckID>0</NetDeckID>\n");
+		this.out.write("  <PreconstructedDeckID>0</PreconstructedDeckID>\n");
+	}
+
+	@Override
+	public void write(DeckExportLineView line) throws IOException {
+		if ("maybeboard".equals(line.getSection())) {
+			return;
+		}
+		this.out.write("  <Cards Quantity=\"" + line.getQuantity() + "\" Sideboard=\""
+				+ "sideboard".equals(line.getSection()) + "\" Name=\""
+				+ escape(line.getName().replace(" // ", "/")) + "\" />\n");
+	}
+
+	@Override
+	public void end() throws IOException {
+		this.out.write("</Deck>\n");
+		this.out.flush();
+	}
+
+	private static String escape(String value) {
+		final StringBuilder escaped = new StringBuilder(value.length());
+		for (int i = 0; i < value.length(); i++) {
+			final char c = value.charAt(i);
+			switch (c) {
+				case '&' -> escaped.append("&amp;");
+				case '<' -> escaped.append("&lt;");
+				case '>' -> escaped.append("&gt;");
+				case '"' -> escaped.append("&quot;");
+				case '\'' -> escaped.append("&apos;");
+				default -> escaped.append(c);
+			}
+		}
+		return escaped.toString();
+	}
+}
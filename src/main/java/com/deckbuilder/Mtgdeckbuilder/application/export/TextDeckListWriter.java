@@ -0,0 +1,62 @@
+package com.deckbuilder.mtgdeckbuilder.application.export;
+
+import com.deckbuilder.mtgdeckbuilder.infrastructure.CardInDeckRepository.DeckExportLineView;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Map;
+
+/**
+ * Text decklists with one header per section. The full variant writes the deck name as a comment, every section
+ * and the printing of each card; the Arena variant writes names only and leaves out the maybeboard.
+ */
+final class TextDeckListWriter implements DeckListWriter {
+	private static final Map<String, String> HEADERS = Map.of(
+			"main", "Deck",
+			"sideboard", "Sideboard",
+			"maybeboard", "Maybeboard");
+
+	private final Writer out;
+	private final boolean full;
+	private String section;
+
+	TextDeckListWriter(Writer out, boolean full) {
+		this.out = out;
+		this.full = full;
+	}
+
+	@Override
+	public void begin(String deckName) throws IOException {
+		if (this.full && deckName != null) {
+			this.out.write("// " + deckName.replaceAll("\\R", " ") + "\n");
+		}
+	}
+
+	@Override
+	public void write(DeckExportLineView line) throws IOException {
+		if (!this.full && "maybeboard".equals(line.getSection())) {
+			return;
+		}
+		if (!line.getSection().equals(this.section)) {
+			if (this.section != null) {
+				this.out.write('\n');
+			}
+			this.section = line.getSection();
+			this.out.write(HEADERS.getOrDefault(this.section, this.section) + "\n");
+		}
+
+		this.out.write(line.getQuantity() + " " + line.getName());
+		if (this.full && line.getSetName() != null) {
+			this.out.write(" (" + line.getSetName() + ")");
+			if (line.getCollectorNumber() != null) {
+				this.out.write(" " + line.getCollectorNumber());
+			}
+		}
+		this.out.write('\n');
+	}
+
+	@Override
+	public void end() throws IOException {
+		this.out.flush();
+	}
+}
@@ -0,0 +1,116 @@
+package com.deckbuilder.mtgdeckbuilder.application.history;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Compact binary encoding of deck entries (section, card, quantity) for the revision log.
+ * <p>
+ * Entries are sorted by section and card id and written per section as: section index, entry count, then for each
+ * entry the gap to the previous card id and the zigzag-encoded quantity, all as unsigned LEB128 varints. A single
+ * edit such as "+4 Lightning Bolt in main" therefore takes around six bytes. Deltas store the quantity change,
+ * snapshots the quantity itself.
+ */
+public final class DeckChangeCodec {
+	public static final List<String> SECTIONS = List.of("main", "sideboard", "maybeboard");
+
+	/**
+	 * Order of encoded entries: by section (main, sideboard, maybeboard), then by card id
+	 */
+	public static final Comparator<Entry> ORDER = Comparator.comparingInt((Entry e) -> sectionIndex(e.section()))
+			.thenComparingLong(Entry::cardId);
+
+	private DeckChangeCodec() {
+	}
+
+	/**
+	 * A card in a section with a quantity, or a quantity change when part of a delta
+	 */
+	public record Entry(String section, long cardId, int quantity) {
+	}
+
+	public static byte[] encode(Collection<Entry> entries) {
+		final List<Entry> sorted = new ArrayList<>(entries);
+		sorted.sort(ORDER);
+
+		final ByteArrayOutputStream out = new ByteArrayOutputStream(sorted.size() * 4 + 4);
+		int from = 0;
+		while (from < sorted.size()) {
+			final int section = sectionIndex(sorted.get(from).section());
+			int to = from;
+			while (to < sorted.size() && sectionIndex(sorted.get(to).section()) == section) {
+				to++;
+			}
+
+			writeVarint(out, section);
+			writeVarint(out, to - from);
+			long previousCardId = 0;
+			for (int i = from; i < to; i++) {
+				final Entry entry = sorted.get(i);
+				writeVarint(out, entry.cardId() - previousCardId);
+				writeVarint(out, zigzag(entry.quantity()));
+				previousCardId = entry.cardId();
+			}
+			from = to;
+		}
+		return out.toByteArray();
+	}
+
+	/**
+	 * Decode entries in encoding order
+	 */
+	public static List<Entry> decode(byte[] payload) {
+		final List<Entry> entries = new ArrayList<>();
+		final int[] position = {0};
+		while (position[0] < payload.length) {
+			final String section = SECTIONS.get((int) readVarint(payload, position));
+			final long count = readVarint(payload, position);
+			long cardId = 0;
+			for (long i = 0; i < count; i++) {
+				cardId += readVarint(payload, position);
+				final long zigzagged = readVarint(payload, position);
+				entries.add(new Entry(section, cardId, (int) ((zigzagged >>> 1) ^ -(zigzagged & 1))));
+			}
+		}
+		return entries;
+	}
+
+	static int sectionIndex(String section) {
+		final int index = SECTIONS.indexOf(section);
+		if (index < 0) {
+			throw new IllegalArgumentException("Unknown deck section: " + section);
+		}
+		return index;
+	}
+
+	private static long zigzag(int value) {
+		return ((long) value << 1) ^ ((long) value >> 63);
+	}
+
+	private static void writeVarint(ByteArrayOutputStream out, long value) {
+		while ((value & ~0x7FL) != 0) {
+			out.write((int) ((value & 0x7F) | 0x80));
+			value >>>= 7;
+		}
+		out.write((int) value);
+	}
+
+	private static long readVarint(byte[] payload, int[] position) {
+		long value = 0;
+		int shift = 0;
+		while (true) {
+			if (position[0] >= payload.length || shift > 63) {
+				throw new IllegalStateException("Corrupt deck revision payload");
+			}
+			final byte b = payload[position[0]++];
+			value |= (long) (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return value;
+			}
+			shift += 7;
+		}
+	}
+}
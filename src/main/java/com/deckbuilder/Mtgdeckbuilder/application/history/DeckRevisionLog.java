@@ -0,0 +1,145 @@
+package com.deckbuilder.mtgdeckbuilder.application.history;
+
+import com.deckbuilder.mtgdeckbuilder.application.history.DeckChangeCodec.Entry;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.CardInDeckRepository;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.DeckRevisionRepository;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.exception.DeckRevisionNotFoundException;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.model.CardInDeckEntity;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.model.DeckRevisionEntity;
+import com.deckbuilder.mtgdeckbuilder.model.DeckDelta.CardChange;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Append-only log of deck contents.
+ * <p>
+ * Each card mutation appends one revision holding only the changed entries. Every {@value #SNAPSHOT_INTERVAL}
+ * revisions, starting with the first, the full contents are stored instead, so rebuilding any revision reads one
+ * snapshot and replays fewer than {@value #SNAPSHOT_INTERVAL} deltas.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DeckRevisionLog {
+	static final int SNAPSHOT_INTERVAL = 32;
+
+	private final DeckRevisionRepository deckRevisionRepository;
+	private final CardInDeckRepository cardInDeckRepository;
+
+	/**
+	 * Contents of a deck at one revision, sorted by section and card id
+	 */
+	public record Contents(long revision, LocalDateTime created, List<Entry> entries) {
+	}
+
+	/**
+	 * Append the revision produced by a card mutation. Must be called inside the mutating transaction, after its
+	 * card_deck writes and while the deck row is locked.
+	 */
+	public void record(Long deckId, long revision, List<CardChange> changes) {
+		final boolean snapshot = revision % SNAPSHOT_INTERVAL == 1;
+		final List<Entry> entries = new ArrayList<>();
+		if (snapshot) {
+			for (final CardInDeckEntity row : this.cardInDeckRepository.findByDeckId(deckId)) {
+				if (row.getQuantity() > 0) {
+					entries.add(new Entry(row.getSection(), row.getCardId(), row.getQuantity()));
+				}
+			}
+		} else {
+			for (final CardChange change : changes) {
+				if (change.getQuantity() != change.getPreviousQuantity()) {
+					entries.add(new Entry(change.getSection(), change.getCardId(),
+							change.getQuantity() - change.getPreviousQuantity()));
+				}
+			}
+		}
+
+		final byte[] payload = DeckChangeCodec.encode(entries);
+		this.deckRevisionRepository.save(DeckRevisionEntity.builder().deckId(deckId).revision(revision)
+				.created(LocalDateTime.now()).snapshot(snapshot).payload(payload).build());
+		log.debug("Recorded revision {} of deck {} ({} bytes{})", revision, deckId, payload.length,
+				snapshot ? ", snapshot" : "");
+	}
+
+	/**
+	 * Rebuild the contents of a deck at a revision from the nearest snapshot and the deltas after it
+	 *
+	 * @throws DeckRevisionNotFoundException if the revision was never recorded
+	 */
+	public Contents contentsAt(Long deckId, long revision) {
+		final DeckRevisionEntity base = this.deckRevisionRepository
+				.findFirstByDeckIdAndSnapshotTrueAndRevisionLessThanEqualOrderByRevisionDesc(deckId, revision)
+				.orElseThrow(() -> noSuchRevision(deckId, revision));
+		final List<DeckRevisionEntity> revisions = this.deckRevisionRepository
+				.findByDeckIdAndRevisionBetweenOrderByRevisionAsc(deckId, base.getRevision(), revision);
+		if (revisions.size() != revision - base.getRevision() + 1) {
+			throw noSuchRevision(deckId, revision);
+		}
+
+		final Map<String, TreeMap<Long, Integer>> contents = new LinkedHashMap<>();
+		DeckChangeCodec.SECTIONS.forEach(section -> contents.put(section, new TreeMap<>()));
+		for (final DeckRevisionEntity entry : revisions) {
+			for (final Entry change : DeckChangeCodec.decode(entry.getPayload())) {
+				final TreeMap<Long, Integer> section = contents.get(change.section());
+				if (entry.isSnapshot()) {
+					section.put(change.cardId(), change.quantity());
+				} else if (section.merge(change.cardId(), change.quantity(), Integer::sum) <= 0) {
+					section.remove(change.cardId());
+				}
+			}
+		}
+
+		final List<Entry> entries = new ArrayList<>();
+		contents.forEach((section, cards) -> cards.forEach(
+				(cardId, quantity) -> entries.add(new Entry(section, cardId, quantity))));
+		return new Contents(revision, revisions.get(revisions.size() - 1).getCreated(), entries);
+	}
+
+	/**
+	 * Compare two revisions with a sorted merge of their contents
+	 *
+	 * @return one change per card whose quantity differs, in section and card id order
+	 */
+	public List<CardChange> diff(Contents from, Contents to) {
+		final List<CardChange> changes = new ArrayList<>();
+		final List<Entry> left = from.entries();
+		final List<Entry> right = to.entries();
+		int i = 0;
+		int j = 0;
+		while (i < left.size() || j < right.size()) {
+			final int order = i == left.size() ? 1 : j == right.size() ? -1
+					: DeckChangeCodec.ORDER.compare(left.get(i), right.get(j));
+			if (order < 0) {
+				final Entry removed = left.get(i++);
+				changes.add(change(removed, removed.quantity(), 0));
+			} else if (order > 0) {
+				final Entry added = right.get(j++);
+				changes.add(change(added, 0, added.quantity()));
+			} else {
+				final Entry before = left.get(i++);
+				final Entry after = right.get(j++);
+				if (before.quantity() != after.quantity()) {
+					changes.add(change(after, before.quantity(), after.quantity()));
+				}
+			}
+		}
+		return changes;
+	}
+
+	private static CardChange change(Entry entry, int previousQuantity, int quantity) {
+		return CardChange.builder().cardId(entry.cardId()).section(entry.section())
+				.previousQuantity(previousQuantity).quantity(quantity).build();
+	}
+
+	private static DeckRevisionNotFoundException noSuchRevision(Long deckId, long revision) {
+		return new DeckRevisionNotFoundException(deckId, revision);
+	}
+}
@@ -0,0 +1,93 @@
+package com.deckbuilder.mtgdeckbuilder.application.implement;
+
+import com.deckbuilder.mtgdeckbuilder.application.CardCooccurrenceService;
+import com.deckbuilder.mtgdeckbuilder.application.similarity.CardCooccurrenceIndex;
+import com.deckbuilder.mtgdeckbuilder.application.similarity.CardCooccurrenceIndex.Companion;
+import com.deckbuilder.mtgdeckbuilder.application.similarity.CardCooccurrenceIndex.PersistedRow;
+import com.deckbuilder.mtgdeckbuilder.application.similarity.MainDeckCardSets;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.CardCooccurrenceRepository;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.CardInDeckRepository;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.CardInDeckRepository.DeckCardIdView;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.CardRepository;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.exception.CardNotFoundException;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.mapper.CardEntityMapper;
+import com.deckbuilder.mtgdeckbuilder.model.CardCompanion;
+import com.deckbuilder.mtgdeckbuilder.model.CardSummary;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+public class CardCooccurrenceServiceImpl implements CardCooccurrenceService {
+	private final CardRepository cardRepository;
+	private final CardInDeckRepository cardInDeckRepository;
+	private final CardEntityMapper cardEntityMapper;
+	private final CardCooccurrenceIndex cardCooccurrenceIndex;
+	private final CardCooccurrenceRepository cardCooccurrenceRepository;
+
+	@Override
+	@Transactional(readOnly = true)
+	public List<CardCompanion> findCompanions(Long cardId, int limit) {
+		if (!this.cardRepository.existsById(cardId)) {
+			throw new CardNotFoundException(cardId);
+		}
+
+		final List<Companion> companions = this.cardCooccurrenceIndex.companions(cardId, limit);
+		if (companions.isEmpty()) {
+			return List.of();
+		}
+
+		final Map<Long, CardSummary> summaries = this.cardRepository
+				.findSummaryViewsByIdIn(companions.stream().map(Companion::cardId).toList()).stream()
+				.map(this.cardEntityMapper::toSummary)
+				.collect(Collectors.toMap(CardSummary::getId, Function.identity()));
+		final List<CardCompanion> result = new ArrayList<>(companions.size());
+		for (final Companion companion : companions) {
+			final CardSummary card = summaries.get(companion.cardId());
+			// Deleted since the matrix counted it
+			if (card != null) {
+				result.add(CardCompanion.builder()
+						.card(card)
+						.decks(companion.decks())
+						.share(companion.share())
+						.build());
+			}
+		}
+		return result;
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public int rebuildIndex() {
+		return this.cardCooccurrenceIndex.rebuild(this::loadMainDecks);
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public int loadIndex() {
+		if (this.cardCooccurrenceRepository.count() == 0) {
+			return this.cardCooccurrenceIndex.rebuild(this::loadMainDecks);
+		}
+		return this.cardCooccurrenceIndex.restore(this::loadMainDecks, this::loadPersistedRows);
+	}
+
+	private List<PersistedRow> loadPersistedRows() {
+		return this.cardCooccurrenceRepository.findAll().stream()
+				.map(row -> new PersistedRow(row.getCardId(), row.getDecks(), row.getNeighbors(), row.getPayload()))
+				.toList();
+	}
+
+	private Map<Long, long[]> loadMainDecks() {
+		try (Stream<DeckCardIdView> rows = this.cardInDeckRepository.streamMainDeckCardIds()) {
+			return MainDeckCardSets.collect(rows);
+		}
+	}
+}
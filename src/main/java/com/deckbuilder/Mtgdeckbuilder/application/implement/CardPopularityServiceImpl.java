@@ -0,0 +1,65 @@
+package com.deckbuilder.mtgdeckbuilder.application.implement;
+
+import com.deckbuilder.mtgdeckbuilder.application.CardPopularityService;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.CardPopularityRepository;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.CardRepository;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.DeckRepository;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.DeckRepository.FormatDeckCountView;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.FormatRepository;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.exception.CardNotFoundException;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.model.CardPopularityEntity;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.model.FormatEntity;
+import com.deckbuilder.mtgdeckbuilder.model.CardPopularity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class CardPopularityServiceImpl implements CardPopularityService {
+	private final CardRepository cardRepository;
+	private final CardPopularityRepository cardPopularityRepository;
+	private final DeckRepository deckRepository;
+	private final FormatRepository formatRepository;
+
+	@Override
+	@Transactional(readOnly = true)
+	public List<CardPopularity> findInclusionRates(Long cardId) {
+		if (!this.cardRepository.existsById(cardId)) {
+			throw new CardNotFoundException(cardId);
+		}
+
+		final List<CardPopularityEntity> rows = this.cardPopularityRepository
+				.findByCardIdAndDecksGreaterThanOrderByDecksDesc(cardId, 0);
+		if (rows.isEmpty()) {
+			return List.of();
+		}
+
+		final List<Long> formatIds = rows.stream().map(CardPopularityEntity::getFormatId).toList();
+		final Map<Long, Long> formatDecks = this.deckRepository.countByFormatIdIn(formatIds).stream()
+				.collect(Collectors.toMap(FormatDeckCountView::getFormatId, FormatDeckCountView::getDecks));
+		final Map<Long, String> formatNames = this.formatRepository.findAllById(formatIds).stream()
+				.collect(Collectors.toMap(FormatEntity::getId, FormatEntity::getName));
+
+		return rows.stream()
+				.map(row -> {
+					// Counts trail the decks by up to one flush, so a recently emptied format may count fewer decks
+					final long decks = Math.max(formatDecks.getOrDefault(row.getFormatId(), 0L), row.getDecks());
+					return CardPopularity.builder()
+							.formatId(row.getFormatId())
+							.formatName(formatNames.get(row.getFormatId()))
+							.decks(row.getDecks())
+							.formatDecks(decks)
+							.inclusionRate((double) row.getDecks() / decks)
+							.build();
+				})
+				.sorted(Comparator.comparingDouble(CardPopularity::getInclusionRate).reversed()
+						.thenComparing(CardPopularity::getDecks, Comparator.reverseOrder()))
+				.toList();
+	}
+}
@@ -1,13 +1,21 @@
 package com.deckbuilder.mtgdeckbuilder.application.implement;
 
 import com.deckbuilder.mtgdeckbuilder.application.CardService;
+import com.deckbuilder.mtgdeckbuilder.application.importer.CardNameIndex;
+import com.deckbuilder.mtgdeckbuilder.application.rules.FormatRulesCache;
+import com.deckbuilder.mtgdeckbuilder.application.rules.LegalityMatrix;
+import com.deckbuilder.mtgdeckbuilder.application.stats.ManaCostParser;
+import com.deckbuilder.mtgdeckbuilder.application.stats.DeckStatsCache;
 import com.deckbuilder.mtgdeckbuilder.infrastructure.CardRepository;
 import com.deckbuilder.mtgdeckbuilder.infrastructure.config.PaginationConfig;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.exception.CardNotFoundException;
 import com.deckbuilder.mtgdeckbuilder.infrastructure.mapper.CardEntityMapper;
 import com.deckbuilder.mtgdeckbuilder.infrastructure.model.CardEntity;
 import com.deckbuilder.mtgdeckbuilder.model.Card;
+import com.deckbuilder.mtgdeckbuilder.model.CardColor;
 import com.deckbuilder.mtgdeckbuilder.model.CardSearchCriteria;
 import com.deckbuilder.mtgdeckbuilder.model.CardSearchResult;
+import com.deckbuilder.mtgdeckbuilder.model.CardSummary;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -15,16 +23,32 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class CardServiceImpl implements CardService {
+	// One chunk's collections are then fetched with one query per collection
+	private static final int STREAM_CHUNK_SIZE = CardEntity.BATCH_FETCH_SIZE;
+
 	private final CardRepository cardRepository;
 	private final CardEntityMapper cardEntityMapper;
 	private final PaginationConfig paginationConfig;
+	private final LegalityMatrix legalityMatrix;
+	private final FormatRulesCache formatRulesCache;
+	private final DeckStatsCache deckStatsCache;
+	private final CardNameIndex cardNameIndex;
 
 	private PageRequest createPageRequest(int pageSize, int pageNumber) {
 		pageSize = this.paginationConfig.validatePageSize(pageSize);
@@ -93,15 +117,48 @@ public class CardServiceImpl implements CardService {
 	}
 
 	@Override
+	@Transactional(readOnly = true)
 	public List<Card> getCardsByFormat(Long formatId) {
 		log.debug("Finding cards by format: {}", formatId);
-		final CardSearchCriteria criteria = CardSearchCriteria.builder()
-			.formatId(formatId)
-			.build();
-		// Use a large page size to get all results
-		final Page<CardEntity> page = this.cardRepository.searchCardsWithDetailedCriteria(criteria, PageRequest.of(0, 10000));
-		return page.getContent().stream()
-			.map(this::mapEntityToModel)
+		final List<Card> cards = new ArrayList<>();
+		this.streamByFormat(formatId, cards::add);
+		return cards;
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public void streamByFormat(Long formatId, Consumer<Card> consumer) {
+		this.cardRepository.streamByFormat(formatId, STREAM_CHUNK_SIZE, chunk -> {
+			// Parents of the whole chunk in one query instead of one lookup per printing
+			final Map<Long, CardEntity> parents = this.findParents(chunk);
+			chunk.stream()
+				.map(entity -> entity.getParentCardId() != null
+					? parents.getOrDefault(entity.getParentCardId(), entity)
+					: entity)
+				.map(this.cardEntityMapper::toModel)
+				.forEach(consumer);
+		});
+	}
+
+	private Map<Long, CardEntity> findParents(List<CardEntity> cards) {
+		final Set<Long> parentIds = cards.stream()
+			.map(CardEntity::getParentCardId)
+			.filter(Objects::nonNull)
+			.collect(Collectors.toSet());
+		if (parentIds.isEmpty()) {
+			return Map.of();
+		}
+		return this.cardRepository.findAllById(parentIds).stream()
+			.collect(Collectors.toMap(CardEntity::getId, Function.identity()));
+	}
+
+	@Override
+	public List<CardSummary> findSummaries(Collection<Long> ids) {
+		if (ids.isEmpty()) {
+			return List.of();
+		}
+		return this.cardRepository.findSummaryViewsByIdIn(ids).stream()
+			.map(this.cardEntityMapper::toSummary)
 			.toList();
 	}
 
@@ -111,7 +168,13 @@ public class CardServiceImpl implements CardService {
 		log.info("Creating new card: name='{}', cmc={}", card.getName(), card.getCmc());
 
 		CardEntity entity = this.cardEntityMapper.toEntity(card);
+		entity.setManaSymbols(this.cardEntityMapper.toEmbeddable(ManaCostParser.parse(entity.getManaCost())));
+		entity.setColorIdentityMask(CardColor.maskOf(entity.getColorIdentityColors()));
 		entity = this.cardRepository.save(entity);
+		this.legalityMatrix.invalidateCards();
+		// Ban lists name cards, so the lists naming this one resolve to other card ids now
+		this.formatRulesCache.invalidateCardNames(Arrays.asList(entity.getName()));
+		this.cardNameIndex.invalidate();
 		final Card createdCard = this.cardEntityMapper.toModel(entity);
 
 		log.info("Card created successfully with id={}", createdCard.getId());
@@ -123,14 +186,22 @@ public class CardServiceImpl implements CardService {
 	public Optional<Card> updateCard(Long id, Card card) {
 		log.info("Updating card with id={}", id);
 
-		if (!this.cardRepository.existsById(id)) {
+		final Optional<String> previousName = this.cardRepository.findNameById(id);
+		if (previousName.isEmpty()) {
 			log.warn("Card with id={} not found for update", id);
 			return Optional.empty();
 		}
 
 		CardEntity entity = this.cardEntityMapper.toEntity(card);
 		entity.setId(id);
+		entity.setManaSymbols(this.cardEntityMapper.toEmbeddable(ManaCostParser.parse(entity.getManaCost())));
+		entity.setColorIdentityMask(CardColor.maskOf(entity.getColorIdentityColors()));
 		entity = this.cardRepository.save(entity);
+		this.legalityMatrix.invalidateCards();
+		// A rename moves the card from the lists naming its old name to those naming its new one
+		this.formatRulesCache.invalidateCardNames(Arrays.asList(previousName.get(), entity.getName()));
+		this.cardNameIndex.invalidate();
+		this.deckStatsCache.invalidateAll();
 
 		log.info("Card with id={} updated successfully", id);
 		return Optional.of(this.cardEntityMapper.toModel(entity));
@@ -140,7 +211,12 @@ public class CardServiceImpl implements CardService {
 	@Transactional
 	public void deleteCard(Long id) {
 		log.info("Deleting card with id={}", id);
+		final Optional<String> name = this.cardRepository.findNameById(id);
 		this.cardRepository.deleteById(id);
+		this.legalityMatrix.invalidateCards();
+		name.ifPresent(cardName -> this.formatRulesCache.invalidateCardNames(List.of(cardName)));
+		this.cardNameIndex.invalidate();
+		this.deckStatsCache.invalidateAll();
 		log.info("Card with id={} deleted successfully", id);
 	}
 
@@ -227,6 +303,14 @@ public class CardServiceImpl implements CardService {
 	public CardSearchResult searchCardsWithCriteria(CardSearchCriteria criteria, int pageSize, int pageNumber) {
 		log.debug("Advanced search with criteria: {}, pageSize={}, pageNumber={}", criteria, pageSize, pageNumber);
 
+		if (criteria.getCommanderId() != null) {
+			// Read from the card index, so the search itself stays a single query
+			if (!this.legalityMatrix.isKnownCard(criteria.getCommanderId())) {
+				throw new CardNotFoundException(criteria.getCommanderId());
+			}
+			criteria.setCommanderIdentityMask(this.legalityMatrix.getColorIdentity(criteria.getCommanderId()));
+		}
+
 		final PageRequest pageRequest = createPageRequest(pageSize, pageNumber);
 		final Page<CardEntity> page = this.cardRepository.searchCardsWithDetailedCriteria(criteria, pageRequest);
 		final List<Card> cards = page.getContent().stream()
@@ -0,0 +1,117 @@
+package com.deckbuilder.mtgdeckbuilder.application.implement;
+
+import com.deckbuilder.mtgdeckbuilder.application.DeckExportService;
+import com.deckbuilder.mtgdeckbuilder.application.export.DeckExportFormat;
+import com.deckbuilder.mtgdeckbuilder.application.export.DeckListWriter;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.CardInDeckRepository;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.CardInDeckRepository.DeckExportLineView;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.DeckRepository;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.DeckRepository.DeckNameView;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.exception.DeckNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DeckExportServiceImpl implements DeckExportService {
+	/**
+	 * Decks read per cursor in bulk exports, bounding both the IN list and the rows in flight
+	 */
+	private static final int DECKS_PER_QUERY = 200;
+
+	private final DeckRepository deckRepository;
+	private final CardInDeckRepository cardInDeckRepository;
+
+	@Override
+	@Transactional(readOnly = true)
+	public List<DeckNameView> findDecks(Collection<Long> deckIds) {
+		final Set<Long> requested = new TreeSet<>(deckIds);
+		final List<DeckNameView> decks = this.deckRepository.findNameViewsByIdIn(requested);
+		if (decks.size() != requested.size()) {
+			decks.forEach(deck -> requested.remove(deck.getId()));
+			throw new DeckNotFoundException(requested.iterator().next());
+		}
+		return decks;
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public List<DeckNameView> findTournamentDecks(String tournament) {
+		return this.deckRepository.findNameViewsByTournament(tournament);
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public void exportDeck(DeckNameView deck, DeckExportFormat format, OutputStream out) throws IOException {
+		final Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+		final DeckListWriter deckWriter = format.newWriter(writer);
+		deckWriter.begin(deck.getName());
+		try (Stream<DeckExportLineView> lines = this.cardInDeckRepository.streamExportLines(List.of(deck.getId()))) {
+			final Iterator<DeckExportLineView> iterator = lines.iterator();
+			while (iterator.hasNext()) {
+				deckWriter.write(iterator.next());
+			}
+		}
+		deckWriter.end();
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public void exportDecks(List<DeckNameView> decks, DeckExportFormat format, OutputStream out) throws IOException {
+		final ZipOutputStream zip = new ZipOutputStream(out, StandardCharsets.UTF_8);
+		final Writer writer = new BufferedWriter(new OutputStreamWriter(zip, StandardCharsets.UTF_8));
+
+		for (int from = 0; from < decks.size(); from += DECKS_PER_QUERY) {
+			final List<DeckNameView> chunk = decks.subList(from, Math.min(from + DECKS_PER_QUERY, decks.size()));
+			final List<Long> ids = chunk.stream().map(DeckNameView::getId).toList();
+
+			// Rows arrive ordered by deck id, as do the decks, so both are walked in step
+			try (Stream<DeckExportLineView> lines = this.cardInDeckRepository.streamExportLines(ids)) {
+				final Iterator<DeckExportLineView> iterator = lines.iterator();
+				DeckExportLineView next = iterator.hasNext() ? iterator.next() : null;
+				for (final DeckNameView deck : chunk) {
+					zip.putNextEntry(new ZipEntry(this.fileName(deck, format)));
+					final DeckListWriter deckWriter = format.newWriter(writer);
+					deckWriter.begin(deck.getName());
+					while (next != null && next.getDeckId().equals(deck.getId())) {
+						deckWriter.write(next);
+						next = iterator.hasNext() ? iterator.next() : null;
+					}
+					deckWriter.end();
+					zip.closeEntry();
+				}
+			}
+			// Let the client receive finished decks while later chunks are read
+			zip.flush();
+		}
+		zip.finish();
+		log.debug("Exported {} decks as {}", decks.size(), format);
+	}
+
+	@Override
+	public String fileName(DeckNameView deck, DeckExportFormat format) {
+		final String slug = deck.getName() == null ? "" : deck.getName().toLowerCase(Locale.ROOT)
+				.replaceAll("[^a-z0-9]+", "-")
+				.replaceAll("(^-+|-+$)", "");
+		return deck.getId() + (slug.isEmpty() ? "" : "-" + slug) + "." + format.getExtension();
+	}
+}
@@ -0,0 +1,56 @@
+package com.deckbuilder.mtgdeckbuilder.application.implement;
+
+import com.deckbuilder.mtgdeckbuilder.application.DeckHistoryService;
+import com.deckbuilder.mtgdeckbuilder.application.history.DeckRevisionLog;
+import com.deckbuilder.mtgdeckbuilder.application.history.DeckRevisionLog.Contents;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.DeckRepository;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.exception.DeckNotFoundException;
+import com.deckbuilder.mtgdeckbuilder.model.Deck.CardInDeck;
+import com.deckbuilder.mtgdeckbuilder.model.DeckDiff;
+import com.deckbuilder.mtgdeckbuilder.model.DeckRevision;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+public class DeckHistoryServiceImpl implements DeckHistoryService {
+	private final DeckRepository deckRepository;
+	private final DeckRevisionLog deckRevisionLog;
+
+	@Override
+	@Transactional(readOnly = true)
+	public DeckRevision getRevision(Long deckId, long revision) {
+		this.requireDeck(deckId);
+		final Contents contents = this.deckRevisionLog.contentsAt(deckId, revision);
+		return DeckRevision.builder()
+				.deckId(deckId)
+				.revision(revision)
+				.created(contents.created())
+				.cards(contents.entries().stream()
+						.map(entry -> CardInDeck.builder().cardId(entry.cardId()).deckId(deckId)
+								.quantity(entry.quantity()).section(entry.section()).build())
+						.toList())
+				.build();
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public DeckDiff diff(Long deckId, long fromRevision, long toRevision) {
+		this.requireDeck(deckId);
+		final Contents from = this.deckRevisionLog.contentsAt(deckId, fromRevision);
+		final Contents to = this.deckRevisionLog.contentsAt(deckId, toRevision);
+		return DeckDiff.builder()
+				.deckId(deckId)
+				.fromRevision(fromRevision)
+				.toRevision(toRevision)
+				.changes(this.deckRevisionLog.diff(from, to))
+				.build();
+	}
+
+	private void requireDeck(Long deckId) {
+		if (this.deckRepository.findRevisionById(deckId) == null) {
+			throw new DeckNotFoundException(deckId);
+		}
+	}
+}
@@ -0,0 +1,90 @@
+package com.deckbuilder.mtgdeckbuilder.application.implement;
+
+import com.deckbuilder.mtgdeckbuilder.application.DeckImportService;
+import com.deckbuilder.mtgdeckbuilder.application.DeckService;
+import com.deckbuilder.mtgdeckbuilder.application.importer.CardNameIndex;
+import com.deckbuilder.mtgdeckbuilder.application.importer.DecklistParser;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.CardInDeckRepository;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.DeckRepository;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.exception.DeckNotFoundException;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.exception.InvalidDeckCompositionException;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.model.CardInDeckEntity;
+import com.deckbuilder.mtgdeckbuilder.model.DeckCardOperation;
+import com.deckbuilder.mtgdeckbuilder.model.DeckDelta;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DeckImportServiceImpl implements DeckImportService {
+	private static final int MAX_REPORTED_PROBLEMS = 10;
+
+	private final DeckService deckService;
+	private final DeckRepository deckRepository;
+	private final CardInDeckRepository cardInDeckRepository;
+	private final CardNameIndex cardNameIndex;
+
+	@Override
+	@Transactional
+	public DeckDelta importDecklist(Long deckId, String decklist, boolean replace) {
+		final DecklistParser.Result parsed = DecklistParser.parse(decklist);
+		final List<String> problems = new ArrayList<>();
+		parsed.problems().forEach(problem -> problems.add(
+				String.format("line %d \"%s\": %s", problem.lineNumber(), problem.line().strip(), problem.reason())));
+
+		// Resolve every name against the in-memory index and merge repeated cards per section
+		final Map<String, Map<Long, Integer>> quantities = new LinkedHashMap<>();
+		for (final DecklistParser.Entry entry : parsed.entries()) {
+			final Optional<Long> cardId = this.cardNameIndex.resolve(entry.name(), entry.setName(),
+					entry.collectorNumber());
+			if (cardId.isEmpty()) {
+				problems.add(String.format("line %d: unknown card \"%s\"", entry.lineNumber(), entry.name()));
+				continue;
+			}
+			quantities.computeIfAbsent(entry.section(), s -> new LinkedHashMap<>())
+					.merge(cardId.get(), entry.quantity(), Integer::sum);
+		}
+
+		if (!problems.isEmpty()) {
+			throw new InvalidDeckCompositionException(String.format("Could not import decklist (%d problems): %s",
+					problems.size(), problems.stream().limit(MAX_REPORTED_PROBLEMS).collect(Collectors.joining("; "))));
+		}
+		if (quantities.isEmpty() && !replace) {
+			throw new InvalidDeckCompositionException("Decklist does not contain any cards");
+		}
+
+		final List<DeckCardOperation> operations = new ArrayList<>();
+		final DeckCardOperation.Type type = replace ? DeckCardOperation.Type.SET : DeckCardOperation.Type.ADD;
+		quantities.forEach((section, cards) -> cards.forEach((cardId, quantity) -> operations.add(
+				DeckCardOperation.builder().type(type).cardId(cardId).quantity(quantity).section(section).build())));
+
+		if (replace) {
+			// Lock before reading the current contents so no concurrent edit slips in between
+			this.deckRepository.findByIdForUpdate(deckId).orElseThrow(() -> new DeckNotFoundException(deckId));
+			for (final CardInDeckEntity row : this.cardInDeckRepository.findByDeckId(deckId)) {
+				final Map<Long, Integer> listed = quantities.get(row.getSection());
+				if (listed == null || !listed.containsKey(row.getCardId())) {
+					operations.add(DeckCardOperation.builder().type(DeckCardOperation.Type.SET).cardId(row.getCardId())
+							.quantity(0).section(row.getSection()).build());
+				}
+			}
+			if (operations.isEmpty()) {
+				throw new InvalidDeckCompositionException("Decklist does not contain any cards");
+			}
+		}
+
+		log.debug("Importing {} lines into deck {} as {} operations", parsed.entries().size(), deckId,
+				operations.size());
+		return this.deckService.applyCardOperations(deckId, operations);
+	}
+}
@@ -1,14 +1,31 @@
 package com.deckbuilder.mtgdeckbuilder.application.implement;
 
 import com.deckbuilder.mtgdeckbuilder.application.DeckService;
+import com.deckbuilder.mtgdeckbuilder.application.DeckValidationService;
+import com.deckbuilder.mtgdeckbuilder.application.history.DeckRevisionLog;
+import com.deckbuilder.mtgdeckbuilder.application.metagame.MetagameRefresher;
+import com.deckbuilder.mtgdeckbuilder.application.similarity.CardCooccurrenceIndex;
+import com.deckbuilder.mtgdeckbuilder.application.similarity.DeckSimilarityIndex;
+import com.deckbuilder.mtgdeckbuilder.application.stats.CardPopularityCounters;
+import com.deckbuilder.mtgdeckbuilder.application.stats.DeckStatsCache;
 import com.deckbuilder.mtgdeckbuilder.infrastructure.CardInDeckRepository;
 import com.deckbuilder.mtgdeckbuilder.infrastructure.DeckRepository;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.DeckRepository.DeckPlacementView;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.DeckRepository.DeckSummaryView;
 import com.deckbuilder.mtgdeckbuilder.infrastructure.exception.DeckNotFoundException;
 import com.deckbuilder.mtgdeckbuilder.infrastructure.exception.InvalidDeckCompositionException;
 import com.deckbuilder.mtgdeckbuilder.infrastructure.mapper.DeckEntityMapper;
 import com.deckbuilder.mtgdeckbuilder.infrastructure.model.CardInDeckEntity;
 import com.deckbuilder.mtgdeckbuilder.infrastructure.model.DeckEntity;
 import com.deckbuilder.mtgdeckbuilder.model.Deck;
+import com.deckbuilder.mtgdeckbuilder.model.Deck.CardInDeck;
+import com.deckbuilder.mtgdeckbuilder.model.DeckCardOperation;
+import com.deckbuilder.mtgdeckbuilder.model.DeckDelta;
+import com.deckbuilder.mtgdeckbuilder.model.DeckDelta.CardChange;
+import com.deckbuilder.mtgdeckbuilder.model.DeckSummary;
+import com.deckbuilder.mtgdeckbuilder.model.DeckValidationReport;
+import com.deckbuilder.mtgdeckbuilder.model.DeckValidationReport.Rule;
+import com.deckbuilder.mtgdeckbuilder.model.DeckVersion;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
@@ -17,16 +34,35 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class DeckServiceImpl implements DeckService {
+	private static final List<String> SECTIONS = List.of("main", "sideboard", "maybeboard");
+
 	private final DeckRepository deckRepository;
 	private final DeckEntityMapper deckEntityMapper;
 	private final CardInDeckRepository cardInDeckRepository;
+	private final DeckValidationService deckValidationService;
+	private final DeckStatsCache deckStatsCache;
+	private final DeckRevisionLog deckRevisionLog;
+	private final DeckSimilarityIndex deckSimilarityIndex;
+	private final CardCooccurrenceIndex cardCooccurrenceIndex;
+	private final CardPopularityCounters cardPopularityCounters;
+	private final MetagameRefresher metagameRefresher;
 
 	@Override
 	public List<Deck> getAll(int pageSize, int pageNumber) {
@@ -39,6 +75,11 @@ public class DeckServiceImpl implements DeckService {
 		return this.deckRepository.findById(id).map(this.deckEntityMapper::toModel);
 	}
 
+	@Override
+	public Optional<Long> findVersion(Long id) {
+		return Optional.ofNullable(this.deckRepository.findModifiedById(id)).map(DeckVersion::of);
+	}
+
 	@Override
 	public List<Deck> findByUserId(Long userId, int pageSize, int pageNumber) {
 		final Pageable pageable = PageRequest.of(pageNumber, pageSize);
@@ -46,8 +87,18 @@ public class DeckServiceImpl implements DeckService {
 	}
 
 	@Override
-	public List<Deck> findByFormat(Long formatId) {
-		return this.deckEntityMapper.toModelList(this.deckRepository.findByFormatId(formatId));
+	@Transactional(readOnly = true)
+	public List<DeckSummary> findByFormat(Long formatId, Long afterId, int limit) {
+		return this.deckRepository.findSummariesByFormatAfter(formatId, afterId != null ? afterId : 0L,
+				PageRequest.of(0, limit)).stream().map(this.deckEntityMapper::toSummary).toList();
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public void streamByFormat(Long formatId, Consumer<DeckSummary> consumer) {
+		try (Stream<DeckSummaryView> rows = this.deckRepository.streamSummariesByFormat(formatId)) {
+			rows.map(this.deckEntityMapper::toSummary).forEach(consumer);
+		}
 	}
 
 	@Override
@@ -55,9 +106,11 @@ public class DeckServiceImpl implements DeckService {
 	public Deck create(Deck deck) {
 		final LocalDateTime now = LocalDateTime.now();
 		deck = deck.toBuilder().created(now).modified(now).build();
+		this.deckValidationService.validateCommander(deck.getCommanderCardId());
 
 		DeckEntity entity = this.deckEntityMapper.toEntity(deck);
 		entity = this.deckRepository.save(entity);
+		this.metagameRefresher.recordChange(entity.getTournament());
 		return this.deckEntityMapper.toModel(entity);
 	}
 
@@ -68,11 +121,27 @@ public class DeckServiceImpl implements DeckService {
 			throw new DeckNotFoundException(id);
 		}
 
+		final Optional<DeckPlacementView> previous = this.deckRepository.findPlacementById(id);
+		final Long previousFormatId = previous.map(DeckPlacementView::getFormatId).orElse(null);
+		final String previousTournament = previous.map(DeckPlacementView::getTournament).orElse(null);
 		final LocalDateTime now = LocalDateTime.now();
 		deck = deck.toBuilder().id(id).modified(now).build();
+		this.deckValidationService.validateCommander(deck.getCommanderCardId());
 
 		DeckEntity entity = this.deckEntityMapper.toEntity(deck);
 		entity = this.deckRepository.save(entity);
+		if (previousFormatId != null && entity.getFormatId() != null
+				&& !previousFormatId.equals(entity.getFormatId())) {
+			// The main deck now counts towards the popularity of its cards in the new format
+			final List<Long> mainCardIds = this.cardInDeckRepository.findMainCardIdsByDeckId(id);
+			this.cardPopularityCounters.recordDeck(previousFormatId, mainCardIds, -1);
+			this.cardPopularityCounters.recordDeck(entity.getFormatId(), mainCardIds, 1);
+		}
+		// The deck may have moved between tournaments, so both of them need recomputing
+		this.metagameRefresher.recordChange(previousTournament);
+		if (entity.getTournament() != null && !entity.getTournament().equals(previousTournament)) {
+			this.metagameRefresher.recordChange(entity.getTournament());
+		}
 		return this.deckEntityMapper.toModel(entity);
 	}
 
@@ -82,17 +151,54 @@ public class DeckServiceImpl implements DeckService {
 		if (!this.deckRepository.existsById(id)) {
 			return false;
 		}
+		final Optional<DeckPlacementView> placement = this.deckRepository.findPlacementById(id);
+		final List<Long> mainCardIds = this.cardInDeckRepository.findMainCardIdsByDeckId(id);
 		this.deckRepository.deleteById(id);
+		placement.ifPresent(deck -> {
+			this.cardPopularityCounters.recordDeck(deck.getFormatId(), mainCardIds, -1);
+			this.metagameRefresher.recordChange(deck.getTournament());
+		});
+		this.deckStatsCache.invalidate(id);
+		this.deckSimilarityIndex.remove(id);
+		this.cardCooccurrenceIndex.remove(id);
 		return true;
 	}
 
 	@Override
 	@Transactional
-	public Deck addCard(Long deckId, Long cardId, int quantity, String section) {
-		if (!this.deckRepository.existsById(deckId)) {
-			throw new DeckNotFoundException(deckId);
+	public Deck fork(Long sourceDeckId, Deck overrides) {
+		final DeckEntity source = this.deckRepository.findById(sourceDeckId)
+				.orElseThrow(() -> new DeckNotFoundException(sourceDeckId));
+		return this.forkDeck(source, overrides, overrides.getName());
+	}
+
+	@Override
+	@Transactional
+	public List<Deck> forkAll(List<Long> sourceDeckIds, Deck overrides) {
+		final List<Long> ids = List.copyOf(new LinkedHashSet<>(sourceDeckIds));
+		final Map<Long, DeckEntity> sources = this.deckRepository.findAllById(ids).stream()
+				.collect(Collectors.toMap(DeckEntity::getId, Function.identity()));
+		for (final Long id : ids) {
+			if (!sources.containsKey(id)) {
+				throw new DeckNotFoundException(id);
+			}
 		}
 
+		final List<Deck> forks = new ArrayList<>(ids.size());
+		for (final Long id : ids) {
+			forks.add(this.forkDeck(sources.get(id), overrides, null));
+		}
+		log.debug("Forked {} decks", forks.size());
+		return forks;
+	}
+
+	@Override
+	@Transactional
+	public DeckDelta addCard(Long deckId, Long cardId, int quantity, String section) {
+		// Serialize edits of this deck so the read-modify-write below cannot lose a concurrent increment
+		final DeckEntity deck = this.deckRepository.findByIdForUpdate(deckId)
+				.orElseThrow(() -> new DeckNotFoundException(deckId));
+
 		if (quantity <= 0) {
 			throw new InvalidDeckCompositionException("Quantity must be greater than 0");
 		}
@@ -102,14 +208,26 @@ public class DeckServiceImpl implements DeckService {
 			throw new InvalidDeckCompositionException("Invalid section. Must be 'main', 'sideboard', or 'maybeboard'");
 		}
 
-		// Check if card already exists in this section
-		final Optional<CardInDeckEntity> existingCard = this.cardInDeckRepository
-				.findByDeckIdAndCardIdAndSection(deckId, cardId, section);
+		// The card's rows in every section, for its existing entry and its copies across main deck and sideboard
+		final List<CardInDeckEntity> cardRows = this.cardInDeckRepository.findByDeckIdAndCardId(deckId, cardId);
+		final Optional<CardInDeckEntity> existingCard = cardRows.stream()
+				.filter(row -> section.equals(row.getSection()))
+				.findFirst();
+		final int otherPlayedCopies = cardRows.stream()
+				.filter(row -> !section.equals(row.getSection()) && !"maybeboard".equals(row.getSection()))
+				.mapToInt(CardInDeckEntity::getQuantity)
+				.sum();
 
+		final int previousQuantity = existingCard.map(CardInDeckEntity::getQuantity).orElse(0);
+		// The locked deck's maintained counters give the section total without another query
+		this.deckValidationService.validateCardAddition(deck.getFormatId(), deck.getCommanderCardId(), cardId,
+				section, otherPlayedCopies + previousQuantity + quantity, deck.getSectionCount(section) + quantity);
+
+		this.adjustSectionCount(deckId, section, quantity);
 		if (existingCard.isPresent()) {
 			// Add to existing quantity
 			final CardInDeckEntity cardInDeck = existingCard.get();
-			cardInDeck.setQuantity(cardInDeck.getQuantity() + quantity);
+			cardInDeck.setQuantity(previousQuantity + quantity);
 			this.cardInDeckRepository.save(cardInDeck);
 		} else {
 			// Create new entry
@@ -118,16 +236,16 @@ public class DeckServiceImpl implements DeckService {
 			this.cardInDeckRepository.save(newCard);
 		}
 
-		// Return updated deck with cards
-		return this.findById(deckId).orElseThrow(() -> new DeckNotFoundException(deckId));
+		final CardChange change = CardChange.builder().cardId(cardId).section(section)
+				.previousQuantity(previousQuantity).quantity(previousQuantity + quantity).build();
+		return this.buildDelta(deckId, deck, List.of(change), null);
 	}
 
 	@Override
 	@Transactional
-	public Deck removeCard(Long deckId, Long cardId, int quantity, String section) {
-		if (!this.deckRepository.existsById(deckId)) {
-			throw new DeckNotFoundException(deckId);
-		}
+	public DeckDelta removeCard(Long deckId, Long cardId, int quantity, String section) {
+		final DeckEntity deck = this.deckRepository.findByIdForUpdate(deckId)
+				.orElseThrow(() -> new DeckNotFoundException(deckId));
 
 		if (quantity <= 0) {
 			throw new InvalidDeckCompositionException("Quantity must be greater than 0");
@@ -149,6 +267,9 @@ public class DeckServiceImpl implements DeckService {
 		final CardInDeckEntity cardInDeck = existingCard.get();
 		final int newQuantity = cardInDeck.getQuantity() - quantity;
 
+		final int previousQuantity = cardInDeck.getQuantity();
+
+		this.adjustSectionCount(deckId, section, Math.max(0, newQuantity) - previousQuantity);
 		if (newQuantity <= 0) {
 			// Delete the card if quantity reaches 0 or below
 			this.cardInDeckRepository.deleteByDeckIdAndCardIdAndSection(deckId, cardId, section);
@@ -158,10 +279,228 @@ public class DeckServiceImpl implements DeckService {
 			this.cardInDeckRepository.save(cardInDeck);
 		}
 
-		// Note: deck modification time is automatically updated by the database trigger
+		final CardChange change = CardChange.builder().cardId(cardId).section(section)
+				.previousQuantity(previousQuantity).quantity(Math.max(0, newQuantity)).build();
+		return this.buildDelta(deckId, deck, List.of(change), null);
+	}
+
+	@Override
+	@Transactional
+	public DeckDelta applyCardOperations(Long deckId, List<DeckCardOperation> operations) {
+		final DeckEntity deck = this.deckRepository.findByIdForUpdate(deckId)
+				.orElseThrow(() -> new DeckNotFoundException(deckId));
+
+		if (operations == null || operations.isEmpty()) {
+			throw new InvalidDeckCompositionException("At least one card operation is required");
+		}
+
+		// Index the current contents by section and card so every operation resolves in memory
+		final Map<String, Map<Long, CardInDeck>> contents = new HashMap<>();
+		// Entries are mutable Lombok beans, so track their starting quantity by identity
+		final Map<CardInDeck, Integer> originalQuantities = new IdentityHashMap<>();
+		for (final CardInDeckEntity row : this.cardInDeckRepository.findByDeckId(deckId)) {
+			final CardInDeck entry = CardInDeck.builder().id(row.getId()).cardId(row.getCardId()).deckId(deckId)
+					.quantity(row.getQuantity()).section(row.getSection()).build();
+			contents.computeIfAbsent(row.getSection(), s -> new LinkedHashMap<>()).put(row.getCardId(), entry);
+			originalQuantities.put(entry, row.getQuantity());
+		}
+
+		for (final DeckCardOperation operation : operations) {
+			this.applyOperation(deckId, contents, operation);
+		}
+
+		final List<CardInDeck> changedEntries = new ArrayList<>();
+		final List<CardInDeck> increasedEntries = new ArrayList<>();
+		final List<CardChange> changes = new ArrayList<>();
+		final Map<String, Integer> sectionTotals = new HashMap<>();
+		final Map<String, Integer> sectionDeltas = new HashMap<>();
+		contents.forEach((section, entries) -> entries.values().forEach(entry -> {
+			final int originalQuantity = originalQuantities.getOrDefault(entry, 0);
+			if (entry.getQuantity() != originalQuantity) {
+				changedEntries.add(entry);
+				changes.add(CardChange.builder().cardId(entry.getCardId()).section(section)
+						.previousQuantity(originalQuantity).quantity(entry.getQuantity()).build());
+				sectionDeltas.merge(section, entry.getQuantity() - originalQuantity, Integer::sum);
+			}
+			if (entry.getQuantity() > originalQuantity) {
+				increasedEntries.add(entry);
+			}
+			sectionTotals.merge(section, entry.getQuantity(), Integer::sum);
+		}));
+
+		if (changedEntries.isEmpty()) {
+			return this.buildDelta(deckId, deck, changes, sectionTotals);
+		}
+
+		// Removals can never break a rule, so only growth needs validating
+		if (!increasedEntries.isEmpty()) {
+			// Copy limits count main deck and sideboard together; maybeboard cards are never validated
+			final Map<Long, Integer> increasedCardCopies = new LinkedHashMap<>();
+			for (final CardInDeck entry : increasedEntries) {
+				if (!"maybeboard".equals(entry.getSection())) {
+					increasedCardCopies.put(entry.getCardId(), playedCopies(contents, entry.getCardId()));
+				}
+			}
+			this.deckValidationService.validateBatch(deck.getFormatId(), deck.getCommanderCardId(),
+					increasedCardCopies, sectionTotals);
+		}
+
+		this.deckRepository.adjustSectionCounts(deckId, sectionDeltas.getOrDefault("main", 0),
+				sectionDeltas.getOrDefault("sideboard", 0), sectionDeltas.getOrDefault("maybeboard", 0));
+		this.cardInDeckRepository.applyBatch(deckId, changedEntries);
+		log.debug("Applied {} operations to deck {} ({} rows changed)", operations.size(), deckId,
+				changedEntries.size());
+
+		return this.buildDelta(deckId, deck, changes, sectionTotals);
+	}
+
+	/**
+	 * Keeps the deck's maintained section counter in step with a single card_deck write. The same update bumps
+	 * the modification time, so it runs before the card write: the card_deck trigger then finds the deck
+	 * already touched in this transaction and skips its own update of the row.
+	 */
+	private void adjustSectionCount(Long deckId, String section, int delta) {
+		this.deckRepository.adjustSectionCounts(deckId, "main".equals(section) ? delta : 0,
+				"sideboard".equals(section) ? delta : 0, "maybeboard".equals(section) ? delta : 0);
+	}
+
+	/**
+	 * Copy a deck row and all of its card rows server-side. The cards were valid in the source's format, so they
+	 * are only revalidated when the fork moves to another format; an incomplete main deck does not block a fork.
+	 */
+	private Deck forkDeck(DeckEntity source, Deck overrides, String name) {
+		final Long formatId = overrides.getFormatId() != null ? overrides.getFormatId() : source.getFormatId();
+		if (!formatId.equals(source.getFormatId())) {
+			final DeckValidationReport report = this.deckValidationService.validateDeckForFormat(source.getId(),
+					formatId);
+			final List<DeckValidationReport.Violation> violations = report.getViolations().stream()
+					.filter(violation -> violation.getRule() != Rule.MAIN_DECK_TOO_SMALL).toList();
+			if (!violations.isEmpty()) {
+				throw new InvalidDeckCompositionException(String.format(
+						"Deck %d cannot be forked into format %d: %s%s", source.getId(), formatId,
+						violations.get(0).getMessage(),
+						violations.size() > 1 ? String.format(" (and %d more)", violations.size() - 1) : ""));
+			}
+		}
+
+		DeckEntity fork = new DeckEntity();
+		fork.setName(name != null ? name : source.getName());
+		fork.setDescription(source.getDescription());
+		fork.setParentDeckId(source.getId());
+		fork.setCommanderCardId(source.getCommanderCardId());
+		fork.setIsPrivate(overrides.getIsPrivate() != null ? overrides.getIsPrivate() : source.getIsPrivate());
+		fork.setDeckType(source.getDeckType());
+		fork.setFormatId(formatId);
+		fork.setUserId(overrides.getUserId() != null ? overrides.getUserId() : source.getUserId());
+		fork = this.deckRepository.save(fork);
+
+		final int copied = this.cardInDeckRepository.copyDeckContents(source.getId(), fork.getId());
+		this.deckRepository.recountSections(fork.getId());
+		// Move the fork to revision 1 and record its contents as the first snapshot of its history
+		this.deckRepository.startFirstRevision(fork.getId());
+		this.deckRevisionLog.record(fork.getId(), 1L, List.of());
+		final List<Long> mainCardIds = this.cardInDeckRepository.findMainCardIdsByDeckId(fork.getId());
+		this.deckSimilarityIndex.recordDeck(fork.getId(), mainCardIds);
+		this.cardCooccurrenceIndex.recordDeck(fork.getId(), mainCardIds);
+		this.cardPopularityCounters.recordDeck(formatId, mainCardIds, 1);
+		log.debug("Forked deck {} into deck {} ({} card rows)", source.getId(), fork.getId(), copied);
+
+		return this.deckEntityMapper.toModel(fork);
+	}
+
+	/**
+	 * Builds the delta returned by card mutations. When the caller does not already know the section totals
+	 * they are read from the deck's maintained counters.
+	 */
+	private DeckDelta buildDelta(Long deckId, DeckEntity deck, List<CardChange> changes,
+			Map<String, Integer> sectionTotals) {
+		final Map<String, Integer> totals = new LinkedHashMap<>();
+		SECTIONS.forEach(section -> totals.put(section, 0));
+		if (sectionTotals != null) {
+			totals.putAll(sectionTotals);
+		} else {
+			this.deckRepository.findSectionCountsById(deckId).ifPresent(counts -> {
+				totals.put("main", counts.getMain());
+				totals.put("sideboard", counts.getSideboard());
+				totals.put("maybeboard", counts.getMaybeboard());
+			});
+		}
+
+		final Long version = this.findVersion(deckId).orElse(null);
+		final Long revision = this.deckRepository.findRevisionById(deckId);
+		if (!changes.isEmpty() && revision != null) {
+			this.deckRevisionLog.record(deckId, revision, changes);
+		}
+		final DeckDelta delta = DeckDelta.builder().deckId(deckId).version(version).revision(revision)
+				.changes(changes).sectionTotals(totals).build();
+		// Cached statistics, similarity signatures, co-occurrences, popularity counters and the tournament's metagame
+		// follow the delta once this transaction commits
+		this.deckStatsCache.recordChange(delta);
+		this.deckSimilarityIndex.recordChange(delta);
+		this.cardCooccurrenceIndex.recordChange(delta);
+		this.cardPopularityCounters.recordChange(deck.getFormatId(), delta);
+		if (!changes.isEmpty()) {
+			this.metagameRefresher.recordChange(deck.getTournament());
+		}
+		return delta;
+	}
 
-		// Return updated deck with cards
-		return this.findById(deckId).orElseThrow(() -> new DeckNotFoundException(deckId));
+	/**
+	 * Applies one operation to the in-memory deck contents
+	 */
+	private void applyOperation(Long deckId, Map<String, Map<Long, CardInDeck>> contents,
+			DeckCardOperation operation) {
+		if (operation.getType() == null || operation.getCardId() == null) {
+			throw new InvalidDeckCompositionException("Card operation requires a type and a card id");
+		}
+
+		if (!this.isValidSection(operation.getSection())) {
+			throw new InvalidDeckCompositionException("Invalid section. Must be 'main', 'sideboard', or 'maybeboard'");
+		}
+
+		final int quantity = operation.getQuantity();
+		if (quantity < 0 || (quantity == 0 && operation.getType() != DeckCardOperation.Type.SET)) {
+			throw new InvalidDeckCompositionException("Quantity must be greater than 0");
+		}
+
+		final Map<Long, CardInDeck> section = contents.computeIfAbsent(operation.getSection(),
+				s -> new LinkedHashMap<>());
+		CardInDeck entry = section.get(operation.getCardId());
+
+		if (operation.getType() == DeckCardOperation.Type.REMOVE) {
+			if (entry == null || entry.getQuantity() == 0) {
+				throw new InvalidDeckCompositionException("Card not found in deck section");
+			}
+			// Removing more than available drops the card, as in removeCard
+			entry.setQuantity(Math.max(0, entry.getQuantity() - quantity));
+			return;
+		}
+
+		if (entry == null) {
+			entry = CardInDeck.builder().cardId(operation.getCardId()).deckId(deckId).quantity(0)
+					.section(operation.getSection()).build();
+			section.put(operation.getCardId(), entry);
+		}
+
+		if (operation.getType() == DeckCardOperation.Type.ADD) {
+			entry.setQuantity(entry.getQuantity() + quantity);
+		} else {
+			entry.setQuantity(quantity);
+		}
+	}
+
+	/**
+	 * Resulting copies of a card across the main deck and sideboard of the in-memory deck contents
+	 */
+	private static int playedCopies(Map<String, Map<Long, CardInDeck>> contents, Long cardId) {
+		int copies = 0;
+		for (final String section : List.of("main", "sideboard")) {
+			final CardInDeck entry = contents.getOrDefault(section, Map.of()).get(cardId);
+			if (entry != null) {
+				copies += entry.getQuantity();
+			}
+		}
+		return copies;
 	}
 
 	/**
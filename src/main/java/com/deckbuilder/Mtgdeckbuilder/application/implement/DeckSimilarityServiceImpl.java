@@ -0,0 +1,84 @@
+package com.deckbuilder.mtgdeckbuilder.application.implement;
+
+import com.deckbuilder.mtgdeckbuilder.application.DeckSimilarityService;
+import com.deckbuilder.mtgdeckbuilder.application.similarity.DeckSimilarityIndex;
+import com.deckbuilder.mtgdeckbuilder.application.similarity.DeckSimilarityIndex.Match;
+import com.deckbuilder.mtgdeckbuilder.application.similarity.MainDeckCardSets;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.CardInDeckRepository;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.CardInDeckRepository.DeckCardIdView;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.DeckRepository;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.exception.DeckNotFoundException;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.exception.InvalidRequestException;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.mapper.DeckEntityMapper;
+import com.deckbuilder.mtgdeckbuilder.model.DeckSummary;
+import com.deckbuilder.mtgdeckbuilder.model.SimilarDeck;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+public class DeckSimilarityServiceImpl implements DeckSimilarityService {
+	private final DeckRepository deckRepository;
+	private final CardInDeckRepository cardInDeckRepository;
+	private final DeckEntityMapper deckEntityMapper;
+	private final DeckSimilarityIndex deckSimilarityIndex;
+
+	@Override
+	@Transactional(readOnly = true)
+	public List<SimilarDeck> findSimilar(Long deckId, int limit, double minSimilarity) {
+		if (minSimilarity < 0 || minSimilarity > 1) {
+			throw new InvalidRequestException("Minimum similarity must be between 0 and 1");
+		}
+		if (!this.deckRepository.existsById(deckId)) {
+			throw new DeckNotFoundException(deckId);
+		}
+
+		// Built by the warm-up job; until then no deck has a signature and nothing matches
+		final List<Match> matches = this.deckSimilarityIndex.similarTo(deckId, minSimilarity);
+		if (matches.isEmpty()) {
+			return List.of();
+		}
+
+		final Map<Long, DeckSummary> summaries = this.deckRepository
+				.findSummariesByIdIn(matches.stream().map(Match::deckId).toList()).stream()
+				.map(this.deckEntityMapper::toSummary)
+				.collect(Collectors.toMap(DeckSummary::getId, Function.identity()));
+		final List<SimilarDeck> similar = new ArrayList<>();
+		for (final Match match : matches) {
+			final DeckSummary deck = summaries.get(match.deckId());
+			// Deleted since it was indexed, or not shared by its owner
+			if (deck == null || Boolean.TRUE.equals(deck.getIsPrivate())) {
+				continue;
+			}
+			similar.add(SimilarDeck.builder()
+					.deck(deck)
+					.similarity(match.similarity())
+					.sharedCards(match.sharedCards())
+					.build());
+			if (similar.size() == limit) {
+				break;
+			}
+		}
+		return similar;
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public int rebuildIndex() {
+		return this.deckSimilarityIndex.rebuild(this::loadMainDecks);
+	}
+
+	private Map<Long, long[]> loadMainDecks() {
+		try (Stream<DeckCardIdView> rows = this.cardInDeckRepository.streamMainDeckCardIds()) {
+			return MainDeckCardSets.collect(rows);
+		}
+	}
+}
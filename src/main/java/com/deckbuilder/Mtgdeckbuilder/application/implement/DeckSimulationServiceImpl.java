@@ -0,0 +1,259 @@
+package com.deckbuilder.mtgdeckbuilder.application.implement;
+
+import com.deckbuilder.mtgdeckbuilder.application.DeckSimulationService;
+import com.deckbuilder.mtgdeckbuilder.application.simulation.HandSimulator;
+import com.deckbuilder.mtgdeckbuilder.application.simulation.Hypergeometric;
+import com.deckbuilder.mtgdeckbuilder.application.simulation.SourceRequirementTable;
+import com.deckbuilder.mtgdeckbuilder.application.stats.ManaCostParser;
+import com.deckbuilder.mtgdeckbuilder.application.stats.TypeLineParser;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.CardInDeckRepository;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.CardInDeckRepository.MainDeckManaView;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.CardInDeckRepository.MainDeckStatsView;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.DeckRepository;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.exception.DeckNotFoundException;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.exception.InvalidRequestException;
+import com.deckbuilder.mtgdeckbuilder.model.DeckSimulation;
+import com.deckbuilder.mtgdeckbuilder.model.DeckSimulation.Condition;
+import com.deckbuilder.mtgdeckbuilder.model.DeckSimulationResult;
+import com.deckbuilder.mtgdeckbuilder.model.ManaBaseAdvice;
+import com.deckbuilder.mtgdeckbuilder.model.ManaBaseAdvice.ColorRequirement;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Predicate;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DeckSimulationServiceImpl implements DeckSimulationService {
+	static final int OPENING_HAND = 7;
+	static final int MAX_CONDITIONS = 8;
+	static final long DEFAULT_TRIALS = 100_000L;
+	static final long MAX_TRIALS = 5_000_000L;
+	static final double LANDS_PER_SIXTY = 19.59;
+	static final double LANDS_PER_MANA_VALUE = 1.90;
+
+	private final DeckRepository deckRepository;
+	private final CardInDeckRepository cardInDeckRepository;
+	private final HandSimulator handSimulator;
+	private final SourceRequirementTable sourceRequirementTable;
+
+	@Override
+	// Not transactional: the rows are read up front and no connection is held while the trials run
+	public DeckSimulationResult simulate(Long deckId, DeckSimulation simulation) {
+		final List<Condition> conditions = simulation.getConditions() == null ? List.of() : simulation.getConditions();
+		if (conditions.isEmpty() || conditions.size() > MAX_CONDITIONS) {
+			throw new InvalidRequestException("A simulation needs between 1 and " + MAX_CONDITIONS + " conditions");
+		}
+		final long trials = simulation.getTrials() == null ? DEFAULT_TRIALS : simulation.getTrials();
+		if (trials < 1 || trials > MAX_TRIALS) {
+			throw new InvalidRequestException("Trials must be between 1 and " + MAX_TRIALS);
+		}
+		if (simulation.getTurn() < 0) {
+			throw new InvalidRequestException("Turn must not be negative");
+		}
+
+		final List<Predicate<MainDeckStatsView>> matchers = new ArrayList<>(conditions.size());
+		final int[] min = new int[conditions.size()];
+		final int[] max = new int[conditions.size()];
+		for (int c = 0; c < conditions.size(); c++) {
+			final Condition condition = conditions.get(c);
+			matchers.add(matcherOf(condition));
+			min[c] = condition.getMin();
+			max[c] = condition.getMax() == null ? Integer.MAX_VALUE : condition.getMax();
+			if (min[c] < 0 || min[c] > max[c]) {
+				throw new InvalidRequestException("Invalid bounds for condition " + condition.getCategory());
+			}
+		}
+
+		if (!this.deckRepository.existsById(deckId)) {
+			throw new DeckNotFoundException(deckId);
+		}
+		final List<MainDeckStatsView> rows = this.cardInDeckRepository.findMainDeckStatsViews(deckId);
+
+		// One bitmask per card copy: bit c is set when the copy counts towards condition c
+		final int deckSize = rows.stream().mapToInt(MainDeckStatsView::getQuantity).sum();
+		if (deckSize == 0) {
+			throw new InvalidRequestException("Deck " + deckId + " has no main deck cards");
+		}
+		final int[] deck = new int[deckSize];
+		final int[] matching = new int[conditions.size()];
+		int position = 0;
+		for (final MainDeckStatsView row : rows) {
+			int mask = 0;
+			for (int c = 0; c < matchers.size(); c++) {
+				if (matchers.get(c).test(row)) {
+					mask |= 1 << c;
+					matching[c] += row.getQuantity();
+				}
+			}
+			for (int copy = 0; copy < row.getQuantity(); copy++) {
+				deck[position++] = mask;
+			}
+		}
+
+		final int cardsSeen = cardsSeen(deckSize, simulation.getTurn(), simulation.isOnThePlay());
+		final List<Double> conditionProbabilities = new ArrayList<>(conditions.size());
+		for (int c = 0; c < conditions.size(); c++) {
+			conditionProbabilities.add(Hypergeometric.probabilityBetween(deckSize, matching[c], cardsSeen, min[c], max[c]));
+		}
+
+		final DeckSimulationResult.DeckSimulationResultBuilder result = DeckSimulationResult.builder()
+				.deckId(deckId)
+				.deckSize(deckSize)
+				.cardsSeen(cardsSeen)
+				.conditionProbabilities(conditionProbabilities);
+		if (conditions.size() == 1) {
+			return result.method(DeckSimulationResult.EXACT).probability(conditionProbabilities.get(0)).build();
+		}
+
+		final long seed = simulation.getSeed() != null ? simulation.getSeed() : ThreadLocalRandom.current().nextLong();
+		final long start = System.nanoTime();
+		final long hits = this.handSimulator.countHits(deck, cardsSeen, min, max, trials, seed);
+		log.debug("Simulated {} draws of deck {} in {} ms", trials, deckId, (System.nanoTime() - start) / 1_000_000);
+
+		final double probability = (double) hits / trials;
+		return result.method(DeckSimulationResult.MONTE_CARLO)
+				.probability(probability)
+				.trials(trials)
+				.standardError(Math.sqrt(probability * (1 - probability) / trials))
+				.build();
+	}
+
+	@Override
+	public ManaBaseAdvice adviseManaBase(Long deckId, double targetProbability, boolean onThePlay) {
+		if (!(targetProbability > 0 && targetProbability < 1)) {
+			throw new InvalidRequestException("Target probability must be between 0 and 1");
+		}
+		if (!this.deckRepository.existsById(deckId)) {
+			throw new DeckNotFoundException(deckId);
+		}
+		final List<MainDeckManaView> rows = this.cardInDeckRepository.findMainDeckManaViews(deckId);
+		final int deckSize = rows.stream().mapToInt(MainDeckManaView::getQuantity).sum();
+		if (deckSize == 0) {
+			throw new InvalidRequestException("Deck " + deckId + " has no main deck cards");
+		}
+
+		final String colors = ManaCostParser.COLORS;
+		final int[] sources = new int[colors.length()];
+		final ColorRequirement[] hardest = new ColorRequirement[colors.length()];
+		int landCount = 0;
+		int spellCount = 0;
+		long manaValueTotal = 0;
+		for (final MainDeckManaView row : rows) {
+			if (isLand(row)) {
+				landCount += row.getQuantity();
+				final String identity = row.getColorIdentity() == null ? "" : row.getColorIdentity().toUpperCase(Locale.ROOT);
+				for (int c = 0; c < colors.length(); c++) {
+					if (identity.indexOf(colors.charAt(c)) >= 0) {
+						sources[c] += row.getQuantity();
+					}
+				}
+				continue;
+			}
+
+			spellCount += row.getQuantity();
+			manaValueTotal += (long) manaValueOf(row) * row.getQuantity();
+			// On curve means on the turn matching the mana value; the tables are shared by every deck of this size
+			final int turn = Math.max(1, manaValueOf(row));
+			final int cardsSeen = cardsSeen(deckSize, turn, onThePlay);
+			final int[] pips = ManaCostParser.pips(row.getManaCost());
+			for (int c = 0; c < colors.length(); c++) {
+				if (pips[c] == 0) {
+					continue;
+				}
+				final int required = this.sourceRequirementTable.requiredSources(deckSize, cardsSeen, pips[c],
+						targetProbability);
+				if (hardest[c] == null || required > hardest[c].getRequiredSources()) {
+					hardest[c] = ColorRequirement.builder()
+							.color(String.valueOf(colors.charAt(c)))
+							.requiredSources(required)
+							.cardId(row.getCardId())
+							.cardName(row.getName())
+							.turn(turn)
+							.pips(pips[c])
+							.build();
+				}
+			}
+		}
+
+		final List<ColorRequirement> requirements = new ArrayList<>();
+		for (int c = 0; c < colors.length(); c++) {
+			if (hardest[c] != null) {
+				hardest[c].setSources(sources[c]);
+				requirements.add(hardest[c]);
+			}
+		}
+
+		// Regression of recommended land counts on average mana value for 60 cards, scaled to the deck size
+		final double averageManaValue = spellCount == 0 ? 0.0 : (double) manaValueTotal / spellCount;
+		final int suggestedLandCount = (int) Math.round(
+				(LANDS_PER_SIXTY + LANDS_PER_MANA_VALUE * averageManaValue) * deckSize / 60.0);
+
+		return ManaBaseAdvice.builder()
+				.deckId(deckId)
+				.deckSize(deckSize)
+				.landCount(landCount)
+				.suggestedLandCount(Math.min(deckSize, suggestedLandCount))
+				.targetProbability(targetProbability)
+				.colors(requirements)
+				.build();
+	}
+
+	/**
+	 * Opening hand plus one draw per turn, with no draw step on the first turn on the play
+	 */
+	private static int cardsSeen(int deckSize, int turn, boolean onThePlay) {
+		return Math.min(deckSize, OPENING_HAND + Math.max(0, onThePlay ? turn - 1 : turn));
+	}
+
+	private static Predicate<MainDeckStatsView> matcherOf(Condition condition) {
+		if (condition.getCategory() == null) {
+			throw new InvalidRequestException("Condition category is required");
+		}
+		return switch (condition.getCategory()) {
+			case LAND -> DeckSimulationServiceImpl::isLand;
+			case NONLAND -> row -> !isLand(row);
+			case MANA_VALUE -> {
+				final int manaValue = parseValue(condition);
+				yield row -> !isLand(row) && manaValueOf(row) == manaValue;
+			}
+			case MANA_VALUE_AT_MOST -> {
+				final int manaValue = parseValue(condition);
+				yield row -> !isLand(row) && manaValueOf(row) <= manaValue;
+			}
+			case TYPE -> {
+				if (condition.getValue() == null || condition.getValue().isBlank()) {
+					throw new InvalidRequestException("A type condition needs a type, e.g. Creature");
+				}
+				final String type = TypeLineParser.capitalize(condition.getValue().strip());
+				yield row -> TypeLineParser.frontFaceTypes(row.getTypeLine()).contains(type);
+			}
+			case CARD -> {
+				final Long cardId = (long) parseValue(condition);
+				yield row -> cardId.equals(row.getCardId());
+			}
+		};
+	}
+
+	private static int parseValue(Condition condition) {
+		try {
+			return Integer.parseInt(condition.getValue() == null ? "" : condition.getValue().strip());
+		} catch (final NumberFormatException e) {
+			throw new InvalidRequestException("Condition " + condition.getCategory() + " needs a numeric value");
+		}
+	}
+
+	private static boolean isLand(MainDeckStatsView row) {
+		return TypeLineParser.frontFaceTypes(row.getTypeLine()).contains("Land");
+	}
+
+	private static int manaValueOf(MainDeckStatsView row) {
+		return row.getCmc() == null ? 0 : row.getCmc();
+	}
+}
@@ -0,0 +1,41 @@
+package com.deckbuilder.mtgdeckbuilder.application.implement;
+
+import com.deckbuilder.mtgdeckbuilder.application.DeckStatsService;
+import com.deckbuilder.mtgdeckbuilder.application.stats.DeckStatsCache;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.CardInDeckRepository;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.DeckRepository;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.exception.DeckNotFoundException;
+import com.deckbuilder.mtgdeckbuilder.model.DeckStats;
+import com.deckbuilder.mtgdeckbuilder.model.DeckVersion;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DeckStatsServiceImpl implements DeckStatsService {
+	private final DeckRepository deckRepository;
+	private final CardInDeckRepository cardInDeckRepository;
+	private final DeckStatsCache deckStatsCache;
+
+	@Override
+	// One snapshot for the version and the rows, so stats are never cached under the wrong version
+	@Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+	public DeckStats getStats(Long deckId) {
+		final LocalDateTime modified = this.deckRepository.findModifiedById(deckId);
+		if (modified == null) {
+			throw new DeckNotFoundException(deckId);
+		}
+
+		final long version = DeckVersion.of(modified);
+		return this.deckStatsCache.get(deckId, version).orElseGet(() -> {
+			log.debug("Computing stats of deck {} at version {}", deckId, version);
+			return this.deckStatsCache.load(deckId, version, this.cardInDeckRepository.findMainDeckStatsViews(deckId));
+		});
+	}
+}
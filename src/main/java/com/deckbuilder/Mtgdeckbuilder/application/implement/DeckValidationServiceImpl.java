@@ -1,80 +1,85 @@
 package com.deckbuilder.mtgdeckbuilder.application.implement;
 
 import com.deckbuilder.mtgdeckbuilder.application.DeckValidationService;
+import com.deckbuilder.mtgdeckbuilder.application.rules.FormatRules;
+import com.deckbuilder.mtgdeckbuilder.application.rules.FormatRulesCache;
+import com.deckbuilder.mtgdeckbuilder.application.rules.LegalityMatrix;
 import com.deckbuilder.mtgdeckbuilder.infrastructure.CardInDeckRepository;
-import com.deckbuilder.mtgdeckbuilder.infrastructure.CardLegalityRepository;
-import com.deckbuilder.mtgdeckbuilder.infrastructure.CardRepository;
 import com.deckbuilder.mtgdeckbuilder.infrastructure.DeckRepository;
-import com.deckbuilder.mtgdeckbuilder.infrastructure.FormatRepository;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.exception.DeckNotFoundException;
 import com.deckbuilder.mtgdeckbuilder.infrastructure.exception.InvalidDeckCompositionException;
-import com.deckbuilder.mtgdeckbuilder.infrastructure.model.CardEntity;
 import com.deckbuilder.mtgdeckbuilder.infrastructure.model.CardInDeckEntity;
-import com.deckbuilder.mtgdeckbuilder.infrastructure.model.CardLegalityEntity;
 import com.deckbuilder.mtgdeckbuilder.infrastructure.model.DeckEntity;
-import com.deckbuilder.mtgdeckbuilder.infrastructure.model.FormatEntity;
+import com.deckbuilder.mtgdeckbuilder.model.CardColor;
+import com.deckbuilder.mtgdeckbuilder.model.DeckValidationReport;
+import com.deckbuilder.mtgdeckbuilder.model.DeckValidationReport.Rule;
+import com.deckbuilder.mtgdeckbuilder.model.DeckValidationReport.Violation;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
-
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Deck composition rules. Format rules, card legality and color identities come from in-memory caches; card writes
+ * pass in the deck state the caller already holds, so only the reports read the deck and its contents.
+ * <p>
+ * Card writes run the same card and section-size rules as the validation report, stopping at the first violation;
+ * only the minimum deck size is left to the report, since decks are built up one write at a time.
+ * <p>
+ * In singleton formats a deck with a designated commander may only play cards whose color identity is a subset of
+ * the commander's; both identities are bitmasks, so the check is a single AND.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class DeckValidationServiceImpl implements DeckValidationService {
 
     private final DeckRepository deckRepository;
-    private final CardRepository cardRepository;
-    private final FormatRepository formatRepository;
-    private final CardLegalityRepository cardLegalityRepository;
     private final CardInDeckRepository cardInDeckRepository;
+    private final FormatRulesCache formatRulesCache;
+    private final LegalityMatrix legalityMatrix;
+    @Qualifier("deckValidationExecutor")
+    private final Executor deckValidationExecutor;
 
-    private static final int SIDEBOARD_MAX_SIZE = 15;
+    private static final int DEFAULT_SIDEBOARD_MAX_SIZE = 15;
     private static final int DEFAULT_MAX_CARD_QUANTITY = 4;
     private static final int UNLIMITED_QUANTITY = 9999;
 
     @Override
-    public void validateCardAddition(Long deckId, Long cardId, Integer quantity, String section, boolean isUpdate) {
-        log.debug("Validating card addition: deckId={}, cardId={}, quantity={}, section={}, isUpdate={}",
-                 deckId, cardId, quantity, section, isUpdate);
+    public void validateCardAddition(Long formatId, Long commanderCardId, Long cardId, String section,
+                                     int playedCopies, int sectionTotal) {
+        log.debug("Validating card addition: formatId={}, cardId={}, section={}, playedCopies={}, sectionTotal={}",
+                 formatId, cardId, section, playedCopies, sectionTotal);
 
         // Skip validation for maybeboard cards
         if ("maybeboard".equals(section)) {
             return;
         }
 
-        if (quantity == null || quantity <= 0) {
-            throw new InvalidDeckCompositionException("Quantity must be greater than 0");
-        }
-
-        // Get deck and its format
-        DeckEntity deck = deckRepository.findById(deckId)
-            .orElseThrow(() -> new InvalidDeckCompositionException("Deck not found with id: " + deckId));
-
-        if (deck.getFormatId() == null) {
+        if (formatId == null) {
             throw new InvalidDeckCompositionException("Deck format is not specified");
         }
 
-        // Get card
-        CardEntity card = cardRepository.findById(cardId)
-            .orElseThrow(() -> new InvalidDeckCompositionException("Card not found with id: " + cardId));
-
-        // Get card legality once and reuse it
-        Optional<CardLegalityEntity> cardLegality = cardLegalityRepository.findByCardIdAndFormatId(cardId, deck.getFormatId());
-
-        // Check card legality
-        validateCardLegality(cardLegality, deck.getFormatId());
+        FormatRules rules = getRules(formatId);
 
-        // Check individual card quantity limits
-        int maxAllowedQuantity = getMaxAllowedQuantity(card, cardLegality, deck.getFormatId());
-        if (quantity > maxAllowedQuantity) {
-            throw new InvalidDeckCompositionException(
-                String.format("Card quantity limit exceeded. Max allowed is %d, attempted to add %d",
-                             maxAllowedQuantity, quantity));
-        }
+        // Same rules as the validation report, stopping at the first violation
+        List<Violation> violations = new ArrayList<>();
+        checkCard(cardId, playedCopies, commanderCardId, rules, violations);
+        rejectIfAny(violations);
 
-        // Check deck size limits
-        validateDeckSizeLimit(deckId, quantity, section, deck.getFormatId(), isUpdate ? cardId : null);
+        checkSectionLimits(Map.of(section, sectionTotal), rules, violations);
+        rejectIfAny(violations);
     }
 
     @Override
@@ -102,41 +107,251 @@ public class DeckValidationServiceImpl implements DeckValidationService {
     }
 
     @Override
-    public int getMaxAllowedQuantity(Long cardId, Long formatId) {
-        // Get card details and legality
-        CardEntity card = cardRepository.findById(cardId)
-            .orElseThrow(() -> new InvalidDeckCompositionException("Card not found with id: " + cardId));
+    public void validateBatch(Long formatId, Long commanderCardId, Map<Long, Integer> increasedCardCopies,
+                              Map<String, Integer> sectionTotals) {
+        log.debug("Validating card batch: formatId={}, commanderCardId={}, increasedCards={}, sectionTotals={}",
+                 formatId, commanderCardId, increasedCardCopies.size(), sectionTotals);
+
+        if (formatId == null) {
+            throw new InvalidDeckCompositionException("Deck format is not specified");
+        }
+
+        FormatRules rules = getRules(formatId);
+
+        // Same rules as the validation report, stopping at the first violation
+        List<Violation> violations = new ArrayList<>();
+        increasedCardCopies.forEach((cardId, copies) -> {
+            checkCard(cardId, copies, commanderCardId, rules, violations);
+            rejectIfAny(violations);
+        });
+
+        checkSectionLimits(sectionTotals, rules, violations);
+        rejectIfAny(violations);
+    }
+
+    @Override
+    public DeckValidationReport validateDeck(Long deckId) {
+        DeckEntity deck = deckRepository.findById(deckId)
+            .orElseThrow(() -> new DeckNotFoundException(deckId));
+
+        return evaluateDeck(deckId, deck.getFormatId(), deck.getCommanderCardId(),
+            cardInDeckRepository.findByDeckId(deckId));
+    }
 
-        Optional<CardLegalityEntity> cardLegality = cardLegalityRepository.findByCardIdAndFormatId(cardId, formatId);
+    @Override
+    public DeckValidationReport validateDeckForFormat(Long deckId, Long formatId) {
+        DeckEntity deck = deckRepository.findById(deckId)
+            .orElseThrow(() -> new DeckNotFoundException(deckId));
+
+        return evaluateDeck(deckId, formatId, deck.getCommanderCardId(), cardInDeckRepository.findByDeckId(deckId));
+    }
 
-        return getMaxAllowedQuantity(card, cardLegality, formatId);
+    @Override
+    public List<DeckValidationReport> validateDecks(List<Long> deckIds) {
+        List<Long> distinctIds = deckIds.stream().filter(Objects::nonNull).distinct().toList();
+        log.debug("Validating {} decks in bulk", distinctIds.size());
+
+        // One query for the decks and one for all of their contents
+        Map<Long, DeckEntity> decks = deckRepository.findAllById(distinctIds).stream()
+            .collect(Collectors.toMap(DeckEntity::getId, Function.identity()));
+        Map<Long, List<CardInDeckEntity>> contents = decks.isEmpty() ? Map.of()
+            : cardInDeckRepository.findByDeckIdIn(decks.keySet()).stream()
+                .collect(Collectors.groupingBy(CardInDeckEntity::getDeckId));
+
+        // Warm the caches here so the workers never race to load the same format
+        decks.values().stream()
+            .map(DeckEntity::getFormatId)
+            .filter(Objects::nonNull)
+            .distinct()
+            .forEach(formatId -> {
+                formatRulesCache.get(formatId);
+                legalityMatrix.preload(formatId);
+            });
+
+        List<CompletableFuture<DeckValidationReport>> reports = distinctIds.stream()
+            .map(deckId -> {
+                DeckEntity deck = decks.get(deckId);
+                if (deck == null) {
+                    return CompletableFuture.completedFuture(notFoundReport(deckId));
+                }
+                List<CardInDeckEntity> rows = contents.getOrDefault(deckId, List.of());
+                return CompletableFuture.supplyAsync(
+                    () -> evaluateDeck(deckId, deck.getFormatId(), deck.getCommanderCardId(), rows),
+                    deckValidationExecutor);
+            })
+            .toList();
+
+        return reports.stream().map(CompletableFuture::join).toList();
     }
 
     /**
-     * Internal method that calculates max allowed quantity using pre-fetched entities
-     * to avoid redundant database calls when card and legality are already known.
+     * Single pass over a deck's rows: totals per section and copies per card, then every rule is checked
+     * against those aggregates using the cached format rules and legality matrix.
      */
-    private int getMaxAllowedQuantity(CardEntity card, Optional<CardLegalityEntity> cardLegality, Long formatId) {
-        // Check if card has unlimited copies flag
-        if (Boolean.TRUE.equals(card.getUnlimitedCopies())) {
-            return UNLIMITED_QUANTITY;
+    private DeckValidationReport evaluateDeck(Long deckId, Long formatId, Long commanderCardId,
+                                              List<CardInDeckEntity> rows) {
+        List<Violation> violations = new ArrayList<>();
+        Map<String, Integer> sectionTotals = new LinkedHashMap<>();
+        sectionTotals.put("main", 0);
+        sectionTotals.put("sideboard", 0);
+        sectionTotals.put("maybeboard", 0);
+        // Copy limits count main deck and sideboard together
+        Map<Long, Integer> copies = new LinkedHashMap<>();
+
+        for (CardInDeckEntity row : rows) {
+            sectionTotals.merge(row.getSection(), row.getQuantity(), Integer::sum);
+            if (!"maybeboard".equals(row.getSection())) {
+                copies.merge(row.getCardId(), row.getQuantity(), Integer::sum);
+            }
+        }
+
+        Optional<FormatRules> rules = formatRulesCache.get(formatId);
+        if (rules.isEmpty()) {
+            violations.add(violation(Rule.FORMAT_MISSING, null, null, formatId == null
+                ? "Deck format is not specified"
+                : "Format not found with id: " + formatId));
+        } else {
+            copies.forEach((cardId, count) -> checkCard(cardId, count, commanderCardId, rules.get(), violations));
+            checkSectionSizes(sectionTotals, rules.get(), violations);
+        }
+
+        return DeckValidationReport.builder()
+            .deckId(deckId)
+            .formatId(formatId)
+            .valid(violations.isEmpty())
+            .sectionTotals(sectionTotals)
+            .violations(violations)
+            .build();
+    }
+
+    /**
+     * Every card rule for a card played {@code count} times across main deck and sideboard
+     */
+    private void checkCard(Long cardId, int count, Long commanderCardId, FormatRules rules,
+                           List<Violation> violations) {
+        if (checkPlayable(cardId, commanderCardId, rules, violations)) {
+            checkCopies(cardId, count, rules, violations);
+        }
+    }
+
+    /**
+     * The card must exist, be legal in the format and fit the commander's color identity. Returns false when the
+     * card may not be played at all, so its copy limit is moot.
+     */
+    private boolean checkPlayable(Long cardId, Long commanderCardId, FormatRules rules, List<Violation> violations) {
+        if (!legalityMatrix.isKnownCard(cardId)) {
+            violations.add(violation(Rule.UNKNOWN_CARD, null, cardId, "Card not found with id: " + cardId));
+            return false;
         }
 
-        // Check if it's a basic land
-        if ("Land".equals(card.getCardType()) && "Basic".equals(card.getCardSupertype())) {
+        byte legalityStatus = legalityMatrix.getStatus(rules.getFormatId(), cardId);
+        if (legalityStatus == LegalityMatrix.BANNED) {
+            violations.add(violation(Rule.BANNED, null, cardId,
+                String.format("Card %d is banned in the %s format", cardId, rules.getName())));
+            return false;
+        }
+        if (legalityStatus == LegalityMatrix.NOT_LEGAL) {
+            violations.add(violation(Rule.NOT_LEGAL, null, cardId,
+                String.format("Card %d is not legal in the %s format", cardId, rules.getName())));
+            return false;
+        }
+        if (!fitsColorIdentity(cardId, commanderCardId, rules)) {
+            violations.add(violation(Rule.COLOR_IDENTITY, null, cardId,
+                String.format("Card %d is outside the color identity of commander %d", cardId, commanderCardId)));
+        }
+        return true;
+    }
+
+    private void checkCopies(Long cardId, int count, FormatRules rules, List<Violation> violations) {
+        byte legalityStatus = legalityMatrix.getStatus(rules.getFormatId(), cardId);
+        int maxAllowedQuantity = getMaxAllowedQuantity(cardId, legalityStatus, rules);
+        if (count > maxAllowedQuantity) {
+            Rule rule = legalityStatus == LegalityMatrix.RESTRICTED ? Rule.RESTRICTED
+                : rules.isSingleton() ? Rule.SINGLETON
+                : Rule.QUANTITY;
+            violations.add(violation(rule, null, cardId,
+                String.format("Card %d exceeds its quantity limit: %d copies, max allowed is %d",
+                    cardId, count, maxAllowedQuantity)));
+        }
+    }
+
+    private void checkSectionSizes(Map<String, Integer> sectionTotals, FormatRules rules, List<Violation> violations) {
+        int mainTotal = sectionTotals.get("main");
+        if (rules.getMinDeckSize() > 0 && mainTotal < rules.getMinDeckSize()) {
+            violations.add(violation(Rule.MAIN_DECK_TOO_SMALL, "main", null,
+                String.format("Main deck has %d cards, minimum is %d", mainTotal, rules.getMinDeckSize())));
+        }
+        checkSectionLimits(sectionTotals, rules, violations);
+    }
+
+    /**
+     * Maximum sizes of the main deck and sideboard; a format without a maximum deck size (0) has no main deck limit.
+     * Sections missing from the totals are not checked.
+     */
+    private void checkSectionLimits(Map<String, Integer> sectionTotals, FormatRules rules,
+                                    List<Violation> violations) {
+        Integer mainTotal = sectionTotals.get("main");
+        int maxDeckSize = getMaxDeckSize(rules, "main");
+        if (mainTotal != null && maxDeckSize > 0 && mainTotal > maxDeckSize) {
+            violations.add(violation(Rule.MAIN_DECK_TOO_LARGE, "main", null,
+                String.format("Deck section \"main\" size limit exceeded: %d cards, maximum is %d",
+                    mainTotal, maxDeckSize)));
+        }
+
+        Integer sideboardTotal = sectionTotals.get("sideboard");
+        int maxSideboardSize = getMaxDeckSize(rules, "sideboard");
+        if (sideboardTotal != null && sideboardTotal > maxSideboardSize) {
+            violations.add(violation(Rule.SIDEBOARD_TOO_LARGE, "sideboard", null,
+                String.format("Deck section \"sideboard\" size limit exceeded: %d cards, maximum is %d",
+                    sideboardTotal, maxSideboardSize)));
+        }
+    }
+
+    /**
+     * Write paths stop at the first violation found by the shared rules
+     */
+    private static void rejectIfAny(List<Violation> violations) {
+        if (!violations.isEmpty()) {
+            throw new InvalidDeckCompositionException(violations.get(0).getMessage());
+        }
+    }
+
+    private static Violation violation(Rule rule, String section, Long cardId, String message) {
+        return Violation.builder().rule(rule).section(section).cardId(cardId).message(message).build();
+    }
+
+    private static DeckValidationReport notFoundReport(Long deckId) {
+        return DeckValidationReport.builder()
+            .deckId(deckId)
+            .valid(false)
+            .sectionTotals(Map.of())
+            .violations(List.of(violation(Rule.DECK_NOT_FOUND, null, null, "Deck not found with id: " + deckId)))
+            .build();
+    }
+
+    @Override
+    public int getMaxAllowedQuantity(Long cardId, Long formatId) {
+        requireKnownCard(cardId);
+        FormatRules rules = getRules(formatId);
+        return getMaxAllowedQuantity(cardId, legalityMatrix.getStatus(formatId, cardId), rules);
+    }
+
+    /**
+     * Internal method that calculates max allowed quantity from the cached rules and legality status.
+     */
+    private int getMaxAllowedQuantity(Long cardId, byte legalityStatus, FormatRules rules) {
+        // Unlimited copies flag or basic land
+        if (legalityMatrix.isUnlimited(cardId)) {
             return UNLIMITED_QUANTITY;
         }
 
         // Check if card is restricted in this format
-        if (cardLegality.isPresent() && "restricted".equals(cardLegality.get().getLegalityStatus())) {
+        if (legalityStatus == LegalityMatrix.RESTRICTED) {
             return 1;
         }
 
         // Check format-specific rules
-        FormatEntity format = formatRepository.findById(formatId)
-            .orElseThrow(() -> new InvalidDeckCompositionException("Format not found with id: " + formatId));
-
-        if ("Commander".equals(format.getName())) {
+        if (rules.isSingleton()) {
             return 1;
         }
 
@@ -146,48 +361,47 @@ public class DeckValidationServiceImpl implements DeckValidationService {
 
     @Override
     public int getMaxDeckSize(Long formatId, String section) {
+        return getMaxDeckSize(getRules(formatId), section);
+    }
+
+    /**
+     * The format's limit for the section. Formats without a sideboard size (0, which the API cannot set) keep the
+     * standard limit of 15.
+     */
+    private int getMaxDeckSize(FormatRules rules, String section) {
         if ("sideboard".equals(section)) {
-            return SIDEBOARD_MAX_SIZE;
+            return rules.getMaxSideboardSize() > 0 ? rules.getMaxSideboardSize() : DEFAULT_SIDEBOARD_MAX_SIZE;
         }
+        return rules.getMaxDeckSize();
+    }
 
-        // For main deck, use format's deck size limit
-        FormatEntity format = formatRepository.findById(formatId)
+    private FormatRules getRules(Long formatId) {
+        return formatRulesCache.get(formatId)
             .orElseThrow(() -> new InvalidDeckCompositionException("Format not found with id: " + formatId));
-
-        return format.getMaxDeckSize();
     }
 
-    private void validateCardLegality(Optional<CardLegalityEntity> cardLegality, Long formatId) {
-        if (cardLegality.isPresent()) {
-            String legalityStatus = cardLegality.get().getLegalityStatus();
-            if ("banned".equals(legalityStatus)) {
-                FormatEntity format = formatRepository.findById(formatId)
-                    .orElseThrow(() -> new InvalidDeckCompositionException("Format not found"));
-                throw new InvalidDeckCompositionException(
-                    String.format("Card is banned in the %s format", format.getName()));
-            }
+    private void requireKnownCard(Long cardId) {
+        if (!legalityMatrix.isKnownCard(cardId)) {
+            throw new InvalidDeckCompositionException("Card not found with id: " + cardId);
         }
-        // If no legality record exists, assume the card is legal
     }
 
-    private void validateDeckSizeLimit(Long deckId, Integer quantity, String section, Long formatId, Long excludeCardId) {
-        int maxDeckSize = getMaxDeckSize(formatId, section);
-
-        Integer currentTotalCards;
-        if (excludeCardId != null) {
-            // This is an update operation, exclude the existing quantity of this card
-            currentTotalCards = cardInDeckRepository.sumQuantityByDeckIdAndSectionExcludingCard(deckId, section, excludeCardId);
-        } else {
-            // This is a new addition
-            currentTotalCards = cardInDeckRepository.sumQuantityByDeckIdAndSection(deckId, section);
+    @Override
+    public void validateCommander(Long commanderCardId) {
+        if (commanderCardId != null && !legalityMatrix.isKnownCard(commanderCardId)) {
+            throw new InvalidDeckCompositionException("Commander card not found with id: " + commanderCardId);
         }
+    }
 
-        int totalAfterAddition = (currentTotalCards != null ? currentTotalCards : 0) + quantity;
-
-        if (totalAfterAddition > maxDeckSize) {
-            throw new InvalidDeckCompositionException(
-                String.format("Deck section \"%s\" size limit exceeded. Max allowed is %d, total after addition would be %d",
-                             section, maxDeckSize, totalAfterAddition));
+    /**
+     * Whether the card may be played under the deck's commander; always true outside singleton formats and for
+     * decks without a commander
+     */
+    private boolean fitsColorIdentity(Long cardId, Long commanderCardId, FormatRules rules) {
+        if (commanderCardId == null || !rules.isSingleton()) {
+            return true;
         }
+        return CardColor.fitsIdentity(legalityMatrix.getColorIdentity(cardId),
+            legalityMatrix.getColorIdentity(commanderCardId));
     }
 }
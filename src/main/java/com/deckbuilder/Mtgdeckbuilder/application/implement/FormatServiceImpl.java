@@ -1,6 +1,9 @@
 package com.deckbuilder.mtgdeckbuilder.application.implement;
 
 import com.deckbuilder.mtgdeckbuilder.application.FormatService;
+import com.deckbuilder.mtgdeckbuilder.application.job.BanListLegalityJob;
+import com.deckbuilder.mtgdeckbuilder.application.rules.FormatRulesCache;
+import com.deckbuilder.mtgdeckbuilder.application.rules.LegalityMatrix;
 import com.deckbuilder.mtgdeckbuilder.infrastructure.CardRepository;
 import com.deckbuilder.mtgdeckbuilder.infrastructure.FormatRepository;
 import com.deckbuilder.mtgdeckbuilder.infrastructure.exception.FormatNotFoundException;
@@ -8,6 +11,7 @@ import com.deckbuilder.mtgdeckbuilder.infrastructure.mapper.CardEntityMapper;
 import com.deckbuilder.mtgdeckbuilder.infrastructure.mapper.FormatEntityMapper;
 import com.deckbuilder.mtgdeckbuilder.infrastructure.model.CardEntity;
 import com.deckbuilder.mtgdeckbuilder.infrastructure.model.FormatEntity;
+import com.deckbuilder.mtgdeckbuilder.model.BanListChange;
 import com.deckbuilder.mtgdeckbuilder.model.Card;
 import com.deckbuilder.mtgdeckbuilder.model.CardSearchCriteria;
 import com.deckbuilder.mtgdeckbuilder.model.Format;
@@ -29,6 +33,9 @@ public class FormatServiceImpl implements FormatService {
 	private final FormatEntityMapper formatEntityMapper;
 	private final CardRepository cardRepository;
 	private final CardEntityMapper cardEntityMapper;
+	private final FormatRulesCache formatRulesCache;
+	private final LegalityMatrix legalityMatrix;
+	private final BanListLegalityJob banListLegalityJob;
 
 	@Override
 	public List<Format> getAll() {
@@ -60,10 +67,18 @@ public class FormatServiceImpl implements FormatService {
 		if (existingFormat.isEmpty()) {
 			throw new FormatNotFoundException(id);
 		}
+		final List<String> previousBanned = this.formatRepository.findBannedCardNames(id);
+		final List<String> previousRestricted = this.formatRepository.findRestrictedCardNames(id);
 		FormatEntity entity = this.formatEntityMapper.toEntity(format);
 		entity.setId(id);
 		entity = this.formatRepository.save(entity);
-		return this.formatEntityMapper.toModel(entity);
+		final BanListChange banListChange = this.banListLegalityJob.apply(id, previousBanned, previousRestricted,
+				entity.getBannedCards(), entity.getRestrictedCards());
+		this.formatRulesCache.invalidate(id);
+		this.legalityMatrix.invalidateFormat(id);
+		final Format updated = this.formatEntityMapper.toModel(entity);
+		updated.setBanListChange(banListChange);
+		return updated;
 	}
 
 	@Override
@@ -73,6 +88,8 @@ public class FormatServiceImpl implements FormatService {
 			return false;
 		}
 		this.formatRepository.deleteById(id);
+		this.formatRulesCache.invalidate(id);
+		this.legalityMatrix.invalidateFormat(id);
 		return true;
 	}
 
@@ -94,26 +111,12 @@ public class FormatServiceImpl implements FormatService {
 
 	@Override
 	public boolean isCardLegal(Long cardId, Long formatId) {
-		final Optional<FormatEntity> format = this.formatRepository.findById(formatId);
-		return format.map(formatEntity -> formatEntity.getBannedCards().stream()
-				.noneMatch(bannedCard -> bannedCard.equals(cardId.toString()))).orElse(false);
+		return this.formatRulesCache.get(formatId).map(rules -> !rules.isBannedCard(cardId)).orElse(false);
 	}
 
 	@Override
 	public boolean isCardRestricted(Long cardId, Long formatId) {
-		final Optional<FormatEntity> format = this.formatRepository.findById(formatId);
-		if (format.isEmpty()) {
-			return false;
-		}
-
-		final List<String> restrictedCards = format.get().getRestrictedCards();
-		if (restrictedCards == null) {
-			return false;
-		}
-
-		// Check if card ID is in the restricted list
-		return restrictedCards.stream()
-				.anyMatch(restrictedCard -> restrictedCard.equals(cardId.toString()));
+		return this.formatRulesCache.get(formatId).map(rules -> rules.isRestrictedCard(cardId)).orElse(false);
 	}
 
 	@Override
@@ -0,0 +1,127 @@
+package com.deckbuilder.mtgdeckbuilder.application.implement;
+
+import com.deckbuilder.mtgdeckbuilder.application.MetagameService;
+import com.deckbuilder.mtgdeckbuilder.application.metagame.MetagameRefresher;
+import com.deckbuilder.mtgdeckbuilder.application.metagame.TournamentRollup;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.CardInDeckRepository;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.CardRepository;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.DeckRepository;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.MetagameRepository;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.MetagameRepositoryCustom.ArchetypeRow;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.MetagameRepositoryCustom.CardRow;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.exception.InvalidRequestException;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.exception.TournamentNotFoundException;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.mapper.CardEntityMapper;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.model.MetagameTournamentEntity;
+import com.deckbuilder.mtgdeckbuilder.model.CardSummary;
+import com.deckbuilder.mtgdeckbuilder.model.Metagame;
+import com.deckbuilder.mtgdeckbuilder.model.Metagame.ArchetypeShare;
+import com.deckbuilder.mtgdeckbuilder.model.Metagame.MetagameCard;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class MetagameServiceImpl implements MetagameService {
+	private final MetagameRepository metagameRepository;
+	private final DeckRepository deckRepository;
+	private final CardInDeckRepository cardInDeckRepository;
+	private final CardRepository cardRepository;
+	private final CardEntityMapper cardEntityMapper;
+	private final MetagameRefresher metagameRefresher;
+
+	@Override
+	@Transactional(readOnly = true)
+	public Metagame getMetagame(String tournament, int topCards) {
+		if (tournament == null || tournament.isBlank()) {
+			throw new InvalidRequestException("Tournament is required");
+		}
+
+		final Optional<MetagameTournamentEntity> rollup = this.metagameRepository.findById(tournament);
+		if (rollup.isPresent()) {
+			final List<ArchetypeRow> archetypes = this.metagameRepository.findArchetypes(tournament).stream()
+					.map(row -> new ArchetypeRow(row.getArchetype(), row.getDecks()))
+					.toList();
+			final List<CardRow> cards = this.metagameRepository
+					.findTopCards(tournament, PageRequest.of(0, topCards)).stream()
+					.map(row -> new CardRow(row.getCardId(), row.getDecks(), row.getCopies()))
+					.toList();
+			return this.toMetagame(tournament, rollup.get().getDecks(), rollup.get().getRefreshed(), archetypes, cards);
+		}
+
+		// Not rolled up yet: aggregate the decks for this request and let the rollup job store the result
+		final TournamentRollup computed = this.compute(tournament);
+		if (computed.decks() == 0) {
+			throw new TournamentNotFoundException(tournament);
+		}
+		this.metagameRefresher.recordChange(tournament);
+		return this.toMetagame(tournament, computed.decks(), null, computed.archetypes(),
+				computed.cards().subList(0, Math.min(topCards, computed.cards().size())));
+	}
+
+	@Override
+	@Transactional
+	public int refreshTournament(String tournament) {
+		final TournamentRollup rollup = this.compute(tournament);
+		this.metagameRepository.replaceTournament(tournament, rollup.decks(), rollup.archetypes(), rollup.cards());
+		return rollup.decks();
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public List<String> findTournamentsWithoutRollup() {
+		return this.metagameRepository.findTournamentsWithoutRollup();
+	}
+
+	private TournamentRollup compute(String tournament) {
+		return TournamentRollup.of((int) this.deckRepository.countByTournament(tournament),
+				this.cardInDeckRepository.findMainCardsByTournament(tournament));
+	}
+
+	private Metagame toMetagame(String tournament, int decks, LocalDateTime refreshed, List<ArchetypeRow> archetypes,
+			List<CardRow> cards) {
+		final List<ArchetypeShare> shares = archetypes.stream()
+				.map(row -> ArchetypeShare.builder()
+						.archetype(row.archetype())
+						.decks(row.decks())
+						.share(decks == 0 ? 0 : (double) row.decks() / decks)
+						.build())
+				.toList();
+
+		final Map<Long, CardSummary> summaries = cards.isEmpty() ? Map.of() : this.cardRepository
+				.findSummaryViewsByIdIn(cards.stream().map(CardRow::cardId).toList()).stream()
+				.map(this.cardEntityMapper::toSummary)
+				.collect(Collectors.toMap(CardSummary::getId, Function.identity()));
+		final List<MetagameCard> topCards = new ArrayList<>(cards.size());
+		for (final CardRow row : cards) {
+			final CardSummary card = summaries.get(row.cardId());
+			// Deleted since the rollup counted it
+			if (card != null) {
+				topCards.add(MetagameCard.builder()
+						.card(card)
+						.decks(row.decks())
+						.inclusionRate(decks == 0 ? 0 : (double) row.decks() / decks)
+						.averageCopies((double) row.copies() / row.decks())
+						.build());
+			}
+		}
+
+		return Metagame.builder()
+				.tournament(tournament)
+				.decks(decks)
+				.refreshed(refreshed)
+				.archetypes(shares)
+				.topCards(topCards)
+				.build();
+	}
+}
@@ -0,0 +1,146 @@
+package com.deckbuilder.mtgdeckbuilder.application.importer;
+
+import com.deckbuilder.mtgdeckbuilder.application.rules.FormatRulesCache;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.CardRepository;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.CardRepository.CardPrintingView;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory index from normalized card name to printings, built from one query on first use.
+ * <p>
+ * Names are compared case- and accent-insensitively with normalized "//" separators, so "fire//ice" finds
+ * "Fire // Ice". Each face of a split or double-faced card is indexed as well, so "Delver of Secrets" finds
+ * "Delver of Secrets // Insectile Aberration". Full names win over face names.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CardNameIndex {
+	private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+	private static final Pattern FACE_SEPARATOR = Pattern.compile("\\s*/{1,2}\\s*");
+	private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+	private static final String FACE_JOIN = " // ";
+
+	private final CardRepository cardRepository;
+
+	private final AtomicLong generation = new AtomicLong();
+	private volatile Index index;
+
+	/**
+	 * A card printing known by name
+	 */
+	record Printing(Long cardId, String collectorNumber, String setName, boolean preferred) {
+	}
+
+	private record Index(Map<String, List<Printing>> byName, Map<String, List<Printing>> byFace) {
+	}
+
+	/**
+	 * Resolve a decklist name to a card id. The collector number and set narrow the choice when they match a
+	 * printing; otherwise the first regular (non-promo, non-variant) printing is used.
+	 */
+	public Optional<Long> resolve(String name, String setName, String collectorNumber) {
+		final Index current = this.index();
+		final String key = normalize(name);
+		List<Printing> printings = current.byName().get(key);
+		if (printings == null) {
+			printings = current.byFace().get(key);
+		}
+		if (printings == null || printings.isEmpty()) {
+			return Optional.empty();
+		}
+
+		final String set = setName == null ? null : normalize(setName);
+		List<Printing> candidates = printings;
+		if (collectorNumber != null) {
+			final List<Printing> byNumber = filter(candidates, p -> collectorNumber.equalsIgnoreCase(p.collectorNumber()));
+			final List<Printing> bySetAndNumber = set == null ? byNumber : filter(byNumber, p -> set.equals(p.setName()));
+			candidates = !bySetAndNumber.isEmpty() ? bySetAndNumber : !byNumber.isEmpty() ? byNumber : candidates;
+		} else if (set != null) {
+			final List<Printing> bySet = filter(candidates, p -> set.equals(p.setName()));
+			candidates = !bySet.isEmpty() ? bySet : candidates;
+		}
+
+		for (final Printing printing : candidates) {
+			if (printing.preferred()) {
+				return Optional.of(printing.cardId());
+			}
+		}
+		return Optional.of(candidates.get(0).cardId());
+	}
+
+	/**
+	 * Drop the index, e.g. after cards were created, renamed or deleted
+	 */
+	public void invalidate() {
+		FormatRulesCache.evictNowAndAfterCommit(() -> {
+			this.generation.incrementAndGet();
+			this.index = null;
+		});
+	}
+
+	static String normalize(String name) {
+		String normalized = Normalizer.normalize(name.strip(), Normalizer.Form.NFD);
+		normalized = DIACRITICS.matcher(normalized).replaceAll("");
+		normalized = normalized.replace('’', '\'').toLowerCase(Locale.ROOT);
+		normalized = FACE_SEPARATOR.matcher(normalized).replaceAll(FACE_JOIN);
+		return WHITESPACE.matcher(normalized).replaceAll(" ");
+	}
+
+	private Index index() {
+		final Index current = this.index;
+		return current != null ? current : this.load();
+	}
+
+	private synchronized Index load() {
+		if (this.index != null) {
+			return this.index;
+		}
+
+		final long loadGeneration = this.generation.get();
+		final Map<String, List<Printing>> byName = new HashMap<>();
+		final Map<String, List<Printing>> byFace = new HashMap<>();
+		final List<CardPrintingView> rows = this.cardRepository.findAllPrintings();
+		for (final CardPrintingView row : rows) {
+			if (row.getName() == null) {
+				continue;
+			}
+			final boolean preferred = !Boolean.TRUE.equals(row.getPromo()) && !Boolean.TRUE.equals(row.getVariation());
+			final Printing printing = new Printing(row.getCardId(), row.getCollectorNumber(),
+					row.getSetName() == null ? null : normalize(row.getSetName()), preferred);
+
+			final String name = normalize(row.getName());
+			byName.computeIfAbsent(name, k -> new ArrayList<>()).add(printing);
+			if (name.contains(FACE_JOIN)) {
+				for (final String face : name.split(FACE_JOIN)) {
+					byFace.computeIfAbsent(face, k -> new ArrayList<>()).add(printing);
+				}
+			}
+		}
+
+		final Index loaded = new Index(byName, byFace);
+		// An invalidation during the load means the rows may be stale: serve them once but do not keep them
+		if (this.generation.get() == loadGeneration) {
+			this.index = loaded;
+		}
+		log.debug("Indexed {} card printings under {} names", rows.size(), byName.size());
+		return loaded;
+	}
+
+	private static List<Printing> filter(List<Printing> printings, Predicate<Printing> predicate) {
+		return printings.stream().filter(predicate).toList();
+	}
+}
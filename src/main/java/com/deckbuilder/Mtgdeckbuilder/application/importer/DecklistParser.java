@@ -0,0 +1,145 @@
+package com.deckbuilder.mtgdeckbuilder.application.importer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Parses text decklists in the common MTGO / Arena export formats:
+ * <pre>
+ * 4 Lightning Bolt
+ * 4x Counterspell
+ * 1 Fire // Ice (MH2) 290
+ *
+ * Sideboard
+ * SB: 2 Pyroblast
+ * </pre>
+ * Headers ("Deck", "Sideboard", "Maybeboard", ...) switch the section of the following lines. Without headers, a
+ * blank line after the first cards starts the sideboard. Lines starting with "//" or "#" are comments.
+ */
+public final class DecklistParser {
+	private static final Pattern CARD_LINE = Pattern.compile(
+			"^(\\d+)\\s*[xX]?\\s+(.+?)(?:\\s+\\(([^)]+)\\)(?:\\s+(\\S+))?)?(?:\\s+\\*[A-Za-z]+\\*)*$");
+	private static final String SIDEBOARD_PREFIX = "sb:";
+
+	private static final Map<String, String> SECTION_HEADERS = Map.of(
+			"deck", "main",
+			"main", "main",
+			"mainboard", "main",
+			"main deck", "main",
+			"commander", "main",
+			"companion", "sideboard",
+			"sideboard", "sideboard",
+			"maybeboard", "maybeboard",
+			"considering", "maybeboard");
+
+	private DecklistParser() {
+	}
+
+	/**
+	 * One card line of a decklist
+	 *
+	 * @param lineNumber 1-based line in the submitted text
+	 * @param setName set given in parentheses, or null
+	 * @param collectorNumber collector number after the set, or null
+	 */
+	public record Entry(int lineNumber, int quantity, String name, String setName, String collectorNumber,
+			String section) {
+	}
+
+	/**
+	 * A line that is neither a card, a header, a comment nor blank
+	 */
+	public record Problem(int lineNumber, String line, String reason) {
+	}
+
+	/**
+	 * Entries in list order plus every line that could not be parsed
+	 */
+	public record Result(List<Entry> entries, List<Problem> problems) {
+	}
+
+	public static Result parse(String decklist) {
+		final List<Entry> entries = new ArrayList<>();
+		final List<Problem> problems = new ArrayList<>();
+		if (decklist == null) {
+			return new Result(entries, problems);
+		}
+
+		String section = "main";
+		boolean headersSeen = false;
+		boolean blankAfterCards = false;
+
+		final String[] lines = decklist.split("\\R", -1);
+		for (int i = 0; i < lines.length; i++) {
+			String line = lines[i].strip();
+			final int lineNumber = i + 1;
+
+			if (line.isEmpty()) {
+				blankAfterCards = !entries.isEmpty();
+				continue;
+			}
+			if (line.startsWith("//") || line.startsWith("#")) {
+				continue;
+			}
+
+			final String header = SECTION_HEADERS.get(stripHeader(line));
+			if (header != null) {
+				section = header;
+				headersSeen = true;
+				blankAfterCards = false;
+				continue;
+			}
+
+			// MTGO style: a blank line separates the main deck from the sideboard
+			if (blankAfterCards && !headersSeen && "main".equals(section)) {
+				section = "sideboard";
+			}
+			blankAfterCards = false;
+
+			String lineSection = section;
+			if (line.regionMatches(true, 0, SIDEBOARD_PREFIX, 0, SIDEBOARD_PREFIX.length())) {
+				lineSection = "sideboard";
+				line = line.substring(SIDEBOARD_PREFIX.length()).strip();
+			}
+
+			final Matcher matcher = CARD_LINE.matcher(line);
+			if (!matcher.matches()) {
+				problems.add(new Problem(lineNumber, lines[i], "expected \"<quantity> <card name>\""));
+				continue;
+			}
+
+			final int quantity;
+			try {
+				quantity = Integer.parseInt(matcher.group(1));
+			} catch (final NumberFormatException e) {
+				problems.add(new Problem(lineNumber, lines[i], "quantity is too large"));
+				continue;
+			}
+			if (quantity <= 0) {
+				problems.add(new Problem(lineNumber, lines[i], "quantity must be greater than 0"));
+				continue;
+			}
+
+			entries.add(new Entry(lineNumber, quantity, matcher.group(2).strip(), matcher.group(3), matcher.group(4),
+					lineSection));
+		}
+		return new Result(entries, problems);
+	}
+
+	private static String stripHeader(String line) {
+		String header = line.toLowerCase(Locale.ROOT);
+		if (header.endsWith(":")) {
+			header = header.substring(0, header.length() - 1).strip();
+		}
+		// Headers may carry a count, e.g. "Sideboard (15)"
+		final int count = header.indexOf('(');
+		if (count > 0) {
+			header = header.substring(0, count).strip();
+		}
+		return header;
+	}
+}
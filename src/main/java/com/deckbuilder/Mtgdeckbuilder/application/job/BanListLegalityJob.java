@@ -0,0 +1,138 @@
+package com.deckbuilder.mtgdeckbuilder.application.job;
+
+import com.deckbuilder.mtgdeckbuilder.application.rules.FormatRules;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.CardLegalityRepository;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.CardLegalityRepositoryCustom.StatusChange;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.CardRepository;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.CardRepository.CardNameView;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.DeckRepository;
+import com.deckbuilder.mtgdeckbuilder.model.BanListChange;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Brings card_legality in line with a format's edited ban and restricted lists.
+ * <p>
+ * Only names whose status changed are touched: every printing of such a name is resolved with one query and its
+ * row is upserted in JDBC batches. A row keeps the status it had before a list first set it, so a name dropped from
+ * both lists gets that status back (e.g. not_legal) instead of being forced legal. Runs inside the format update's
+ * transaction, so the lists and the legality rows never disagree once it commits; the caller invalidates the
+ * legality caches.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BanListLegalityJob {
+	static final String RESTRICTED = "restricted";
+	static final String BANNED = "banned";
+	/**
+	 * On neither list; never written, the card's status from before the lists applies again
+	 */
+	static final String UNLISTED = "unlisted";
+
+	private final CardRepository cardRepository;
+	private final CardLegalityRepository cardLegalityRepository;
+	private final DeckRepository deckRepository;
+
+	public BanListChange apply(Long formatId, Collection<String> previousBanned,
+			Collection<String> previousRestricted, Collection<String> banned, Collection<String> restricted) {
+		final Map<String, String> changed = diff(previousBanned, previousRestricted, banned, restricted);
+		if (changed.isEmpty()) {
+			return new BanListChange(0, 0, 0);
+		}
+
+		final List<StatusChange> changes = new ArrayList<>();
+		final List<Long> unlisted = new ArrayList<>();
+		final Set<Long> newlyBanned = new HashSet<>();
+		final Set<Long> newlyRestricted = new HashSet<>();
+		for (final CardNameView printing : this.cardRepository.findNameViewsByNormalizedNameIn(changed.keySet())) {
+			final String status = changed.get(FormatRules.normalizeName(printing.getName()));
+			if (status == null) {
+				// The database lower-cased a name differently
+				continue;
+			}
+			if (UNLISTED.equals(status)) {
+				unlisted.add(printing.getId());
+				continue;
+			}
+			changes.add(new StatusChange(printing.getId(), status));
+			if (BANNED.equals(status)) {
+				newlyBanned.add(printing.getId());
+			} else if (RESTRICTED.equals(status)) {
+				newlyRestricted.add(printing.getId());
+			}
+		}
+		final int printings = this.cardLegalityRepository.upsertListStatuses(formatId, changes)
+				+ this.cardLegalityRepository.restoreUnlistedStatuses(formatId, unlisted);
+
+		final Set<Long> illegalDecks = new HashSet<>();
+		if (!newlyBanned.isEmpty()) {
+			illegalDecks.addAll(this.deckRepository.findIdsPlayingAnyOf(formatId, newlyBanned));
+		}
+		if (!newlyRestricted.isEmpty()) {
+			illegalDecks.addAll(this.deckRepository.findIdsPlayingCopiesOfAny(formatId, newlyRestricted));
+		}
+
+		final BanListChange result = new BanListChange(changed.size(), printings, illegalDecks.size());
+		log.info("Ban list change of format {}: {} cards changed status, {} legality rows written, "
+				+ "{} decks now illegal", formatId, result.getCardsChanged(), result.getPrintingsUpdated(),
+				result.getIllegalDecks());
+		return result;
+	}
+
+	/**
+	 * Normalized names whose status differs between the two list versions, with their new status ({@link #UNLISTED}
+	 * when dropped from both). A name on both lists counts as banned.
+	 */
+	static Map<String, String> diff(Collection<String> previousBanned, Collection<String> previousRestricted,
+			Collection<String> banned, Collection<String> restricted) {
+		final Set<String> before = normalize(previousBanned);
+		final Set<String> beforeRestricted = normalize(previousRestricted);
+		final Set<String> after = normalize(banned);
+		final Set<String> afterRestricted = normalize(restricted);
+
+		final Set<String> names = new LinkedHashSet<>(before);
+		names.addAll(beforeRestricted);
+		names.addAll(after);
+		names.addAll(afterRestricted);
+
+		final Map<String, String> changed = new HashMap<>();
+		for (final String name : names) {
+			final String status = statusOf(name, after, afterRestricted);
+			if (!Objects.equals(statusOf(name, before, beforeRestricted), status)) {
+				changed.put(name, status);
+			}
+		}
+		return changed;
+	}
+
+	private static String statusOf(String name, Set<String> banned, Set<String> restricted) {
+		if (banned.contains(name)) {
+			return BANNED;
+		}
+		return restricted.contains(name) ? RESTRICTED : UNLISTED;
+	}
+
+	private static Set<String> normalize(Collection<String> names) {
+		final Set<String> normalized = new HashSet<>();
+		if (names != null) {
+			for (final String name : names) {
+				if (name != null && !name.isBlank()) {
+					normalized.add(FormatRules.normalizeName(name));
+				}
+			}
+		}
+		return normalized;
+	}
+}
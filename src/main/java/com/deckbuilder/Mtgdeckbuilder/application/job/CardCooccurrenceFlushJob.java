@@ -0,0 +1,70 @@
+package com.deckbuilder.mtgdeckbuilder.application.job;
+
+import com.deckbuilder.mtgdeckbuilder.application.similarity.CardCooccurrenceIndex;
+import com.deckbuilder.mtgdeckbuilder.application.similarity.CardCooccurrenceIndex.Dirty;
+import com.deckbuilder.mtgdeckbuilder.application.similarity.CardCooccurrenceIndex.PersistedRow;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.CardCooccurrenceRepository;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.model.CardCooccurrenceEntity;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Periodically writes the co-occurrence rows changed since the previous run to card_cooccurrence, and the whole
+ * matrix after a rebuild, and once more when the application shuts down so the next start can load the rows
+ * instead of counting them. Rows of cards no longer in any deck are deleted.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CardCooccurrenceFlushJob {
+	private final CardCooccurrenceIndex cardCooccurrenceIndex;
+	private final CardCooccurrenceRepository cardCooccurrenceRepository;
+
+	@Scheduled(fixedDelayString = "${app.cards.cooccurrence-flush-interval-ms:300000}",
+			initialDelayString = "${app.cards.cooccurrence-flush-interval-ms:300000}")
+	public int flush() {
+		final Dirty dirty = this.cardCooccurrenceIndex.drainDirty();
+		if (dirty.rows().isEmpty() && !dirty.rewriteAll()) {
+			return 0;
+		}
+
+		final LocalDateTime now = LocalDateTime.now();
+		final List<Long> emptied = new ArrayList<>();
+		final List<CardCooccurrenceEntity> rows = new ArrayList<>();
+		for (final PersistedRow row : dirty.rows()) {
+			if (row.decks() == 0) {
+				emptied.add(row.cardId());
+			} else {
+				rows.add(CardCooccurrenceEntity.builder().cardId(row.cardId()).decks(row.decks())
+						.neighbors(row.neighbors()).payload(row.payload()).updated(now).build());
+			}
+		}
+
+		try {
+			// Commits before returning, so a failed commit also puts the rows back
+			this.cardCooccurrenceRepository.writeRows(rows, emptied, dirty.rewriteAll());
+		} catch (final RuntimeException e) {
+			this.cardCooccurrenceIndex.restoreDirty(dirty);
+			throw e;
+		}
+		log.debug("Flushed {} card co-occurrence rows{}", dirty.rows().size(), dirty.rewriteAll() ? " (rebuild)" : "");
+		return dirty.rows().size();
+	}
+
+	@PreDestroy
+	public void flushOnShutdown() {
+		try {
+			final int flushed = this.flush();
+			log.info("Flushed {} card co-occurrence rows on shutdown", flushed);
+		} catch (final RuntimeException e) {
+			log.error("Lost the card co-occurrence changes of the last interval on shutdown", e);
+		}
+	}
+}
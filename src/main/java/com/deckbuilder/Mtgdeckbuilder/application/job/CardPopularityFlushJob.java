@@ -0,0 +1,56 @@
+package com.deckbuilder.mtgdeckbuilder.application.job;
+
+import com.deckbuilder.mtgdeckbuilder.application.stats.CardPopularityCounters;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.CardPopularityRepository;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.CardPopularityRepositoryCustom.Increment;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Periodically adds the popularity changes accumulated since the previous run to card_popularity in one batch, and
+ * once more when the application shuts down. Changes are put back for the next run if the write fails.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CardPopularityFlushJob {
+	private final CardPopularityCounters cardPopularityCounters;
+	private final CardPopularityRepository cardPopularityRepository;
+
+	@Scheduled(fixedDelayString = "${app.cards.popularity-flush-interval-ms:60000}",
+			initialDelayString = "${app.cards.popularity-flush-interval-ms:60000}")
+	public int flush() {
+		final List<Increment> increments = this.cardPopularityCounters.drain();
+		if (increments.isEmpty()) {
+			return 0;
+		}
+
+		try {
+			// Commits before returning, so a failed commit also puts the changes back
+			this.cardPopularityRepository.addDecks(increments);
+		} catch (final RuntimeException e) {
+			this.cardPopularityCounters.restore(increments);
+			throw e;
+		}
+		log.debug("Flushed {} card popularity changes", increments.size());
+		return increments.size();
+	}
+
+	/**
+	 * Write the changes of the last interval before the context closes, instead of losing them with the counters
+	 */
+	@PreDestroy
+	public void flushOnShutdown() {
+		try {
+			final int flushed = this.flush();
+			log.info("Flushed {} card popularity changes on shutdown", flushed);
+		} catch (final RuntimeException e) {
+			log.error("Lost the card popularity changes of the last interval on shutdown", e);
+		}
+	}
+}
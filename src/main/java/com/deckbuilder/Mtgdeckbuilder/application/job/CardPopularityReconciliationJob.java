@@ -0,0 +1,54 @@
+package com.deckbuilder.mtgdeckbuilder.application.job;
+
+import com.deckbuilder.mtgdeckbuilder.application.stats.CardPopularityCounters;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.CardPopularityRepository;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.CardPopularityRepository.DeckCountView;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.CardPopularityRepositoryCustom.DeckCount;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.CardPopularityRepositoryCustom.Increment;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Periodically recounts card_popularity against card_deck and overwrites the counts that drifted, e.g. after rows
+ * were edited directly in the database or changes were lost with a crashed instance.
+ * <p>
+ * Changes accumulated before the recount are already part of card_deck, so they are dropped instead of being added
+ * on top. A change committed while the recount runs may still be counted twice until the next run.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CardPopularityReconciliationJob {
+	private final CardPopularityCounters cardPopularityCounters;
+	private final CardPopularityRepository cardPopularityRepository;
+
+	@Scheduled(fixedDelayString = "${app.cards.popularity-reconcile-interval-ms:86400000}",
+			initialDelayString = "${app.cards.popularity-reconcile-interval-ms:86400000}")
+	public int reconcile() {
+		final List<Increment> pending = this.cardPopularityCounters.drain();
+		try {
+			final List<DeckCount> counts = new ArrayList<>();
+			for (final DeckCountView view : this.cardPopularityRepository.findDriftedCounts()) {
+				counts.add(new DeckCount(view.getCardId(), view.getFormatId(), (int) view.getDecks()));
+			}
+			for (final DeckCountView view : this.cardPopularityRepository.findMissingCounts()) {
+				counts.add(new DeckCount(view.getCardId(), view.getFormatId(), (int) view.getDecks()));
+			}
+			if (counts.isEmpty()) {
+				return 0;
+			}
+
+			log.warn("Recounting {} drifted card popularity counts", counts.size());
+			this.cardPopularityRepository.setDecks(counts);
+			return counts.size();
+		} catch (final RuntimeException e) {
+			this.cardPopularityCounters.restore(pending);
+			throw e;
+		}
+	}
+}
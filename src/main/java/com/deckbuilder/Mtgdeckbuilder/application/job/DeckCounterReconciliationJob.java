@@ -0,0 +1,35 @@
+package com.deckbuilder.mtgdeckbuilder.application.job;
+
+import com.deckbuilder.mtgdeckbuilder.infrastructure.DeckRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Periodically compares the maintained deck section counters with card_deck and recounts any deck whose
+ * counters drifted, e.g. after rows were edited directly in the database.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DeckCounterReconciliationJob {
+	private final DeckRepository deckRepository;
+
+	@Scheduled(fixedDelayString = "${app.counters.reconcile-interval-ms:3600000}",
+			initialDelayString = "${app.counters.reconcile-interval-ms:3600000}")
+	@Transactional
+	public int reconcile() {
+		final List<Long> driftedIds = this.deckRepository.findIdsWithDriftedSectionCounts();
+		if (driftedIds.isEmpty()) {
+			return 0;
+		}
+
+		log.warn("Recounting section counters of {} drifted decks: {}", driftedIds.size(), driftedIds);
+		driftedIds.forEach(this.deckRepository::recountSections);
+		return driftedIds.size();
+	}
+}
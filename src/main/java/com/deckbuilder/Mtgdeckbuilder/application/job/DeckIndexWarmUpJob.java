@@ -0,0 +1,42 @@
+package com.deckbuilder.mtgdeckbuilder.application.job;
+
+import com.deckbuilder.mtgdeckbuilder.application.CardCooccurrenceService;
+import com.deckbuilder.mtgdeckbuilder.application.DeckSimilarityService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntSupplier;
+
+/**
+ * Loads the in-memory deck indexes once the application is ready, on the index pool, so no request waits for them.
+ * Until an index is loaded it answers with no results.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DeckIndexWarmUpJob {
+	private final CardCooccurrenceService cardCooccurrenceService;
+	private final DeckSimilarityService deckSimilarityService;
+	@Qualifier("deckIndexPool")
+	private final ForkJoinPool deckIndexPool;
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void warmUp() {
+		this.deckIndexPool.execute(() -> load("card co-occurrence matrix", this.cardCooccurrenceService::loadIndex));
+		this.deckIndexPool.execute(() -> load("deck similarity index", this.deckSimilarityService::rebuildIndex));
+	}
+
+	private static void load(String index, IntSupplier loader) {
+		try {
+			final int size = loader.getAsInt();
+			log.info("Loaded the {} ({} entries)", index, size);
+		} catch (final RuntimeException e) {
+			log.error("Could not load the {}; it stays empty until rebuilt", index, e);
+		}
+	}
+}
@@ -0,0 +1,48 @@
+package com.deckbuilder.mtgdeckbuilder.application.job;
+
+import com.deckbuilder.mtgdeckbuilder.application.stats.ManaCostParser;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.CardRepository;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.mapper.CardEntityMapper;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.model.CardEntity;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Parses the mana cost of cards that were loaded without going through the application, e.g. by a bulk import
+ * straight into the database, so devotion and pip searches find them too. Runs shortly after startup and then
+ * periodically.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ManaSymbolBackfillJob {
+	private final CardRepository cardRepository;
+	private final CardEntityMapper cardEntityMapper;
+
+	@Scheduled(fixedDelayString = "${app.cards.mana-symbols-backfill-interval-ms:3600000}", initialDelay = 60_000)
+	@Transactional
+	public int backfill() {
+		int parsed = 0;
+		Long afterId = 0L;
+		List<CardEntity> batch;
+		while (!(batch = this.cardRepository.findTop500ByManaSymbolsColoredIsNullAndIdGreaterThanOrderByIdAsc(afterId))
+				.isEmpty()) {
+			for (final CardEntity card : batch) {
+				card.setManaSymbols(this.cardEntityMapper.toEmbeddable(ManaCostParser.parse(card.getManaCost())));
+			}
+			this.cardRepository.saveAll(batch);
+			afterId = batch.get(batch.size() - 1).getId();
+			parsed += batch.size();
+		}
+
+		if (parsed > 0) {
+			log.info("Parsed the mana cost of {} cards", parsed);
+		}
+		return parsed;
+	}
+}
@@ -0,0 +1,72 @@
+package com.deckbuilder.mtgdeckbuilder.application.job;
+
+import com.deckbuilder.mtgdeckbuilder.application.MetagameService;
+import com.deckbuilder.mtgdeckbuilder.application.metagame.MetagameRefresher;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps the metagame rollups in step with the decks. Tournaments whose decks changed are recomputed shortly after,
+ * each in its own transaction; tournaments that never had rollups, e.g. from before they existed, are backfilled in
+ * parallel after startup and then daily. Both run on the scheduler thread, so they never overlap.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class MetagameRollupJob {
+	private final MetagameService metagameService;
+	private final MetagameRefresher metagameRefresher;
+	@Qualifier("metagameBackfillExecutor")
+	private final ExecutorService metagameBackfillExecutor;
+
+	@Scheduled(fixedDelayString = "${app.metagame.refresh-interval-ms:30000}",
+			initialDelayString = "${app.metagame.refresh-interval-ms:30000}")
+	public int refresh() {
+		final List<String> tournaments = this.metagameRefresher.drain();
+		int refreshed = 0;
+		for (final String tournament : tournaments) {
+			try {
+				this.metagameService.refreshTournament(tournament);
+				refreshed++;
+			} catch (final RuntimeException e) {
+				log.warn("Refreshing the metagame of tournament '{}' failed, retrying next run", tournament, e);
+				this.metagameRefresher.restore(List.of(tournament));
+			}
+		}
+		if (refreshed > 0) {
+			log.debug("Refreshed the metagame of {} tournaments", refreshed);
+		}
+		return refreshed;
+	}
+
+	@Scheduled(fixedDelayString = "${app.metagame.backfill-interval-ms:86400000}", initialDelay = 60_000)
+	public int backfill() {
+		final List<String> tournaments = this.metagameService.findTournamentsWithoutRollup();
+		if (tournaments.isEmpty()) {
+			return 0;
+		}
+
+		final AtomicInteger backfilled = new AtomicInteger();
+		CompletableFuture.allOf(tournaments.stream()
+				.map(tournament -> CompletableFuture.runAsync(() -> {
+					try {
+						this.metagameService.refreshTournament(tournament);
+						backfilled.incrementAndGet();
+					} catch (final RuntimeException e) {
+						log.warn("Backfilling the metagame of tournament '{}' failed", tournament, e);
+					}
+				}, this.metagameBackfillExecutor))
+				.toArray(CompletableFuture[]::new)).join();
+
+		log.info("Backfilled the metagame of {} of {} tournaments", backfilled.get(), tournaments.size());
+		return backfilled.get();
+	}
+}
@@ -0,0 +1,57 @@
+package com.deckbuilder.mtgdeckbuilder.application.metagame;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tournaments whose decks changed since their metagame rollups were last refreshed.
+ * <p>
+ * Deck mutations mark their tournament once they commit; the rollup job drains the marked tournaments and
+ * recomputes each of them once, however many of its decks changed in between.
+ */
+@Component
+public class MetagameRefresher {
+	private final Set<String> changed = ConcurrentHashMap.newKeySet();
+
+	/**
+	 * Mark the tournament of a mutated deck, if any, once the surrounding transaction commits
+	 */
+	public void recordChange(String tournament) {
+		if (tournament == null || tournament.isBlank()) {
+			return;
+		}
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					MetagameRefresher.this.changed.add(tournament);
+				}
+			});
+		} else {
+			this.changed.add(tournament);
+		}
+	}
+
+	/**
+	 * Take the marked tournaments, unmarking them
+	 */
+	public List<String> drain() {
+		final List<String> tournaments = new ArrayList<>(this.changed);
+		tournaments.forEach(this.changed::remove);
+		return tournaments;
+	}
+
+	/**
+	 * Mark tournaments again after refreshing them failed
+	 */
+	public void restore(Collection<String> tournaments) {
+		this.changed.addAll(tournaments);
+	}
+}
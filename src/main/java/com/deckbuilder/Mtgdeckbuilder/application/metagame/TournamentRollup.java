@@ -0,0 +1,80 @@
+package com.deckbuilder.mtgdeckbuilder.application.metagame;
+
+import com.deckbuilder.mtgdeckbuilder.infrastructure.CardInDeckRepository.TournamentCardView;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.MetagameRepositoryCustom.ArchetypeRow;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.MetagameRepositoryCustom.CardRow;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Archetype and card aggregates of the decks registered for one tournament.
+ * <p>
+ * Each deck is classified as the archetype most of its main deck cards are tagged with, counting copies; ties go to
+ * the alphabetically first archetype and decks without tagged cards are {@value #UNCLASSIFIED}. Cards without a copy
+ * limit (basic lands) are left out of the card aggregates, as they would top every tournament.
+ *
+ * @param decks number of decks registered for the tournament, including empty ones
+ */
+public record TournamentRollup(int decks, List<ArchetypeRow> archetypes, List<CardRow> cards) {
+	public static final String UNCLASSIFIED = "Unclassified";
+
+	/**
+	 * Aggregate the main deck rows of a tournament's decks
+	 *
+	 * @param decks number of decks registered for the tournament
+	 */
+	public static TournamentRollup of(int decks, List<? extends TournamentCardView> rows) {
+		final Map<Long, Map<String, Integer>> votesByDeck = new HashMap<>();
+		final Map<Long, int[]> usageByCard = new HashMap<>();
+		for (final TournamentCardView row : rows) {
+			final int quantity = row.getQuantity() != null ? row.getQuantity() : 0;
+			final Map<String, Integer> votes = votesByDeck.computeIfAbsent(row.getDeckId(), id -> new HashMap<>());
+			if (row.getArchetype() != null && !row.getArchetype().isBlank()) {
+				votes.merge(row.getArchetype().strip(), quantity, Integer::sum);
+			}
+			if (!Boolean.TRUE.equals(row.getUnlimitedCopies())) {
+				final int[] usage = usageByCard.computeIfAbsent(row.getCardId(), id -> new int[2]);
+				usage[0]++;
+				usage[1] += quantity;
+			}
+		}
+
+		final Map<String, Integer> archetypeDecks = new HashMap<>();
+		for (final Map<String, Integer> votes : votesByDeck.values()) {
+			archetypeDecks.merge(archetypeOf(votes), 1, Integer::sum);
+		}
+		// Decks without main deck cards have no rows at all
+		final int emptyDecks = decks - votesByDeck.size();
+		if (emptyDecks > 0) {
+			archetypeDecks.merge(UNCLASSIFIED, emptyDecks, Integer::sum);
+		}
+
+		final List<ArchetypeRow> archetypes = new ArrayList<>(archetypeDecks.size());
+		archetypeDecks.forEach((archetype, count) -> archetypes.add(new ArchetypeRow(archetype, count)));
+		archetypes.sort(Comparator.comparingInt(ArchetypeRow::decks).reversed()
+				.thenComparing(ArchetypeRow::archetype));
+
+		final List<CardRow> cards = new ArrayList<>(usageByCard.size());
+		usageByCard.forEach((cardId, usage) -> cards.add(new CardRow(cardId, usage[0], usage[1])));
+		cards.sort(Comparator.comparingInt(CardRow::decks).reversed().thenComparing(CardRow::cardId));
+
+		return new TournamentRollup(Math.max(decks, votesByDeck.size()), archetypes, cards);
+	}
+
+	private static String archetypeOf(Map<String, Integer> votes) {
+		String best = UNCLASSIFIED;
+		int bestVotes = 0;
+		for (final Map.Entry<String, Integer> vote : votes.entrySet()) {
+			if (vote.getValue() > bestVotes || vote.getValue() == bestVotes && bestVotes > 0
+					&& vote.getKey().compareTo(best) < 0) {
+				best = vote.getKey();
+				bestVotes = vote.getValue();
+			}
+		}
+		return best;
+	}
+}
@@ -0,0 +1,42 @@
+package com.deckbuilder.mtgdeckbuilder.application.rules;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Immutable snapshot of the deck construction rules of a format, as held by {@link FormatRulesCache}.
+ */
+@Value
+@Builder
+public class FormatRules {
+	Long formatId;
+	String name;
+	long version;
+	int minDeckSize;
+	int maxDeckSize;
+	int maxSideboardSize;
+	boolean singleton;
+	Set<Long> bannedCardIds;
+	Set<Long> restrictedCardIds;
+
+	/**
+	 * Whether the card's name is on the ban list, resolved to card ids when the rules were loaded
+	 */
+	public boolean isBannedCard(Long cardId) {
+		return cardId != null && this.bannedCardIds.contains(cardId);
+	}
+
+	public boolean isRestrictedCard(Long cardId) {
+		return cardId != null && this.restrictedCardIds.contains(cardId);
+	}
+
+	/**
+	 * Card names in ban and restricted lists are compared trimmed and case-insensitively
+	 */
+	public static String normalizeName(String cardName) {
+		return cardName.trim().toLowerCase(Locale.ROOT);
+	}
+}
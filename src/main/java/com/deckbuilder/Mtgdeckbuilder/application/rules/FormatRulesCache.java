@@ -0,0 +1,133 @@
+package com.deckbuilder.mtgdeckbuilder.application.rules;
+
+import com.deckbuilder.mtgdeckbuilder.infrastructure.FormatRepository;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.model.FormatEntity;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Read-through cache of {@link FormatRules} by format id.
+ * <p>
+ * Every invalidation bumps a version counter. A load only becomes visible in the cache if no invalidation happened
+ * while it was reading, so a rules snapshot that raced with a format write is served once but never cached.
+ * Invalidations inside a transaction are repeated after commit, so concurrent readers cannot re-cache the
+ * pre-commit row either.
+ * <p>
+ * Ban and restricted lists hold card names, which are resolved to card ids on load, so legality checks by card id
+ * are set lookups. Card writes therefore invalidate the rules of the formats listing the card's name.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class FormatRulesCache {
+	private static final String SINGLETON_FORMAT = "Commander";
+
+	private final FormatRepository formatRepository;
+
+	private final Map<Long, FormatRules> rulesByFormat = new ConcurrentHashMap<>();
+	private final AtomicLong version = new AtomicLong();
+
+	/**
+	 * Rules of a format, loading them on first use
+	 */
+	public Optional<FormatRules> get(Long formatId) {
+		if (formatId == null) {
+			return Optional.empty();
+		}
+
+		final FormatRules cached = this.rulesByFormat.get(formatId);
+		if (cached != null) {
+			return Optional.of(cached);
+		}
+
+		final long loadVersion = this.version.get();
+		final Optional<FormatRules> loaded = this.formatRepository.findById(formatId)
+				.map(format -> this.toRules(format, loadVersion));
+		loaded.ifPresent(rules -> this.rulesByFormat.compute(formatId,
+				(id, existing) -> this.version.get() == loadVersion ? rules : existing));
+		return loaded;
+	}
+
+	public void invalidate(Long formatId) {
+		evictNowAndAfterCommit(() -> {
+			this.version.incrementAndGet();
+			this.rulesByFormat.remove(formatId);
+		});
+		log.debug("Invalidated cached rules for format {}", formatId);
+	}
+
+	public void invalidateAll() {
+		evictNowAndAfterCommit(() -> {
+			this.version.incrementAndGet();
+			this.rulesByFormat.clear();
+		});
+	}
+
+	/**
+	 * Evict the formats whose ban or restricted list names any of the given cards, as the card ids those names
+	 * resolve to may have changed with a card write
+	 */
+	public void invalidateCardNames(Collection<String> cardNames) {
+		final List<String> names = cardNames.stream()
+				.filter(Objects::nonNull)
+				.map(FormatRules::normalizeName)
+				.distinct()
+				.toList();
+		if (names.isEmpty()) {
+			return;
+		}
+		final Set<Long> formatIds = new HashSet<>(this.formatRepository.findIdsBanningNormalizedNames(names));
+		formatIds.addAll(this.formatRepository.findIdsRestrictingNormalizedNames(names));
+		if (formatIds.isEmpty()) {
+			return;
+		}
+		evictNowAndAfterCommit(() -> {
+			this.version.incrementAndGet();
+			formatIds.forEach(this.rulesByFormat::remove);
+		});
+		log.debug("Invalidated cached rules for formats {} listing {}", formatIds, names);
+	}
+
+	private FormatRules toRules(FormatEntity format, long loadVersion) {
+		// Ban lists are read with their own queries so the lazy collections are never touched outside a session
+		return FormatRules.builder()
+				.formatId(format.getId())
+				.name(format.getName())
+				.version(loadVersion)
+				.minDeckSize(format.getMinDeckSize())
+				.maxDeckSize(format.getMaxDeckSize())
+				.maxSideboardSize(format.getMaxSideboardSize())
+				.singleton(SINGLETON_FORMAT.equals(format.getName()))
+				.bannedCardIds(Set.copyOf(this.formatRepository.findBannedCardIds(format.getId())))
+				.restrictedCardIds(Set.copyOf(this.formatRepository.findRestrictedCardIds(format.getId())))
+				.build();
+	}
+
+	/**
+	 * Runs an eviction immediately and, when called inside a transaction, once more after it commits
+	 */
+	public static void evictNowAndAfterCommit(Runnable eviction) {
+		eviction.run();
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					eviction.run();
+				}
+			});
+		}
+	}
+}
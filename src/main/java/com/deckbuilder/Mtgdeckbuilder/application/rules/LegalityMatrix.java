@@ -0,0 +1,249 @@
+package com.deckbuilder.mtgdeckbuilder.application.rules;
+
+import com.deckbuilder.mtgdeckbuilder.infrastructure.CardLegalityRepository;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.CardLegalityRepository.LegalityStatusView;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.CardRepository;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.CardRepository.ColorIdentityView;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.model.CardEntity;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory card x format legality matrix.
+ * <p>
+ * Each format holds one byte per card, indexed directly by card id, so a lookup is an array read. Card ids come
+ * from a serial column and stay dense, which keeps a format at roughly one byte per card in the database.
+ * Alongside the matrix a card index records which ids exist, which cards may be played in any number and each
+ * card's color identity mask, one byte per card like a matrix row.
+ * Loading and invalidation follow the same versioned scheme as {@link FormatRulesCache}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LegalityMatrix {
+	public static final byte NO_RECORD = 0;
+	public static final byte LEGAL = 1;
+	public static final byte RESTRICTED = 2;
+	public static final byte BANNED = 3;
+	public static final byte NOT_LEGAL = 4;
+
+	private static final byte[] EMPTY = new byte[0];
+
+	private final CardRepository cardRepository;
+	private final CardLegalityRepository cardLegalityRepository;
+
+	private final Map<Long, byte[]> statusesByFormat = new ConcurrentHashMap<>();
+	private final AtomicLong version = new AtomicLong();
+	private volatile CardIndex cardIndex;
+
+	/**
+	 * Legality status of a card in a format, {@link #NO_RECORD} when no card_legality row exists
+	 */
+	public byte getStatus(Long formatId, Long cardId) {
+		final byte[] statuses = this.statusesFor(formatId);
+		final int index = toIndex(cardId);
+		return index >= 0 && index < statuses.length ? statuses[index] : NO_RECORD;
+	}
+
+	public boolean isKnownCard(Long cardId) {
+		return this.lookup(cardId).known();
+	}
+
+	/**
+	 * Whether any number of copies of the card may be played (unlimited copies flag or basic land)
+	 */
+	public boolean isUnlimited(Long cardId) {
+		return this.lookup(cardId).unlimited();
+	}
+
+	/**
+	 * Color identity mask of a card (see {@code CardColor.bit}), 0 for colorless and unknown cards
+	 */
+	public int getColorIdentity(Long cardId) {
+		return this.lookup(cardId).identity();
+	}
+
+	/**
+	 * Loads the card index and the matrix row of a format ahead of concurrent reads
+	 */
+	public void preload(Long formatId) {
+		if (this.cardIndex == null) {
+			this.loadCardIndex();
+		}
+		this.statusesFor(formatId);
+	}
+
+	public void invalidateFormat(Long formatId) {
+		FormatRulesCache.evictNowAndAfterCommit(() -> {
+			this.version.incrementAndGet();
+			this.statusesByFormat.remove(formatId);
+		});
+		log.debug("Invalidated legality matrix row for format {}", formatId);
+	}
+
+	public void invalidateCards() {
+		FormatRulesCache.evictNowAndAfterCommit(() -> {
+			this.version.incrementAndGet();
+			this.cardIndex = null;
+		});
+	}
+
+	public static byte toStatus(String legalityStatus) {
+		if (legalityStatus == null) {
+			return NO_RECORD;
+		}
+		return switch (legalityStatus) {
+			case "legal" -> LEGAL;
+			case "restricted" -> RESTRICTED;
+			case "banned" -> BANNED;
+			default -> NOT_LEGAL;
+		};
+	}
+
+	/**
+	 * Same rule as the card id query backing the index: the unlimited copies flag or a basic land
+	 */
+	static boolean allowsUnlimitedCopies(CardEntity card) {
+		return Boolean.TRUE.equals(card.getUnlimitedCopies())
+				|| ("Land".equals(card.getCardType()) && "Basic".equals(card.getCardSupertype()));
+	}
+
+	private byte[] statusesFor(Long formatId) {
+		if (formatId == null) {
+			return EMPTY;
+		}
+
+		final byte[] cached = this.statusesByFormat.get(formatId);
+		if (cached != null) {
+			return cached;
+		}
+
+		final long loadVersion = this.version.get();
+		final List<LegalityStatusView> rows = this.cardLegalityRepository.findStatusesByFormatId(formatId);
+		int maxIndex = -1;
+		for (final LegalityStatusView row : rows) {
+			maxIndex = Math.max(maxIndex, toIndex(row.getCardId()));
+		}
+		final byte[] statuses = new byte[maxIndex + 1];
+		for (final LegalityStatusView row : rows) {
+			final int index = toIndex(row.getCardId());
+			if (index >= 0) {
+				statuses[index] = toStatus(row.getLegalityStatus());
+			}
+		}
+
+		this.statusesByFormat.compute(formatId,
+				(id, existing) -> this.version.get() == loadVersion ? statuses : existing);
+		log.debug("Loaded {} legality rows for format {}", rows.size(), formatId);
+		return statuses;
+	}
+
+	private CardFlags lookup(Long cardId) {
+		final int index = toIndex(cardId);
+		if (index < 0) {
+			return CardFlags.UNKNOWN;
+		}
+
+		CardIndex current = this.cardIndex;
+		if (current == null) {
+			current = this.loadCardIndex();
+		}
+		if (current.known().get(index)) {
+			final byte[] identities = current.identities();
+			final int identity = index < identities.length ? identities[index] : 0;
+			return new CardFlags(true, current.unlimited().get(index), identity);
+		}
+
+		// Cards added since the index was built are looked up individually and patched in
+		final Optional<CardEntity> card = this.cardRepository.findById(cardId);
+		if (card.isEmpty()) {
+			return CardFlags.UNKNOWN;
+		}
+		final boolean unlimited = allowsUnlimitedCopies(card.get());
+		final int identity = card.get().getColorIdentityMask();
+		this.patchCardIndex(current, index, unlimited, identity);
+		return new CardFlags(true, unlimited, identity);
+	}
+
+	private synchronized CardIndex loadCardIndex() {
+		if (this.cardIndex != null) {
+			return this.cardIndex;
+		}
+
+		final long loadVersion = this.version.get();
+		final BitSet known = new BitSet();
+		final BitSet unlimited = new BitSet();
+		this.cardRepository.findAllIds().forEach(id -> setBit(known, id));
+		this.cardRepository.findUnlimitedCopyIds().forEach(id -> setBit(unlimited, id));
+		final List<ColorIdentityView> masks = this.cardRepository.findColorIdentityMasks();
+		int maxIndex = -1;
+		for (final ColorIdentityView row : masks) {
+			maxIndex = Math.max(maxIndex, toIndex(row.getId()));
+		}
+		final byte[] identities = new byte[maxIndex + 1];
+		for (final ColorIdentityView row : masks) {
+			final int index = toIndex(row.getId());
+			if (index >= 0) {
+				identities[index] = row.getMask().byteValue();
+			}
+		}
+
+		final CardIndex loaded = new CardIndex(known, unlimited, identities);
+		if (this.version.get() == loadVersion) {
+			this.cardIndex = loaded;
+		}
+		log.debug("Loaded card index with {} cards", known.cardinality());
+		return loaded;
+	}
+
+	private synchronized void patchCardIndex(CardIndex base, int index, boolean unlimited, int identity) {
+		// Only patch the snapshot the lookup was based on; an invalidated or replaced index is left alone
+		if (this.cardIndex != base) {
+			return;
+		}
+		final BitSet known = (BitSet) base.known().clone();
+		final BitSet unlimitedCards = (BitSet) base.unlimited().clone();
+		known.set(index);
+		unlimitedCards.set(index, unlimited);
+		byte[] identities = base.identities();
+		if (identity != 0) {
+			identities = Arrays.copyOf(identities, Math.max(identities.length, index + 1));
+			identities[index] = (byte) identity;
+		}
+		this.cardIndex = new CardIndex(known, unlimitedCards, identities);
+	}
+
+	private static void setBit(BitSet bits, Long cardId) {
+		final int index = toIndex(cardId);
+		if (index >= 0) {
+			bits.set(index);
+		}
+	}
+
+	private static int toIndex(Long cardId) {
+		if (cardId == null || cardId < 0 || cardId > Integer.MAX_VALUE - 1) {
+			return -1;
+		}
+		return cardId.intValue();
+	}
+
+	/**
+	 * Immutable snapshot of existing and unlimited card ids and of the identity masks of colored cards; replaced
+	 * wholesale, never mutated
+	 */
+	private record CardIndex(BitSet known, BitSet unlimited, byte[] identities) {
+	}
+
+	private record CardFlags(boolean known, boolean unlimited, int identity) {
+		static final CardFlags UNKNOWN = new CardFlags(false, false, 0);
+	}
+}
@@ -0,0 +1,415 @@
+package com.deckbuilder.mtgdeckbuilder.application.similarity;
+
+import com.deckbuilder.mtgdeckbuilder.model.DeckDelta;
+import com.deckbuilder.mtgdeckbuilder.model.DeckDelta.CardChange;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+/**
+ * How often cards are played together: for every card, the number of decks it shares with each other card, over
+ * the main decks of all decks.
+ * <p>
+ * Each card has a sparse, varint-compressed row of the matrix with its top {@value #TOP_K} neighbors maintained
+ * alongside in primitive arrays, so the companions of a card are read in O(k). The main deck card set of every deck
+ * is kept as well: a committed change is applied by diffing the deck's new set against the kept one, which makes
+ * replaying a change harmless. Changes committed while a full rebuild runs are replayed onto the rebuilt matrix.
+ * <p>
+ * A full rebuild counts each card's row independently from an inverted index of the decks, in parallel and
+ * without locks. Rows changed since the last flush are tracked so that {@link #drainDirty()} can persist them, and
+ * persisted rows are loaded back with {@link #restore} instead of counting the matrix again. Until either ran, the
+ * matrix is empty.
+ */
+@Component
+@Slf4j
+public class CardCooccurrenceIndex {
+	public static final int TOP_K = 50;
+	private static final String MAIN = "main";
+	private static final long[] NO_CARDS = new long[0];
+	private static final int CARDS_PER_TASK = 256;
+
+	private final ForkJoinPool pool;
+	private final Object buildLock = new Object();
+
+	private volatile State state;
+	// Updates to replay onto the matrix being rebuilt, null when no rebuild runs; guarded by this
+	private List<Function<State, Set<Long>>> pending;
+	// Cards whose row changed since the last drain, and whether every row must be rewritten; guarded by this
+	private final Set<Long> dirty = new HashSet<>();
+	private boolean rewriteAll;
+
+	public CardCooccurrenceIndex(@Qualifier("deckIndexPool") ForkJoinPool pool) {
+		this.pool = pool;
+	}
+
+	/**
+	 * A card played alongside another
+	 *
+	 * @param decks decks containing both cards
+	 * @param share fraction of the decks with the queried card that also play this one
+	 */
+	public record Companion(Long cardId, int decks, double share) {
+	}
+
+	/**
+	 * A persisted row; a card in no deck (decks 0) has no row to persist
+	 */
+	public record PersistedRow(Long cardId, int decks, int neighbors, byte[] payload) {
+	}
+
+	/**
+	 * The rows changed since the previous drain
+	 *
+	 * @param rewriteAll whether the matrix was rebuilt, so rows missing from the list must be deleted
+	 */
+	public record Dirty(boolean rewriteAll, List<PersistedRow> rows) {
+	}
+
+	private record State(Map<Long, long[]> decks, Map<Long, CooccurrenceRow> rows) {
+
+		/**
+		 * Move a deck to a new card set, adjusting the rows of the cards that entered or left it
+		 */
+		Set<Long> setDeck(Long deckId, long[] cards) {
+			final long[] previous = this.decks.getOrDefault(deckId, NO_CARDS);
+			final long[] removed = difference(previous, cards);
+			final long[] added = difference(cards, previous);
+			if (removed.length == 0 && added.length == 0) {
+				return Set.of();
+			}
+
+			this.adjust(removed, previous, -1);
+			this.adjust(added, cards, 1);
+			if (cards.length == 0) {
+				this.decks.remove(deckId);
+			} else {
+				this.decks.put(deckId, cards);
+			}
+
+			final Set<Long> changed = new HashSet<>();
+			LongStream.of(previous).forEach(changed::add);
+			LongStream.of(cards).forEach(changed::add);
+			return changed;
+		}
+
+		/**
+		 * Count each pair of a changed card and another card of the deck once in both rows, merging one sorted
+		 * batch into each row
+		 */
+		private void adjust(long[] changed, long[] deck, int delta) {
+			if (changed.length == 0) {
+				return;
+			}
+			for (final long card : changed) {
+				final CooccurrenceRow row = this.row(card);
+				row.addDecks(delta);
+				row.add(deck, delta);
+			}
+			for (final long other : deck) {
+				if (Arrays.binarySearch(changed, other) < 0) {
+					this.row(other).add(changed, delta);
+				}
+			}
+		}
+
+		private CooccurrenceRow row(long cardId) {
+			return this.rows.computeIfAbsent(cardId, id -> new CooccurrenceRow(id, TOP_K));
+		}
+	}
+
+	/**
+	 * Replace the matrix with one counted from every deck, counting the rows in parallel. Every row is written on
+	 * the next flush.
+	 *
+	 * @param loader distinct main deck card ids by deck id, sorted, read from a consistent snapshot
+	 * @return the number of cards with a row
+	 */
+	public int rebuild(Supplier<Map<Long, long[]>> loader) {
+		final State rebuilt = this.install(() -> {
+			final Map<Long, long[]> decks = loader.get();
+			return new State(new ConcurrentHashMap<>(decks), this.countRows(decks.values()));
+		}, true);
+		log.info("Counted card co-occurrences of {} cards over {} decks", rebuilt.rows().size(),
+				rebuilt.decks().size());
+		return rebuilt.rows().size();
+	}
+
+	/**
+	 * Replace the matrix with persisted rows, decoding them instead of counting. The rows must reflect the decks,
+	 * i.e. every change must have been flushed before they were read.
+	 *
+	 * @param decksLoader distinct main deck card ids by deck id, sorted, against which later changes are diffed
+	 * @param rowsLoader the persisted rows
+	 * @return the number of cards with a row
+	 */
+	public int restore(Supplier<Map<Long, long[]>> decksLoader, Supplier<List<PersistedRow>> rowsLoader) {
+		final State restored = this.install(() -> {
+			final Map<Long, long[]> decks = decksLoader.get();
+			final Map<Long, CooccurrenceRow> rows = new ConcurrentHashMap<>();
+			for (final PersistedRow row : rowsLoader.get()) {
+				rows.put(row.cardId(),
+						CooccurrenceRow.decode(row.cardId(), row.payload(), row.neighbors(), row.decks(), TOP_K));
+			}
+			return new State(new ConcurrentHashMap<>(decks), rows);
+		}, false);
+		log.info("Loaded card co-occurrences of {} cards over {} decks", restored.rows().size(),
+				restored.decks().size());
+		return restored.rows().size();
+	}
+
+	/**
+	 * Build a new state and swap it in, replaying the changes committed meanwhile onto it
+	 *
+	 * @param rewriteAll whether the next drain must hand over every row
+	 */
+	private State install(Supplier<State> builder, boolean rewriteAll) {
+		synchronized (this.buildLock) {
+			synchronized (this) {
+				this.pending = new ArrayList<>();
+			}
+			final State built;
+			try {
+				built = builder.get();
+			} catch (final RuntimeException e) {
+				synchronized (this) {
+					this.pending = null;
+				}
+				throw e;
+			}
+
+			synchronized (this) {
+				this.dirty.clear();
+				this.pending.forEach(update -> this.dirty.addAll(update.apply(built)));
+				this.pending = null;
+				this.state = built;
+				this.rewriteAll = rewriteAll;
+			}
+			return built;
+		}
+	}
+
+	/**
+	 * The cards sharing the most decks with a card, most shared first
+	 *
+	 * @param limit at most {@value #TOP_K}
+	 */
+	public List<Companion> companions(Long cardId, int limit) {
+		final State current = this.state;
+		final CooccurrenceRow row = current == null ? null : current.rows().get(cardId);
+		if (row == null) {
+			return List.of();
+		}
+
+		final long[] cardIds = new long[TOP_K];
+		final int[] counts = new int[TOP_K];
+		final int decks;
+		final int n;
+		synchronized (row) {
+			decks = row.decks();
+			n = row.top(Math.min(limit, TOP_K), cardIds, counts);
+		}
+		final List<Companion> companions = new ArrayList<>(n);
+		for (int i = 0; i < n; i++) {
+			companions.add(new Companion(cardIds[i], counts[i], decks == 0 ? 0 : (double) counts[i] / decks));
+		}
+		return companions;
+	}
+
+	/**
+	 * Record a card mutation; the matrix follows once the surrounding transaction commits
+	 */
+	public void recordChange(DeckDelta delta) {
+		final Set<Long> added = new HashSet<>();
+		final Set<Long> removed = new HashSet<>();
+		for (final CardChange change : delta.getChanges()) {
+			if (!MAIN.equals(change.getSection())) {
+				continue;
+			}
+			if (change.getQuantity() == 0) {
+				removed.add(change.getCardId());
+			} else if (change.getPreviousQuantity() == 0) {
+				added.add(change.getCardId());
+			}
+		}
+		if (added.isEmpty() && removed.isEmpty()) {
+			return;
+		}
+
+		final Long deckId = delta.getDeckId();
+		this.afterCommit(state -> {
+			final Set<Long> cards = new HashSet<>(added);
+			for (final long card : state.decks().getOrDefault(deckId, NO_CARDS)) {
+				if (!removed.contains(card)) {
+					cards.add(card);
+				}
+			}
+			return state.setDeck(deckId, cards.stream().mapToLong(Long::longValue).sorted().toArray());
+		});
+	}
+
+	/**
+	 * Record the full main deck of a deck whose cards were written without deltas, e.g. a fork. Ignored until the
+	 * matrix is built or being built.
+	 */
+	public void recordDeck(Long deckId, List<Long> cardIds) {
+		if (!this.isTracking()) {
+			return;
+		}
+		final long[] cards = MainDeckCardSets.of(cardIds);
+		this.afterCommit(state -> state.setDeck(deckId, cards));
+	}
+
+	public void remove(Long deckId) {
+		this.afterCommit(state -> state.setDeck(deckId, NO_CARDS));
+	}
+
+	/**
+	 * Encode the rows changed since the previous drain and forget them
+	 */
+	public synchronized Dirty drainDirty() {
+		final State current = this.state;
+		if (current == null) {
+			return new Dirty(false, List.of());
+		}
+		final Collection<Long> cardIds = this.rewriteAll ? current.rows().keySet() : this.dirty;
+		final List<PersistedRow> rows = new ArrayList<>(cardIds.size());
+		for (final Long cardId : cardIds) {
+			final CooccurrenceRow row = current.rows().get(cardId);
+			synchronized (row) {
+				rows.add(new PersistedRow(cardId, row.decks(), row.size(), row.encoded()));
+			}
+		}
+		final Dirty drained = new Dirty(this.rewriteAll, rows);
+		this.dirty.clear();
+		this.rewriteAll = false;
+		return drained;
+	}
+
+	/**
+	 * Mark drained rows dirty again after persisting them failed
+	 */
+	public synchronized void restoreDirty(Dirty drained) {
+		this.rewriteAll |= drained.rewriteAll();
+		drained.rows().forEach(row -> this.dirty.add(row.cardId()));
+	}
+
+	/**
+	 * Count every row from an inverted index of the decks. Cards are numbered densely in card id order, so each
+	 * task counts its cards' neighbors in a plain array and reads them back sorted by card id.
+	 */
+	private Map<Long, CooccurrenceRow> countRows(Collection<long[]> decks) {
+		final long[] cardIds = decks.stream().flatMapToLong(LongStream::of).distinct().sorted().toArray();
+		final int cardCount = cardIds.length;
+		final int[][] deckCards = decks.stream()
+				.map(cards -> LongStream.of(cards).mapToInt(card -> Arrays.binarySearch(cardIds, card)).toArray())
+				.toArray(int[][]::new);
+
+		final int[] deckCounts = new int[cardCount];
+		for (final int[] cards : deckCards) {
+			for (final int card : cards) {
+				deckCounts[card]++;
+			}
+		}
+		final int[][] postings = new int[cardCount][];
+		for (int card = 0; card < cardCount; card++) {
+			postings[card] = new int[deckCounts[card]];
+		}
+		final int[] filled = new int[cardCount];
+		for (int deck = 0; deck < deckCards.length; deck++) {
+			for (final int card : deckCards[deck]) {
+				postings[card][filled[card]++] = deck;
+			}
+		}
+
+		final CooccurrenceRow[] rows = new CooccurrenceRow[cardCount];
+		final int tasks = (cardCount + CARDS_PER_TASK - 1) / CARDS_PER_TASK;
+		this.pool.submit(() -> IntStream.range(0, tasks).parallel().forEach(task -> {
+			final int[] shared = new int[cardCount];
+			final int[] touched = new int[cardCount];
+			for (int card = task * CARDS_PER_TASK; card < Math.min(cardCount, (task + 1) * CARDS_PER_TASK); card++) {
+				int neighbors = 0;
+				for (final int deck : postings[card]) {
+					for (final int other : deckCards[deck]) {
+						if (other != card && shared[other]++ == 0) {
+							touched[neighbors++] = other;
+						}
+					}
+				}
+				// Dense rows are read back by scanning the counters, which is cheaper than sorting the touched cards
+				if (neighbors > cardCount / 8) {
+					neighbors = 0;
+					for (int other = 0; other < cardCount; other++) {
+						if (shared[other] != 0) {
+							touched[neighbors++] = other;
+						}
+					}
+				} else {
+					Arrays.sort(touched, 0, neighbors);
+				}
+				final long[] neighborIds = new long[neighbors];
+				final int[] counts = new int[neighbors];
+				for (int i = 0; i < neighbors; i++) {
+					neighborIds[i] = cardIds[touched[i]];
+					counts[i] = shared[touched[i]];
+					shared[touched[i]] = 0;
+				}
+				rows[card] = CooccurrenceRow.of(cardIds[card], neighborIds, counts, postings[card].length, TOP_K);
+			}
+		})).join();
+
+		final Map<Long, CooccurrenceRow> byCard = new ConcurrentHashMap<>(cardCount * 2);
+		for (int card = 0; card < cardCount; card++) {
+			byCard.put(cardIds[card], rows[card]);
+		}
+		return byCard;
+	}
+
+	private void afterCommit(Function<State, Set<Long>> update) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					CardCooccurrenceIndex.this.apply(update);
+				}
+			});
+		} else {
+			this.apply(update);
+		}
+	}
+
+	private synchronized boolean isTracking() {
+		return this.state != null || this.pending != null;
+	}
+
+	private synchronized void apply(Function<State, Set<Long>> update) {
+		if (this.state != null) {
+			this.dirty.addAll(update.apply(this.state));
+		}
+		if (this.pending != null) {
+			this.pending.add(update);
+		}
+	}
+
+	/**
+	 * Sorted card ids in {@code a} but not in {@code b}, both sorted
+	 */
+	private static long[] difference(long[] a, long[] b) {
+		return LongStream.of(a).filter(card -> Arrays.binarySearch(b, card) < 0).toArray();
+	}
+}
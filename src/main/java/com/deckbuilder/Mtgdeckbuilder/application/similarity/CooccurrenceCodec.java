@@ -0,0 +1,85 @@
+package com.deckbuilder.mtgdeckbuilder.application.similarity;
+
+import java.util.Arrays;
+
+/**
+ * Compact binary encoding of one row of the card co-occurrence matrix: the cards played alongside a card and in
+ * how many decks.
+ * <p>
+ * Neighbors are written in card id order as the gap to the previous card id followed by the deck count, both as
+ * unsigned LEB128 varints. Neighbors are dense in card id order and most counts are small, so an entry usually
+ * takes two or three bytes instead of twelve. The same encoding is kept in memory and persisted.
+ */
+public final class CooccurrenceCodec {
+	/**
+	 * Upper bound of one encoded entry: a card id gap of up to ten bytes and a count of up to five
+	 */
+	static final int MAX_ENTRY_BYTES = 15;
+
+	private CooccurrenceCodec() {
+	}
+
+	/**
+	 * One decoded row: neighbor card ids in ascending order and the number of decks shared with each
+	 */
+	public record Row(long[] cardIds, int[] decks) {
+	}
+
+	public static byte[] encode(long[] cardIds, int[] decks, int size) {
+		final byte[] out = new byte[size * MAX_ENTRY_BYTES];
+		int length = 0;
+		long previousCardId = 0;
+		for (int i = 0; i < size; i++) {
+			length = writeVarint(out, length, cardIds[i] - previousCardId);
+			length = writeVarint(out, length, decks[i]);
+			previousCardId = cardIds[i];
+		}
+		return Arrays.copyOf(out, length);
+	}
+
+	/**
+	 * Decode a row of the given number of neighbors
+	 */
+	public static Row decode(byte[] payload, int size) {
+		final int[] position = {0};
+		final long[] cardIds = new long[size];
+		final int[] decks = new int[size];
+		long cardId = 0;
+		for (int i = 0; i < size; i++) {
+			cardId += readVarint(payload, position);
+			cardIds[i] = cardId;
+			decks[i] = (int) readVarint(payload, position);
+		}
+		return new Row(cardIds, decks);
+	}
+
+	/**
+	 * Write a varint at the given offset, which must leave room for {@value #MAX_ENTRY_BYTES} bytes per entry
+	 *
+	 * @return the offset after the written bytes
+	 */
+	static int writeVarint(byte[] out, int offset, long value) {
+		while ((value & ~0x7FL) != 0) {
+			out[offset++] = (byte) ((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		out[offset++] = (byte) value;
+		return offset;
+	}
+
+	static long readVarint(byte[] payload, int[] position) {
+		long value = 0;
+		int shift = 0;
+		while (true) {
+			if (position[0] >= payload.length || shift > 63) {
+				throw new IllegalStateException("Corrupt card co-occurrence payload");
+			}
+			final byte b = payload[position[0]++];
+			value |= (long) (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return value;
+			}
+			shift += 7;
+		}
+	}
+}
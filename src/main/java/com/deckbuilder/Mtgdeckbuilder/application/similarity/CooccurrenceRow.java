@@ -0,0 +1,236 @@
+package com.deckbuilder.mtgdeckbuilder.application.similarity;
+
+import java.util.Arrays;
+
+/**
+ * One card's row of the co-occurrence matrix: every card sharing a deck with it and in how many decks, kept
+ * varint-encoded in card id order (see {@link CooccurrenceCodec}), plus its top neighbors by deck count in
+ * primitive arrays.
+ * <p>
+ * Changes are merged into the encoded row in one pass per batch of neighbors. The top list is maintained on every
+ * change: an increment moves a neighbor up or into the list, so reading the top neighbors never touches the row.
+ * Only a decrement of a listed neighbor selects the list again from the row, as another neighbor may now rank
+ * higher.
+ */
+final class CooccurrenceRow {
+	private static final byte[] NO_NEIGHBORS = new byte[0];
+
+	private final long cardId;
+	private byte[] encoded = NO_NEIGHBORS;
+	private int size;
+	private int decks;
+
+	private final long[] topCardIds;
+	private final int[] topCounts;
+	private int topSize;
+
+	CooccurrenceRow(long cardId, int topK) {
+		this.cardId = cardId;
+		this.topCardIds = new long[topK];
+		this.topCounts = new int[topK];
+	}
+
+	/**
+	 * A row over already counted neighbors, which must be sorted by card id
+	 */
+	static CooccurrenceRow of(long cardId, long[] cardIds, int[] counts, int decks, int topK) {
+		final CooccurrenceRow row = new CooccurrenceRow(cardId, topK);
+		row.encoded = CooccurrenceCodec.encode(cardIds, counts, cardIds.length);
+		row.size = cardIds.length;
+		row.decks = decks;
+		row.selectTop(cardIds, counts);
+		return row;
+	}
+
+	/**
+	 * A row over a persisted payload of the given number of neighbors, kept as it is
+	 */
+	static CooccurrenceRow decode(long cardId, byte[] payload, int size, int decks, int topK) {
+		final CooccurrenceRow row = new CooccurrenceRow(cardId, topK);
+		final CooccurrenceCodec.Row decoded = CooccurrenceCodec.decode(payload, size);
+		row.encoded = payload;
+		row.size = size;
+		row.decks = decks;
+		row.selectTop(decoded.cardIds(), decoded.decks());
+		return row;
+	}
+
+	synchronized int decks() {
+		return this.decks;
+	}
+
+	synchronized void addDecks(int delta) {
+		this.decks += delta;
+	}
+
+	synchronized int size() {
+		return this.size;
+	}
+
+	synchronized byte[] encoded() {
+		return this.encoded;
+	}
+
+	/**
+	 * Change the number of decks shared with each of the given cards; neighbors dropping to zero are removed
+	 *
+	 * @param cardIds cards in ascending order; this row's own card is skipped
+	 */
+	synchronized void add(long[] cardIds, int delta) {
+		// Inserting a neighbor only shortens the gap after it, so existing entries never grow
+		final byte[] out = new byte[this.encoded.length + cardIds.length * CooccurrenceCodec.MAX_ENTRY_BYTES];
+		int length = 0;
+		final int[] position = {0};
+		long current = 0;
+		int currentCount = 0;
+		int read = 0;
+		boolean hasCurrent = false;
+		long previousWritten = 0;
+		int written = 0;
+		boolean reselect = false;
+
+		int j = 0;
+		while (true) {
+			if (!hasCurrent && read < this.size) {
+				current += CooccurrenceCodec.readVarint(this.encoded, position);
+				currentCount = (int) CooccurrenceCodec.readVarint(this.encoded, position);
+				read++;
+				hasCurrent = true;
+			}
+			while (j < cardIds.length && cardIds[j] == this.cardId) {
+				j++;
+			}
+			if (!hasCurrent && j == cardIds.length) {
+				break;
+			}
+
+			final long neighbor;
+			final int count;
+			if (hasCurrent && (j == cardIds.length || current < cardIds[j])) {
+				neighbor = current;
+				count = currentCount;
+				hasCurrent = false;
+			} else if (!hasCurrent || cardIds[j] < current) {
+				neighbor = cardIds[j++];
+				count = delta;
+				if (count > 0) {
+					this.raise(neighbor, count);
+				}
+			} else {
+				neighbor = current;
+				count = currentCount + delta;
+				hasCurrent = false;
+				j++;
+				if (delta > 0) {
+					this.raise(neighbor, count);
+				} else {
+					reselect |= this.topIndexOf(neighbor) >= 0;
+				}
+			}
+
+			if (count > 0) {
+				length = CooccurrenceCodec.writeVarint(out, length, neighbor - previousWritten);
+				length = CooccurrenceCodec.writeVarint(out, length, count);
+				previousWritten = neighbor;
+				written++;
+			}
+		}
+
+		this.encoded = Arrays.copyOf(out, length);
+		this.size = written;
+		if (reselect) {
+			final CooccurrenceCodec.Row row = CooccurrenceCodec.decode(this.encoded, this.size);
+			this.selectTop(row.cardIds(), row.decks());
+		}
+	}
+
+	/**
+	 * Copy up to {@code limit} top neighbors, most shared decks first
+	 *
+	 * @return the number of neighbors copied
+	 */
+	synchronized int top(int limit, long[] cardIdsOut, int[] countsOut) {
+		final int n = Math.min(limit, this.topSize);
+		System.arraycopy(this.topCardIds, 0, cardIdsOut, 0, n);
+		System.arraycopy(this.topCounts, 0, countsOut, 0, n);
+		return n;
+	}
+
+	/**
+	 * Move a neighbor whose count grew up the top list, or into it when it now outranks the last entry
+	 */
+	private void raise(long neighbor, int count) {
+		final int index = this.topIndexOf(neighbor);
+		if (index < 0) {
+			this.offer(neighbor, count);
+		} else {
+			this.moveUp(index, neighbor, count);
+		}
+	}
+
+	/**
+	 * Insert a neighbor that is not in the top list if it ranks high enough
+	 */
+	private void offer(long neighbor, int count) {
+		if (this.topSize < this.topCardIds.length) {
+			this.moveUp(this.topSize++, neighbor, count);
+		} else if (ranksBefore(count, neighbor, this.topCounts[this.topSize - 1], this.topCardIds[this.topSize - 1])) {
+			this.moveUp(this.topSize - 1, neighbor, count);
+		}
+	}
+
+	private void moveUp(int index, long neighbor, int count) {
+		while (index > 0 && ranksBefore(count, neighbor, this.topCounts[index - 1], this.topCardIds[index - 1])) {
+			this.topCardIds[index] = this.topCardIds[index - 1];
+			this.topCounts[index] = this.topCounts[index - 1];
+			index--;
+		}
+		this.topCardIds[index] = neighbor;
+		this.topCounts[index] = count;
+	}
+
+	/**
+	 * Select the top neighbors in two passes over the row: a histogram of the counts gives the lowest count that
+	 * still makes the list, then the neighbors above it and the lowest card ids at it are taken in order.
+	 */
+	private void selectTop(long[] cardIds, int[] counts) {
+		this.topSize = 0;
+		int max = 0;
+		for (final int count : counts) {
+			max = Math.max(max, count);
+		}
+		final int[] histogram = new int[max + 1];
+		for (final int count : counts) {
+			histogram[count]++;
+		}
+		int threshold = max;
+		int above = 0;
+		while (threshold > 0 && above + histogram[threshold] < this.topCardIds.length) {
+			above += histogram[threshold--];
+		}
+
+		int atThreshold = this.topCardIds.length - above;
+		for (int i = 0; i < cardIds.length; i++) {
+			final int count = counts[i];
+			if (count > threshold || count == threshold && atThreshold-- > 0) {
+				this.moveUp(this.topSize++, cardIds[i], count);
+			}
+		}
+	}
+
+	private int topIndexOf(long neighbor) {
+		for (int i = 0; i < this.topSize; i++) {
+			if (this.topCardIds[i] == neighbor) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Top list order: most shared decks first, then lowest card id
+	 */
+	private static boolean ranksBefore(int count, long cardId, int otherCount, long otherCardId) {
+		return count > otherCount || count == otherCount && cardId < otherCardId;
+	}
+}
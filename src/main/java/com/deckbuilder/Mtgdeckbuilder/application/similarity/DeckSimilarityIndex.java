@@ -0,0 +1,309 @@
+package com.deckbuilder.mtgdeckbuilder.application.similarity;
+
+import com.deckbuilder.mtgdeckbuilder.model.DeckDelta;
+import com.deckbuilder.mtgdeckbuilder.model.DeckDelta.CardChange;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * MinHash signatures of every deck's main section with an LSH band index, to find decks with similar card sets
+ * without comparing against every deck.
+ * <p>
+ * A signature holds, for each of {@link #HASHES} hash functions, the smallest hash of any card in the deck, so two
+ * decks agree on a position with a probability equal to the Jaccard similarity of their card sets. Signatures are
+ * cut into {@link #BANDS} bands of {@link #ROWS} positions and decks agreeing on a whole band share a bucket. A
+ * query only looks at decks sharing a bucket with it: pairs above roughly 50% similarity are almost always found
+ * while dissimilar decks are rarely touched. Candidates are ranked by their exact similarity, computed from the
+ * card sets kept with the signatures.
+ * <p>
+ * Built off the request path once the application is ready, answering with no matches until then, and kept current
+ * from committed card deltas: an added card can only lower positions of a signature, a removed card recomputes that
+ * deck's signature from its card set. Updates committed while a full rebuild runs are replayed onto the rebuilt
+ * index; they are set operations, so replaying is harmless.
+ */
+@Component
+@Slf4j
+public class DeckSimilarityIndex {
+	static final int HASHES = 96;
+	static final int BANDS = 32;
+	static final int ROWS = HASHES / BANDS;
+	private static final String MAIN = "main";
+	private static final long[] SEEDS = new SplittableRandom(0x5EED_DECCL).longs(HASHES).toArray();
+
+	private final ForkJoinPool pool;
+	private final Object buildLock = new Object();
+
+	private volatile State state;
+	// Updates to replay onto the index being rebuilt, null when no rebuild runs; guarded by this
+	private List<Consumer<State>> pending;
+
+	public DeckSimilarityIndex(@Qualifier("deckIndexPool") ForkJoinPool pool) {
+		this.pool = pool;
+	}
+
+	/**
+	 * Distinct card ids of a deck in ascending order, with their MinHash signature
+	 */
+	record Signature(long[] cards, int[] minHashes) {
+	}
+
+	/**
+	 * A deck whose card set overlaps the queried deck's
+	 *
+	 * @param similarity Jaccard similarity: shared cards over cards in either deck
+	 */
+	public record Match(Long deckId, double similarity, int sharedCards) {
+	}
+
+	private record State(Map<Long, Signature> signatures, Map<Long, Set<Long>> buckets) {
+
+		void put(Long deckId, Signature signature) {
+			this.remove(deckId);
+			// Empty decks would all share every bucket
+			if (signature.cards().length == 0) {
+				return;
+			}
+			this.signatures.put(deckId, signature);
+			for (int band = 0; band < BANDS; band++) {
+				this.buckets.computeIfAbsent(bandKey(signature.minHashes(), band), key -> ConcurrentHashMap.newKeySet())
+						.add(deckId);
+			}
+		}
+
+		void remove(Long deckId) {
+			final Signature removed = this.signatures.remove(deckId);
+			if (removed == null) {
+				return;
+			}
+			for (int band = 0; band < BANDS; band++) {
+				this.buckets.computeIfPresent(bandKey(removed.minHashes(), band), (key, deckIds) -> {
+					deckIds.remove(deckId);
+					return deckIds.isEmpty() ? null : deckIds;
+				});
+			}
+		}
+	}
+
+	/**
+	 * Replace the index with one built from every deck, computing the signatures in parallel
+	 *
+	 * @param loader distinct main deck card ids by deck id, read from a consistent snapshot
+	 * @return the number of decks indexed
+	 */
+	public int rebuild(Supplier<Map<Long, long[]>> loader) {
+		synchronized (this.buildLock) {
+			synchronized (this) {
+				this.pending = new ArrayList<>();
+			}
+			final State rebuilt = new State(new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+			try {
+				final Map<Long, long[]> decks = loader.get();
+				this.pool.submit(() -> decks.entrySet().parallelStream()
+						.forEach(deck -> rebuilt.put(deck.getKey(), signatureOf(deck.getValue())))).join();
+			} catch (final RuntimeException e) {
+				synchronized (this) {
+					this.pending = null;
+				}
+				throw e;
+			}
+
+			synchronized (this) {
+				this.pending.forEach(update -> update.accept(rebuilt));
+				this.pending = null;
+				this.state = rebuilt;
+			}
+			log.info("Indexed MinHash signatures of {} decks", rebuilt.signatures().size());
+			return rebuilt.signatures().size();
+		}
+	}
+
+	/**
+	 * Decks sharing at least one band with the given deck and at least the given similarity, most similar first
+	 */
+	public List<Match> similarTo(Long deckId, double minSimilarity) {
+		final State current = this.state;
+		final Signature signature = current == null ? null : current.signatures().get(deckId);
+		if (signature == null) {
+			return List.of();
+		}
+
+		final Set<Long> candidates = new HashSet<>();
+		for (int band = 0; band < BANDS; band++) {
+			final Set<Long> bucket = current.buckets().get(bandKey(signature.minHashes(), band));
+			if (bucket != null) {
+				candidates.addAll(bucket);
+			}
+		}
+		candidates.remove(deckId);
+
+		final List<Match> matches = new ArrayList<>();
+		for (final Long candidate : candidates) {
+			final Signature other = current.signatures().get(candidate);
+			if (other == null) {
+				continue;
+			}
+			final int shared = sharedCount(signature.cards(), other.cards());
+			final double similarity = (double) shared / (signature.cards().length + other.cards().length - shared);
+			if (similarity >= minSimilarity) {
+				matches.add(new Match(candidate, similarity, shared));
+			}
+		}
+		matches.sort(Comparator.comparingDouble(Match::similarity).reversed().thenComparing(Match::deckId));
+		return matches;
+	}
+
+	/**
+	 * Record a card mutation; the index follows once the surrounding transaction commits
+	 */
+	public void recordChange(DeckDelta delta) {
+		final Set<Long> added = new HashSet<>();
+		final Set<Long> removed = new HashSet<>();
+		for (final CardChange change : delta.getChanges()) {
+			if (!MAIN.equals(change.getSection())) {
+				continue;
+			}
+			if (change.getQuantity() == 0) {
+				removed.add(change.getCardId());
+			} else if (change.getPreviousQuantity() == 0) {
+				added.add(change.getCardId());
+			}
+		}
+		if (added.isEmpty() && removed.isEmpty()) {
+			return;
+		}
+
+		final Long deckId = delta.getDeckId();
+		this.afterCommit(state -> state.put(deckId, withChanges(state.signatures().get(deckId), added, removed)));
+	}
+
+	/**
+	 * Record the full main deck of a deck whose cards were written without deltas, e.g. a fork. Ignored until the
+	 * index is built or being built.
+	 */
+	public void recordDeck(Long deckId, List<Long> cardIds) {
+		if (!this.isTracking()) {
+			return;
+		}
+		final long[] cards = MainDeckCardSets.of(cardIds);
+		this.afterCommit(state -> state.put(deckId, signatureOf(cards)));
+	}
+
+	public void remove(Long deckId) {
+		this.afterCommit(state -> state.remove(deckId));
+	}
+
+	private void afterCommit(Consumer<State> update) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					DeckSimilarityIndex.this.apply(update);
+				}
+			});
+		} else {
+			this.apply(update);
+		}
+	}
+
+	private synchronized boolean isTracking() {
+		return this.state != null || this.pending != null;
+	}
+
+	private synchronized void apply(Consumer<State> update) {
+		if (this.state != null) {
+			update.accept(this.state);
+		}
+		if (this.pending != null) {
+			this.pending.add(update);
+		}
+	}
+
+	static Signature signatureOf(long[] cards) {
+		final int[] minHashes = new int[HASHES];
+		Arrays.fill(minHashes, Integer.MAX_VALUE);
+		for (final long card : cards) {
+			for (int i = 0; i < HASHES; i++) {
+				minHashes[i] = Math.min(minHashes[i], hash(card, i));
+			}
+		}
+		return new Signature(cards, minHashes);
+	}
+
+	private static Signature withChanges(Signature current, Set<Long> added, Set<Long> removed) {
+		final long[] cards = current == null ? new long[0] : current.cards();
+		final Set<Long> merged = new HashSet<>(added);
+		boolean removedAny = false;
+		for (final long card : cards) {
+			if (removed.contains(card)) {
+				removedAny = true;
+			} else {
+				merged.add(card);
+			}
+		}
+		final long[] updated = merged.stream().mapToLong(Long::longValue).sorted().toArray();
+		if (current == null || removedAny) {
+			return signatureOf(updated);
+		}
+
+		// Only additions: every position can only move down
+		final int[] minHashes = current.minHashes().clone();
+		for (final Long card : added) {
+			for (int i = 0; i < HASHES; i++) {
+				minHashes[i] = Math.min(minHashes[i], hash(card, i));
+			}
+		}
+		return new Signature(updated, minHashes);
+	}
+
+	private static int sharedCount(long[] a, long[] b) {
+		int shared = 0;
+		int i = 0;
+		int j = 0;
+		while (i < a.length && j < b.length) {
+			if (a[i] == b[j]) {
+				shared++;
+				i++;
+				j++;
+			} else if (a[i] < b[j]) {
+				i++;
+			} else {
+				j++;
+			}
+		}
+		return shared;
+	}
+
+	private static long bandKey(int[] minHashes, int band) {
+		long key = band;
+		for (int row = 0; row < ROWS; row++) {
+			key = key * 0x9E3779B97F4A7C15L + minHashes[band * ROWS + row];
+		}
+		return key;
+	}
+
+	/**
+	 * The i-th hash function: the 64-bit MurmurHash3 finalizer over the card id mixed with a fixed seed
+	 */
+	private static int hash(long cardId, int i) {
+		long z = cardId ^ SEEDS[i];
+		z = (z ^ (z >>> 33)) * 0xFF51AFD7ED558CCDL;
+		z = (z ^ (z >>> 33)) * 0xC4CEB9FE1A85EC53L;
+		return (int) (z ^ (z >>> 33));
+	}
+}
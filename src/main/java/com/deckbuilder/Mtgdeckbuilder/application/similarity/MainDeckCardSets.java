@@ -0,0 +1,60 @@
+package com.deckbuilder.mtgdeckbuilder.application.similarity;
+
+import com.deckbuilder.mtgdeckbuilder.infrastructure.CardInDeckRepository.DeckCardIdView;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Collects the distinct main deck cards of every deck into sorted primitive arrays, the input of the deck indexes'
+ * full rebuilds.
+ */
+public final class MainDeckCardSets {
+
+	private MainDeckCardSets() {
+	}
+
+	/**
+	 * Group streamed rows, which must arrive grouped by deck, into one sorted array of distinct card ids per deck
+	 */
+	public static Map<Long, long[]> collect(Stream<DeckCardIdView> rows) {
+		final Map<Long, long[]> decks = new HashMap<>();
+		final Iterator<DeckCardIdView> iterator = rows.iterator();
+		Long deckId = null;
+		long[] cards = new long[64];
+		int size = 0;
+		while (iterator.hasNext()) {
+			final DeckCardIdView row = iterator.next();
+			if (!row.getDeckId().equals(deckId)) {
+				if (deckId != null) {
+					decks.put(deckId, distinctSorted(cards, size));
+				}
+				deckId = row.getDeckId();
+				size = 0;
+			}
+			if (size == cards.length) {
+				cards = Arrays.copyOf(cards, size * 2);
+			}
+			cards[size++] = row.getCardId();
+		}
+		if (deckId != null) {
+			decks.put(deckId, distinctSorted(cards, size));
+		}
+		return decks;
+	}
+
+	/**
+	 * Distinct card ids of one deck in ascending order
+	 */
+	public static long[] of(List<Long> cardIds) {
+		return cardIds.stream().mapToLong(Long::longValue).distinct().sorted().toArray();
+	}
+
+	private static long[] distinctSorted(long[] cards, int size) {
+		return Arrays.stream(cards, 0, size).distinct().sorted().toArray();
+	}
+}
@@ -0,0 +1,104 @@
+package com.deckbuilder.mtgdeckbuilder.application.simulation;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Monte Carlo draws over a deck encoded as one condition bitmask per card copy.
+ * <p>
+ * Trials are split into fork-join tasks, each with its own {@link SplittableRandom} split from the seed, so a seed
+ * gives the same estimate whatever the thread count. A task shuffles its own copy of the deck in place and only
+ * the cards seen: a partial Fisher-Yates over the first draws positions, which is uniform from any starting order,
+ * so the deck is never reset between trials and no trial allocates.
+ */
+@Component
+public class HandSimulator {
+	static final long TRIALS_PER_TASK = 16_384;
+
+	private final ForkJoinPool pool;
+
+	public HandSimulator(@Qualifier("deckSimulationPool") ForkJoinPool pool) {
+		this.pool = pool;
+	}
+
+	/**
+	 * Count the trials in which every condition holds
+	 *
+	 * @param deck one entry per card copy, bit i set when the copy counts towards condition i
+	 * @param draws cards seen per trial, at most the deck size
+	 * @param min fewest matching cards seen, per condition
+	 * @param max most matching cards seen, per condition
+	 */
+	public long countHits(int[] deck, int draws, int[] min, int[] max, long trials, long seed) {
+		return this.pool.invoke(new TrialTask(deck, draws, min, max, trials, new SplittableRandom(seed)));
+	}
+
+	private static final class TrialTask extends RecursiveTask<Long> {
+		private final int[] deck;
+		private final int draws;
+		private final int[] min;
+		private final int[] max;
+		private final long trials;
+		private final SplittableRandom random;
+
+		TrialTask(int[] deck, int draws, int[] min, int[] max, long trials, SplittableRandom random) {
+			this.deck = deck;
+			this.draws = draws;
+			this.min = min;
+			this.max = max;
+			this.trials = trials;
+			this.random = random;
+		}
+
+		@Override
+		protected Long compute() {
+			if (this.trials <= TRIALS_PER_TASK) {
+				return this.run();
+			}
+			final long half = this.trials / 2;
+			final TrialTask left = new TrialTask(this.deck, this.draws, this.min, this.max, half, this.random.split());
+			final TrialTask right = new TrialTask(this.deck, this.draws, this.min, this.max, this.trials - half,
+					this.random.split());
+			left.fork();
+			return right.compute() + left.join();
+		}
+
+		private long run() {
+			final int[] cards = this.deck.clone();
+			final int[] counts = new int[this.min.length];
+			final int size = cards.length;
+			long hits = 0;
+			for (long trial = 0; trial < this.trials; trial++) {
+				Arrays.fill(counts, 0);
+				for (int i = 0; i < this.draws; i++) {
+					final int j = i + this.random.nextInt(size - i);
+					int card = cards[j];
+					cards[j] = cards[i];
+					cards[i] = card;
+					while (card != 0) {
+						counts[Integer.numberOfTrailingZeros(card)]++;
+						card &= card - 1;
+					}
+				}
+				if (this.holds(counts)) {
+					hits++;
+				}
+			}
+			return hits;
+		}
+
+		private boolean holds(int[] counts) {
+			for (int c = 0; c < counts.length; c++) {
+				if (counts[c] < this.min[c] || counts[c] > this.max[c]) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+}
@@ -0,0 +1,43 @@
+package com.deckbuilder.mtgdeckbuilder.application.simulation;
+
+/**
+ * Exact draw odds without replacement: the chance of seeing a number of matching cards among the first cards of a
+ * shuffled deck.
+ */
+public final class Hypergeometric {
+
+	private Hypergeometric() {
+	}
+
+	/**
+	 * Probability that between min and max (inclusive) of the cards drawn are successes
+	 *
+	 * @param population cards in the deck
+	 * @param successes cards in the deck that match
+	 * @param draws cards drawn, at most the population
+	 */
+	public static double probabilityBetween(int population, int successes, int draws, int min, int max) {
+		final int failures = population - successes;
+		final int low = Math.max(min, Math.max(0, draws - failures));
+		final int high = Math.min(max, Math.min(draws, successes));
+		if (low > high) {
+			return 0.0;
+		}
+
+		final double logTotal = logChoose(population, draws);
+		double probability = 0.0;
+		for (int k = low; k <= high; k++) {
+			probability += Math.exp(logChoose(successes, k) + logChoose(failures, draws - k) - logTotal);
+		}
+		return Math.min(1.0, probability);
+	}
+
+	static double logChoose(int n, int k) {
+		final int smaller = Math.min(k, n - k);
+		double log = 0.0;
+		for (int i = 1; i <= smaller; i++) {
+			log += Math.log(n - smaller + i) - Math.log(i);
+		}
+		return log;
+	}
+}
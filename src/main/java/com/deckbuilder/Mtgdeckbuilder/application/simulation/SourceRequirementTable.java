@@ -0,0 +1,55 @@
+package com.deckbuilder.mtgdeckbuilder.application.simulation;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * How many sources of a color a deck needs to see a number of them by a turn.
+ * <p>
+ * For a deck size, cards seen and pip count, the table holds the chance of seeing at least that many sources for
+ * every possible source count. It depends on nothing deck-specific, so one table serves every deck of that size
+ * and is kept for the life of the application; the key space is small (deck size x turn x pips).
+ */
+@Component
+public class SourceRequirementTable {
+	private final Map<Key, double[]> tables = new ConcurrentHashMap<>();
+
+	private record Key(int deckSize, int cardsSeen, int pips) {
+	}
+
+	/**
+	 * Fewest sources that put at least pips of them among the cards seen with the target probability, or the deck
+	 * size if even an all-source deck falls short
+	 */
+	public int requiredSources(int deckSize, int cardsSeen, int pips, double target) {
+		final double[] table = this.table(deckSize, cardsSeen, pips);
+		// Probabilities grow with the source count, so the first hit is the answer
+		int low = 0;
+		int high = deckSize;
+		while (low < high) {
+			final int middle = (low + high) >>> 1;
+			if (table[middle] >= target) {
+				high = middle;
+			} else {
+				low = middle + 1;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * Chance of seeing at least pips sources among the cards seen, by source count
+	 */
+	double[] table(int deckSize, int cardsSeen, int pips) {
+		final int seen = Math.min(cardsSeen, deckSize);
+		return this.tables.computeIfAbsent(new Key(deckSize, seen, pips), key -> {
+			final double[] table = new double[deckSize + 1];
+			for (int sources = 0; sources <= deckSize; sources++) {
+				table[sources] = Hypergeometric.probabilityBetween(deckSize, sources, seen, pips, seen);
+			}
+			return table;
+		});
+	}
+}
@@ -0,0 +1,106 @@
+package com.deckbuilder.mtgdeckbuilder.application.stats;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+
+/**
+ * Map bounded in size and idle time. Entries are kept in access order: inserting past the maximum size drops the
+ * least recently used entries, and entries not read within the maximum idle time are dropped when read and swept
+ * from the eldest end on every insert. All methods synchronize on the instance, so callbacks must not lock anything
+ * that is held while calling back into the cache.
+ */
+final class BoundedCache<K, V> {
+	private final int maxSize;
+	private final long maxIdleNanos;
+	private final LinkedHashMap<K, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+	BoundedCache(int maxSize, Duration maxIdle) {
+		this.maxSize = maxSize;
+		this.maxIdleNanos = maxIdle.toNanos();
+	}
+
+	synchronized V get(K key) {
+		final Entry<V> entry = this.entries.get(key);
+		if (entry == null) {
+			return null;
+		}
+		final long now = System.nanoTime();
+		if (this.isIdle(entry, now)) {
+			this.entries.remove(key);
+			return null;
+		}
+		entry.lastAccess = now;
+		return entry.value;
+	}
+
+	synchronized boolean containsKey(K key) {
+		return this.get(key) != null;
+	}
+
+	synchronized V computeIfAbsent(K key, Function<? super K, ? extends V> loader) {
+		final V cached = this.get(key);
+		if (cached != null) {
+			return cached;
+		}
+		final V loaded = loader.apply(key);
+		this.put(key, loaded);
+		return loaded;
+	}
+
+	synchronized V merge(K key, V value, BinaryOperator<V> remapping) {
+		final V cached = this.get(key);
+		final V merged = cached == null ? value : remapping.apply(cached, value);
+		this.put(key, merged);
+		return merged;
+	}
+
+	synchronized void remove(K key) {
+		this.entries.remove(key);
+	}
+
+	/**
+	 * Remove the entry of the key only if it still holds the given value
+	 */
+	synchronized void remove(K key, V value) {
+		final Entry<V> entry = this.entries.get(key);
+		if (entry != null && entry.value == value) {
+			this.entries.remove(key);
+		}
+	}
+
+	synchronized void clear() {
+		this.entries.clear();
+	}
+
+	private void put(K key, V value) {
+		final long now = System.nanoTime();
+		this.entries.put(key, new Entry<>(value, now));
+
+		// Access order keeps the least recently read entries first, so the sweep stops at the first fresh one
+		final Iterator<Entry<V>> eldest = this.entries.values().iterator();
+		while (eldest.hasNext()) {
+			final Entry<V> entry = eldest.next();
+			if (this.entries.size() <= this.maxSize && !this.isIdle(entry, now)) {
+				break;
+			}
+			eldest.remove();
+		}
+	}
+
+	private boolean isIdle(Entry<V> entry, long now) {
+		return now - entry.lastAccess >= this.maxIdleNanos;
+	}
+
+	private static final class Entry<V> {
+		private final V value;
+		private long lastAccess;
+
+		private Entry(V value, long lastAccess) {
+			this.value = value;
+			this.lastAccess = lastAccess;
+		}
+	}
+}
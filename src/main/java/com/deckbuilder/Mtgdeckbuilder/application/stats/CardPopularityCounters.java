@@ -0,0 +1,112 @@
+package com.deckbuilder.mtgdeckbuilder.application.stats;
+
+import com.deckbuilder.mtgdeckbuilder.infrastructure.CardPopularityRepositoryCustom.Increment;
+import com.deckbuilder.mtgdeckbuilder.model.DeckDelta;
+import com.deckbuilder.mtgdeckbuilder.model.DeckDelta.CardChange;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Changes to the number of main decks of each format playing each card, accumulated in memory until the next
+ * flush to card_popularity.
+ * <p>
+ * A card entering or leaving a main deck adds +1 or -1 to a {@link LongAdder} of its card and format once the
+ * mutation commits. Adders spread concurrent increments over striped cells, so edits of popular cards in different
+ * decks never contend on a lock or on the aggregate row. Draining subtracts exactly the sum it read, so increments
+ * racing with a drain are kept for the next one.
+ */
+@Component
+public class CardPopularityCounters {
+	private static final String MAIN = "main";
+
+	// One adder per card and format ever touched; entries are kept so no increment can land in a removed adder
+	private final Map<Key, LongAdder> pending = new ConcurrentHashMap<>();
+
+	private record Key(Long cardId, Long formatId) {
+	}
+
+	/**
+	 * Record a card mutation of a deck in the given format; the counters follow once the surrounding transaction
+	 * commits. Only cards entering or leaving the main deck change a count.
+	 */
+	public void recordChange(Long formatId, DeckDelta delta) {
+		if (formatId == null) {
+			return;
+		}
+		final Map<Long, Integer> changes = new HashMap<>();
+		for (final CardChange change : delta.getChanges()) {
+			if (!MAIN.equals(change.getSection())) {
+				continue;
+			}
+			if (change.getPreviousQuantity() == 0 && change.getQuantity() > 0) {
+				changes.put(change.getCardId(), 1);
+			} else if (change.getPreviousQuantity() > 0 && change.getQuantity() == 0) {
+				changes.put(change.getCardId(), -1);
+			}
+		}
+		if (!changes.isEmpty()) {
+			this.afterCommit(() -> changes.forEach((cardId, decks) -> this.add(cardId, formatId, decks)));
+		}
+	}
+
+	/**
+	 * Record a whole main deck entering (+1) or leaving (-1) a format, e.g. a fork, a deleted deck or a deck moved
+	 * to another format
+	 */
+	public void recordDeck(Long formatId, Collection<Long> mainCardIds, int decks) {
+		if (formatId == null || mainCardIds.isEmpty()) {
+			return;
+		}
+		final List<Long> cardIds = List.copyOf(new LinkedHashSet<>(mainCardIds));
+		this.afterCommit(() -> cardIds.forEach(cardId -> this.add(cardId, formatId, decks)));
+	}
+
+	/**
+	 * Take the accumulated non-zero changes, leaving the counters at zero apart from increments made meanwhile
+	 */
+	public List<Increment> drain() {
+		final List<Increment> increments = new ArrayList<>();
+		this.pending.forEach((key, adder) -> {
+			final long decks = adder.sum();
+			if (decks != 0) {
+				adder.add(-decks);
+				increments.add(new Increment(key.cardId(), key.formatId(), (int) decks));
+			}
+		});
+		return increments;
+	}
+
+	/**
+	 * Put drained changes back after persisting them failed
+	 */
+	public void restore(List<Increment> increments) {
+		increments.forEach(increment -> this.add(increment.cardId(), increment.formatId(), increment.decks()));
+	}
+
+	private void add(Long cardId, Long formatId, int decks) {
+		this.pending.computeIfAbsent(new Key(cardId, formatId), key -> new LongAdder()).add(decks);
+	}
+
+	private void afterCommit(Runnable update) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					update.run();
+				}
+			});
+		} else {
+			update.run();
+		}
+	}
+}
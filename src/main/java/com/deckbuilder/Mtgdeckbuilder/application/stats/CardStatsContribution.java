@@ -0,0 +1,28 @@
+package com.deckbuilder.mtgdeckbuilder.application.stats;
+
+import java.util.List;
+
+/**
+ * What one copy of a card adds to the deck statistics: its mana value, pips and primary type.
+ */
+record CardStatsContribution(int manaValue, boolean land, String primaryType, int[] pips) {
+	static final String OTHER = "Other";
+
+	// First match wins, so an artifact creature counts as a creature
+	private static final String[] TYPE_PRECEDENCE = {
+		"Creature", "Planeswalker", "Battle", "Land", "Instant", "Sorcery", "Artifact", "Enchantment"
+	};
+
+	static CardStatsContribution of(Integer cmc, String manaCost, String typeLine) {
+		final List<String> types = TypeLineParser.frontFaceTypes(typeLine);
+		String primaryType = OTHER;
+		for (final String type : TYPE_PRECEDENCE) {
+			if (types.contains(type)) {
+				primaryType = type;
+				break;
+			}
+		}
+		return new CardStatsContribution(cmc == null ? 0 : cmc, types.contains("Land"), primaryType,
+				ManaCostParser.pips(manaCost));
+	}
+}
@@ -0,0 +1,94 @@
+package com.deckbuilder.mtgdeckbuilder.application.stats;
+
+import com.deckbuilder.mtgdeckbuilder.model.DeckStats;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Running statistics of one deck's main section. Adding or removing copies of a card only touches the buckets
+ * that card falls into. Not thread-safe; {@link DeckStatsCache} synchronizes on the instance.
+ */
+final class DeckStatsAccumulator {
+	static final int CURVE_CAP = 7;
+
+	private final Map<Long, Integer> quantities = new HashMap<>();
+	private final int[] curve = new int[CURVE_CAP + 1];
+	private final int[] pips = new int[ManaCostParser.COLORS.length()];
+	private final Map<String, Integer> types = new HashMap<>();
+	private int totalCards;
+	private int landCount;
+	private long manaValueSum;
+	private long version;
+
+	DeckStatsAccumulator(long version) {
+		this.version = version;
+	}
+
+	long version() {
+		return this.version;
+	}
+
+	void version(long version) {
+		this.version = version;
+	}
+
+	int quantityOf(Long cardId) {
+		return this.quantities.getOrDefault(cardId, 0);
+	}
+
+	/**
+	 * Add (or, with a negative amount, remove) copies of a card
+	 */
+	void add(Long cardId, CardStatsContribution card, int copies) {
+		if (copies == 0) {
+			return;
+		}
+		this.quantities.merge(cardId, copies, Integer::sum);
+		this.quantities.remove(cardId, 0);
+
+		this.totalCards += copies;
+		this.types.merge(card.primaryType(), copies, Integer::sum);
+		if (card.land()) {
+			this.landCount += copies;
+		} else {
+			this.curve[Math.min(Math.max(card.manaValue(), 0), CURVE_CAP)] += copies;
+			this.manaValueSum += (long) card.manaValue() * copies;
+		}
+		for (int color = 0; color < this.pips.length; color++) {
+			this.pips[color] += card.pips()[color] * copies;
+		}
+	}
+
+	DeckStats snapshot(Long deckId) {
+		final Map<String, Integer> manaCurve = new LinkedHashMap<>();
+		for (int manaValue = 0; manaValue <= CURVE_CAP; manaValue++) {
+			manaCurve.put(manaValue == CURVE_CAP ? CURVE_CAP + "+" : String.valueOf(manaValue), this.curve[manaValue]);
+		}
+
+		final Map<String, Integer> colorPips = new LinkedHashMap<>();
+		for (int color = 0; color < this.pips.length; color++) {
+			colorPips.put(String.valueOf(ManaCostParser.COLORS.charAt(color)), this.pips[color]);
+		}
+
+		final Map<String, Integer> typeBreakdown = new LinkedHashMap<>();
+		this.types.forEach((type, count) -> {
+			if (count != 0) {
+				typeBreakdown.put(type, count);
+			}
+		});
+
+		final int nonlandCards = this.totalCards - this.landCount;
+		return DeckStats.builder()
+				.deckId(deckId)
+				.version(this.version)
+				.totalCards(this.totalCards)
+				.landCount(this.landCount)
+				.averageManaValue(nonlandCards == 0 ? 0.0 : (double) this.manaValueSum / nonlandCards)
+				.manaCurve(manaCurve)
+				.colorPips(colorPips)
+				.typeBreakdown(typeBreakdown)
+				.build();
+	}
+}
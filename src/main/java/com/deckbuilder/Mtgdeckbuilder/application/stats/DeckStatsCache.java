@@ -0,0 +1,182 @@
+package com.deckbuilder.mtgdeckbuilder.application.stats;
+
+import com.deckbuilder.mtgdeckbuilder.infrastructure.CardInDeckRepository.MainDeckStatsView;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.CardRepository;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.CardRepository.CardStatsView;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.config.StatsCacheConfig;
+import com.deckbuilder.mtgdeckbuilder.model.DeckDelta;
+import com.deckbuilder.mtgdeckbuilder.model.DeckDelta.CardChange;
+import com.deckbuilder.mtgdeckbuilder.model.DeckStats;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Deck statistics cached per deck version.
+ * <p>
+ * Card mutations report their {@link DeckDelta}; once the mutation commits, the cached statistics of that deck are
+ * moved to the new version by adjusting only the buckets of the changed cards. If a delta does not line up with the
+ * cached quantities (e.g. two commits observed out of order) the entry is dropped and recomputed on the next read.
+ * Both decks and card contributions are bounded by {@link StatsCacheConfig}: least recently read entries go first,
+ * and entries idle for too long are dropped.
+ */
+@Component
+@Slf4j
+public class DeckStatsCache {
+	private static final String MAIN = "main";
+
+	private final CardRepository cardRepository;
+
+	private final BoundedCache<Long, DeckStatsAccumulator> statsByDeck;
+	private final BoundedCache<Long, CardStatsContribution> contributionsByCard;
+
+	public DeckStatsCache(CardRepository cardRepository, StatsCacheConfig config) {
+		this.cardRepository = cardRepository;
+		this.statsByDeck = new BoundedCache<>(config.getMaxDecks(), config.getMaxIdle());
+		this.contributionsByCard = new BoundedCache<>(config.getMaxCards(), config.getMaxIdle());
+	}
+
+	/**
+	 * Cached statistics of a deck, if they are at the given version
+	 */
+	public Optional<DeckStats> get(Long deckId, long version) {
+		final DeckStatsAccumulator stats = this.statsByDeck.get(deckId);
+		if (stats == null) {
+			return Optional.empty();
+		}
+		synchronized (stats) {
+			return stats.version() == version ? Optional.of(stats.snapshot(deckId)) : Optional.empty();
+		}
+	}
+
+	/**
+	 * Build the statistics of a deck from its main deck rows and cache them, replacing an entry at any other version.
+	 * Versions are modification times taken when the writing transaction started, so they are compared for equality
+	 * only: a larger one is not necessarily the later commit.
+	 */
+	public DeckStats load(Long deckId, long version, List<MainDeckStatsView> rows) {
+		final DeckStatsAccumulator loaded = new DeckStatsAccumulator(version);
+		for (final MainDeckStatsView row : rows) {
+			loaded.add(row.getCardId(), this.contributionOf(row), row.getQuantity());
+		}
+		final DeckStats snapshot = loaded.snapshot(deckId);
+
+		this.statsByDeck.merge(deckId, loaded, (existing, candidate) -> {
+			synchronized (existing) {
+				return existing.version() == candidate.version() ? existing : candidate;
+			}
+		});
+		return snapshot;
+	}
+
+	/**
+	 * Record a committed-to-be card mutation. Must be called inside the mutating transaction: contributions of cards
+	 * not seen before are read now, and the cached statistics are only adjusted once the transaction commits.
+	 */
+	public void recordChange(DeckDelta delta) {
+		if (!this.statsByDeck.containsKey(delta.getDeckId())) {
+			// Nothing cached for this deck, the next read computes it from scratch
+			return;
+		}
+
+		final List<Long> unknownCards = delta.getChanges().stream()
+				.filter(change -> MAIN.equals(change.getSection()))
+				.map(CardChange::getCardId)
+				.filter(cardId -> !this.contributionsByCard.containsKey(cardId))
+				.distinct()
+				.toList();
+		if (!unknownCards.isEmpty()) {
+			this.cardRepository.findStatsViewsByIdIn(unknownCards).forEach(this::contributionOf);
+		}
+
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					DeckStatsCache.this.apply(delta);
+				}
+			});
+		} else {
+			this.apply(delta);
+		}
+	}
+
+	public void invalidate(Long deckId) {
+		this.statsByDeck.remove(deckId);
+	}
+
+	/**
+	 * Forget everything, e.g. after card attributes changed
+	 */
+	public void invalidateAll() {
+		this.statsByDeck.clear();
+		this.contributionsByCard.clear();
+	}
+
+	private void apply(DeckDelta delta) {
+		final Long deckId = delta.getDeckId();
+		final DeckStatsAccumulator stats = this.statsByDeck.get(deckId);
+		if (stats == null) {
+			return;
+		}
+
+		// Resolved up front: a contribution may have been evicted since the change was recorded
+		final Map<Long, CardStatsContribution> contributions = this.contributionsOf(delta);
+		final boolean applied;
+		synchronized (stats) {
+			applied = delta.getVersion() != null && contributions != null && this.canApply(stats, delta);
+			if (applied) {
+				for (final CardChange change : delta.getChanges()) {
+					if (MAIN.equals(change.getSection())) {
+						stats.add(change.getCardId(), contributions.get(change.getCardId()),
+								change.getQuantity() - change.getPreviousQuantity());
+					}
+				}
+				stats.version(delta.getVersion());
+			}
+		}
+		// Outside the accumulator's lock, since the cache locks itself before accumulators when merging
+		if (!applied) {
+			this.statsByDeck.remove(deckId, stats);
+			log.debug("Dropped cached stats of deck {}: delta does not match cached version", deckId);
+		}
+	}
+
+	private boolean canApply(DeckStatsAccumulator stats, DeckDelta delta) {
+		for (final CardChange change : delta.getChanges()) {
+			if (MAIN.equals(change.getSection())
+					&& stats.quantityOf(change.getCardId()) != change.getPreviousQuantity()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Contributions of the main deck cards of a delta, or null if any of them is no longer cached
+	 */
+	private Map<Long, CardStatsContribution> contributionsOf(DeckDelta delta) {
+		final Map<Long, CardStatsContribution> contributions = new HashMap<>();
+		for (final CardChange change : delta.getChanges()) {
+			if (MAIN.equals(change.getSection())) {
+				final CardStatsContribution contribution = this.contributionsByCard.get(change.getCardId());
+				if (contribution == null) {
+					return null;
+				}
+				contributions.put(change.getCardId(), contribution);
+			}
+		}
+		return contributions;
+	}
+
+	private CardStatsContribution contributionOf(CardStatsView card) {
+		return this.contributionsByCard.computeIfAbsent(card.getCardId(),
+				id -> CardStatsContribution.of(card.getCmc(), card.getManaCost(), card.getTypeLine()));
+	}
+}
@@ -0,0 +1,104 @@
+package com.deckbuilder.mtgdeckbuilder.application.stats;
+
+import com.deckbuilder.mtgdeckbuilder.model.ManaSymbols;
+
+import java.util.Locale;
+
+/**
+ * Counts colored mana symbols in a mana cost such as "{2}{R}{R}" or "{G/U}{B/P}".
+ * <p>
+ * Hybrid symbols count once for each of their colors and Phyrexian symbols count for their color. Generic, X and
+ * snow symbols are ignored. Split and double-faced costs ("{R} // {1}{U}") are counted across all faces.
+ * {@link #parse(String)} counts every kind of symbol, for storing alongside the card.
+ */
+public final class ManaCostParser {
+	/**
+	 * Pip colors in array order: white, blue, black, red, green, colorless
+	 */
+	public static final String COLORS = "WUBRGC";
+
+	private ManaCostParser() {
+	}
+
+	public static int[] pips(String manaCost) {
+		final int[] pips = new int[COLORS.length()];
+		if (manaCost == null || manaCost.isEmpty()) {
+			return pips;
+		}
+
+		int position = 0;
+		while (true) {
+			final int start = manaCost.indexOf('{', position);
+			if (start < 0) {
+				break;
+			}
+			final int end = manaCost.indexOf('}', start);
+			if (end < 0) {
+				break;
+			}
+			for (int i = start + 1; i < end; i++) {
+				final int color = COLORS.indexOf(Character.toUpperCase(manaCost.charAt(i)));
+				if (color >= 0) {
+					pips[color]++;
+				}
+			}
+			position = end + 1;
+		}
+		return pips;
+	}
+
+	public static ManaSymbols parse(String manaCost) {
+		final int[] pips = pips(manaCost);
+		final ManaSymbols symbols = ManaSymbols.builder()
+				.white(pips[0])
+				.blue(pips[1])
+				.black(pips[2])
+				.red(pips[3])
+				.green(pips[4])
+				.colorless(pips[5])
+				.build();
+		if (manaCost == null || manaCost.isEmpty()) {
+			return symbols;
+		}
+
+		int position = 0;
+		while (true) {
+			final int start = manaCost.indexOf('{', position);
+			if (start < 0) {
+				break;
+			}
+			final int end = manaCost.indexOf('}', start);
+			if (end < 0) {
+				break;
+			}
+			count(symbols, manaCost.substring(start + 1, end).toUpperCase(Locale.ROOT));
+			position = end + 1;
+		}
+		return symbols;
+	}
+
+	private static void count(ManaSymbols symbols, String symbol) {
+		if (!symbol.isEmpty() && symbol.length() <= 3 && symbol.chars().allMatch(Character::isDigit)) {
+			symbols.setGeneric(symbols.getGeneric() + Integer.parseInt(symbol));
+			return;
+		}
+		switch (symbol) {
+			case "X", "Y", "Z" -> symbols.setX(symbols.getX() + 1);
+			case "S" -> symbols.setSnow(symbols.getSnow() + 1);
+			default -> {
+				if (symbol.chars().anyMatch(c -> COLORS.indexOf(c) >= 0 && c != 'C')) {
+					symbols.setColored(symbols.getColored() + 1);
+				}
+				final boolean phyrexian = symbol.endsWith("/P") || symbol.startsWith("P/");
+				if (phyrexian) {
+					symbols.setPhyrexian(symbols.getPhyrexian() + 1);
+				}
+				// {R/G}, {2/W} and {G/U/P} are hybrid; {B/P} is only Phyrexian
+				final String choices = phyrexian ? symbol.replace("/P", "").replace("P/", "") : symbol;
+				if (choices.indexOf('/') >= 0) {
+					symbols.setHybrid(symbols.getHybrid() + 1);
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,37 @@
+package com.deckbuilder.mtgdeckbuilder.application.stats;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Reads the card types of a type line such as "Artifact Creature — Golem" or "Instant // Land".
+ * <p>
+ * Only the front face counts and subtypes after the dash are ignored. Type words are capitalized ("Creature"), so
+ * they can be compared regardless of how the type line was written.
+ */
+public final class TypeLineParser {
+
+	private TypeLineParser() {
+	}
+
+	public static List<String> frontFaceTypes(String typeLine) {
+		if (typeLine == null || typeLine.isBlank()) {
+			return List.of();
+		}
+		final int faceSeparator = typeLine.indexOf("//");
+		String frontFace = faceSeparator >= 0 ? typeLine.substring(0, faceSeparator) : typeLine;
+		final int subtypeSeparator = frontFace.indexOf('—');
+		if (subtypeSeparator >= 0) {
+			frontFace = frontFace.substring(0, subtypeSeparator);
+		}
+		return Arrays.stream(frontFace.trim().split("\\s+"))
+				.filter(word -> !word.isEmpty())
+				.map(TypeLineParser::capitalize)
+				.toList();
+	}
+
+	public static String capitalize(String word) {
+		return word.substring(0, 1).toUpperCase(Locale.ROOT) + word.substring(1).toLowerCase(Locale.ROOT);
+	}
+}
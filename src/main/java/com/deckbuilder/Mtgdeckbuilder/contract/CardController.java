@@ -1,12 +1,17 @@
 package com.deckbuilder.mtgdeckbuilder.contract;
 
 import com.deckbuilder.apigenerator.openapi.api.CardsApi;
+import com.deckbuilder.apigenerator.openapi.api.model.CardCompanionDTO;
 import com.deckbuilder.apigenerator.openapi.api.model.CardDTO;
+import com.deckbuilder.apigenerator.openapi.api.model.CardPopularityDTO;
 import com.deckbuilder.apigenerator.openapi.api.model.CardTagDTO;
 import com.deckbuilder.apigenerator.openapi.api.model.CardSearchResponseDTO;
 import com.deckbuilder.apigenerator.openapi.api.model.PageInfoDTO;
+import com.deckbuilder.mtgdeckbuilder.application.CardCooccurrenceService;
+import com.deckbuilder.mtgdeckbuilder.application.CardPopularityService;
 import com.deckbuilder.mtgdeckbuilder.application.CardService;
 import com.deckbuilder.mtgdeckbuilder.application.CardTagService;
+import com.deckbuilder.mtgdeckbuilder.contract.mapper.CardJsonCache;
 import com.deckbuilder.mtgdeckbuilder.contract.mapper.CardMapper;
 import com.deckbuilder.mtgdeckbuilder.contract.mapper.CardTagMapper;
 import com.deckbuilder.mtgdeckbuilder.infrastructure.exception.CardNotFoundException;
@@ -24,10 +29,15 @@ import java.util.List;
 @RestController
 @RequiredArgsConstructor
 public class CardController implements CardsApi {
+	private static final int DEFAULT_COMPANION_LIMIT = 20;
+
 	private final CardService cardService;
+	private final CardCooccurrenceService cardCooccurrenceService;
+	private final CardPopularityService cardPopularityService;
 	private final CardTagService cardTagService;
 	private final CardMapper cardMapper;
 	private final CardTagMapper cardTagMapper;
+	private final CardJsonCache cardJsonCache;
 
 	@Override
 	public ResponseEntity<List<CardDTO>> listCards(Integer pagesize, Integer pagenumber) {
@@ -56,12 +66,14 @@ public class CardController implements CardsApi {
 		final Card card = this.cardMapper.toEntity(cardDTO);
 		final Card updatedCard = this.cardService.updateCard(id.longValue(), card)
 				.orElseThrow(() -> new CardNotFoundException(id.longValue()));
+		this.cardJsonCache.invalidate(id.longValue());
 		return ResponseEntity.ok(this.cardMapper.toDto(updatedCard));
 	}
 
 	@Override
 	public ResponseEntity<Void> deleteCard(Integer id) {
 		this.cardService.deleteCard(id.longValue());
+		this.cardJsonCache.invalidate(id.longValue());
 		return ResponseEntity.noContent().build();
 	}
 
@@ -93,7 +105,8 @@ public class CardController implements CardsApi {
 			String toughnessMin, String toughnessMax, Integer setId, Integer formatId,
 			String textContains, String keywords, Boolean isFoil, Boolean isPromo,
 			String language, Integer pagesize, Integer pagenumber,
-			String sortBy, String sortOrder) {
+			String sortBy, String sortOrder, String devotionColor, Integer devotionMin,
+			Integer coloredPips, Integer commanderId) {
 
 		// Set default values
 		pagesize = pagesize != null ? pagesize : 20;
@@ -110,12 +123,16 @@ public class CardController implements CardsApi {
 			.colors(colors)
 			.cmcMin(cmcMin)
 			.cmcMax(cmcMax)
+			.devotionColor(devotionColor)
+			.devotionMin(devotionMin)
+			.coloredPips(coloredPips)
 			.powerMin(powerMin)
 			.powerMax(powerMax)
 			.toughnessMin(toughnessMin)
 			.toughnessMax(toughnessMax)
 			.setId(setId != null ? setId.longValue() : null)
 			.formatId(formatId != null ? formatId.longValue() : null)
+			.commanderId(commanderId != null ? commanderId.longValue() : null)
 			.textContains(textContains)
 			.keywords(keywords)
 			.isFoil(isFoil)
@@ -166,4 +183,17 @@ public class CardController implements CardsApi {
 		return ResponseEntity.ok(cardDTOs);
 	}
 
+	@Override
+	public ResponseEntity<List<CardCompanionDTO>> getCardCompanions(Integer id, Integer limit) {
+		final var companions = this.cardCooccurrenceService.findCompanions(id.longValue(),
+				limit != null ? limit : DEFAULT_COMPANION_LIMIT);
+		return ResponseEntity.ok(this.cardMapper.toCompanionDtos(companions));
+	}
+
+	@Override
+	public ResponseEntity<List<CardPopularityDTO>> getCardPopularity(Integer id) {
+		final var popularity = this.cardPopularityService.findInclusionRates(id.longValue());
+		return ResponseEntity.ok(this.cardMapper.toPopularityDtos(popularity));
+	}
+
 }
@@ -0,0 +1,58 @@
+package com.deckbuilder.mtgdeckbuilder.contract;
+
+import com.deckbuilder.apigenerator.openapi.api.model.CardDTO;
+import com.deckbuilder.mtgdeckbuilder.application.CardService;
+import com.deckbuilder.mtgdeckbuilder.contract.mapper.CardMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Card listings streamed as newline-delimited JSON, one card per line, mapped by hand like
+ * {@link DeckStreamController}
+ */
+@RestController
+@RequiredArgsConstructor
+public class CardStreamController {
+	private final CardService cardService;
+	private final CardMapper cardMapper;
+	private final ObjectMapper objectMapper;
+
+	/**
+	 * Every card legal or restricted in a format, in id order
+	 */
+	@GetMapping("/formats/{id}/cards/stream")
+	public ResponseEntity<StreamingResponseBody> streamFormatCards(@PathVariable("id") Integer id) {
+		final ObjectWriter writer = this.objectMapper.writerFor(CardDTO.class);
+		final StreamingResponseBody body = out -> {
+			final OutputStream buffered = new BufferedOutputStream(out);
+			try {
+				this.cardService.streamByFormat(id.longValue(), card -> writeLine(buffered, writer,
+						this.cardMapper.toDto(card)));
+			} catch (final UncheckedIOException e) {
+				throw e.getCause();
+			}
+			buffered.flush();
+		};
+		return ResponseEntity.ok().contentType(DeckStreamController.NDJSON).body(body);
+	}
+
+	private static void writeLine(OutputStream out, ObjectWriter writer, CardDTO card) {
+		try {
+			out.write(writer.writeValueAsBytes(card));
+			out.write('\n');
+		} catch (final IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
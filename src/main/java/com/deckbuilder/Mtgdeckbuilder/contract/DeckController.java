@@ -1,11 +1,37 @@
 package com.deckbuilder.mtgdeckbuilder.contract;
 
 import com.deckbuilder.apigenerator.openapi.api.DecksApi;
+import com.deckbuilder.apigenerator.openapi.api.model.DeckBulkForkRequestDTO;
+import com.deckbuilder.apigenerator.openapi.api.model.DeckCardBatchDTO;
 import com.deckbuilder.apigenerator.openapi.api.model.DeckDTO;
+import com.deckbuilder.apigenerator.openapi.api.model.DeckDeltaDTO;
+import com.deckbuilder.apigenerator.openapi.api.model.DeckDiffDTO;
+import com.deckbuilder.apigenerator.openapi.api.model.DeckForkRequestDTO;
+import com.deckbuilder.apigenerator.openapi.api.model.DeckImportRequestDTO;
+import com.deckbuilder.apigenerator.openapi.api.model.DeckRevisionDTO;
+import com.deckbuilder.apigenerator.openapi.api.model.DeckSimulationRequestDTO;
+import com.deckbuilder.apigenerator.openapi.api.model.DeckSimulationResultDTO;
+import com.deckbuilder.apigenerator.openapi.api.model.DeckStatsDTO;
+import com.deckbuilder.apigenerator.openapi.api.model.DeckValidationReportDTO;
+import com.deckbuilder.apigenerator.openapi.api.model.DeckValidationRequestDTO;
 import com.deckbuilder.apigenerator.openapi.api.model.CompleteDeckDTO;
+import com.deckbuilder.apigenerator.openapi.api.model.ManaBaseAdviceDTO;
+import com.deckbuilder.apigenerator.openapi.api.model.MetagameDTO;
+import com.deckbuilder.apigenerator.openapi.api.model.SimilarDeckDTO;
+import com.deckbuilder.mtgdeckbuilder.application.DeckHistoryService;
+import com.deckbuilder.mtgdeckbuilder.application.DeckImportService;
 import com.deckbuilder.mtgdeckbuilder.application.DeckService;
+import com.deckbuilder.mtgdeckbuilder.application.DeckSimilarityService;
+import com.deckbuilder.mtgdeckbuilder.application.DeckSimulationService;
+import com.deckbuilder.mtgdeckbuilder.application.DeckStatsService;
+import com.deckbuilder.mtgdeckbuilder.application.DeckValidationService;
+import com.deckbuilder.mtgdeckbuilder.application.MetagameService;
+import com.deckbuilder.mtgdeckbuilder.contract.mapper.CardJsonCache;
 import com.deckbuilder.mtgdeckbuilder.contract.mapper.DeckMapper;
 import com.deckbuilder.mtgdeckbuilder.infrastructure.exception.DeckNotFoundException;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.exception.InvalidRequestException;
+import com.deckbuilder.mtgdeckbuilder.model.Deck;
+import com.deckbuilder.mtgdeckbuilder.model.DeckVersion;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -17,8 +43,23 @@ import java.util.List;
 @RestController
 @RequiredArgsConstructor
 public class DeckController implements DecksApi {
+	private static final String EXPAND_CARDS = "cards";
+	private static final String STATS = "stats";
+	private static final double DEFAULT_SOURCE_PROBABILITY = 0.9;
+	private static final int DEFAULT_SIMILAR_LIMIT = 20;
+	private static final double DEFAULT_MIN_SIMILARITY = 0.5;
+	private static final int DEFAULT_METAGAME_TOP_CARDS = 20;
+
 	private final DeckService deckService;
 	private final DeckMapper deckMapper;
+	private final DeckValidationService deckValidationService;
+	private final DeckStatsService deckStatsService;
+	private final DeckSimulationService deckSimulationService;
+	private final DeckSimilarityService deckSimilarityService;
+	private final DeckImportService deckImportService;
+	private final DeckHistoryService deckHistoryService;
+	private final MetagameService metagameService;
+	private final CardJsonCache cardJsonCache;
 
 	@Override
 	public ResponseEntity<List<CompleteDeckDTO>> listDecks(Integer pagesize, Integer pagenumber) {
@@ -28,10 +69,31 @@ public class DeckController implements DecksApi {
 	}
 
 	@Override
-	public ResponseEntity<CompleteDeckDTO> getDeckById(Integer id) {
+	public ResponseEntity<CompleteDeckDTO> getDeckById(Integer id, String ifNoneMatch, String expand) {
+		if (expand != null && !EXPAND_CARDS.equals(expand)) {
+			throw new InvalidRequestException(
+					"Unknown expand value '" + expand + "', expected '" + EXPAND_CARDS + "'");
+		}
+		// Expanded responses also change with the cards' attributes; read the generation before any card is loaded
+		final String representation = expand != null ? EXPAND_CARDS + "-" + this.cardJsonCache.generation() : null;
+		if (ifNoneMatch != null) {
+			// Answer revalidation from the version alone, without loading the cards
+			final var version = this.deckService.findVersion(id.longValue())
+					.orElseThrow();
+			final String etag = toETag(version, representation);
+			if (matchesETag(ifNoneMatch, etag)) {
+				return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+			}
+		}
+
 		final var deck = this.deckService.findById(id.longValue())
 				.orElseThrow();
-		return ResponseEntity.ok(this.deckMapper.toCompleteDeckDTO(deck));
+		// Card summaries are loaded in one query or served pre-encoded from the cache
+		final CompleteDeckDTO body = expand != null && deck.getCards() != null
+				? this.deckMapper.toCompleteDeckDTO(deck, this.cardJsonCache.fragmentsOf(
+						deck.getCards().stream().map(Deck.CardInDeck::getCardId).toList()))
+				: this.deckMapper.toCompleteDeckDTO(deck);
+		return ResponseEntity.ok().eTag(toETag(DeckVersion.of(deck.getModified()), representation)).body(body);
 	}
 
 	@Override
@@ -56,4 +118,141 @@ public class DeckController implements DecksApi {
 		}
 		return ResponseEntity.noContent().build();
 	}
+
+	@Override
+	public ResponseEntity<DeckDeltaDTO> batchUpdateDeckCards(Integer id, @Valid DeckCardBatchDTO deckCardBatchDTO) {
+		final var operations = this.deckMapper.toDeckCardOperations(deckCardBatchDTO.getOperations());
+		final var delta = this.deckService.applyCardOperations(id.longValue(), operations);
+		final var response = ResponseEntity.ok();
+		if (delta.getVersion() != null) {
+			response.eTag(toETag(delta.getVersion()));
+		}
+		return response.body(this.deckMapper.toDeckDeltaDTO(delta));
+	}
+
+	@Override
+	public ResponseEntity<DeckDeltaDTO> importDecklist(Integer id, @Valid DeckImportRequestDTO deckImportRequestDTO) {
+		final var delta = this.deckImportService.importDecklist(id.longValue(), deckImportRequestDTO.getDecklist(),
+				Boolean.TRUE.equals(deckImportRequestDTO.getReplace()));
+		final var response = ResponseEntity.ok();
+		if (delta.getVersion() != null) {
+			response.eTag(toETag(delta.getVersion()));
+		}
+		return response.body(this.deckMapper.toDeckDeltaDTO(delta));
+	}
+
+	@Override
+	public ResponseEntity<DeckRevisionDTO> getDeckRevision(Integer id, Long revision) {
+		final var deckRevision = this.deckHistoryService.getRevision(id.longValue(), revision);
+		return ResponseEntity.ok(this.deckMapper.toDeckRevisionDTO(deckRevision));
+	}
+
+	@Override
+	public ResponseEntity<DeckDiffDTO> diffDeckRevisions(Integer id, Long from, Long to) {
+		final var diff = this.deckHistoryService.diff(id.longValue(), from, to);
+		return ResponseEntity.ok(this.deckMapper.toDeckDiffDTO(diff));
+	}
+
+	@Override
+	public ResponseEntity<DeckValidationReportDTO> validateDeck(Integer id) {
+		final var report = this.deckValidationService.validateDeck(id.longValue());
+		return ResponseEntity.ok(this.deckMapper.toDeckValidationReportDTO(report));
+	}
+
+	@Override
+	public ResponseEntity<List<DeckValidationReportDTO>> validateDecks(
+			@Valid DeckValidationRequestDTO deckValidationRequestDTO) {
+		final var deckIds = deckValidationRequestDTO.getDeck_ids().stream().map(Integer::longValue).toList();
+		final var reports = this.deckValidationService.validateDecks(deckIds);
+		return ResponseEntity.ok(this.deckMapper.toDeckValidationReportDTOs(reports));
+	}
+
+	@Override
+	public ResponseEntity<DeckDTO> forkDeck(Integer id, @Valid DeckForkRequestDTO deckForkRequestDTO) {
+		final Deck overrides = deckForkRequestDTO == null ? new Deck() : this.deckMapper.toForkOverrides(deckForkRequestDTO);
+		final Deck fork = this.deckService.fork(id.longValue(), overrides);
+		return ResponseEntity.status(HttpStatus.CREATED).body(this.deckMapper.toDeckDTO(fork));
+	}
+
+	@Override
+	public ResponseEntity<List<DeckDTO>> forkDecks(@Valid DeckBulkForkRequestDTO deckBulkForkRequestDTO) {
+		final var deckIds = deckBulkForkRequestDTO.getDeck_ids().stream().map(Integer::longValue).toList();
+		final var forks = this.deckService.forkAll(deckIds, this.deckMapper.toForkOverrides(deckBulkForkRequestDTO));
+		return ResponseEntity.status(HttpStatus.CREATED).body(this.deckMapper.toDeckDTOs(forks));
+	}
+
+	@Override
+	public ResponseEntity<DeckStatsDTO> getDeckStats(Integer id, String ifNoneMatch) {
+		// Statistics depend on card cmc and types too, which card edits change without touching the deck
+		final String representation = STATS + "-" + this.cardJsonCache.generation();
+		if (ifNoneMatch != null) {
+			final var version = this.deckService.findVersion(id.longValue())
+					.orElseThrow();
+			final String etag = toETag(version, representation);
+			if (matchesETag(ifNoneMatch, etag)) {
+				return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+			}
+		}
+
+		final var stats = this.deckStatsService.getStats(id.longValue());
+		return ResponseEntity.ok().eTag(toETag(stats.getVersion(), representation))
+				.body(this.deckMapper.toDeckStatsDTO(stats));
+	}
+
+	@Override
+	public ResponseEntity<DeckSimulationResultDTO> simulateDeck(Integer id,
+			@Valid DeckSimulationRequestDTO deckSimulationRequestDTO) {
+		final var result = this.deckSimulationService.simulate(id.longValue(),
+				this.deckMapper.toDeckSimulation(deckSimulationRequestDTO));
+		return ResponseEntity.ok(this.deckMapper.toDeckSimulationResultDTO(result));
+	}
+
+	@Override
+	public ResponseEntity<ManaBaseAdviceDTO> getDeckManaBase(Integer id, Double target, Boolean play) {
+		final var advice = this.deckSimulationService.adviseManaBase(id.longValue(),
+				target != null ? target : DEFAULT_SOURCE_PROBABILITY, play == null || play);
+		return ResponseEntity.ok(this.deckMapper.toManaBaseAdviceDTO(advice));
+	}
+
+	@Override
+	public ResponseEntity<List<SimilarDeckDTO>> findSimilarDecks(Integer id, Integer limit, Double minSimilarity) {
+		final var similar = this.deckSimilarityService.findSimilar(id.longValue(),
+				limit != null ? limit : DEFAULT_SIMILAR_LIMIT,
+				minSimilarity != null ? minSimilarity : DEFAULT_MIN_SIMILARITY);
+		return ResponseEntity.ok(this.deckMapper.toSimilarDeckDTOs(similar));
+	}
+
+	@Override
+	public ResponseEntity<MetagameDTO> getMetagame(String tournament, Integer topCards) {
+		final var metagame = this.metagameService.getMetagame(tournament,
+				topCards != null ? topCards : DEFAULT_METAGAME_TOP_CARDS);
+		return ResponseEntity.ok(this.deckMapper.toMetagameDTO(metagame));
+	}
+
+	private static String toETag(long version) {
+		return "\"" + version + "\"";
+	}
+
+	/**
+	 * Tag of one representation of a deck version, e.g. {@code "42-cards-7"}; the plain deck when null
+	 */
+	private static String toETag(long version, String representation) {
+		return representation == null ? toETag(version) : "\"" + version + "-" + representation + "\"";
+	}
+
+	/**
+	 * Checks an If-None-Match header value, which may list several (possibly weak) tags or be a wildcard
+	 */
+	private static boolean matchesETag(String ifNoneMatch, String etag) {
+		for (final String candidate : ifNoneMatch.split(",")) {
+			String tag = candidate.trim();
+			if (tag.startsWith("W/")) {
+				tag = tag.substring(2);
+			}
+			if ("*".equals(tag) || etag.equals(tag)) {
+				return true;
+			}
+		}
+		return false;
+	}
 }
@@ -0,0 +1,78 @@
+package com.deckbuilder.mtgdeckbuilder.contract;
+
+import com.deckbuilder.mtgdeckbuilder.application.DeckExportService;
+import com.deckbuilder.mtgdeckbuilder.application.export.DeckExportFormat;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.exception.InvalidRequestException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Decklist file downloads. Mapped by hand rather than generated from the OpenAPI contract because the responses
+ * are streamed: card rows go from a database cursor into the response without building the file in memory.
+ */
+@RestController
+@RequiredArgsConstructor
+public class DeckExportController {
+	static final int MAX_BULK_DECKS = 5000;
+	private static final MediaType ZIP = MediaType.parseMediaType("application/zip");
+
+	private final DeckExportService deckExportService;
+
+	/**
+	 * Download one deck as text, Arena or MTGO (.dek) decklist
+	 */
+	@GetMapping("/decks/{id}/export")
+	public ResponseEntity<StreamingResponseBody> exportDeck(@PathVariable("id") Integer id,
+			@RequestParam(value = "format", required = false) String format) {
+		final var exportFormat = DeckExportFormat.fromString(format);
+		final var deck = this.deckExportService.findDecks(List.of(id.longValue())).get(0);
+		final StreamingResponseBody body = out -> this.deckExportService.exportDeck(deck, exportFormat, out);
+		return ResponseEntity.ok()
+				.contentType(new MediaType(exportFormat.getMediaType(), StandardCharsets.UTF_8))
+				.header(HttpHeaders.CONTENT_DISPOSITION,
+						attachment(this.deckExportService.fileName(deck, exportFormat)))
+				.body(body);
+	}
+
+	/**
+	 * Download several decks, given by id or by tournament, as a zip archive with one decklist per deck
+	 */
+	@GetMapping("/decks/export")
+	public ResponseEntity<StreamingResponseBody> exportDecks(
+			@RequestParam(value = "ids", required = false) List<Long> ids,
+			@RequestParam(value = "tournament", required = false) String tournament,
+			@RequestParam(value = "format", required = false) String format) {
+		final var exportFormat = DeckExportFormat.fromString(format);
+		final boolean byIds = ids != null && !ids.isEmpty();
+		if (byIds == (tournament != null && !tournament.isBlank())) {
+			throw new InvalidRequestException("Exactly one of 'ids' or 'tournament' is required");
+		}
+		if (byIds && ids.size() > MAX_BULK_DECKS) {
+			throw new InvalidRequestException("At most " + MAX_BULK_DECKS + " decks can be exported at once");
+		}
+
+		final var decks = byIds ? this.deckExportService.findDecks(ids)
+				: this.deckExportService.findTournamentDecks(tournament);
+		final StreamingResponseBody body = out -> this.deckExportService.exportDecks(decks, exportFormat, out);
+		return ResponseEntity.ok()
+				.contentType(ZIP)
+				.header(HttpHeaders.CONTENT_DISPOSITION,
+						attachment((byIds ? "decks" : tournament.replaceAll("[^A-Za-z0-9]+", "-")) + ".zip"))
+				.body(body);
+	}
+
+	private static String attachment(String fileName) {
+		return ContentDisposition.attachment().filename(fileName, StandardCharsets.UTF_8).build().toString();
+	}
+}
@@ -0,0 +1,61 @@
+package com.deckbuilder.mtgdeckbuilder.contract;
+
+import com.deckbuilder.apigenerator.openapi.api.model.DeckSummaryDTO;
+import com.deckbuilder.mtgdeckbuilder.application.DeckService;
+import com.deckbuilder.mtgdeckbuilder.contract.mapper.DeckMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Deck listings streamed as newline-delimited JSON, one deck summary per line. Mapped by hand rather than
+ * generated from the OpenAPI contract because rows go from a database cursor into the response as they are read.
+ */
+@RestController
+@RequiredArgsConstructor
+public class DeckStreamController {
+	static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+	private final DeckService deckService;
+	private final DeckMapper deckMapper;
+	private final ObjectMapper objectMapper;
+
+	/**
+	 * Every deck of a format, without cards, in id order
+	 */
+	@GetMapping("/formats/{id}/decks/stream")
+	public ResponseEntity<StreamingResponseBody> streamFormatDecks(@PathVariable("id") Integer id) {
+		final ObjectWriter writer = this.objectMapper.writerFor(DeckSummaryDTO.class);
+		final StreamingResponseBody body = out -> {
+			final OutputStream buffered = new BufferedOutputStream(out);
+			try {
+				this.deckService.streamByFormat(id.longValue(), deck -> writeLine(buffered, writer,
+						this.deckMapper.toDeckSummaryDTO(deck)));
+			} catch (final UncheckedIOException e) {
+				throw e.getCause();
+			}
+			buffered.flush();
+		};
+		return ResponseEntity.ok().contentType(NDJSON).body(body);
+	}
+
+	private static void writeLine(OutputStream out, ObjectWriter writer, DeckSummaryDTO deck) {
+		try {
+			out.write(writer.writeValueAsBytes(deck));
+			out.write('\n');
+		} catch (final IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
@@ -2,9 +2,12 @@ package com.deckbuilder.mtgdeckbuilder.contract;
 
 import com.deckbuilder.apigenerator.openapi.api.FormatsApi;
 import com.deckbuilder.apigenerator.openapi.api.model.CardDTO;
+import com.deckbuilder.apigenerator.openapi.api.model.DeckSummaryDTO;
 import com.deckbuilder.apigenerator.openapi.api.model.FormatDTO;
+import com.deckbuilder.mtgdeckbuilder.application.DeckService;
 import com.deckbuilder.mtgdeckbuilder.application.FormatService;
 import com.deckbuilder.mtgdeckbuilder.contract.mapper.CardMapper;
+import com.deckbuilder.mtgdeckbuilder.contract.mapper.DeckMapper;
 import com.deckbuilder.mtgdeckbuilder.contract.mapper.FormatMapper;
 import com.deckbuilder.mtgdeckbuilder.infrastructure.exception.FormatNotFoundException;
 import lombok.RequiredArgsConstructor;
@@ -20,6 +23,8 @@ public class FormatController implements FormatsApi {
 	private final FormatService formatService;
 	private final FormatMapper formatMapper;
 	private final CardMapper cardMapper;
+	private final DeckService deckService;
+	private final DeckMapper deckMapper;
 
 	@Override
 	public ResponseEntity<List<FormatDTO>> listFormats(Integer pagesize, Integer pagenumber) {
@@ -64,4 +69,11 @@ public class FormatController implements FormatsApi {
 		final var cardDtos = cards.stream().map(this.cardMapper::toDto).collect(Collectors.toList());
 		return ResponseEntity.ok(cardDtos);
 	}
-}
\ No newline at end of file
+
+	@Override
+	public ResponseEntity<List<DeckSummaryDTO>> listFormatDecks(Integer id, Integer after, Integer limit) {
+		final var decks = this.deckService.findByFormat(id.longValue(), after != null ? after.longValue() : 0L,
+				limit != null ? limit : 100);
+		return ResponseEntity.ok(this.deckMapper.toDeckSummaryDTOs(decks));
+	}
+}
@@ -0,0 +1,95 @@
+package com.deckbuilder.mtgdeckbuilder.contract.mapper;
+
+import com.deckbuilder.mtgdeckbuilder.application.CardService;
+import com.deckbuilder.mtgdeckbuilder.model.CardSummary;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.RawValue;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Card summaries pre-encoded as JSON, for hydrated deck responses.
+ * <p>
+ * A card's summary is encoded once and the resulting {@link RawValue} is written verbatim into every response that
+ * contains the card, so a 100-card deck costs no per-card serialization. Cards not cached yet are loaded together
+ * with one query. Changed or deleted cards must be dropped with {@link #invalidate(Long)}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CardJsonCache {
+	private final CardService cardService;
+	private final CardMapper cardMapper;
+	private final ObjectMapper objectMapper;
+
+	private final Map<Long, RawValue> fragments = new ConcurrentHashMap<>();
+	// Seeded from the clock so generations are not reused after a restart
+	private final AtomicLong generation = new AtomicLong(System.currentTimeMillis());
+
+	/**
+	 * The encoded summaries of the given cards, once per card in first-seen order. Cards that do not exist are
+	 * left out.
+	 */
+	public List<Object> fragmentsOf(Collection<Long> cardIds) {
+		final Set<Long> distinct = new LinkedHashSet<>(cardIds);
+		final List<Long> missing = distinct.stream().filter(id -> !this.fragments.containsKey(id)).toList();
+		if (!missing.isEmpty()) {
+			final long loadGeneration = this.generation.get();
+			final Map<Long, RawValue> loaded = new HashMap<>();
+			for (final CardSummary card : this.cardService.findSummaries(missing)) {
+				loaded.put(card.getId(), this.encode(card));
+			}
+			// A card changed during the load may have been read stale: use it for this response only
+			if (this.generation.get() == loadGeneration) {
+				this.fragments.putAll(loaded);
+			}
+			log.debug("Encoded {} card summaries ({} requested)", loaded.size(), missing.size());
+			return this.collect(distinct, loaded);
+		}
+		return this.collect(distinct, Map.of());
+	}
+
+	/**
+	 * Counter advanced by every {@link #invalidate(Long)}, i.e. whenever a card's attributes change
+	 */
+	public long generation() {
+		return this.generation.get();
+	}
+
+	public void invalidate(Long cardId) {
+		this.generation.incrementAndGet();
+		this.fragments.remove(cardId);
+	}
+
+	private List<Object> collect(Collection<Long> cardIds, Map<Long, RawValue> loaded) {
+		final List<Object> result = new ArrayList<>(cardIds.size());
+		for (final Long cardId : cardIds) {
+			final RawValue fragment = loaded.getOrDefault(cardId, this.fragments.get(cardId));
+			if (fragment != null) {
+				result.add(fragment);
+			}
+		}
+		return result;
+	}
+
+	private RawValue encode(CardSummary card) {
+		try {
+			return new RawValue(this.objectMapper.writeValueAsString(this.cardMapper.toSummaryDto(card)));
+		} catch (final JsonProcessingException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
@@ -1,7 +1,13 @@
 package com.deckbuilder.mtgdeckbuilder.contract.mapper;
 
+import com.deckbuilder.apigenerator.openapi.api.model.CardCompanionDTO;
 import com.deckbuilder.apigenerator.openapi.api.model.CardDTO;
+import com.deckbuilder.apigenerator.openapi.api.model.CardPopularityDTO;
+import com.deckbuilder.apigenerator.openapi.api.model.CardSummaryDTO;
 import com.deckbuilder.mtgdeckbuilder.model.Card;
+import com.deckbuilder.mtgdeckbuilder.model.CardCompanion;
+import com.deckbuilder.mtgdeckbuilder.model.CardPopularity;
+import com.deckbuilder.mtgdeckbuilder.model.CardSummary;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.Named;
@@ -38,6 +44,25 @@ public interface CardMapper {
 	@Mapping(target = "card_subtype", ignore = true)
 	CardDTO toDto(Card card);
 
+	@Mapping(source = "name", target = "card_name")
+	@Mapping(source = "manaCost", target = "mana_cost")
+	@Mapping(source = "typeLine", target = "type_line")
+	@Mapping(source = "colorIdentity", target = "color_identity")
+	@Mapping(source = "imageUrl", target = "image_url")
+	CardSummaryDTO toSummaryDto(CardSummary card);
+
+	CardCompanionDTO toCompanionDto(CardCompanion companion);
+
+	List<CardCompanionDTO> toCompanionDtos(List<CardCompanion> companions);
+
+	@Mapping(source = "formatId", target = "format_id")
+	@Mapping(source = "formatName", target = "format_name")
+	@Mapping(source = "formatDecks", target = "format_decks")
+	@Mapping(source = "inclusionRate", target = "inclusion_rate")
+	CardPopularityDTO toPopularityDto(CardPopularity popularity);
+
+	List<CardPopularityDTO> toPopularityDtos(List<CardPopularity> popularity);
+
 	@Mapping(target = "name", source = "card_name")
 	@Mapping(target = "typeLine", source = "type_line")
 	@Mapping(target = "cardType", source = "card_type")
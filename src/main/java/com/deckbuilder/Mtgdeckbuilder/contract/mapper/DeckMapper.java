@@ -1,19 +1,60 @@
 package com.deckbuilder.mtgdeckbuilder.contract.mapper;
 
 import com.deckbuilder.apigenerator.openapi.api.model.CardDeckDTO;
+import com.deckbuilder.apigenerator.openapi.api.model.ColorSourceRequirementDTO;
+import com.deckbuilder.apigenerator.openapi.api.model.DeckCardChangeDTO;
+import com.deckbuilder.apigenerator.openapi.api.model.DeckCardOperationDTO;
+import com.deckbuilder.apigenerator.openapi.api.model.DeckBulkForkRequestDTO;
 import com.deckbuilder.apigenerator.openapi.api.model.DeckDTO;
+import com.deckbuilder.apigenerator.openapi.api.model.DeckDeltaDTO;
+import com.deckbuilder.apigenerator.openapi.api.model.DeckDiffDTO;
+import com.deckbuilder.apigenerator.openapi.api.model.DeckForkRequestDTO;
+import com.deckbuilder.apigenerator.openapi.api.model.DeckRevisionCardDTO;
+import com.deckbuilder.apigenerator.openapi.api.model.DeckRevisionDTO;
+import com.deckbuilder.apigenerator.openapi.api.model.DeckRuleViolationDTO;
+import com.deckbuilder.apigenerator.openapi.api.model.DeckSectionTotalsDTO;
+import com.deckbuilder.apigenerator.openapi.api.model.DeckSimulationRequestDTO;
+import com.deckbuilder.apigenerator.openapi.api.model.DeckSimulationResultDTO;
+import com.deckbuilder.apigenerator.openapi.api.model.DeckStatsDTO;
+import com.deckbuilder.apigenerator.openapi.api.model.DeckSummaryDTO;
+import com.deckbuilder.apigenerator.openapi.api.model.DeckValidationReportDTO;
 import com.deckbuilder.apigenerator.openapi.api.model.CompleteDeckDTO;
+import com.deckbuilder.apigenerator.openapi.api.model.ManaBaseAdviceDTO;
+import com.deckbuilder.apigenerator.openapi.api.model.MetagameCardDTO;
+import com.deckbuilder.apigenerator.openapi.api.model.MetagameDTO;
+import com.deckbuilder.apigenerator.openapi.api.model.SimilarDeckDTO;
+import com.deckbuilder.apigenerator.openapi.api.model.SimulationConditionDTO;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.exception.InvalidRequestException;
 import com.deckbuilder.mtgdeckbuilder.model.Deck;
 import com.deckbuilder.mtgdeckbuilder.model.Deck.CardInDeck;
+import com.deckbuilder.mtgdeckbuilder.model.DeckCardOperation;
+import com.deckbuilder.mtgdeckbuilder.model.DeckDelta;
+import com.deckbuilder.mtgdeckbuilder.model.DeckDelta.CardChange;
+import com.deckbuilder.mtgdeckbuilder.model.DeckDiff;
+import com.deckbuilder.mtgdeckbuilder.model.DeckRevision;
+import com.deckbuilder.mtgdeckbuilder.model.DeckSimulation;
+import com.deckbuilder.mtgdeckbuilder.model.DeckSimulationResult;
+import com.deckbuilder.mtgdeckbuilder.model.DeckStats;
+import com.deckbuilder.mtgdeckbuilder.model.DeckSummary;
+import com.deckbuilder.mtgdeckbuilder.model.DeckValidationReport;
+import com.deckbuilder.mtgdeckbuilder.model.DeckValidationReport.Violation;
+import com.deckbuilder.mtgdeckbuilder.model.ManaBaseAdvice;
+import com.deckbuilder.mtgdeckbuilder.model.Metagame;
+import com.deckbuilder.mtgdeckbuilder.model.SimilarDeck;
+import org.mapstruct.BeanMapping;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
+import org.mapstruct.Named;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
-@Mapper(componentModel = "spring")
+@Mapper(componentModel = "spring", uses = CardMapper.class)
 public interface DeckMapper {
 	@Mapping(source = "name", target = "deck_name")
 	@Mapping(source = "parentDeckId", target = "parent_deck_id")
+	@Mapping(source = "commanderCardId", target = "commander_card_id")
 	@Mapping(source = "isPrivate", target = "is_private")
 	@Mapping(source = "deckType", target = "deck_type")
 	@Mapping(source = "created", target = "creation_date")
@@ -26,6 +67,7 @@ public interface DeckMapper {
 
 	@Mapping(source = "deck_name", target = "name")
 	@Mapping(source = "parent_deck_id", target = "parentDeckId")
+	@Mapping(source = "commander_card_id", target = "commanderCardId")
 	@Mapping(source = "is_private", target = "isPrivate")
 	@Mapping(source = "deck_type", target = "deckType")
 	@Mapping(source = "creation_date", target = "created")
@@ -36,19 +78,38 @@ public interface DeckMapper {
 	@Mapping(source = "deck_contents", target = "cards")
 	Deck toDeck(DeckDTO deckDTO);
 
-	// Complete deck mappings
-	@Mapping(source = "name", target = "deck_name")
-	@Mapping(source = "parentDeckId", target = "parent_deck_id")
-	@Mapping(source = "isPrivate", target = "is_private")
-	@Mapping(source = "created", target = "creation_date")
-	@Mapping(source = "formatId", target = "format")
-	@Mapping(source = "modified", target = "last_modification")
-	@Mapping(source = "userId", target = "user_id")
-	@Mapping(source = "shareUrl", target = "share_url")
-	@Mapping(target = "main_board", expression = "java(getCardsBySection(deck.getCards(), \"main\"))")
-	@Mapping(target = "side_board", expression = "java(getCardsBySection(deck.getCards(), \"sideboard\"))")
-	@Mapping(target = "maybe_board", expression = "java(getCardsBySection(deck.getCards(), \"maybeboard\"))")
-	CompleteDeckDTO toCompleteDeckDTO(Deck deck);
+	// Complete deck mappings: the cards are split into boards in one pass, see toDeckBoards
+	default CompleteDeckDTO toCompleteDeckDTO(Deck deck) {
+		return this.toCompleteDeckDTO(deck, null);
+	}
+
+	/**
+	 * Map a deck with the given card details, e.g. pre-encoded card summaries, as its card_details
+	 */
+	default CompleteDeckDTO toCompleteDeckDTO(Deck deck, List<Object> cardDetails) {
+		if (deck == null) {
+			return null;
+		}
+		return this.toCompleteDeckDTO(deck, this.toDeckBoards(deck.getCards()), cardDetails);
+	}
+
+	@Mapping(source = "deck.id", target = "id")
+	@Mapping(source = "deck.name", target = "deck_name")
+	@Mapping(source = "deck.description", target = "description")
+	@Mapping(source = "deck.tournament", target = "tournament")
+	@Mapping(source = "deck.parentDeckId", target = "parent_deck_id")
+	@Mapping(source = "deck.commanderCardId", target = "commander_card_id")
+	@Mapping(source = "deck.isPrivate", target = "is_private")
+	@Mapping(source = "deck.created", target = "creation_date")
+	@Mapping(source = "deck.formatId", target = "format")
+	@Mapping(source = "deck.modified", target = "last_modification")
+	@Mapping(source = "deck.userId", target = "user_id")
+	@Mapping(source = "deck.shareUrl", target = "share_url")
+	@Mapping(source = "boards.main", target = "main_board")
+	@Mapping(source = "boards.sideboard", target = "side_board")
+	@Mapping(source = "boards.maybeboard", target = "maybe_board")
+	@Mapping(source = "cardDetails", target = "card_details")
+	CompleteDeckDTO toCompleteDeckDTO(Deck deck, DeckBoards boards, List<Object> cardDetails);
 
 	List<CompleteDeckDTO> toCompleteDecksDTO(List<Deck> decks);
 
@@ -62,13 +123,185 @@ public interface DeckMapper {
 	@Mapping(target = "section", ignore = true)
 	CardInDeck toCardInDeck(CardDeckDTO cardDeckDTO);
 
-	// Helper method to filter cards by section
-	default List<CardDeckDTO> getCardsBySection(List<CardInDeck> cards, String section) {
-		if (cards == null) {
-			return List.of();
+	// Listing mappings
+	@Mapping(source = "name", target = "deck_name")
+	@Mapping(source = "userId", target = "user_id")
+	@Mapping(source = "formatId", target = "format")
+	@Mapping(source = "deckType", target = "deck_type")
+	@Mapping(source = "isPrivate", target = "is_private")
+	@Mapping(source = "modified", target = "last_modification")
+	@Mapping(target = "card_counts", source = "deck", qualifiedByName = "toCardCounts")
+	DeckSummaryDTO toDeckSummaryDTO(DeckSummary deck);
+
+	List<DeckSummaryDTO> toDeckSummaryDTOs(List<DeckSummary> decks);
+
+	@Named("toCardCounts")
+	default DeckSectionTotalsDTO toCardCounts(DeckSummary deck) {
+		return DeckSectionTotalsDTO.builder()
+			.main(deck.getMainCount())
+			.sideboard(deck.getSideboardCount())
+			.maybeboard(deck.getMaybeboardCount())
+			.build();
+	}
+
+	// Fork mappings: only the overridable fields are read
+	@BeanMapping(ignoreByDefault = true)
+	@Mapping(source = "deck_name", target = "name")
+	@Mapping(source = "user_id", target = "userId")
+	@Mapping(source = "format", target = "formatId")
+	@Mapping(source = "is_private", target = "isPrivate")
+	Deck toForkOverrides(DeckForkRequestDTO dto);
+
+	@BeanMapping(ignoreByDefault = true)
+	@Mapping(source = "user_id", target = "userId")
+	@Mapping(source = "format", target = "formatId")
+	@Mapping(source = "is_private", target = "isPrivate")
+	Deck toForkOverrides(DeckBulkForkRequestDTO dto);
+
+	List<DeckDTO> toDeckDTOs(List<Deck> decks);
+
+	// Batch card operation mappings
+	@Mapping(source = "op", target = "type", qualifiedByName = "toOperationType")
+	@Mapping(source = "card_id", target = "cardId")
+	@Mapping(source = "section", target = "section", defaultValue = "main")
+	DeckCardOperation toDeckCardOperation(DeckCardOperationDTO dto);
+
+	List<DeckCardOperation> toDeckCardOperations(List<DeckCardOperationDTO> dtos);
+
+	@Named("toOperationType")
+	default DeckCardOperation.Type toOperationType(String op) {
+		try {
+			return DeckCardOperation.Type.fromString(op);
+		} catch (final IllegalArgumentException e) {
+			throw new InvalidRequestException(e.getMessage());
+		}
+	}
+
+	// Delta mappings
+	@Mapping(source = "deckId", target = "deck_id")
+	@Mapping(source = "sectionTotals", target = "section_totals")
+	DeckDeltaDTO toDeckDeltaDTO(DeckDelta delta);
+
+	@Mapping(source = "cardId", target = "card_id")
+	@Mapping(source = "previousQuantity", target = "previous_quantity")
+	DeckCardChangeDTO toDeckCardChangeDTO(CardChange change);
+
+	// History mappings
+	@Mapping(source = "deckId", target = "deck_id")
+	DeckRevisionDTO toDeckRevisionDTO(DeckRevision revision);
+
+	@Mapping(source = "cardId", target = "card_id")
+	DeckRevisionCardDTO toDeckRevisionCardDTO(CardInDeck card);
+
+	@Mapping(source = "deckId", target = "deck_id")
+	@Mapping(source = "fromRevision", target = "from_revision")
+	@Mapping(source = "toRevision", target = "to_revision")
+	DeckDiffDTO toDeckDiffDTO(DeckDiff diff);
+
+	// Validation report mappings
+	@Mapping(source = "deckId", target = "deck_id")
+	@Mapping(source = "formatId", target = "format_id")
+	@Mapping(source = "sectionTotals", target = "section_totals")
+	DeckValidationReportDTO toDeckValidationReportDTO(DeckValidationReport report);
+
+	List<DeckValidationReportDTO> toDeckValidationReportDTOs(List<DeckValidationReport> reports);
+
+	// Stats mappings
+	@Mapping(source = "deckId", target = "deck_id")
+	@Mapping(source = "totalCards", target = "total_cards")
+	@Mapping(source = "landCount", target = "land_count")
+	@Mapping(source = "averageManaValue", target = "average_mana_value")
+	@Mapping(source = "manaCurve", target = "mana_curve")
+	@Mapping(source = "colorPips", target = "color_pips")
+	@Mapping(source = "typeBreakdown", target = "type_breakdown")
+	DeckStatsDTO toDeckStatsDTO(DeckStats stats);
+
+	// Simulation mappings
+	@Mapping(source = "on_the_play", target = "onThePlay", defaultValue = "true")
+	@Mapping(source = "turn", target = "turn", defaultValue = "1")
+	DeckSimulation toDeckSimulation(DeckSimulationRequestDTO dto);
+
+	@Mapping(source = "category", target = "category", qualifiedByName = "toConditionCategory")
+	@Mapping(source = "min", target = "min", defaultValue = "1")
+	DeckSimulation.Condition toSimulationCondition(SimulationConditionDTO dto);
+
+	@Named("toConditionCategory")
+	default DeckSimulation.Category toConditionCategory(String category) {
+		try {
+			return DeckSimulation.Category.fromString(category);
+		} catch (final IllegalArgumentException e) {
+			throw new InvalidRequestException(e.getMessage());
+		}
+	}
+
+	@Mapping(source = "deckId", target = "deck_id")
+	@Mapping(source = "deckSize", target = "deck_size")
+	@Mapping(source = "cardsSeen", target = "cards_seen")
+	@Mapping(source = "standardError", target = "standard_error")
+	@Mapping(source = "conditionProbabilities", target = "condition_probabilities")
+	DeckSimulationResultDTO toDeckSimulationResultDTO(DeckSimulationResult result);
+
+	@Mapping(source = "deckId", target = "deck_id")
+	@Mapping(source = "deckSize", target = "deck_size")
+	@Mapping(source = "landCount", target = "land_count")
+	@Mapping(source = "suggestedLandCount", target = "suggested_land_count")
+	@Mapping(source = "targetProbability", target = "target_probability")
+	ManaBaseAdviceDTO toManaBaseAdviceDTO(ManaBaseAdvice advice);
+
+	@Mapping(source = "requiredSources", target = "required_sources")
+	@Mapping(source = "cardId", target = "card_id")
+	@Mapping(source = "cardName", target = "card_name")
+	ColorSourceRequirementDTO toColorSourceRequirementDTO(ManaBaseAdvice.ColorRequirement requirement);
+
+	@Mapping(source = "sharedCards", target = "shared_cards")
+	SimilarDeckDTO toSimilarDeckDTO(SimilarDeck similarDeck);
+
+	List<SimilarDeckDTO> toSimilarDeckDTOs(List<SimilarDeck> similarDecks);
+
+	// Metagame mappings, card summaries as in CardMapper
+	@Mapping(source = "topCards", target = "top_cards")
+	MetagameDTO toMetagameDTO(Metagame metagame);
+
+	@Mapping(source = "inclusionRate", target = "inclusion_rate")
+	@Mapping(source = "averageCopies", target = "average_copies")
+	MetagameCardDTO toMetagameCardDTO(Metagame.MetagameCard card);
+
+	@Mapping(source = "cardId", target = "card_id")
+	DeckRuleViolationDTO toDeckRuleViolationDTO(Violation violation);
+
+	default DeckSectionTotalsDTO toDeckSectionTotalsDTO(Map<String, Integer> sectionTotals) {
+		if (sectionTotals == null) {
+			return null;
+		}
+		return DeckSectionTotalsDTO.builder()
+			.main(sectionTotals.getOrDefault("main", 0))
+			.sideboard(sectionTotals.getOrDefault("sideboard", 0))
+			.maybeboard(sectionTotals.getOrDefault("maybeboard", 0))
+			.build();
+	}
+
+	/**
+	 * The entries of a deck split by section
+	 */
+	record DeckBoards(List<CardDeckDTO> main, List<CardDeckDTO> sideboard, List<CardDeckDTO> maybeboard) {
+	}
+
+	default DeckBoards toDeckBoards(List<CardInDeck> cards) {
+		final List<CardDeckDTO> main = new ArrayList<>();
+		final List<CardDeckDTO> sideboard = new ArrayList<>();
+		final List<CardDeckDTO> maybeboard = new ArrayList<>();
+		if (cards != null) {
+			for (final CardInDeck card : cards) {
+				final String section = card.getSection() == null ? "" : card.getSection();
+				switch (section) {
+					case "main" -> main.add(this.toCardDeckDTO(card));
+					case "sideboard" -> sideboard.add(this.toCardDeckDTO(card));
+					case "maybeboard" -> maybeboard.add(this.toCardDeckDTO(card));
+					default -> {
+					}
+				}
+			}
 		}
-		return cards.stream()
-			.filter(card -> section.equals(card.getSection()))
-			.map(this::toCardDeckDTO).toList();
+		return new DeckBoards(main, sideboard, maybeboard);
 	}
-}
\ No newline at end of file
+}
@@ -1,6 +1,8 @@
 package com.deckbuilder.mtgdeckbuilder.contract.mapper;
 
+import com.deckbuilder.apigenerator.openapi.api.model.BanListChangeDTO;
 import com.deckbuilder.apigenerator.openapi.api.model.FormatDTO;
+import com.deckbuilder.mtgdeckbuilder.model.BanListChange;
 import com.deckbuilder.mtgdeckbuilder.model.Format;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
@@ -12,8 +14,14 @@ public interface FormatMapper {
 
 	@Mapping(source = "name", target = "format_name")
 	@Mapping(source = "maxDeckSize", target = "deck_size")
+	@Mapping(source = "banListChange", target = "ban_list_change")
 	FormatDTO toDto(Format format);
 
+	@Mapping(source = "cardsChanged", target = "cards_changed")
+	@Mapping(source = "printingsUpdated", target = "printings_updated")
+	@Mapping(source = "illegalDecks", target = "illegal_decks")
+	BanListChangeDTO toBanListChangeDTO(BanListChange banListChange);
+
 	@Mapping(target = "name", source = "format_name")
 	@Mapping(target = "maxDeckSize", source = "deck_size")
 	@Mapping(target = "minDeckSize", ignore = true)
@@ -21,6 +29,7 @@ public interface FormatMapper {
 	@Mapping(target = "maxSideboardSize", ignore = true)
 	@Mapping(target = "bannedCards", ignore = true)
 	@Mapping(target = "restrictedCards", ignore = true)
+	@Mapping(target = "banListChange", ignore = true)
 	Format toModel(FormatDTO dto);
 
 	List<FormatDTO> toDtoList(List<Format> formats);
@@ -0,0 +1,10 @@
+package com.deckbuilder.mtgdeckbuilder.infrastructure;
+
+import com.deckbuilder.mtgdeckbuilder.infrastructure.model.CardCooccurrenceEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface CardCooccurrenceRepository extends JpaRepository<CardCooccurrenceEntity, Long>,
+		CardCooccurrenceRepositoryCustom {
+}
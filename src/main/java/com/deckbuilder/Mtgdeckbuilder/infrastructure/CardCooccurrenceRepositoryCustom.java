@@ -0,0 +1,19 @@
+package com.deckbuilder.mtgdeckbuilder.infrastructure;
+
+import com.deckbuilder.mtgdeckbuilder.infrastructure.model.CardCooccurrenceEntity;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Custom repository interface for writing co-occurrence rows using JDBC batching
+ */
+public interface CardCooccurrenceRepositoryCustom {
+
+	/**
+	 * Update the given rows, insert those not stored yet and delete the rows of the emptied cards in JDBC batches,
+	 * all in one transaction that has committed when this returns. With {@code rewriteAll} every existing row is
+	 * deleted first and all rows are inserted.
+	 */
+	void writeRows(List<CardCooccurrenceEntity> rows, Collection<Long> emptiedCardIds, boolean rewriteAll);
+}
@@ -1,24 +1,43 @@
 package com.deckbuilder.mtgdeckbuilder.infrastructure;
 
 import com.deckbuilder.mtgdeckbuilder.infrastructure.model.CardInDeckEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface CardInDeckRepository extends JpaRepository<CardInDeckEntity, Long> {
+public interface CardInDeckRepository extends JpaRepository<CardInDeckEntity, Long>, CardInDeckRepositoryCustom {
 	List<CardInDeckEntity> findByDeckId(Long deckId);
 
+	List<CardInDeckEntity> findByDeckIdIn(Collection<Long> deckIds);
+
 	Optional<CardInDeckEntity> findByDeckIdAndCardIdAndSection(Long deckId, Long cardId, String section);
 
 	void deleteByDeckIdAndCardIdAndSection(Long deckId, Long cardId, String section);
 
 	boolean existsByDeckIdAndCardIdAndSection(Long deckId, Long cardId, String section);
 
+	/**
+	 * Copy every card row of one deck to another in a single INSERT ... SELECT, without loading the rows
+	 *
+	 * @return the number of rows copied
+	 */
+	@Modifying
+	@Query(value = "INSERT INTO card_deck (card_id, deck_id, quantity, section) " +
+				   "SELECT card_id, :targetDeckId, quantity, section FROM card_deck WHERE deck_id = :sourceDeckId",
+		   nativeQuery = true)
+	int copyDeckContents(@Param("sourceDeckId") Long sourceDeckId, @Param("targetDeckId") Long targetDeckId);
+
 	/**
 	 * Calculate total cards in a deck section, excluding a specific card
 	 */
@@ -29,6 +48,11 @@ public interface CardInDeckRepository extends JpaRepository<CardInDeckEntity, Lo
 													   @Param("section") String section,
 													   @Param("excludeCardId") Long excludeCardId);
 
+	/**
+	 * Rows of one card in a deck, at most one per section
+	 */
+	List<CardInDeckEntity> findByDeckIdAndCardId(Long deckId, Long cardId);
+
 	/**
 	 * Calculate total cards in a deck section
 	 */
@@ -36,4 +60,114 @@ public interface CardInDeckRepository extends JpaRepository<CardInDeckEntity, Lo
 		   "FROM CardInDeckEntity cid " +
 		   "WHERE cid.deckId = :deckId AND cid.section = :section")
 	Integer sumQuantityByDeckIdAndSection(@Param("deckId") Long deckId, @Param("section") String section);
+
+	/**
+	 * Read the main section of a deck joined with the card attributes its statistics need, in one query
+	 */
+	@Query("SELECT cid.quantity AS quantity, c.id AS cardId, c.cmc AS cmc, c.manaCost AS manaCost, " +
+		   "c.typeLine AS typeLine " +
+		   "FROM CardInDeckEntity cid JOIN CardEntity c ON c.id = cid.cardId " +
+		   "WHERE cid.deckId = :deckId AND cid.section = 'main'")
+	List<MainDeckStatsView> findMainDeckStatsViews(@Param("deckId") Long deckId);
+
+	/**
+	 * Projection of a main deck row with the attributes of its card
+	 */
+	interface MainDeckStatsView extends CardRepository.CardStatsView {
+		Integer getQuantity();
+	}
+
+	/**
+	 * Read the main section of a deck with the card attributes a mana base needs: cost, types and, for lands, the
+	 * colors they produce as approximated by their color identity
+	 */
+	@Query("SELECT cid.quantity AS quantity, c.id AS cardId, c.name AS name, c.cmc AS cmc, c.manaCost AS manaCost, " +
+		   "c.typeLine AS typeLine, c.colorIdentity AS colorIdentity " +
+		   "FROM CardInDeckEntity cid JOIN CardEntity c ON c.id = cid.cardId " +
+		   "WHERE cid.deckId = :deckId AND cid.section = 'main'")
+	List<MainDeckManaView> findMainDeckManaViews(@Param("deckId") Long deckId);
+
+	/**
+	 * Projection of a main deck row with the name and color identity of its card
+	 */
+	interface MainDeckManaView extends MainDeckStatsView {
+		String getName();
+
+		String getColorIdentity();
+	}
+
+	/**
+	 * Card ids in the main section of a deck
+	 */
+	@Query("SELECT cid.cardId FROM CardInDeckEntity cid WHERE cid.deckId = :deckId AND cid.section = 'main'")
+	List<Long> findMainCardIdsByDeckId(@Param("deckId") Long deckId);
+
+	/**
+	 * Read the main section of every deck registered for a tournament, with the archetype of each card
+	 */
+	@Query("SELECT cid.deckId AS deckId, cid.cardId AS cardId, cid.quantity AS quantity, c.archetype AS archetype, " +
+		   "c.unlimitedCopies AS unlimitedCopies " +
+		   "FROM CardInDeckEntity cid JOIN DeckEntity d ON d.id = cid.deckId JOIN CardEntity c ON c.id = cid.cardId " +
+		   "WHERE d.tournament = :tournament AND cid.section = 'main'")
+	List<TournamentCardView> findMainCardsByTournament(@Param("tournament") String tournament);
+
+	/**
+	 * Projection of a main deck row with the archetype of its card
+	 */
+	interface TournamentCardView extends DeckCardIdView {
+		Integer getQuantity();
+
+		String getArchetype();
+
+		Boolean getUnlimitedCopies();
+	}
+
+	/**
+	 * Stream the card ids in the main section of every deck, grouped by deck in deck id order, for rebuilding
+	 * whole-collection indexes. Must be consumed inside a transaction and closed afterwards.
+	 */
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "5000"))
+	@Query("SELECT cid.deckId AS deckId, cid.cardId AS cardId FROM CardInDeckEntity cid " +
+		   "WHERE cid.section = 'main' ORDER BY cid.deckId")
+	Stream<DeckCardIdView> streamMainDeckCardIds();
+
+	/**
+	 * Projection of a deck row reduced to its deck and card
+	 */
+	interface DeckCardIdView {
+		Long getDeckId();
+
+		Long getCardId();
+	}
+
+	/**
+	 * Stream the rows of the given decks joined with the card name and printing, ordered by deck, section
+	 * (main, sideboard, maybeboard) and card name. Rows are fetched from the cursor in chunks, so exports never
+	 * hold a whole deck list in memory. Must be consumed inside a transaction and closed afterwards.
+	 */
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+	@Query("SELECT cid.deckId AS deckId, cid.section AS section, cid.quantity AS quantity, c.name AS name, " +
+		   "s.name AS setName, c.collectorNumber AS collectorNumber " +
+		   "FROM CardInDeckEntity cid JOIN CardEntity c ON c.id = cid.cardId " +
+		   "LEFT JOIN SetEntity s ON s.id = c.cardSet " +
+		   "WHERE cid.deckId IN :deckIds " +
+		   "ORDER BY cid.deckId, CASE cid.section WHEN 'main' THEN 0 WHEN 'sideboard' THEN 1 ELSE 2 END, c.name")
+	Stream<DeckExportLineView> streamExportLines(@Param("deckIds") Collection<Long> deckIds);
+
+	/**
+	 * Projection of a deck row with the name and printing of its card
+	 */
+	interface DeckExportLineView {
+		Long getDeckId();
+
+		String getSection();
+
+		Integer getQuantity();
+
+		String getName();
+
+		String getSetName();
+
+		String getCollectorNumber();
+	}
 }
@@ -0,0 +1,18 @@
+package com.deckbuilder.mtgdeckbuilder.infrastructure;
+
+import com.deckbuilder.mtgdeckbuilder.model.Deck.CardInDeck;
+
+import java.util.List;
+
+/**
+ * Custom repository interface for set-based card_deck writes using JDBC batching
+ */
+public interface CardInDeckRepositoryCustom {
+
+	/**
+	 * Persist the resulting quantities of a batch of deck edits in three JDBC batches: entries with an id are
+	 * updated (or deleted when their quantity dropped to zero) and entries without an id are inserted.
+	 * The persistence context is cleared afterwards so later reads see the written rows.
+	 */
+	void applyBatch(Long deckId, List<CardInDeck> entries);
+}
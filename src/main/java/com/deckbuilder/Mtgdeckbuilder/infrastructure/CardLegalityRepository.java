@@ -7,16 +7,36 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface CardLegalityRepository extends JpaRepository<CardLegalityEntity, CardLegalityId> {
+public interface CardLegalityRepository extends JpaRepository<CardLegalityEntity, CardLegalityId>,
+        CardLegalityRepositoryCustom {
 
     /**
      * Find the legality status of a card in a specific format
      */
     Optional<CardLegalityEntity> findByCardIdAndFormatId(Long cardId, Long formatId);
 
+    /**
+     * Find the legality status of several cards in a specific format with a single IN query
+     */
+    @Query("SELECT cl.cardId AS cardId, cl.legalityStatus AS legalityStatus " +
+           "FROM CardLegalityEntity cl " +
+           "WHERE cl.formatId = :formatId AND cl.cardId IN :cardIds")
+    List<LegalityStatusView> findStatusesByFormatIdAndCardIds(@Param("formatId") Long formatId,
+                                                              @Param("cardIds") Collection<Long> cardIds);
+
+    /**
+     * Find the legality status of every card with a record in a specific format
+     */
+    @Query("SELECT cl.cardId AS cardId, cl.legalityStatus AS legalityStatus " +
+           "FROM CardLegalityEntity cl " +
+           "WHERE cl.formatId = :formatId")
+    List<LegalityStatusView> findStatusesByFormatId(@Param("formatId") Long formatId);
+
     /**
      * Check if a card is banned in a specific format
      */
@@ -32,4 +52,13 @@ public interface CardLegalityRepository extends JpaRepository<CardLegalityEntity
            "FROM CardLegalityEntity cl " +
            "WHERE cl.cardId = :cardId AND cl.formatId = :formatId AND cl.legalityStatus = 'restricted'")
     boolean isCardRestricted(@Param("cardId") Long cardId, @Param("formatId") Long formatId);
+
+    /**
+     * Lightweight projection of a legality row, avoiding the eager card and format associations
+     */
+    interface LegalityStatusView {
+        Long getCardId();
+
+        String getLegalityStatus();
+    }
 }
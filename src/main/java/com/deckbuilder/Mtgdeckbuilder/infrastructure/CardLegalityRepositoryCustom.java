@@ -0,0 +1,34 @@
+package com.deckbuilder.mtgdeckbuilder.infrastructure;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Custom repository interface for rewriting legality rows in bulk using JDBC batching
+ */
+public interface CardLegalityRepositoryCustom {
+
+	/**
+	 * The new legality status of one card printing
+	 */
+	record StatusChange(Long cardId, String legalityStatus) {
+	}
+
+	/**
+	 * Set the ban or restricted list status of the given printings in a format, then insert rows for the printings
+	 * the update found no row for. The status a row had before a list first set it is kept, for
+	 * {@link #restoreUnlistedStatuses(Long, Collection)}. Statements are sent in JDBC batches of bounded size.
+	 *
+	 * @return number of rows written
+	 */
+	int upsertListStatuses(Long formatId, List<StatusChange> changes);
+
+	/**
+	 * Give printings dropped from both lists of a format back the status they had before a list set it, deleting
+	 * the rows a list inserted. Rows banned or restricted before list statuses were tracked become legal; other
+	 * rows are left alone.
+	 *
+	 * @return number of rows restored or deleted
+	 */
+	int restoreUnlistedStatuses(Long formatId, Collection<Long> cardIds);
+}
@@ -0,0 +1,52 @@
+package com.deckbuilder.mtgdeckbuilder.infrastructure;
+
+import com.deckbuilder.mtgdeckbuilder.infrastructure.model.CardPopularityEntity;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.model.CardPopularityId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface CardPopularityRepository extends JpaRepository<CardPopularityEntity, CardPopularityId>,
+		CardPopularityRepositoryCustom {
+	/**
+	 * Main decks of the row's format playing the row's card, counted from card_deck
+	 */
+	String RECOUNT = "(SELECT COUNT(DISTINCT cd.deckId) FROM CardInDeckEntity cd, DeckEntity d " +
+			"WHERE d.id = cd.deckId AND cd.cardId = p.cardId AND d.formatId = p.formatId AND cd.section = 'main')";
+
+	/**
+	 * Formats in which at least one main deck plays the card, most played first
+	 */
+	List<CardPopularityEntity> findByCardIdAndDecksGreaterThanOrderByDecksDesc(Long cardId, int decks);
+
+	/**
+	 * Stored counts that disagree with card_deck, with their recounted value
+	 */
+	@Query("SELECT p.cardId AS cardId, p.formatId AS formatId, " + RECOUNT + " AS decks " +
+		   "FROM CardPopularityEntity p WHERE p.decks <> " + RECOUNT)
+	List<DeckCountView> findDriftedCounts();
+
+	/**
+	 * Cards played in main decks of a format that have no stored count for it, with their count
+	 */
+	@Query("SELECT cd.cardId AS cardId, d.formatId AS formatId, COUNT(DISTINCT cd.deckId) AS decks " +
+		   "FROM CardInDeckEntity cd, DeckEntity d WHERE d.id = cd.deckId AND cd.section = 'main' " +
+		   "AND NOT EXISTS (SELECT 1 FROM CardPopularityEntity p " +
+		   "WHERE p.cardId = cd.cardId AND p.formatId = d.formatId) " +
+		   "GROUP BY cd.cardId, d.formatId")
+	List<DeckCountView> findMissingCounts();
+
+	/**
+	 * Projection of a recounted number of main decks playing a card in a format
+	 */
+	interface DeckCountView {
+		Long getCardId();
+
+		Long getFormatId();
+
+		long getDecks();
+	}
+}
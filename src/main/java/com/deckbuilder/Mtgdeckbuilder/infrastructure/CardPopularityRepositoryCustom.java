@@ -0,0 +1,34 @@
+package com.deckbuilder.mtgdeckbuilder.infrastructure;
+
+import java.util.List;
+
+/**
+ * Custom repository interface for applying accumulated popularity changes using JDBC batching
+ */
+public interface CardPopularityRepositoryCustom {
+
+	/**
+	 * A change to the number of main decks of a format playing a card
+	 */
+	record Increment(Long cardId, Long formatId, int decks) {
+	}
+
+	/**
+	 * The recounted number of main decks of a format playing a card
+	 */
+	record DeckCount(Long cardId, Long formatId, int decks) {
+	}
+
+	/**
+	 * Add the given (possibly negative) changes to the stored counts in one JDBC batch, inserting a second batch
+	 * for the card and format pairs without a row yet. Both batches commit together before this returns. Counts
+	 * are not clamped: a negative count means the counts drifted, which the periodic recount repairs.
+	 */
+	void addDecks(List<Increment> increments);
+
+	/**
+	 * Overwrite the stored counts with recounted ones in one JDBC batch, inserting a second batch for the pairs
+	 * without a row yet; commits before returning
+	 */
+	void setDecks(List<DeckCount> counts);
+}
@@ -2,8 +2,11 @@ package com.deckbuilder.mtgdeckbuilder.infrastructure;
 
 import com.deckbuilder.mtgdeckbuilder.infrastructure.model.CardEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -22,4 +25,134 @@ public interface CardRepository extends JpaRepository<CardEntity, Long>, CardRep
 	 * Find cards by name and card set
 	 */
 	List<CardEntity> findByNameAndCardSet(String name, Long cardSet);
+
+	/**
+	 * Find the ids of all cards
+	 */
+	@Query("SELECT c.id FROM CardEntity c")
+	List<Long> findAllIds();
+
+	/**
+	 * Find the ids of cards that may be played in any number: flagged as unlimited or basic lands
+	 */
+	@Query("SELECT c.id FROM CardEntity c " +
+		   "WHERE c.unlimitedCopies = true OR (c.cardType = 'Land' AND c.cardSupertype = 'Basic')")
+	List<Long> findUnlimitedCopyIds();
+
+	/**
+	 * Read the color identity mask of every card that has a color, see {@code CardColor.bit}
+	 */
+	@Query("SELECT c.id AS id, c.colorIdentityMask AS mask FROM CardEntity c WHERE c.colorIdentityMask <> 0")
+	List<ColorIdentityView> findColorIdentityMasks();
+
+	/**
+	 * Read the name and printing details of every card, used to resolve imported decklists in memory
+	 */
+	@Query("SELECT c.id AS cardId, c.name AS name, c.collectorNumber AS collectorNumber, s.name AS setName, " +
+		   "c.promo AS promo, c.variation AS variation " +
+		   "FROM CardEntity c LEFT JOIN SetEntity s ON s.id = c.cardSet ORDER BY c.id")
+	List<CardPrintingView> findAllPrintings();
+
+	/**
+	 * Read only the attributes deck statistics are computed from
+	 */
+	@Query("SELECT c.id AS cardId, c.cmc AS cmc, c.manaCost AS manaCost, c.typeLine AS typeLine " +
+		   "FROM CardEntity c WHERE c.id IN :ids")
+	List<CardStatsView> findStatsViewsByIdIn(@Param("ids") Collection<Long> ids);
+
+	/**
+	 * Read the attributes a deck view displays for the given cards, without rules text or embeddings
+	 */
+	@Query("SELECT c.id AS id, c.name AS name, c.manaCost AS manaCost, c.cmc AS cmc, c.typeLine AS typeLine, " +
+		   "c.rarity AS rarity, c.colorIdentity AS colorIdentity, c.imageUrl AS imageUrl " +
+		   "FROM CardEntity c WHERE c.id IN :ids")
+	List<CardSummaryView> findSummaryViewsByIdIn(@Param("ids") Collection<Long> ids);
+
+	/**
+	 * Read only the name of a card
+	 */
+	@Query("SELECT c.name FROM CardEntity c WHERE c.id = :id")
+	Optional<String> findNameById(@Param("id") Long id);
+
+	/**
+	 * Read the id and name of every printing of the given names, compared trimmed and case-insensitively
+	 *
+	 * @param names normalized as by {@code FormatRules.normalizeName}
+	 */
+	@Query("SELECT c.id AS id, c.name AS name FROM CardEntity c WHERE LOWER(TRIM(c.name)) IN :names")
+	List<CardNameView> findNameViewsByNormalizedNameIn(@Param("names") Collection<String> names);
+
+	/**
+	 * Next cards by id whose mana cost has not been parsed yet, e.g. rows loaded directly into the database
+	 */
+	List<CardEntity> findTop500ByManaSymbolsColoredIsNullAndIdGreaterThanOrderByIdAsc(Long afterId);
+
+	/**
+	 * Projection of a card's name and printing
+	 */
+	interface CardPrintingView {
+		Long getCardId();
+
+		String getName();
+
+		String getCollectorNumber();
+
+		String getSetName();
+
+		Boolean getPromo();
+
+		Boolean getVariation();
+	}
+
+	/**
+	 * Projection of a card reduced to its id and name
+	 */
+	interface CardNameView {
+		Long getId();
+
+		String getName();
+	}
+
+	/**
+	 * Projection of a card reduced to its id and color identity mask
+	 */
+	interface ColorIdentityView {
+		Long getId();
+
+		Integer getMask();
+	}
+
+	/**
+	 * Projection of the attributes a deck view displays
+	 */
+	interface CardSummaryView {
+		Long getId();
+
+		String getName();
+
+		String getManaCost();
+
+		Integer getCmc();
+
+		String getTypeLine();
+
+		String getRarity();
+
+		String getColorIdentity();
+
+		String getImageUrl();
+	}
+
+	/**
+	 * Projection of the attributes deck statistics are computed from
+	 */
+	interface CardStatsView {
+		Long getCardId();
+
+		Integer getCmc();
+
+		String getManaCost();
+
+		String getTypeLine();
+	}
 }
\ No newline at end of file
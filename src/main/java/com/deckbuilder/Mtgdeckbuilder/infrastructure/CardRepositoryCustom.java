@@ -6,6 +6,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Custom repository interface for complex card search operations using EntityManager
@@ -21,4 +22,11 @@ public interface CardRepositoryCustom {
      * Random card selection with optional filters using EntityManager
      */
     List<CardEntity> findRandomCards(int count, String type, String rarity, Long formatId);
+
+    /**
+     * Read every card legal or restricted in a format, in id order, from a server-side cursor. Cards are handed
+     * over in chunks and the persistence context is cleared after each one, so memory stays flat however large the
+     * format is. Must be called inside a transaction; chunks must be consumed before the consumer returns.
+     */
+    void streamByFormat(Long formatId, int chunkSize, Consumer<List<CardEntity>> chunkConsumer);
 }
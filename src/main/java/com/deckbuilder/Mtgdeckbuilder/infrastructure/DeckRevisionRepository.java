@@ -0,0 +1,23 @@
+package com.deckbuilder.mtgdeckbuilder.infrastructure;
+
+import com.deckbuilder.mtgdeckbuilder.infrastructure.model.DeckRevisionEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface DeckRevisionRepository extends JpaRepository<DeckRevisionEntity, Long> {
+
+	/**
+	 * Find the newest snapshot of a deck at or before a revision, the starting point to rebuild that revision
+	 */
+	Optional<DeckRevisionEntity> findFirstByDeckIdAndSnapshotTrueAndRevisionLessThanEqualOrderByRevisionDesc(
+			Long deckId, long revision);
+
+	/**
+	 * Find the revisions of a deck in the given inclusive range, oldest first
+	 */
+	List<DeckRevisionEntity> findByDeckIdAndRevisionBetweenOrderByRevisionAsc(Long deckId, long from, long to);
+}
@@ -0,0 +1,38 @@
+package com.deckbuilder.mtgdeckbuilder.infrastructure;
+
+import com.deckbuilder.mtgdeckbuilder.infrastructure.model.MetagameArchetypeEntity;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.model.MetagameCardEntity;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.model.MetagameTournamentEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface MetagameRepository extends JpaRepository<MetagameTournamentEntity, String>,
+		MetagameRepositoryCustom {
+
+	/**
+	 * Archetype rollups of a tournament, most played first
+	 */
+	@Query("SELECT a FROM MetagameArchetypeEntity a WHERE a.tournament = :tournament " +
+		   "ORDER BY a.decks DESC, a.archetype")
+	List<MetagameArchetypeEntity> findArchetypes(@Param("tournament") String tournament);
+
+	/**
+	 * Card rollups of a tournament, most played first and then by copies
+	 */
+	@Query("SELECT c FROM MetagameCardEntity c WHERE c.tournament = :tournament " +
+		   "ORDER BY c.decks DESC, c.copies DESC, c.cardId")
+	List<MetagameCardEntity> findTopCards(@Param("tournament") String tournament, Pageable pageable);
+
+	/**
+	 * Tournaments with registered decks but no rollup yet
+	 */
+	@Query("SELECT DISTINCT d.tournament FROM DeckEntity d WHERE d.tournament IS NOT NULL " +
+		   "AND NOT EXISTS (SELECT 1 FROM MetagameTournamentEntity m WHERE m.tournament = d.tournament)")
+	List<String> findTournamentsWithoutRollup();
+}
@@ -0,0 +1,27 @@
+package com.deckbuilder.mtgdeckbuilder.infrastructure;
+
+import java.util.List;
+
+/**
+ * Custom repository interface for rewriting the metagame rollups of a tournament using JDBC batching
+ */
+public interface MetagameRepositoryCustom {
+
+	/**
+	 * Number of decks of a tournament classified as one archetype
+	 */
+	record ArchetypeRow(String archetype, int decks) {
+	}
+
+	/**
+	 * Number of main decks of a tournament playing a card, and their copies of it in total
+	 */
+	record CardRow(Long cardId, int decks, int copies) {
+	}
+
+	/**
+	 * Replace every rollup row of a tournament with the given ones, in one JDBC batch per table. A tournament
+	 * without decks loses its rows.
+	 */
+	void replaceTournament(String tournament, int decks, List<ArchetypeRow> archetypes, List<CardRow> cards);
+}
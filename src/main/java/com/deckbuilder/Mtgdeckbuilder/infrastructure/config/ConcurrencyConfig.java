@@ -0,0 +1,104 @@
+package com.deckbuilder.mtgdeckbuilder.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Configuration properties and executors for parallel, CPU-bound work
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.concurrency")
+@Data
+public class ConcurrencyConfig {
+
+	/**
+	 * Worker threads used to validate decks in bulk
+	 */
+	private int validationThreads = Math.max(1, Runtime.getRuntime().availableProcessors());
+
+	/**
+	 * Pending bulk validation tasks before callers start running tasks themselves
+	 */
+	private int validationQueueCapacity = 1000;
+
+	/**
+	 * Fork-join parallelism for Monte Carlo deck simulations
+	 */
+	private int simulationThreads = Math.max(1, Runtime.getRuntime().availableProcessors());
+
+	/**
+	 * Fork-join parallelism for full rebuilds of deck indexes
+	 */
+	private int indexThreads = Math.max(1, Runtime.getRuntime().availableProcessors());
+
+	/**
+	 * Worker threads backfilling metagame rollups; each holds a database connection while it works
+	 */
+	private int backfillThreads = 4;
+
+	/**
+	 * Bounded pool for bulk deck validation. When the queue is full the submitting thread runs the task,
+	 * which throttles callers instead of rejecting their work.
+	 */
+	@Bean(name = "deckValidationExecutor", destroyMethod = "shutdown")
+	public ExecutorService deckValidationExecutor() {
+		return boundedExecutor("deck-validation", this.validationThreads, this.validationQueueCapacity);
+	}
+
+	/**
+	 * Work-stealing pool for simulation trials, kept apart from the common pool so long simulations do not starve
+	 * parallel streams
+	 */
+	@Bean(name = "deckSimulationPool", destroyMethod = "shutdown")
+	public ForkJoinPool deckSimulationPool() {
+		return forkJoinPool("deck-simulation", this.simulationThreads);
+	}
+
+	/**
+	 * Work-stealing pool for full rebuilds of in-memory deck indexes
+	 */
+	@Bean(name = "deckIndexPool", destroyMethod = "shutdown")
+	public ForkJoinPool deckIndexPool() {
+		return forkJoinPool("deck-index", this.indexThreads);
+	}
+
+	/**
+	 * Pool for backfilling per-tournament rollups, one transaction per task. When the queue is full the submitting
+	 * thread runs the task.
+	 */
+	@Bean(name = "metagameBackfillExecutor", destroyMethod = "shutdown")
+	public ExecutorService metagameBackfillExecutor() {
+		return boundedExecutor("metagame-backfill", this.backfillThreads, this.validationQueueCapacity);
+	}
+
+	static ForkJoinPool forkJoinPool(String name, int parallelism) {
+		return new ForkJoinPool(parallelism, pool -> {
+			final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+			thread.setName(name + "-" + thread.getPoolIndex());
+			thread.setDaemon(true);
+			return thread;
+		}, null, false);
+	}
+
+	static ExecutorService boundedExecutor(String name, int threads, int queueCapacity) {
+		final AtomicInteger counter = new AtomicInteger();
+		final ThreadFactory threadFactory = runnable -> {
+			final Thread thread = new Thread(runnable, name + "-" + counter.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		};
+		return new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+				new ArrayBlockingQueue<>(queueCapacity), threadFactory, new ThreadPoolExecutor.CallerRunsPolicy());
+	}
+}
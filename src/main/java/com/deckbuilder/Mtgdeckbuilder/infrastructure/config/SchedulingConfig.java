@@ -0,0 +1,12 @@
+package com.deckbuilder.mtgdeckbuilder.infrastructure.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables the application's scheduled maintenance jobs
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
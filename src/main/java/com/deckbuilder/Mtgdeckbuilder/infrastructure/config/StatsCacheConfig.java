@@ -0,0 +1,31 @@
+package com.deckbuilder.mtgdeckbuilder.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties bounding the in-memory deck statistics cache
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.stats-cache")
+@Data
+public class StatsCacheConfig {
+
+	/**
+	 * Decks whose statistics are kept; the least recently read deck is dropped first
+	 */
+	private int maxDecks = 10_000;
+
+	/**
+	 * Card contributions kept; the least recently used card is dropped first
+	 */
+	private int maxCards = 50_000;
+
+	/**
+	 * Entries not read for this long are dropped
+	 */
+	private Duration maxIdle = Duration.ofMinutes(30);
+}
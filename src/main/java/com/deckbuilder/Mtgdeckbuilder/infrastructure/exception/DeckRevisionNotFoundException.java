@@ -0,0 +1,11 @@
+package com.deckbuilder.mtgdeckbuilder.infrastructure.exception;
+
+/**
+ * Exception thrown when a requested revision of a deck was never recorded
+ */
+public class DeckRevisionNotFoundException extends DomainException {
+
+	public DeckRevisionNotFoundException(Long deckId, long revision) {
+		super("Deck " + deckId + " has no recorded revision " + revision);
+	}
+}
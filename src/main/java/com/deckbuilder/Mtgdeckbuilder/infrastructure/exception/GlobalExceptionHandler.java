@@ -53,6 +53,21 @@ public class GlobalExceptionHandler {
 		return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
 	}
 
+	/**
+	 * Handle deck revision not found exceptions
+	 */
+	@ExceptionHandler(DeckRevisionNotFoundException.class)
+	public ResponseEntity<ErrorResponse> handleDeckRevisionNotFound(DeckRevisionNotFoundException ex,
+			HttpServletRequest request) {
+		log.warn("Deck revision not found: {}", ex.getMessage());
+
+		final ErrorResponse error = ErrorResponse.builder().success(false).message(ex.getMessage())
+				.error("DECK_REVISION_NOT_FOUND").status(HttpStatus.NOT_FOUND.value()).path(request.getRequestURI())
+				.timestamp(LocalDateTime.now()).build();
+
+		return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+	}
+
 	/**
 	 * Handle invalid deck composition exceptions
 	 */
@@ -153,6 +168,21 @@ public class GlobalExceptionHandler {
 		return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
 	}
 
+	/**
+	 * Handle tournament not found exceptions
+	 */
+	@ExceptionHandler(TournamentNotFoundException.class)
+	public ResponseEntity<ErrorResponse> handleTournamentNotFound(TournamentNotFoundException ex,
+			HttpServletRequest request) {
+		log.warn("Tournament not found: {}", ex.getMessage());
+
+		final ErrorResponse error = ErrorResponse.builder().success(false).message(ex.getMessage())
+				.error("TOURNAMENT_NOT_FOUND").status(HttpStatus.NOT_FOUND.value()).path(request.getRequestURI())
+				.timestamp(LocalDateTime.now()).build();
+
+		return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+	}
+
 	/**
 	 * Handle validation errors from @Valid annotations
 	 */
@@ -238,6 +268,22 @@ public class GlobalExceptionHandler {
 		return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
 	}
 
+	/**
+	 * Handle request values that parse but are not acceptable (e.g. an unknown export format). Other
+	 * IllegalArgumentExceptions are bugs and fall through to the catch-all handler.
+	 */
+	@ExceptionHandler(InvalidRequestException.class)
+	public ResponseEntity<ErrorResponse> handleInvalidRequest(InvalidRequestException ex,
+			HttpServletRequest request) {
+		log.warn("Invalid request: {}", ex.getMessage());
+
+		final ErrorResponse error = ErrorResponse.builder().success(false).message(ex.getMessage())
+				.error("INVALID_ARGUMENT").status(HttpStatus.BAD_REQUEST.value()).path(request.getRequestURI())
+				.timestamp(LocalDateTime.now()).build();
+
+		return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+	}
+
 	/**
 	 * Catch-all handler for unexpected exceptions
 	 */
@@ -0,0 +1,12 @@
+package com.deckbuilder.mtgdeckbuilder.infrastructure.exception;
+
+/**
+ * Exception thrown when a request value parses but is not acceptable (e.g. an unknown export format or an
+ * out-of-range simulation parameter). Its message is returned to the client.
+ */
+public class InvalidRequestException extends DomainException {
+
+	public InvalidRequestException(String message) {
+		super(message);
+	}
+}
@@ -0,0 +1,11 @@
+package com.deckbuilder.mtgdeckbuilder.infrastructure.exception;
+
+/**
+ * Exception thrown when no deck is registered for a requested tournament
+ */
+public class TournamentNotFoundException extends DomainException {
+
+    public TournamentNotFoundException(String name) {
+        super("No decks found for tournament: " + name);
+    }
+}
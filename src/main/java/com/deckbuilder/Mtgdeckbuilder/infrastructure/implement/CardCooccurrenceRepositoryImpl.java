@@ -0,0 +1,82 @@
+package com.deckbuilder.mtgdeckbuilder.infrastructure.implement;
+
+import com.deckbuilder.mtgdeckbuilder.infrastructure.CardCooccurrenceRepositoryCustom;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.model.CardCooccurrenceEntity;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Custom implementation of CardCooccurrenceRepository using JdbcTemplate batch statements
+ */
+@Repository
+@RequiredArgsConstructor
+@Slf4j
+public class CardCooccurrenceRepositoryImpl implements CardCooccurrenceRepositoryCustom {
+
+    // Payloads of popular cards are large, so keep batches short
+    private static final int BATCH_SIZE = 200;
+    private static final String UPDATE_SQL =
+        "UPDATE card_cooccurrence SET decks = ?, neighbors = ?, payload = ?, updated = ? WHERE card_id = ?";
+    private static final String INSERT_SQL =
+        "INSERT INTO card_cooccurrence (card_id, decks, neighbors, payload, updated) VALUES (?, ?, ?, ?, ?)";
+    private static final String DELETE_SQL = "DELETE FROM card_cooccurrence WHERE card_id = ?";
+    private static final String DELETE_ALL_SQL = "DELETE FROM card_cooccurrence";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void writeRows(List<CardCooccurrenceEntity> rows, Collection<Long> emptiedCardIds, boolean rewriteAll) {
+        if (rewriteAll) {
+            jdbcTemplate.update(DELETE_ALL_SQL);
+        } else if (!emptiedCardIds.isEmpty()) {
+            List<Object[]> deletes = new ArrayList<>(emptiedCardIds.size());
+            for (Long cardId : emptiedCardIds) {
+                deletes.add(new Object[]{cardId});
+            }
+            jdbcTemplate.batchUpdate(DELETE_SQL, deletes);
+        }
+
+        // After a full delete every row is new; otherwise rows not updated are inserted
+        List<CardCooccurrenceEntity> inserts = rewriteAll ? rows : new ArrayList<>();
+        if (!rewriteAll) {
+            for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+                List<CardCooccurrenceEntity> batch = rows.subList(from, Math.min(rows.size(), from + BATCH_SIZE));
+                List<Object[]> updates = new ArrayList<>(batch.size());
+                for (CardCooccurrenceEntity row : batch) {
+                    updates.add(new Object[]{row.getDecks(), row.getNeighbors(), row.getPayload(),
+                        Timestamp.valueOf(row.getUpdated()), row.getCardId()});
+                }
+                int[] updated = jdbcTemplate.batchUpdate(UPDATE_SQL, updates);
+                for (int i = 0; i < updated.length; i++) {
+                    if (updated[i] == 0) {
+                        inserts.add(batch.get(i));
+                    }
+                }
+            }
+        }
+        for (int from = 0; from < inserts.size(); from += BATCH_SIZE) {
+            List<Object[]> batch = new ArrayList<>();
+            for (CardCooccurrenceEntity row : inserts.subList(from, Math.min(inserts.size(), from + BATCH_SIZE))) {
+                batch.add(new Object[]{row.getCardId(), row.getDecks(), row.getNeighbors(), row.getPayload(),
+                    Timestamp.valueOf(row.getUpdated())});
+            }
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+        }
+
+        if (rewriteAll) {
+            log.debug("Rewrote card co-occurrence with {} rows", rows.size());
+        } else {
+            log.debug("Wrote {} card co-occurrence rows, deleted {}", rows.size(), emptiedCardIds.size());
+        }
+    }
+}
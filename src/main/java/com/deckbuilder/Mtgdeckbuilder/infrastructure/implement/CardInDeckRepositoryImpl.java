@@ -0,0 +1,72 @@
+package com.deckbuilder.mtgdeckbuilder.infrastructure.implement;
+
+import com.deckbuilder.mtgdeckbuilder.infrastructure.CardInDeckRepositoryCustom;
+import com.deckbuilder.mtgdeckbuilder.model.Deck.CardInDeck;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Custom implementation of CardInDeckRepository using JdbcTemplate batch statements
+ */
+@Repository
+@RequiredArgsConstructor
+@Slf4j
+public class CardInDeckRepositoryImpl implements CardInDeckRepositoryCustom {
+
+    private static final String INSERT_SQL =
+        "INSERT INTO card_deck (card_id, deck_id, quantity, section) VALUES (?, ?, ?, ?)";
+    private static final String UPDATE_SQL =
+        "UPDATE card_deck SET quantity = ? WHERE id = ?";
+    private static final String DELETE_SQL =
+        "DELETE FROM card_deck WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public void applyBatch(Long deckId, List<CardInDeck> entries) {
+        List<Object[]> inserts = new ArrayList<>();
+        List<Object[]> updates = new ArrayList<>();
+        List<Object[]> deletes = new ArrayList<>();
+
+        for (CardInDeck entry : entries) {
+            if (entry.getId() == null) {
+                if (entry.getQuantity() > 0) {
+                    inserts.add(new Object[]{entry.getCardId(), deckId, entry.getQuantity(), entry.getSection()});
+                }
+            } else if (entry.getQuantity() > 0) {
+                updates.add(new Object[]{entry.getQuantity(), entry.getId()});
+            } else {
+                deletes.add(new Object[]{entry.getId()});
+            }
+        }
+
+        // Push any pending JPA changes before writing behind Hibernate's back
+        entityManager.flush();
+
+        if (!deletes.isEmpty()) {
+            jdbcTemplate.batchUpdate(DELETE_SQL, deletes);
+        }
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_SQL, updates);
+        }
+        if (!inserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, inserts);
+        }
+
+        // Managed CardInDeckEntity instances are now stale
+        entityManager.clear();
+
+        log.debug("Applied card batch to deck {}: {} inserted, {} updated, {} deleted",
+                 deckId, inserts.size(), updates.size(), deletes.size());
+    }
+}
@@ -0,0 +1,102 @@
+package com.deckbuilder.mtgdeckbuilder.infrastructure.implement;
+
+import com.deckbuilder.mtgdeckbuilder.infrastructure.CardLegalityRepositoryCustom;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Custom implementation of CardLegalityRepository using JdbcTemplate batch statements
+ */
+@Repository
+@RequiredArgsConstructor
+@Slf4j
+public class CardLegalityRepositoryImpl implements CardLegalityRepositoryCustom {
+
+    private static final int BATCH_SIZE = 1000;
+    // SET expressions read the row as it was, so status_before_list sees the status being replaced
+    private static final String UPDATE_LISTED_SQL =
+        "UPDATE card_legality SET legality_status = ?, " +
+        "status_before_list = CASE WHEN set_by_list THEN status_before_list ELSE legality_status END, " +
+        "set_by_list = TRUE WHERE card_id = ? AND format_id = ?";
+    private static final String INSERT_LISTED_SQL =
+        "INSERT INTO card_legality (card_id, format_id, legality_status, set_by_list) VALUES (?, ?, ?, TRUE)";
+    // Rows inserted by a list had no status before it
+    private static final String DELETE_INSERTED_SQL =
+        "DELETE FROM card_legality WHERE card_id = ? AND format_id = ? " +
+        "AND set_by_list AND status_before_list IS NULL";
+    private static final String RESTORE_SQL =
+        "UPDATE card_legality SET legality_status = CASE WHEN set_by_list THEN status_before_list ELSE 'legal' END, " +
+        "status_before_list = NULL, set_by_list = FALSE " +
+        "WHERE card_id = ? AND format_id = ? AND (set_by_list OR legality_status IN ('banned', 'restricted'))";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public int upsertListStatuses(Long formatId, List<StatusChange> changes) {
+        if (changes.isEmpty()) {
+            return 0;
+        }
+
+        List<Object[]> updates = new ArrayList<>(changes.size());
+        for (StatusChange change : changes) {
+            updates.add(new Object[]{change.legalityStatus(), change.cardId(), formatId});
+        }
+        int[] updated = batchCounts(UPDATE_LISTED_SQL, updates);
+
+        // Cards without a row for the format yet get one the list owns
+        List<Object[]> inserts = new ArrayList<>();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                StatusChange change = changes.get(i);
+                inserts.add(new Object[]{change.cardId(), formatId, change.legalityStatus()});
+            }
+        }
+        if (!inserts.isEmpty()) {
+            batchUpdate(INSERT_LISTED_SQL, inserts);
+        }
+
+        log.debug("Upserted {} legality rows for format {} ({} new rows)", changes.size(), formatId, inserts.size());
+        return changes.size();
+    }
+
+    @Override
+    public int restoreUnlistedStatuses(Long formatId, Collection<Long> cardIds) {
+        if (cardIds.isEmpty()) {
+            return 0;
+        }
+
+        List<Object[]> rows = new ArrayList<>(cardIds.size());
+        for (Long cardId : cardIds) {
+            rows.add(new Object[]{cardId, formatId});
+        }
+        int written = batchUpdate(DELETE_INSERTED_SQL, rows) + batchUpdate(RESTORE_SQL, rows);
+
+        log.debug("Restored {} legality rows for format {}", written, formatId);
+        return written;
+    }
+
+    private int batchUpdate(String sql, List<Object[]> rows) {
+        int written = 0;
+        for (int count : batchCounts(sql, rows)) {
+            // The driver may report SUCCESS_NO_INFO (-2) for batched statements
+            written += count < 0 ? 1 : count;
+        }
+        return written;
+    }
+
+    private int[] batchCounts(String sql, List<Object[]> rows) {
+        int[] counts = new int[rows.size()];
+        for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+            List<Object[]> batch = rows.subList(from, Math.min(rows.size(), from + BATCH_SIZE));
+            int[] batchCounts = jdbcTemplate.batchUpdate(sql, batch);
+            System.arraycopy(batchCounts, 0, counts, from, batchCounts.length);
+        }
+        return counts;
+    }
+}
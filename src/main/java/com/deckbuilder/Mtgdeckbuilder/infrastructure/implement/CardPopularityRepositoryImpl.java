@@ -0,0 +1,85 @@
+package com.deckbuilder.mtgdeckbuilder.infrastructure.implement;
+
+import com.deckbuilder.mtgdeckbuilder.infrastructure.CardPopularityRepositoryCustom;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Custom implementation of CardPopularityRepository using JdbcTemplate batch statements
+ */
+@Repository
+@RequiredArgsConstructor
+@Slf4j
+public class CardPopularityRepositoryImpl implements CardPopularityRepositoryCustom {
+
+    private static final String UPDATE_SQL =
+        "UPDATE card_popularity SET decks = decks + ? WHERE card_id = ? AND format_id = ?";
+    private static final String INSERT_SQL =
+        "INSERT INTO card_popularity (card_id, format_id, decks) VALUES (?, ?, ?)";
+    private static final String SET_SQL =
+        "UPDATE card_popularity SET decks = ? WHERE card_id = ? AND format_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void addDecks(List<Increment> increments) {
+        if (increments.isEmpty()) {
+            return;
+        }
+
+        List<Object[]> updates = new ArrayList<>(increments.size());
+        for (Increment increment : increments) {
+            updates.add(new Object[]{increment.decks(), increment.cardId(), increment.formatId()});
+        }
+        int[] updated = jdbcTemplate.batchUpdate(UPDATE_SQL, updates);
+
+        // Pairs seen for the first time have no row to add to yet
+        List<Object[]> inserts = new ArrayList<>();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                Increment increment = increments.get(i);
+                inserts.add(new Object[]{increment.cardId(), increment.formatId(), increment.decks()});
+            }
+        }
+        if (!inserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, inserts);
+        }
+
+        log.debug("Applied {} card popularity changes ({} new rows)", increments.size(), inserts.size());
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void setDecks(List<DeckCount> counts) {
+        if (counts.isEmpty()) {
+            return;
+        }
+
+        List<Object[]> updates = new ArrayList<>(counts.size());
+        for (DeckCount count : counts) {
+            updates.add(new Object[]{count.decks(), count.cardId(), count.formatId()});
+        }
+        int[] updated = jdbcTemplate.batchUpdate(SET_SQL, updates);
+
+        List<Object[]> inserts = new ArrayList<>();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                DeckCount count = counts.get(i);
+                inserts.add(new Object[]{count.cardId(), count.formatId(), count.decks()});
+            }
+        }
+        if (!inserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, inserts);
+        }
+
+        log.debug("Overwrote {} card popularity counts ({} new rows)", counts.size(), inserts.size());
+    }
+}
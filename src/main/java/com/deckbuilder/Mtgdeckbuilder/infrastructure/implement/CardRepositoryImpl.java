@@ -2,19 +2,25 @@ package com.deckbuilder.mtgdeckbuilder.infrastructure.implement;
 
 import com.deckbuilder.mtgdeckbuilder.infrastructure.CardRepositoryCustom;
 import com.deckbuilder.mtgdeckbuilder.infrastructure.model.CardEntity;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.model.CardPopularityEntity;
 import com.deckbuilder.mtgdeckbuilder.model.CardSearchCriteria;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import jakarta.persistence.TypedQuery;
 import jakarta.persistence.criteria.*;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Repository;
 
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Custom implementation of CardRepository using EntityManager for dynamic queries
@@ -23,6 +29,18 @@ import java.util.List;
 @Slf4j
 public class CardRepositoryImpl implements CardRepositoryCustom {
 
+    private static final String FORMAT_CARDS_JPQL =
+        "SELECT c FROM CardEntity c WHERE EXISTS (SELECT 1 FROM CardLegalityEntity cl " +
+        "WHERE cl.cardId = c.id AND cl.formatId = :formatId AND cl.legalityStatus IN ('legal', 'restricted')) " +
+        "ORDER BY c.id";
+
+    private static final Map<String, String> DEVOTION_FIELDS = Map.of(
+        "W", "white",
+        "U", "blue",
+        "B", "black",
+        "R", "red",
+        "G", "green");
+
     @PersistenceContext
     private EntityManager entityManager;
 
@@ -61,6 +79,39 @@ public class CardRepositoryImpl implements CardRepositoryCustom {
         return new PageImpl<>(results, pageable, total);
     }
 
+    @Override
+    public void streamByFormat(Long formatId, int chunkSize, Consumer<List<CardEntity>> chunkConsumer) {
+        TypedQuery<CardEntity> query = entityManager.createQuery(FORMAT_CARDS_JPQL, CardEntity.class)
+            .setParameter("formatId", formatId)
+            .setHint(HibernateHints.HINT_FETCH_SIZE, chunkSize)
+            .setHint(HibernateHints.HINT_READ_ONLY, true);
+
+        int total = 0;
+        List<CardEntity> chunk = new ArrayList<>(chunkSize);
+        try (Stream<CardEntity> cards = query.getResultStream()) {
+            Iterator<CardEntity> iterator = cards.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == chunkSize) {
+                    total += flushChunk(chunk, chunkConsumer);
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            total += flushChunk(chunk, chunkConsumer);
+        }
+        log.debug("Streamed {} cards of format {}", total, formatId);
+    }
+
+    private int flushChunk(List<CardEntity> chunk, Consumer<List<CardEntity>> chunkConsumer) {
+        chunkConsumer.accept(List.copyOf(chunk));
+        int size = chunk.size();
+        chunk.clear();
+        // Detach the chunk and whatever mapping it loaded; the cursor stays open
+        entityManager.clear();
+        return size;
+    }
+
     @Override
     public List<CardEntity> findRandomCards(int count, String type, String rarity, Long formatId) {
         log.debug("Finding {} random cards with type={}, rarity={}, formatId={}", count, type, rarity, formatId);
@@ -132,6 +183,12 @@ public class CardRepositoryImpl implements CardRepositoryCustom {
                 "%" + criteria.getColors() + "%"));
         }
 
+        // Commander color identity filter: the card's mask must be a subset of the commander's. Listing the (at most
+        // 32) subsets keeps it an IN on the indexed color_identity_mask column instead of a bitwise AND per row
+        if (criteria.getCommanderIdentityMask() != null) {
+            predicates.add(cardRoot.get("colorIdentityMask").in(identitySubsets(criteria.getCommanderIdentityMask())));
+        }
+
         // CMC range filters
         if (criteria.getCmcMin() != null) {
             predicates.add(cb.greaterThanOrEqualTo(cardRoot.get("cmc"), criteria.getCmcMin()));
@@ -140,6 +197,22 @@ public class CardRepositoryImpl implements CardRepositoryCustom {
             predicates.add(cb.lessThanOrEqualTo(cardRoot.get("cmc"), criteria.getCmcMax()));
         }
 
+        // Devotion filter, on the parsed pips of one color (hybrid symbols count for each of their colors)
+        if (criteria.getDevotionColor() != null && !criteria.getDevotionColor().trim().isEmpty()) {
+            String pipsField = DEVOTION_FIELDS.get(criteria.getDevotionColor().trim().toUpperCase());
+            if (pipsField != null) {
+                int devotionMin = criteria.getDevotionMin() != null ? criteria.getDevotionMin() : 1;
+                predicates.add(cb.greaterThanOrEqualTo(cardRoot.get("manaSymbols").get(pipsField), devotionMin));
+            } else {
+                log.debug("Invalid devotion color: {}", criteria.getDevotionColor());
+            }
+        }
+
+        // Colored pip count filter (each colored symbol counts once)
+        if (criteria.getColoredPips() != null) {
+            predicates.add(cb.equal(cardRoot.get("manaSymbols").get("colored"), criteria.getColoredPips()));
+        }
+
         // Power range filters (with null checks)
         if (criteria.getPowerMin() != null) {
             try {
@@ -223,6 +296,20 @@ public class CardRepositoryImpl implements CardRepositoryCustom {
         return predicates;
     }
 
+    /**
+     * Every mask whose colors are a subset of the given mask, colorless (0) included
+     */
+    static List<Integer> identitySubsets(int mask) {
+        List<Integer> subsets = new ArrayList<>();
+        // Walks the submasks of mask from mask itself down to 0
+        for (int subset = mask; ; subset = (subset - 1) & mask) {
+            subsets.add(subset);
+            if (subset == 0) {
+                return subsets;
+            }
+        }
+    }
+
     private void applySorting(CriteriaBuilder cb, CriteriaQuery<CardEntity> query, Root<CardEntity> cardRoot, CardSearchCriteria criteria) {
         String sortBy = criteria.getSortBy() != null ? criteria.getSortBy() : "name";
         String sortOrder = criteria.getSortOrder() != null ? criteria.getSortOrder() : "asc";
@@ -247,6 +334,12 @@ public class CardRepositoryImpl implements CardRepositoryCustom {
             case "set":
                 order = "desc".equals(sortOrder) ? cb.desc(cardRoot.get("cardSet")) : cb.asc(cardRoot.get("cardSet"));
                 break;
+            case "popularity":
+                // Many cards are played equally often (most of them never), so the name keeps pages stable
+                Expression<Long> popularity = popularityOf(cb, query, cardRoot, criteria.getFormatId());
+                order = "desc".equals(sortOrder) ? cb.desc(popularity) : cb.asc(popularity);
+                query.orderBy(order, cb.asc(cardRoot.get("name")));
+                return;
             case "name":
             default:
                 order = "desc".equals(sortOrder) ? cb.desc(cardRoot.get("name")) : cb.asc(cardRoot.get("name"));
@@ -256,6 +349,20 @@ public class CardRepositoryImpl implements CardRepositoryCustom {
         query.orderBy(order);
     }
 
+    /**
+     * Number of main decks playing the card, in the given format or across all formats, from the aggregated
+     * card_popularity counts
+     */
+    private Expression<Long> popularityOf(CriteriaBuilder cb, CriteriaQuery<?> query, Root<CardEntity> cardRoot,
+                                          Long formatId) {
+        Subquery<Long> decks = query.subquery(Long.class);
+        Root<CardPopularityEntity> popularityRoot = decks.from(CardPopularityEntity.class);
+        Predicate sameCard = cb.equal(popularityRoot.get("cardId"), cardRoot.get("id"));
+        decks.select(cb.sumAsLong(popularityRoot.<Integer>get("decks")))
+            .where(formatId != null ? cb.and(sameCard, cb.equal(popularityRoot.get("formatId"), formatId)) : sameCard);
+        return cb.coalesce(decks, 0L);
+    }
+
     private long getTotalCount(CardSearchCriteria criteria) {
         CriteriaBuilder cb = entityManager.getCriteriaBuilder();
         CriteriaQuery<Long> countQuery = cb.createQuery(Long.class);
@@ -0,0 +1,73 @@
+package com.deckbuilder.mtgdeckbuilder.infrastructure.implement;
+
+import com.deckbuilder.mtgdeckbuilder.infrastructure.MetagameRepositoryCustom;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Custom implementation of MetagameRepository using JdbcTemplate batch statements
+ */
+@Repository
+@RequiredArgsConstructor
+@Slf4j
+public class MetagameRepositoryImpl implements MetagameRepositoryCustom {
+
+    private static final String DELETE_CARDS_SQL = "DELETE FROM metagame_card WHERE tournament = ?";
+    private static final String DELETE_ARCHETYPES_SQL = "DELETE FROM metagame_archetype WHERE tournament = ?";
+    private static final String DELETE_TOURNAMENT_SQL = "DELETE FROM metagame_tournament WHERE tournament = ?";
+    private static final String INSERT_TOURNAMENT_SQL =
+        "INSERT INTO metagame_tournament (tournament, decks, refreshed) VALUES (?, ?, ?)";
+    private static final String INSERT_ARCHETYPE_SQL =
+        "INSERT INTO metagame_archetype (tournament, archetype, decks) VALUES (?, ?, ?)";
+    private static final String INSERT_CARD_SQL =
+        "INSERT INTO metagame_card (tournament, card_id, decks, copies) VALUES (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public void replaceTournament(String tournament, int decks, List<ArchetypeRow> archetypes, List<CardRow> cards) {
+        // Push any pending JPA changes before writing behind Hibernate's back
+        entityManager.flush();
+
+        jdbcTemplate.update(DELETE_CARDS_SQL, tournament);
+        jdbcTemplate.update(DELETE_ARCHETYPES_SQL, tournament);
+        jdbcTemplate.update(DELETE_TOURNAMENT_SQL, tournament);
+        if (decks > 0) {
+            jdbcTemplate.update(INSERT_TOURNAMENT_SQL, tournament, decks, Timestamp.valueOf(LocalDateTime.now()));
+
+            List<Object[]> archetypeRows = new ArrayList<>(archetypes.size());
+            for (ArchetypeRow archetype : archetypes) {
+                archetypeRows.add(new Object[]{tournament, archetype.archetype(), archetype.decks()});
+            }
+            if (!archetypeRows.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_ARCHETYPE_SQL, archetypeRows);
+            }
+
+            List<Object[]> cardRows = new ArrayList<>(cards.size());
+            for (CardRow card : cards) {
+                cardRows.add(new Object[]{tournament, card.cardId(), card.decks(), card.copies()});
+            }
+            if (!cardRows.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_CARD_SQL, cardRows);
+            }
+        }
+
+        // Managed rollup entities are now stale
+        entityManager.clear();
+
+        log.debug("Rewrote metagame of tournament '{}': {} decks, {} archetypes, {} cards",
+                 tournament, decks, archetypes.size(), cards.size());
+    }
+}
@@ -1,14 +1,22 @@
 package com.deckbuilder.mtgdeckbuilder.infrastructure.mapper;
 
+import com.deckbuilder.mtgdeckbuilder.infrastructure.CardRepository.CardSummaryView;
 import com.deckbuilder.mtgdeckbuilder.infrastructure.model.CardEntity;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.model.CardManaSymbols;
 import com.deckbuilder.mtgdeckbuilder.model.Card;
+import com.deckbuilder.mtgdeckbuilder.model.CardSummary;
+import com.deckbuilder.mtgdeckbuilder.model.ManaSymbols;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 
 import java.util.List;
 
 @Mapper(componentModel = "spring")
 public interface CardEntityMapper {
 
+	// Derived from the mana cost and color identity when the card is saved
+	@Mapping(target = "manaSymbols", ignore = true)
+	@Mapping(target = "colorIdentityMask", ignore = true)
 	CardEntity toEntity(Card model);
 
 	Card toModel(CardEntity entity);
@@ -16,4 +24,8 @@ public interface CardEntityMapper {
 	List<CardEntity> toEntityList(List<Card> models);
 
 	List<Card> toModelList(List<CardEntity> entities);
+
+	CardSummary toSummary(CardSummaryView view);
+
+	CardManaSymbols toEmbeddable(ManaSymbols symbols);
 }
@@ -1,7 +1,9 @@
 package com.deckbuilder.mtgdeckbuilder.infrastructure.mapper;
 
+import com.deckbuilder.mtgdeckbuilder.infrastructure.DeckRepository.DeckSummaryView;
 import com.deckbuilder.mtgdeckbuilder.infrastructure.model.DeckEntity;
 import com.deckbuilder.mtgdeckbuilder.model.Deck;
+import com.deckbuilder.mtgdeckbuilder.model.DeckSummary;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
@@ -11,6 +13,10 @@ import java.util.List;
 public interface DeckEntityMapper {
 
 	@Mapping(target = "cards", ignore = true)
+	@Mapping(target = "mainCount", ignore = true)
+	@Mapping(target = "sideboardCount", ignore = true)
+	@Mapping(target = "maybeboardCount", ignore = true)
+	@Mapping(target = "revision", ignore = true)
 	DeckEntity toEntity(Deck model);
 
 	Deck toModel(DeckEntity entity);
@@ -18,4 +24,6 @@ public interface DeckEntityMapper {
 	List<DeckEntity> toEntityList(List<Deck> models);
 
 	List<Deck> toModelList(List<DeckEntity> entities);
+
+	DeckSummary toSummary(DeckSummaryView view);
 }
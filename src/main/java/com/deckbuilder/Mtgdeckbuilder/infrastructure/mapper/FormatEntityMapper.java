@@ -3,6 +3,7 @@ package com.deckbuilder.mtgdeckbuilder.infrastructure.mapper;
 import com.deckbuilder.mtgdeckbuilder.infrastructure.model.FormatEntity;
 import com.deckbuilder.mtgdeckbuilder.model.Format;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 
 import java.util.List;
 
@@ -11,6 +12,7 @@ public interface FormatEntityMapper {
 
 	FormatEntity toEntity(Format model);
 
+	@Mapping(target = "banListChange", ignore = true)
 	Format toModel(FormatEntity entity);
 
 	List<FormatEntity> toEntityList(List<Format> models);
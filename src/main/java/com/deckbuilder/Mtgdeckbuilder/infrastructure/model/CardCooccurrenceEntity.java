@@ -0,0 +1,37 @@
+package com.deckbuilder.mtgdeckbuilder.infrastructure.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One row of the card co-occurrence matrix: the cards sharing a main deck with a card and in how many decks.
+ * The payload holds the neighbors varint-encoded in card id order; see CooccurrenceCodec for the encoding.
+ */
+@Entity
+@Table(name = "card_cooccurrence")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CardCooccurrenceEntity {
+	@Id
+	@Column(name = "card_id")
+	private Long cardId;
+
+	@Column(nullable = false)
+	private int decks;
+
+	@Column(nullable = false)
+	private int neighbors;
+
+	@Column(nullable = false, length = 16_000_000)
+	private byte[] payload;
+
+	@Column(nullable = false)
+	private LocalDateTime updated;
+}
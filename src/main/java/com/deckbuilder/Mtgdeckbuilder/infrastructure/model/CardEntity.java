@@ -5,6 +5,8 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.util.List;
 
@@ -14,6 +16,8 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 public class CardEntity {
+	public static final int BATCH_FETCH_SIZE = 500;
+
 	@Id
 	@GeneratedValue(strategy = GenerationType.IDENTITY)
 	private Long id;
@@ -24,12 +28,20 @@ public class CardEntity {
 	@Column(name = "mana_cost")  // Now nullable
 	private String manaCost;
 
+	@Embedded
+	private CardManaSymbols manaSymbols;
+
 	@Column(nullable = false)
 	private Integer cmc;
 
 	@Column(name = "color_identity")  // Now nullable
 	private String colorIdentity;
 
+	// Bitmask of colorIdentityColors (see CardColor.bit), derived when the card is saved
+	@ColumnDefault("0")
+	@Column(name = "color_identity_mask", nullable = false)
+	private int colorIdentityMask;
+
 	@Column(name = "type_line", nullable = false)
 	private String typeLine;
 
@@ -91,34 +103,41 @@ public class CardEntity {
 	@Column(name = "variation")
 	private Boolean variation = false;
 
+	// Collections are fetched for up to BATCH_FETCH_SIZE loaded cards at once, e.g. per streamed chunk
 	@ElementCollection
+	@BatchSize(size = BATCH_FETCH_SIZE)
 	@CollectionTable(name = "card_colors", joinColumns = @JoinColumn(name = "card_id"))
 	@Enumerated(EnumType.STRING)
 	@Column(name = "color", length = 1)
 	private List<CardColor> colors;
 
 	@ElementCollection
+	@BatchSize(size = BATCH_FETCH_SIZE)
 	@CollectionTable(name = "card_color_identity", joinColumns = @JoinColumn(name = "card_id"))
 	@Enumerated(EnumType.STRING)
 	@Column(name = "color", length = 1)
 	private List<CardColor> colorIdentityColors;
 
 	@ElementCollection
+	@BatchSize(size = BATCH_FETCH_SIZE)
 	@CollectionTable(name = "card_types", joinColumns = @JoinColumn(name = "card_id"))
 	@Column(name = "type")
 	private List<String> types;
 
 	@ElementCollection
+	@BatchSize(size = BATCH_FETCH_SIZE)
 	@CollectionTable(name = "card_supertypes", joinColumns = @JoinColumn(name = "card_id"))
 	@Column(name = "supertype")
 	private List<String> supertypes;
 
 	@ElementCollection
+	@BatchSize(size = BATCH_FETCH_SIZE)
 	@CollectionTable(name = "card_keywords", joinColumns = @JoinColumn(name = "card_id"))
 	@Column(name = "keyword")
 	private List<String> keywords;
 
 	@ElementCollection
+	@BatchSize(size = BATCH_FETCH_SIZE)
 	@CollectionTable(name = "card_subtypes", joinColumns = @JoinColumn(name = "card_id"))
 	@Column(name = "subtype")
 	private List<String> subtypes;
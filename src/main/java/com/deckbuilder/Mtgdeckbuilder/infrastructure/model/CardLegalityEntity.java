@@ -24,6 +24,13 @@ public class CardLegalityEntity {
     @Column(name = "legality_status", nullable = false)
     private String legalityStatus;
 
+    // Whether the status was set by the format's ban or restricted list, and the status it replaced
+    @Column(name = "set_by_list", nullable = false)
+    private boolean setByList;
+
+    @Column(name = "status_before_list")
+    private String statusBeforeList;
+
     @ManyToOne
     @JoinColumn(name = "card_id", insertable = false, updatable = false)
     private CardEntity card;
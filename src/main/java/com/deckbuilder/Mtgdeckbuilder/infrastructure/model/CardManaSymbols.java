@@ -0,0 +1,53 @@
+package com.deckbuilder.mtgdeckbuilder.infrastructure.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Parsed mana cost stored with the card, written whenever the card is saved. All columns are null until a card
+ * loaded outside the application has been backfilled.
+ */
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CardManaSymbols {
+	@Column(name = "generic_mana")
+	private Integer generic;
+
+	@Column(name = "pips_w")
+	private Integer white;
+
+	@Column(name = "pips_u")
+	private Integer blue;
+
+	@Column(name = "pips_b")
+	private Integer black;
+
+	@Column(name = "pips_r")
+	private Integer red;
+
+	@Column(name = "pips_g")
+	private Integer green;
+
+	@Column(name = "pips_c")
+	private Integer colorless;
+
+	@Column(name = "colored_pips")
+	private Integer colored;
+
+	@Column(name = "hybrid_pips")
+	private Integer hybrid;
+
+	@Column(name = "phyrexian_pips")
+	private Integer phyrexian;
+
+	@Column(name = "x_pips")
+	private Integer x;
+
+	@Column(name = "snow_pips")
+	private Integer snow;
+}
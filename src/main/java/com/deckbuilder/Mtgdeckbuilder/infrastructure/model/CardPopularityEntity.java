@@ -0,0 +1,30 @@
+package com.deckbuilder.mtgdeckbuilder.infrastructure.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Number of main decks of a format that play a card
+ */
+@Entity
+@Table(name = "card_popularity")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@IdClass(CardPopularityId.class)
+public class CardPopularityEntity {
+	@Id
+	@Column(name = "card_id")
+	private Long cardId;
+
+	@Id
+	@Column(name = "format_id")
+	private Long formatId;
+
+	@Column(nullable = false)
+	private int decks;
+}
@@ -3,6 +3,7 @@ package com.deckbuilder.mtgdeckbuilder.infrastructure.model;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -48,9 +49,40 @@ public class DeckEntity {
 	@Column(name = "share_url")
 	private String shareUrl;
 
+	// Only enforced in singleton formats: every card's color identity must fit the commander's
+	@Column(name = "commander_card_id")
+	private Long commanderCardId;
+
+	// Card counts per section, maintained by DeckRepository.adjustSectionCounts alongside card_deck writes
+	@ColumnDefault("0")
+	@Column(name = "main_count", nullable = false, insertable = false, updatable = false)
+	private int mainCount;
+
+	@ColumnDefault("0")
+	@Column(name = "sideboard_count", nullable = false, insertable = false, updatable = false)
+	private int sideboardCount;
+
+	@ColumnDefault("0")
+	@Column(name = "maybeboard_count", nullable = false, insertable = false, updatable = false)
+	private int maybeboardCount;
+
+	// Number of card mutations so far, bumped by DeckRepository.adjustSectionCounts; see DeckRevisionEntity
+	@ColumnDefault("0")
+	@Column(name = "revision", nullable = false, insertable = false, updatable = false)
+	private long revision;
+
 	@OneToMany(mappedBy = "deck", cascade = CascadeType.ALL, orphanRemoval = true)
 	private List<CardInDeckEntity> cards = new ArrayList<>();
 
+	public int getSectionCount(String section) {
+		return switch (section) {
+			case "main" -> this.mainCount;
+			case "sideboard" -> this.sideboardCount;
+			case "maybeboard" -> this.maybeboardCount;
+			default -> 0;
+		};
+	}
+
 	@PrePersist
 	protected void onCreate() {
         this.created = LocalDateTime.now();
@@ -0,0 +1,40 @@
+package com.deckbuilder.mtgdeckbuilder.infrastructure.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One entry of a deck's append-only change log. The payload holds either the cards changed by one mutation or,
+ * for snapshots, the full contents after it; see DeckChangeCodec for the encoding.
+ */
+@Entity
+@Table(name = "deck_revisions", uniqueConstraints = @UniqueConstraint(columnNames = {"deck_id", "revision"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DeckRevisionEntity {
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@Column(name = "deck_id", nullable = false)
+	private Long deckId;
+
+	@Column(nullable = false)
+	private long revision;
+
+	@Column(nullable = false)
+	private LocalDateTime created;
+
+	@Column(nullable = false)
+	private boolean snapshot;
+
+	@Column(nullable = false, length = 32000)
+	private byte[] payload;
+}
@@ -0,0 +1,28 @@
+package com.deckbuilder.mtgdeckbuilder.infrastructure.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Number of a tournament's decks classified as one archetype
+ */
+@Entity
+@Table(name = "metagame_archetype")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@IdClass(MetagameArchetypeId.class)
+public class MetagameArchetypeEntity {
+	@Id
+	private String tournament;
+
+	@Id
+	private String archetype;
+
+	@Column(nullable = false)
+	private int decks;
+}
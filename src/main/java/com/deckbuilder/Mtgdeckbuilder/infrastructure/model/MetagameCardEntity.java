@@ -0,0 +1,32 @@
+package com.deckbuilder.mtgdeckbuilder.infrastructure.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Number of a tournament's main decks playing a card, and their copies of it in total
+ */
+@Entity
+@Table(name = "metagame_card")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@IdClass(MetagameCardId.class)
+public class MetagameCardEntity {
+	@Id
+	private String tournament;
+
+	@Id
+	@Column(name = "card_id")
+	private Long cardId;
+
+	@Column(nullable = false)
+	private int decks;
+
+	@Column(nullable = false)
+	private int copies;
+}
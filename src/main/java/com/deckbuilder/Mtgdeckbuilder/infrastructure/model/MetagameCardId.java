@@ -0,0 +1,23 @@
+package com.deckbuilder.mtgdeckbuilder.infrastructure.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * Composite primary key for MetagameCardEntity
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MetagameCardId implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private String tournament;
+    private Long cardId;
+}
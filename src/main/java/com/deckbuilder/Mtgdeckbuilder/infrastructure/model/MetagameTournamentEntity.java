@@ -0,0 +1,29 @@
+package com.deckbuilder.mtgdeckbuilder.infrastructure.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Rollup of the decks registered for a tournament; its archetype and card rollups are refreshed together with it
+ */
+@Entity
+@Table(name = "metagame_tournament")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MetagameTournamentEntity {
+	@Id
+	private String tournament;
+
+	@Column(nullable = false)
+	private int decks;
+
+	@Column(nullable = false)
+	private LocalDateTime refreshed;
+}
@@ -0,0 +1,28 @@
+package com.deckbuilder.mtgdeckbuilder.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Effect of editing a format's ban and restricted lists on card legality.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BanListChange {
+	/**
+	 * Card names whose status changed
+	 */
+	private int cardsChanged;
+	/**
+	 * Legality rows written, one per printing of a changed name
+	 */
+	private int printingsUpdated;
+	/**
+	 * Decks of the format now playing a newly banned card or more than one copy of a newly restricted card
+	 */
+	private int illegalDecks;
+}
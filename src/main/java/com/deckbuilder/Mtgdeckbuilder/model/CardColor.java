@@ -1,5 +1,7 @@
 package com.deckbuilder.mtgdeckbuilder.model;
 
+import java.util.Collection;
+
 /**
  * Represents the five colors in Magic: The Gathering. Uses single-letter codes
  * as used in mana costs and card notation.
@@ -24,6 +26,36 @@ public enum CardColor {
 		return this.name();
 	}
 
+	/**
+	 * Bit of this color in a color identity mask (W = 1, U = 2, B = 4, R = 8, G = 16)
+	 */
+	public int bit() {
+		return 1 << this.ordinal();
+	}
+
+	/**
+	 * Color identity mask of the given colors, 0 for colorless
+	 */
+	public static int maskOf(Collection<CardColor> colors) {
+		int mask = 0;
+		if (colors != null) {
+			for (final CardColor color : colors) {
+				if (color != null) {
+					mask |= color.bit();
+				}
+			}
+		}
+		return mask;
+	}
+
+	/**
+	 * Whether a card with the given identity mask may be played under a commander with the given mask, i.e. the
+	 * card's colors are a subset of the commander's
+	 */
+	public static boolean fitsIdentity(int cardMask, int commanderMask) {
+		return (cardMask & ~commanderMask) == 0;
+	}
+
 	/**
 	 * Parse a color from its single-letter code or full name
 	 */
@@ -0,0 +1,20 @@
+package com.deckbuilder.mtgdeckbuilder.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A card often played alongside another: the main decks playing both, and their share of the decks playing the
+ * other card.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CardCompanion {
+	private CardSummary card;
+	private int decks;
+	private double share;
+}
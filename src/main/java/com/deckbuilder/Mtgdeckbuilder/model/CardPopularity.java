@@ -0,0 +1,21 @@
+package com.deckbuilder.mtgdeckbuilder.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * How widely a card is played in one format: the main decks playing it out of all decks of the format.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CardPopularity {
+	private Long formatId;
+	private String formatName;
+	private int decks;
+	private long formatDecks;
+	private double inclusionRate;
+}
@@ -15,12 +15,18 @@ public class CardSearchCriteria {
     private String colors;
     private Integer cmcMin;
     private Integer cmcMax;
+    private String devotionColor;
+    private Integer devotionMin;
+    private Integer coloredPips;
     private String powerMin;
     private String powerMax;
     private String toughnessMin;
     private String toughnessMax;
     private Long setId;
     private Long formatId;
+    private Long commanderId;
+    // Resolved from commanderId by the service, see CardColor.bit
+    private Integer commanderIdentityMask;
     private String textContains;
     private String keywords;
     private Boolean isFoil;
@@ -35,9 +41,9 @@ public class CardSearchCriteria {
      */
     public boolean hasFilters() {
         return name != null || type != null || rarity != null || colors != null ||
-               cmcMin != null || cmcMax != null || powerMin != null || powerMax != null ||
+               cmcMin != null || cmcMax != null || devotionColor != null || coloredPips != null || powerMin != null || powerMax != null ||
                toughnessMin != null || toughnessMax != null || setId != null || formatId != null ||
-               textContains != null || keywords != null || isFoil != null || isPromo != null ||
+               commanderId != null || textContains != null || keywords != null || isFoil != null || isPromo != null ||
                (language != null && !"en".equals(language));
     }
 }
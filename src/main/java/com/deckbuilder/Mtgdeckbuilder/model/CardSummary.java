@@ -0,0 +1,24 @@
+package com.deckbuilder.mtgdeckbuilder.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The attributes of a card a deck view displays, without rules text, faces or embeddings.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CardSummary {
+	private Long id;
+	private String name;
+	private String manaCost;
+	private Integer cmc;
+	private String typeLine;
+	private String rarity;
+	private String colorIdentity;
+	private String imageUrl;
+}
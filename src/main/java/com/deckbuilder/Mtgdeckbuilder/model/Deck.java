@@ -23,6 +23,7 @@ public class Deck {
 	private String tournament;
 	private String shareUrl;
 	private Long parentDeckId;
+	private Long commanderCardId;
 	private Long formatId;
 	private Long userId;
 	private List<CardInDeck> cards;
@@ -0,0 +1,41 @@
+package com.deckbuilder.mtgdeckbuilder.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A single card edit applied to a deck as part of a batch mutation.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DeckCardOperation {
+	private Type type;
+	private Long cardId;
+	private int quantity;
+	private String section;
+
+	/**
+	 * Kind of edit: add copies, remove copies or set an absolute quantity.
+	 */
+	public enum Type {
+		ADD, REMOVE, SET;
+
+		/**
+		 * Parse an operation type from its API value (add, remove, set)
+		 */
+		public static Type fromString(String value) {
+			if (value == null || value.isEmpty()) {
+				return null;
+			}
+			try {
+				return Type.valueOf(value.toUpperCase());
+			} catch (final IllegalArgumentException e) {
+				throw new IllegalArgumentException("Unknown deck card operation: " + value);
+			}
+		}
+	}
+}
@@ -0,0 +1,39 @@
+package com.deckbuilder.mtgdeckbuilder.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Result of a deck card mutation: the rows that changed, the resulting section totals, the new deck version and
+ * the history revision it was recorded as.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DeckDelta {
+	private Long deckId;
+	private Long version;
+	private Long revision;
+	private List<CardChange> changes;
+	private Map<String, Integer> sectionTotals;
+
+	/**
+	 * Quantity of one card in one section before and after the mutation; a quantity of 0 means it was removed.
+	 */
+	@Data
+	@NoArgsConstructor
+	@AllArgsConstructor
+	@Builder
+	public static class CardChange {
+		private Long cardId;
+		private String section;
+		private int previousQuantity;
+		private int quantity;
+	}
+}
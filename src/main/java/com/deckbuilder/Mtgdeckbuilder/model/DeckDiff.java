@@ -0,0 +1,23 @@
+package com.deckbuilder.mtgdeckbuilder.model;
+
+import com.deckbuilder.mtgdeckbuilder.model.DeckDelta.CardChange;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Cards whose quantity differs between two revisions of a deck.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DeckDiff {
+	private Long deckId;
+	private Long fromRevision;
+	private Long toRevision;
+	private List<CardChange> changes;
+}
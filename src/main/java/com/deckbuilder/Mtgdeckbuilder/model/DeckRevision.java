@@ -0,0 +1,24 @@
+package com.deckbuilder.mtgdeckbuilder.model;
+
+import com.deckbuilder.mtgdeckbuilder.model.Deck.CardInDeck;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Contents of a deck as they were at one revision of its history.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DeckRevision {
+	private Long deckId;
+	private Long revision;
+	private LocalDateTime created;
+	private List<CardInDeck> cards;
+}
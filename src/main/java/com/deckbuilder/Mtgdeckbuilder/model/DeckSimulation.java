@@ -0,0 +1,58 @@
+package com.deckbuilder.mtgdeckbuilder.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * A draw question about a deck's main section: how likely is it that every condition holds by a given turn.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DeckSimulation {
+	private boolean onThePlay;
+	private int turn;
+	private Long trials;
+	private Long seed;
+	private List<Condition> conditions;
+
+	/**
+	 * Between min and max (inclusive, max null for unbounded) of the cards seen must match the category
+	 */
+	@Data
+	@NoArgsConstructor
+	@AllArgsConstructor
+	@Builder
+	public static class Condition {
+		private Category category;
+		private String value;
+		private int min;
+		private Integer max;
+	}
+
+	/**
+	 * Which cards a condition counts. Mana value categories only count nonland cards.
+	 */
+	public enum Category {
+		LAND, NONLAND, MANA_VALUE, MANA_VALUE_AT_MOST, TYPE, CARD;
+
+		/**
+		 * Parse a category from its API value (land, nonland, mana_value, ...)
+		 */
+		public static Category fromString(String value) {
+			if (value == null || value.isEmpty()) {
+				return null;
+			}
+			try {
+				return Category.valueOf(value.toUpperCase());
+			} catch (final IllegalArgumentException e) {
+				throw new IllegalArgumentException("Unknown simulation condition: " + value);
+			}
+		}
+	}
+}
@@ -0,0 +1,29 @@
+package com.deckbuilder.mtgdeckbuilder.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Probability that every condition of a {@link DeckSimulation} holds, with the exact odds of each condition alone.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DeckSimulationResult {
+	public static final String EXACT = "exact";
+	public static final String MONTE_CARLO = "monte_carlo";
+
+	private Long deckId;
+	private int deckSize;
+	private int cardsSeen;
+	private double probability;
+	private String method;
+	private long trials;
+	private double standardError;
+	private List<Double> conditionProbabilities;
+}
@@ -0,0 +1,26 @@
+package com.deckbuilder.mtgdeckbuilder.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Mana curve, color pips and type breakdown of a deck's main section at one deck version.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DeckStats {
+	private Long deckId;
+	private Long version;
+	private int totalCards;
+	private int landCount;
+	private double averageManaValue;
+	private Map<String, Integer> manaCurve;
+	private Map<String, Integer> colorPips;
+	private Map<String, Integer> typeBreakdown;
+}
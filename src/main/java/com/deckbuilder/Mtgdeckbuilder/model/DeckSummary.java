@@ -0,0 +1,29 @@
+package com.deckbuilder.mtgdeckbuilder.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A deck without its cards, for listings. Card counts come from the deck's maintained section counters.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DeckSummary {
+	private Long id;
+	private String name;
+	private Long userId;
+	private Long formatId;
+	private String deckType;
+	private Boolean isPrivate;
+	private String tournament;
+	private LocalDateTime modified;
+	private int mainCount;
+	private int sideboardCount;
+	private int maybeboardCount;
+}
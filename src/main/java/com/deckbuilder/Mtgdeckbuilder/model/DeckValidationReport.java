@@ -0,0 +1,53 @@
+package com.deckbuilder.mtgdeckbuilder.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Every rule violation found in a deck, evaluated in one pass over its contents.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DeckValidationReport {
+	private Long deckId;
+	private Long formatId;
+	private boolean valid;
+	private Map<String, Integer> sectionTotals;
+	private List<Violation> violations;
+
+	/**
+	 * A single broken rule; card and section are only set when the rule applies to one card or section.
+	 */
+	@Data
+	@NoArgsConstructor
+	@AllArgsConstructor
+	@Builder
+	public static class Violation {
+		private Rule rule;
+		private String section;
+		private Long cardId;
+		private String message;
+	}
+
+	public enum Rule {
+		DECK_NOT_FOUND,
+		FORMAT_MISSING,
+		UNKNOWN_CARD,
+		BANNED,
+		NOT_LEGAL,
+		RESTRICTED,
+		SINGLETON,
+		COLOR_IDENTITY,
+		QUANTITY,
+		MAIN_DECK_TOO_SMALL,
+		MAIN_DECK_TOO_LARGE,
+		SIDEBOARD_TOO_LARGE
+	}
+}
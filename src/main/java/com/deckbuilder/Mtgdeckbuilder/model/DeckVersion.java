@@ -0,0 +1,24 @@
+package com.deckbuilder.mtgdeckbuilder.model;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Derives a deck version from its last modification time, which the database keeps current on every card change.
+ */
+public final class DeckVersion {
+
+	private DeckVersion() {
+	}
+
+	/**
+	 * Microseconds since the epoch, matching the precision of the PostgreSQL timestamp column
+	 */
+	public static long of(LocalDateTime modified) {
+		if (modified == null) {
+			return 0L;
+		}
+		return ChronoUnit.MICROS.between(LocalDateTime.ofEpochSecond(0, 0, ZoneOffset.UTC), modified);
+	}
+}
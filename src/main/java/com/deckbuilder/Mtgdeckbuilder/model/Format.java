@@ -20,4 +20,8 @@ public class Format {
 	private Integer maxSideboardSize;
 	private List<String> bannedCards;
 	private List<String> restrictedCards;
+	/**
+	 * Only set on the result of an update, with the legality changes its ban and restricted lists caused
+	 */
+	private BanListChange banListChange;
 }
\ No newline at end of file
@@ -0,0 +1,41 @@
+package com.deckbuilder.mtgdeckbuilder.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Colored sources and lands a deck's main section needs to cast its spells on curve with a target probability.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ManaBaseAdvice {
+	private Long deckId;
+	private int deckSize;
+	private int landCount;
+	private int suggestedLandCount;
+	private double targetProbability;
+	private List<ColorRequirement> colors;
+
+	/**
+	 * Sources of one color: how many the deck has and how many its most demanding card needs
+	 */
+	@Data
+	@NoArgsConstructor
+	@AllArgsConstructor
+	@Builder
+	public static class ColorRequirement {
+		private String color;
+		private int sources;
+		private int requiredSources;
+		private Long cardId;
+		private String cardName;
+		private int turn;
+		private int pips;
+	}
+}
@@ -0,0 +1,31 @@
+package com.deckbuilder.mtgdeckbuilder.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The symbols of a mana cost counted by kind, so devotion and pip questions need no parsing.
+ * <p>
+ * Per-color counts follow the devotion rules: a hybrid symbol counts once for each of its colors and a Phyrexian
+ * symbol for its color. {@code colored} counts colored symbols once each, so "{R/G}{G}" has two.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ManaSymbols {
+	private int generic;
+	private int white;
+	private int blue;
+	private int black;
+	private int red;
+	private int green;
+	private int colorless;
+	private int colored;
+	private int hybrid;
+	private int phyrexian;
+	private int x;
+	private int snow;
+}
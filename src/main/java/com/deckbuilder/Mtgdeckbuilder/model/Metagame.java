@@ -0,0 +1,53 @@
+package com.deckbuilder.mtgdeckbuilder.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * The metagame of a tournament: how its decks split into archetypes and which cards they play most. refreshed is
+ * when the rollups were last computed, or null when they were aggregated for the request.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Metagame {
+	private String tournament;
+	private int decks;
+	private LocalDateTime refreshed;
+	private List<ArchetypeShare> archetypes;
+	private List<MetagameCard> topCards;
+
+	/**
+	 * Decks of one archetype and their share of the tournament's decks
+	 */
+	@Data
+	@NoArgsConstructor
+	@AllArgsConstructor
+	@Builder
+	public static class ArchetypeShare {
+		private String archetype;
+		private int decks;
+		private double share;
+	}
+
+	/**
+	 * A card played in the tournament: the main decks playing it, their share of all decks and the average copies
+	 * those decks play
+	 */
+	@Data
+	@NoArgsConstructor
+	@AllArgsConstructor
+	@Builder
+	public static class MetagameCard {
+		private CardSummary card;
+		private int decks;
+		private double inclusionRate;
+		private double averageCopies;
+	}
+}
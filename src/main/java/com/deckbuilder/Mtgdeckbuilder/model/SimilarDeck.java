@@ -0,0 +1,19 @@
+package com.deckbuilder.mtgdeckbuilder.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A deck whose main deck overlaps another deck's, with the Jaccard similarity of their distinct cards.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SimilarDeck {
+	private DeckSummary deck;
+	private double similarity;
+	private int sharedCards;
+}
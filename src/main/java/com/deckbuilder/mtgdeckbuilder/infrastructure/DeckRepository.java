@@ -1,15 +1,237 @@
 package com.deckbuilder.mtgdeckbuilder.infrastructure;
 
 import com.deckbuilder.mtgdeckbuilder.infrastructure.model.DeckEntity;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface DeckRepository extends JpaRepository<DeckEntity, Long> {
+	String DECK_SUMMARY_COLUMNS = "d.id AS id, d.name AS name, d.userId AS userId, d.formatId AS formatId, " +
+			"d.deckType AS deckType, d.isPrivate AS isPrivate, d.tournament AS tournament, d.modified AS modified, " +
+			"d.mainCount AS mainCount, d.sideboardCount AS sideboardCount, d.maybeboardCount AS maybeboardCount";
+
 	Page<DeckEntity> findByUserId(Long userId, Pageable pageable);
-	List<DeckEntity> findByFormatId(Long formatId);
-}
\ No newline at end of file
+
+	/**
+	 * Read one page of a format's decks without their cards, in id order starting after the given id. Walking
+	 * the (format, id) index from the last id seen keeps every page as cheap as the first.
+	 */
+	@Query("SELECT " + DECK_SUMMARY_COLUMNS + " FROM DeckEntity d " +
+		   "WHERE d.formatId = :formatId AND d.id > :afterId ORDER BY d.id")
+	List<DeckSummaryView> findSummariesByFormatAfter(@Param("formatId") Long formatId,
+			@Param("afterId") Long afterId, Pageable pageable);
+
+	/**
+	 * Stream every deck of a format without its cards, in id order. Rows are fetched from the cursor in chunks;
+	 * must be consumed inside a transaction and closed afterwards.
+	 */
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+	@Query("SELECT " + DECK_SUMMARY_COLUMNS + " FROM DeckEntity d WHERE d.formatId = :formatId ORDER BY d.id")
+	Stream<DeckSummaryView> streamSummariesByFormat(@Param("formatId") Long formatId);
+
+	/**
+	 * Read the given decks without their cards
+	 */
+	@Query("SELECT " + DECK_SUMMARY_COLUMNS + " FROM DeckEntity d WHERE d.id IN :ids")
+	List<DeckSummaryView> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+	/**
+	 * Load a deck and lock its row until the surrounding transaction ends. Card mutations take this lock
+	 * first so concurrent edits of the same deck run one after another, while edits of other decks
+	 * proceed in parallel.
+	 */
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("SELECT d FROM DeckEntity d WHERE d.id = :id")
+	Optional<DeckEntity> findByIdForUpdate(@Param("id") Long id);
+
+	/**
+	 * Read the id and name of the given decks, ordered by id
+	 */
+	@Query("SELECT d.id AS id, d.name AS name FROM DeckEntity d WHERE d.id IN :ids ORDER BY d.id")
+	List<DeckNameView> findNameViewsByIdIn(@Param("ids") Collection<Long> ids);
+
+	/**
+	 * Read the id and name of every deck registered for a tournament, ordered by id
+	 */
+	@Query("SELECT d.id AS id, d.name AS name FROM DeckEntity d WHERE d.tournament = :tournament ORDER BY d.id")
+	List<DeckNameView> findNameViewsByTournament(@Param("tournament") String tournament);
+
+	/**
+	 * Read only the format and tournament a deck is counted in, without loading its cards
+	 */
+	@Query("SELECT d.formatId AS formatId, d.tournament AS tournament FROM DeckEntity d WHERE d.id = :id")
+	Optional<DeckPlacementView> findPlacementById(@Param("id") Long id);
+
+	long countByTournament(String tournament);
+
+	/**
+	 * Ids of the decks of a format playing any of the given cards outside the maybeboard
+	 */
+	@Query("SELECT DISTINCT cd.deckId FROM CardInDeckEntity cd JOIN cd.deck d " +
+		   "WHERE d.formatId = :formatId AND cd.section <> 'maybeboard' AND cd.cardId IN :cardIds")
+	List<Long> findIdsPlayingAnyOf(@Param("formatId") Long formatId, @Param("cardIds") Collection<Long> cardIds);
+
+	/**
+	 * Ids of the decks of a format playing more than one copy of a given card outside the maybeboard, counting
+	 * every printing of the card's name together
+	 */
+	@Query("SELECT DISTINCT cd.deckId FROM CardInDeckEntity cd JOIN cd.deck d, CardEntity c " +
+		   "WHERE c.id = cd.cardId AND d.formatId = :formatId AND cd.section <> 'maybeboard' " +
+		   "AND cd.cardId IN :cardIds GROUP BY cd.deckId, LOWER(TRIM(c.name)) HAVING SUM(cd.quantity) > 1")
+	List<Long> findIdsPlayingCopiesOfAny(@Param("formatId") Long formatId,
+			@Param("cardIds") Collection<Long> cardIds);
+
+	/**
+	 * Count the decks of each of the given formats
+	 */
+	@Query("SELECT d.formatId AS formatId, COUNT(d) AS decks FROM DeckEntity d " +
+		   "WHERE d.formatId IN :formatIds GROUP BY d.formatId")
+	List<FormatDeckCountView> countByFormatIdIn(@Param("formatIds") Collection<Long> formatIds);
+
+	/**
+	 * Read only the last modification time of a deck, without loading its cards
+	 */
+	@Query("SELECT d.modified FROM DeckEntity d WHERE d.id = :id")
+	LocalDateTime findModifiedById(@Param("id") Long id);
+
+	/**
+	 * Read the current revision of a deck, i.e. the number of card mutations applied to it so far
+	 */
+	@Query("SELECT d.revision FROM DeckEntity d WHERE d.id = :id")
+	Long findRevisionById(@Param("id") Long id);
+
+	/**
+	 * Read the maintained card counts of every section of a deck
+	 */
+	@Query("SELECT d.mainCount AS main, d.sideboardCount AS sideboard, d.maybeboardCount AS maybeboard " +
+		   "FROM DeckEntity d WHERE d.id = :id")
+	Optional<SectionCountsView> findSectionCountsById(@Param("id") Long id);
+
+	/**
+	 * Atomically add the given (possibly negative) amounts to the section counters of a deck, bump its
+	 * modification time and move it to its next revision. Must run in the same transaction as the card_deck
+	 * write it accounts for.
+	 */
+	@Modifying
+	@Query(value = "UPDATE decks SET main_count = main_count + :main, " +
+				   "sideboard_count = sideboard_count + :sideboard, " +
+				   "maybeboard_count = maybeboard_count + :maybeboard, " +
+				   "last_modification = CURRENT_TIMESTAMP, revision = revision + 1 " +
+				   "WHERE id = :id", nativeQuery = true)
+	int adjustSectionCounts(@Param("id") Long id, @Param("main") int main, @Param("sideboard") int sideboard,
+							@Param("maybeboard") int maybeboard);
+
+	/**
+	 * Recompute the section counters of a deck from its card_deck rows
+	 */
+	@Modifying
+	@Query(value = "UPDATE decks SET " +
+				   "main_count = (SELECT COALESCE(SUM(cd.quantity), 0) FROM card_deck cd " +
+				   "WHERE cd.deck_id = decks.id AND cd.section = 'main'), " +
+				   "sideboard_count = (SELECT COALESCE(SUM(cd.quantity), 0) FROM card_deck cd " +
+				   "WHERE cd.deck_id = decks.id AND cd.section = 'sideboard'), " +
+				   "maybeboard_count = (SELECT COALESCE(SUM(cd.quantity), 0) FROM card_deck cd " +
+				   "WHERE cd.deck_id = decks.id AND cd.section = 'maybeboard') " +
+				   "WHERE id = :id", nativeQuery = true)
+	int recountSections(@Param("id") Long id);
+
+	/**
+	 * Move a new deck whose card rows were copied in bulk to its first revision and bump its modification time
+	 */
+	@Modifying
+	@Query(value = "UPDATE decks SET revision = 1, last_modification = CURRENT_TIMESTAMP WHERE id = :id",
+		   nativeQuery = true)
+	int startFirstRevision(@Param("id") Long id);
+
+	/**
+	 * Find decks whose section counters disagree with their card_deck rows
+	 */
+	@Query(value = "SELECT d.id FROM decks d LEFT JOIN card_deck cd ON cd.deck_id = d.id " +
+				   "GROUP BY d.id, d.main_count, d.sideboard_count, d.maybeboard_count " +
+				   "HAVING d.main_count <> COALESCE(SUM(CASE WHEN cd.section = 'main' THEN cd.quantity END), 0) " +
+				   "OR d.sideboard_count <> COALESCE(SUM(CASE WHEN cd.section = 'sideboard' THEN cd.quantity END), 0) " +
+				   "OR d.maybeboard_count <> COALESCE(SUM(CASE WHEN cd.section = 'maybeboard' THEN cd.quantity END), 0)",
+		   nativeQuery = true)
+	List<Long> findIdsWithDriftedSectionCounts();
+
+	/**
+	 * Projection of the section counters of a deck
+	 */
+	interface SectionCountsView {
+		int getMain();
+
+		int getSideboard();
+
+		int getMaybeboard();
+	}
+
+	/**
+	 * Projection of a deck's listing columns, without its cards
+	 */
+	interface DeckSummaryView {
+		Long getId();
+
+		String getName();
+
+		Long getUserId();
+
+		Long getFormatId();
+
+		String getDeckType();
+
+		Boolean getIsPrivate();
+
+		String getTournament();
+
+		LocalDateTime getModified();
+
+		int getMainCount();
+
+		int getSideboardCount();
+
+		int getMaybeboardCount();
+	}
+
+	/**
+	 * Projection of the format and tournament of a deck
+	 */
+	interface DeckPlacementView {
+		Long getFormatId();
+
+		String getTournament();
+	}
+
+	/**
+	 * Projection of the number of decks in a format
+	 */
+	interface FormatDeckCountView {
+		Long getFormatId();
+
+		long getDecks();
+	}
+
+	/**
+	 * Projection of a deck's id and name
+	 */
+	interface DeckNameView {
+		Long getId();
+
+		String getName();
+	}
+}
@@ -2,11 +2,57 @@ package com.deckbuilder.mtgdeckbuilder.infrastructure;
 
 import com.deckbuilder.mtgdeckbuilder.infrastructure.model.FormatEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface FormatRepository extends JpaRepository<FormatEntity, Long> {
 	Optional<FormatEntity> findByName(String name);
+
+	/**
+	 * Read the banned card names of a format without initializing the lazy collection
+	 */
+	@Query("SELECT b FROM FormatEntity f JOIN f.bannedCards b WHERE f.id = :id")
+	List<String> findBannedCardNames(@Param("id") Long id);
+
+	/**
+	 * Read the restricted card names of a format without initializing the lazy collection
+	 */
+	@Query("SELECT r FROM FormatEntity f JOIN f.restrictedCards r WHERE f.id = :id")
+	List<String> findRestrictedCardNames(@Param("id") Long id);
+
+	/**
+	 * Ids of the cards whose name is on the ban list of a format, compared trimmed and case-insensitively
+	 */
+	@Query("SELECT c.id FROM FormatEntity f JOIN f.bannedCards b, CardEntity c " +
+		   "WHERE f.id = :id AND LOWER(TRIM(c.name)) = LOWER(TRIM(b))")
+	List<Long> findBannedCardIds(@Param("id") Long id);
+
+	/**
+	 * Ids of the cards whose name is on the restricted list of a format, compared as in {@link #findBannedCardIds}
+	 */
+	@Query("SELECT c.id FROM FormatEntity f JOIN f.restrictedCards r, CardEntity c " +
+		   "WHERE f.id = :id AND LOWER(TRIM(c.name)) = LOWER(TRIM(r))")
+	List<Long> findRestrictedCardIds(@Param("id") Long id);
+
+	/**
+	 * Ids of the formats whose ban list names any of the given cards
+	 *
+	 * @param names normalized as by {@code FormatRules.normalizeName}
+	 */
+	@Query("SELECT DISTINCT f.id FROM FormatEntity f JOIN f.bannedCards b WHERE LOWER(TRIM(b)) IN :names")
+	List<Long> findIdsBanningNormalizedNames(@Param("names") Collection<String> names);
+
+	/**
+	 * Ids of the formats whose restricted list names any of the given cards
+	 *
+	 * @param names normalized as by {@code FormatRules.normalizeName}
+	 */
+	@Query("SELECT DISTINCT f.id FROM FormatEntity f JOIN f.restrictedCards r WHERE LOWER(TRIM(r)) IN :names")
+	List<Long> findIdsRestrictingNormalizedNames(@Param("names") Collection<String> names);
 }
\ No newline at end of file
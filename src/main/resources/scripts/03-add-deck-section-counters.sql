@@ -0,0 +1,42 @@
+-- ============================================
+-- Deck Section Counters
+-- ============================================
+--
+-- Purpose: Keeps the number of cards in each deck section on the
+-- decks row so adding a card no longer needs a SUM over card_deck
+--
+-- The application adjusts these counters in the same transaction as
+-- every card_deck write. A scheduled job compares them with card_deck
+-- and recounts any deck that drifted.
+--
+-- Run this AFTER 02-add-vector-index.sql
+-- ============================================
+
+ALTER TABLE decks ADD COLUMN IF NOT EXISTS main_count INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE decks ADD COLUMN IF NOT EXISTS sideboard_count INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE decks ADD COLUMN IF NOT EXISTS maybeboard_count INTEGER NOT NULL DEFAULT 0;
+
+ALTER TABLE decks DROP CONSTRAINT IF EXISTS decks_section_counts_check;
+ALTER TABLE decks ADD CONSTRAINT decks_section_counts_check
+    CHECK (main_count >= 0 AND sideboard_count >= 0 AND maybeboard_count >= 0);
+
+-- Backfill the counters from the existing deck contents
+UPDATE decks d SET
+    main_count = COALESCE(t.main_count, 0),
+    sideboard_count = COALESCE(t.sideboard_count, 0),
+    maybeboard_count = COALESCE(t.maybeboard_count, 0)
+FROM (
+    SELECT deck_id,
+           SUM(quantity) FILTER (WHERE section = 'main') AS main_count,
+           SUM(quantity) FILTER (WHERE section = 'sideboard') AS sideboard_count,
+           SUM(quantity) FILTER (WHERE section = 'maybeboard') AS maybeboard_count
+    FROM card_deck
+    GROUP BY deck_id
+) t
+WHERE t.deck_id = d.id;
+
+-- Verify no deck drifted:
+-- SELECT d.id FROM decks d LEFT JOIN card_deck cd ON cd.deck_id = d.id
+-- GROUP BY d.id HAVING d.main_count <> COALESCE(SUM(cd.quantity) FILTER (WHERE cd.section = 'main'), 0);
+
+-- ============================================
@@ -0,0 +1,74 @@
+-- ============================================
+-- Statement-Level Deck Modification Trigger
+-- ============================================
+--
+-- Purpose: Replaces the row-level update_deck_time_on_card_change
+-- trigger, which rewrote the decks row once for every card_deck row
+-- touched (a 100-card import updated the same deck 100 times)
+--
+-- The new triggers fire once per statement and read the affected
+-- deck ids from transition tables. The update is skipped for decks
+-- already touched in the current transaction (CURRENT_TIMESTAMP is
+-- fixed for the whole transaction), so the application, which bumps
+-- last_modification together with the section counters, leaves the
+-- triggers nothing to do; they only matter for direct SQL edits.
+--
+-- Run this AFTER 03-add-deck-section-counters.sql
+-- Requires PostgreSQL 10+ (transition tables)
+-- ============================================
+
+CREATE OR REPLACE FUNCTION touch_decks_of_changed_cards()
+RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        UPDATE decks d SET last_modification = CURRENT_TIMESTAMP
+        FROM (SELECT DISTINCT deck_id FROM new_rows) changed
+        WHERE d.id = changed.deck_id
+          AND d.last_modification IS DISTINCT FROM CURRENT_TIMESTAMP;
+    ELSIF TG_OP = 'DELETE' THEN
+        UPDATE decks d SET last_modification = CURRENT_TIMESTAMP
+        FROM (SELECT DISTINCT deck_id FROM old_rows) changed
+        WHERE d.id = changed.deck_id
+          AND d.last_modification IS DISTINCT FROM CURRENT_TIMESTAMP;
+    ELSE
+        UPDATE decks d SET last_modification = CURRENT_TIMESTAMP
+        FROM (SELECT deck_id FROM new_rows UNION SELECT deck_id FROM old_rows) changed
+        WHERE d.id = changed.deck_id
+          AND d.last_modification IS DISTINCT FROM CURRENT_TIMESTAMP;
+    END IF;
+
+    -- Return value is ignored for statement-level AFTER triggers
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Transition tables require one trigger per event
+DROP TRIGGER IF EXISTS update_deck_time_on_card_change ON card_deck;
+DROP TRIGGER IF EXISTS touch_decks_after_card_insert ON card_deck;
+DROP TRIGGER IF EXISTS touch_decks_after_card_update ON card_deck;
+DROP TRIGGER IF EXISTS touch_decks_after_card_delete ON card_deck;
+
+CREATE TRIGGER touch_decks_after_card_insert
+AFTER INSERT ON card_deck
+REFERENCING NEW TABLE AS new_rows
+FOR EACH STATEMENT
+EXECUTE FUNCTION touch_decks_of_changed_cards();
+
+CREATE TRIGGER touch_decks_after_card_update
+AFTER UPDATE ON card_deck
+REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+FOR EACH STATEMENT
+EXECUTE FUNCTION touch_decks_of_changed_cards();
+
+CREATE TRIGGER touch_decks_after_card_delete
+AFTER DELETE ON card_deck
+REFERENCING OLD TABLE AS old_rows
+FOR EACH STATEMENT
+EXECUTE FUNCTION touch_decks_of_changed_cards();
+
+DROP FUNCTION IF EXISTS update_deck_modification_time();
+
+-- Verify the triggers:
+-- SELECT tgname FROM pg_trigger WHERE tgrelid = 'card_deck'::regclass AND NOT tgisinternal;
+
+-- ============================================
@@ -0,0 +1,40 @@
+-- ============================================
+-- Deck Revision History
+-- ============================================
+--
+-- Purpose: Keeps every past state of a deck's contents without copying
+-- card_deck on each edit
+--
+-- Every card mutation bumps decks.revision and appends one row to
+-- deck_revisions holding only the changed (card, section, quantity
+-- change) entries, varint-encoded into a few bytes. Every 32nd revision
+-- (and the first one recorded for a deck) stores the full contents
+-- instead, so any revision is rebuilt from the nearest snapshot plus at
+-- most 31 deltas.
+--
+-- Decks that already had cards start their history at revision 1, the
+-- first edit after this script runs.
+--
+-- Run this AFTER 04-statement-level-deck-touch-trigger.sql
+-- ============================================
+
+ALTER TABLE decks ADD COLUMN IF NOT EXISTS revision BIGINT NOT NULL DEFAULT 0;
+
+CREATE TABLE IF NOT EXISTS deck_revisions (
+    id BIGSERIAL PRIMARY KEY,
+    deck_id INTEGER NOT NULL REFERENCES decks(id) ON DELETE CASCADE,
+    revision BIGINT NOT NULL,
+    created TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    snapshot BOOLEAN NOT NULL DEFAULT FALSE,
+    payload BYTEA NOT NULL,
+    UNIQUE (deck_id, revision)
+);
+
+-- Snapshot lookups walk back from a revision to the nearest snapshot of the deck
+CREATE INDEX IF NOT EXISTS idx_deck_revisions_snapshots
+    ON deck_revisions(deck_id, revision) WHERE snapshot;
+
+-- Check storage per revision:
+-- SELECT snapshot, COUNT(*), AVG(octet_length(payload)) FROM deck_revisions GROUP BY snapshot;
+
+-- ============================================
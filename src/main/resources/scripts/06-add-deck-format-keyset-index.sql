@@ -0,0 +1,27 @@
+-- ============================================
+-- Deck Listing by Format
+-- ============================================
+--
+-- Purpose: Lets a format's decks be listed page by page without the
+-- cost growing with the page number
+--
+-- GET /formats/{id}/decks pages by deck id ("WHERE format = ? AND
+-- id > ? ORDER BY id LIMIT ?") and GET /formats/{id}/decks/stream
+-- reads every deck of a format in id order. With (format, id) both are
+-- a single range scan that stops after the page, where the old index
+-- on format alone had to sort every deck of the format first.
+--
+-- The new index also serves every lookup idx_decks_format did, so the
+-- old one is dropped.
+--
+-- Run this AFTER 05-add-deck-revisions.sql
+-- ============================================
+
+CREATE INDEX IF NOT EXISTS idx_decks_format_id ON decks(format, id);
+
+DROP INDEX IF EXISTS idx_decks_format;
+
+-- Check the plan of a page:
+-- EXPLAIN SELECT id, deck_name FROM decks WHERE format = 1 AND id > 1000 ORDER BY id LIMIT 100;
+
+-- ============================================
@@ -0,0 +1,48 @@
+-- ============================================
+-- Parsed Mana Costs
+-- ============================================
+--
+-- Purpose: Stores each card's mana cost counted by symbol kind, so
+-- devotion and pip searches are column predicates instead of parsing
+-- mana_cost for every row
+--
+-- Per-color pips follow the devotion rules: a hybrid symbol counts for
+-- each of its colors and a Phyrexian symbol for its color.
+-- colored_pips counts colored symbols once each.
+--
+-- The application writes these columns whenever it saves a card. Rows
+-- loaded directly into the database keep NULLs until the scheduled
+-- mana symbol backfill parses them, so no backfill runs here.
+--
+-- Run this AFTER 06-add-deck-format-keyset-index.sql
+-- ============================================
+
+ALTER TABLE cards ADD COLUMN IF NOT EXISTS generic_mana SMALLINT;
+ALTER TABLE cards ADD COLUMN IF NOT EXISTS pips_w SMALLINT;
+ALTER TABLE cards ADD COLUMN IF NOT EXISTS pips_u SMALLINT;
+ALTER TABLE cards ADD COLUMN IF NOT EXISTS pips_b SMALLINT;
+ALTER TABLE cards ADD COLUMN IF NOT EXISTS pips_r SMALLINT;
+ALTER TABLE cards ADD COLUMN IF NOT EXISTS pips_g SMALLINT;
+ALTER TABLE cards ADD COLUMN IF NOT EXISTS pips_c SMALLINT;
+ALTER TABLE cards ADD COLUMN IF NOT EXISTS colored_pips SMALLINT;
+ALTER TABLE cards ADD COLUMN IF NOT EXISTS hybrid_pips SMALLINT;
+ALTER TABLE cards ADD COLUMN IF NOT EXISTS phyrexian_pips SMALLINT;
+ALTER TABLE cards ADD COLUMN IF NOT EXISTS x_pips SMALLINT;
+ALTER TABLE cards ADD COLUMN IF NOT EXISTS snow_pips SMALLINT;
+
+-- Devotion searches ("devotion to black >= 3") are range scans on one
+-- color. The indexes are not partial: searches bind the minimum as a
+-- parameter, which the planner cannot match against a partial predicate
+CREATE INDEX IF NOT EXISTS idx_cards_pips_w ON cards(pips_w);
+CREATE INDEX IF NOT EXISTS idx_cards_pips_u ON cards(pips_u);
+CREATE INDEX IF NOT EXISTS idx_cards_pips_b ON cards(pips_b);
+CREATE INDEX IF NOT EXISTS idx_cards_pips_r ON cards(pips_r);
+CREATE INDEX IF NOT EXISTS idx_cards_pips_g ON cards(pips_g);
+
+-- "Exactly one colored pip" and the backfill's search for unparsed rows
+CREATE INDEX IF NOT EXISTS idx_cards_colored_pips ON cards(colored_pips);
+
+-- Check the plan of a devotion search:
+-- EXPLAIN SELECT id, card_name FROM cards WHERE pips_b >= 3;
+
+-- ============================================
@@ -0,0 +1,34 @@
+-- ============================================
+-- Card Co-occurrence Matrix
+-- ============================================
+--
+-- Purpose: Persists, for every card, how many main decks it shares with
+-- each other card, for "cards often played with" and recommendation
+-- re-ranking outside the application
+--
+-- One row per card holds its whole row of the matrix: the neighbor card
+-- ids in ascending order and their shared deck counts, varint-encoded
+-- (gap to the previous card id, then the count), so a neighbor takes two
+-- or three bytes. decks is the number of decks playing the card itself.
+--
+-- On startup the application loads the matrix from here. While the
+-- table is empty it counts the matrix from card_deck instead and writes
+-- it here in full; afterwards a scheduled job, and a last run at
+-- shutdown, write only the rows that changed. No backfill runs here.
+--
+-- Run this AFTER 07-add-card-mana-symbols.sql
+-- ============================================
+
+CREATE TABLE IF NOT EXISTS card_cooccurrence (
+    card_id INTEGER PRIMARY KEY REFERENCES cards(id) ON DELETE CASCADE,
+    decks INTEGER NOT NULL,
+    neighbors INTEGER NOT NULL,
+    payload BYTEA NOT NULL,
+    updated TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Check storage per row:
+-- SELECT COUNT(*), SUM(neighbors), AVG(octet_length(payload)::numeric / GREATEST(neighbors, 1))
+-- FROM card_cooccurrence;
+
+-- ============================================
@@ -0,0 +1,41 @@
+-- ============================================
+-- Card Popularity
+-- ============================================
+--
+-- Purpose: Keeps, for every card and format, the number of main decks
+-- playing the card, so popularity sorts and inclusion rates ("in 34% of
+-- Modern decks") no longer count card_deck per request
+--
+-- The application accumulates the changes of committed card mutations
+-- in memory and a scheduled job adds them here in batches, so counts
+-- trail the decks by at most one flush interval.
+--
+-- Run this AFTER 08-add-card-cooccurrence.sql
+-- ============================================
+
+CREATE TABLE IF NOT EXISTS card_popularity (
+    card_id INTEGER NOT NULL REFERENCES cards(id) ON DELETE CASCADE,
+    format_id INTEGER NOT NULL REFERENCES formats(id) ON DELETE CASCADE,
+    decks INTEGER NOT NULL DEFAULT 0,
+    PRIMARY KEY (card_id, format_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_card_popularity_format_decks ON card_popularity (format_id, decks DESC);
+
+-- Backfill the counts from the existing deck contents
+INSERT INTO card_popularity (card_id, format_id, decks)
+SELECT cd.card_id, d.format, COUNT(DISTINCT cd.deck_id)
+FROM card_deck cd
+JOIN decks d ON d.id = cd.deck_id
+WHERE cd.section = 'main'
+GROUP BY cd.card_id, d.format
+ON CONFLICT (card_id, format_id) DO NOTHING;
+
+-- Verify no count drifted:
+-- SELECT p.card_id, p.format_id, p.decks, COUNT(DISTINCT cd.deck_id)
+-- FROM card_popularity p
+-- LEFT JOIN decks d ON d.format = p.format_id
+-- LEFT JOIN card_deck cd ON cd.deck_id = d.id AND cd.card_id = p.card_id AND cd.section = 'main'
+-- GROUP BY p.card_id, p.format_id, p.decks HAVING p.decks <> COUNT(DISTINCT cd.deck_id);
+
+-- ============================================
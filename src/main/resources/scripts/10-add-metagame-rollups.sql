@@ -0,0 +1,52 @@
+-- ============================================
+-- Metagame Rollups
+-- ============================================
+--
+-- Purpose: Keeps per-tournament aggregates of the registered decks, so
+-- the metagame endpoint reads archetype shares and top cards without
+-- scanning the tournament's decks
+--
+-- A deck's archetype is the archetype most of its main deck cards
+-- (counting copies) are tagged with. metagame_card counts, per card, the
+-- decks playing it and their copies; cards without a copy limit (basic
+-- lands) are left out.
+--
+-- The application recomputes a tournament's rows shortly after one of
+-- its decks changes. Tournaments without rows are backfilled in
+-- parallel by a scheduled job, so no backfill runs here.
+--
+-- Run this AFTER 09-add-card-popularity.sql
+-- ============================================
+
+CREATE TABLE IF NOT EXISTS metagame_tournament (
+    tournament TEXT PRIMARY KEY,
+    decks INTEGER NOT NULL,
+    refreshed TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS metagame_archetype (
+    tournament TEXT NOT NULL REFERENCES metagame_tournament(tournament) ON DELETE CASCADE,
+    archetype TEXT NOT NULL,
+    decks INTEGER NOT NULL,
+    PRIMARY KEY (tournament, archetype)
+);
+
+CREATE TABLE IF NOT EXISTS metagame_card (
+    tournament TEXT NOT NULL REFERENCES metagame_tournament(tournament) ON DELETE CASCADE,
+    card_id INTEGER NOT NULL REFERENCES cards(id) ON DELETE CASCADE,
+    decks INTEGER NOT NULL,
+    copies INTEGER NOT NULL,
+    PRIMARY KEY (tournament, card_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_metagame_card_tournament_decks ON metagame_card (tournament, decks DESC);
+
+-- Rollups are read and refreshed per tournament
+CREATE INDEX IF NOT EXISTS idx_decks_tournament ON decks (tournament) WHERE tournament IS NOT NULL;
+
+-- Tournaments still waiting for the backfill:
+-- SELECT DISTINCT d.tournament FROM decks d
+-- WHERE d.tournament IS NOT NULL
+--   AND NOT EXISTS (SELECT 1 FROM metagame_tournament m WHERE m.tournament = d.tournament);
+
+-- ============================================
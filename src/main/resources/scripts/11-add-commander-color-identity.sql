@@ -0,0 +1,41 @@
+-- ============================================
+-- Commander Color Identity
+-- ============================================
+--
+-- Purpose: Lets a deck designate its commander and stores every card's
+-- color identity as a bitmask, so identity checks compare two integers
+-- instead of joining card_color_identity
+--
+-- Bits: W = 1, U = 2, B = 4, R = 8, G = 16 (see CardColor.bit). A card
+-- fits a commander when its mask is a subset of the commander's. Card
+-- search turns the commander's mask into the list of its subsets (at
+-- most 32) and filters with color_identity_mask IN (...), which the
+-- index below serves.
+--
+-- The application keeps the mask in step with card_color_identity on
+-- every card write.
+--
+-- Run this AFTER 10-add-metagame-rollups.sql
+-- ============================================
+
+ALTER TABLE cards ADD COLUMN IF NOT EXISTS color_identity_mask SMALLINT NOT NULL DEFAULT 0;
+
+-- Backfill the masks from the existing color identities
+UPDATE cards c
+SET color_identity_mask = m.mask
+FROM (
+    SELECT ci.card_id, SUM(CASE ci.color
+            WHEN 'W' THEN 1
+            WHEN 'U' THEN 2
+            WHEN 'B' THEN 4
+            WHEN 'R' THEN 8
+            WHEN 'G' THEN 16
+        END) AS mask
+    FROM card_color_identity ci
+    GROUP BY ci.card_id
+) m
+WHERE m.card_id = c.id;
+
+CREATE INDEX IF NOT EXISTS idx_cards_color_identity_mask ON cards (color_identity_mask);
+
+ALTER TABLE decks ADD COLUMN IF NOT EXISTS commander_card_id INTEGER REFERENCES cards(id) ON DELETE SET NULL;
@@ -0,0 +1,21 @@
+-- ============================================
+-- Ban List Legality Overrides
+-- ============================================
+--
+-- Purpose: Remembers which card_legality rows a format's ban or restricted
+-- list set, and the status each row had before, so a card dropped from both
+-- lists gets its own status back (e.g. not_legal) instead of being forced
+-- legal.
+--
+-- set_by_list: the current status comes from the format's lists
+-- status_before_list: status before a list first set it; NULL when the
+--   list inserted the row, which is then deleted again on removal
+--
+-- Rows banned or restricted before this script ran carry no previous
+-- status; they become legal when their card leaves the lists.
+--
+-- Run this AFTER 11-add-commander-color-identity.sql
+-- ============================================
+
+ALTER TABLE card_legality ADD COLUMN IF NOT EXISTS set_by_list BOOLEAN NOT NULL DEFAULT FALSE;
+ALTER TABLE card_legality ADD COLUMN IF NOT EXISTS status_before_list TEXT;
@@ -0,0 +1,22 @@
+-- ============================================
+-- Normalized Card Name Indexes
+-- ============================================
+--
+-- Purpose: Ban and restricted lists name cards, and are matched against
+-- cards trimmed and case-insensitively (LOWER(TRIM(card_name))). Without
+-- an index on that expression every rules load and every ban list update
+-- scanned all cards once per list.
+--
+-- Hibernate renders TRIM(x) as trim(both from x), which PostgreSQL stores
+-- as btrim(x) just like TRIM(x) below, so the queries match the indexes.
+--
+-- Run this AFTER 12-add-legality-list-overrides.sql
+-- ============================================
+
+CREATE INDEX IF NOT EXISTS idx_cards_normalized_name ON cards (LOWER(TRIM(card_name)));
+
+-- Finding the formats that list a card when the card is written
+CREATE INDEX IF NOT EXISTS idx_format_banned_cards_normalized_name
+    ON format_banned_cards (LOWER(TRIM(card_name)));
+CREATE INDEX IF NOT EXISTS idx_format_restricted_cards_normalized_name
+    ON format_restricted_cards (LOWER(TRIM(card_name)));
@@ -0,0 +1,119 @@
+package com.deckbuilder.mtgdeckbuilder.application;
+
+import com.deckbuilder.mtgdeckbuilder.application.job.BanListLegalityJob;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.CardLegalityRepository;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.CardLegalityRepositoryCustom.StatusChange;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.CardRepository;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.CardRepository.CardNameView;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.DeckRepository;
+import com.deckbuilder.mtgdeckbuilder.model.BanListChange;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Ban List Legality Job Tests")
+class BanListLegalityJobTest {
+
+    @Mock
+    private CardRepository cardRepository;
+
+    @Mock
+    private CardLegalityRepository cardLegalityRepository;
+
+    @Mock
+    private DeckRepository deckRepository;
+
+    private BanListLegalityJob banListLegalityJob;
+
+    @BeforeEach
+    void setUp() {
+        banListLegalityJob = new BanListLegalityJob(cardRepository, cardLegalityRepository, deckRepository);
+    }
+
+    @Test
+    @DisplayName("Should write every printing of the cards whose status changed and count the decks now illegal")
+    void shouldApplyChangedStatuses() {
+        // Given - Ponder is newly banned, Brainstorm newly restricted and Mox Opal unbanned; Force of Will is unchanged
+        when(cardRepository.findNameViewsByNormalizedNameIn(Set.of("ponder", "brainstorm", "mox opal")))
+            .thenReturn(List.of(
+                printing(1L, "Ponder"), printing(2L, "Ponder"), printing(3L, "Brainstorm"), printing(4L, "Mox Opal")));
+        when(cardLegalityRepository.upsertListStatuses(eq(7L), any())).thenReturn(3);
+        when(cardLegalityRepository.restoreUnlistedStatuses(7L, List.of(4L))).thenReturn(1);
+        when(deckRepository.findIdsPlayingAnyOf(7L, Set.of(1L, 2L))).thenReturn(List.of(10L, 11L));
+        when(deckRepository.findIdsPlayingCopiesOfAny(7L, Set.of(3L))).thenReturn(List.of(11L, 12L));
+
+        // When
+        BanListChange result = banListLegalityJob.apply(7L,
+            List.of("Force of Will", "Mox Opal"), List.of(),
+            List.of("Force of Will", " ponder "), List.of("Brainstorm"));
+
+        // Then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<StatusChange>> changes = ArgumentCaptor.forClass(List.class);
+        verify(cardLegalityRepository).upsertListStatuses(eq(7L), changes.capture());
+        assertThat(changes.getValue()).containsExactlyInAnyOrder(
+            new StatusChange(1L, "banned"), new StatusChange(2L, "banned"), new StatusChange(3L, "restricted"));
+        // Mox Opal gets its status from before the ban back instead of being forced legal
+        verify(cardLegalityRepository).restoreUnlistedStatuses(7L, List.of(4L));
+        assertThat(result).isEqualTo(new BanListChange(3, 4, 3));
+    }
+
+    @Test
+    @DisplayName("Should count a card on both lists as banned")
+    void shouldPreferBan_WhenNameOnBothLists() {
+        // Given
+        when(cardRepository.findNameViewsByNormalizedNameIn(Set.of("brainstorm")))
+            .thenReturn(List.of(printing(3L, "Brainstorm")));
+
+        // When
+        banListLegalityJob.apply(7L, List.of(), List.of("Brainstorm"), List.of("Brainstorm"), List.of("Brainstorm"));
+
+        // Then
+        verify(cardLegalityRepository).upsertListStatuses(7L, List.of(new StatusChange(3L, "banned")));
+        verify(deckRepository, never()).findIdsPlayingCopiesOfAny(anyLong(), anyCollection());
+    }
+
+    @Test
+    @DisplayName("Should touch nothing when the lists only changed in case or whitespace")
+    void shouldDoNothing_WhenListsUnchanged() {
+        // When
+        BanListChange result = banListLegalityJob.apply(7L, List.of("Ponder"), List.of("Brainstorm"),
+            List.of("ponder "), List.of("BRAINSTORM"));
+
+        // Then
+        assertThat(result).isEqualTo(new BanListChange(0, 0, 0));
+        verifyNoInteractions(cardRepository, cardLegalityRepository, deckRepository);
+    }
+
+    private static CardNameView printing(Long id, String name) {
+        return new CardNameView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getName() {
+                return name;
+            }
+        };
+    }
+}
@@ -0,0 +1,256 @@
+package com.deckbuilder.mtgdeckbuilder.application;
+
+import com.deckbuilder.mtgdeckbuilder.application.implement.CardCooccurrenceServiceImpl;
+import com.deckbuilder.mtgdeckbuilder.application.similarity.CardCooccurrenceIndex;
+import com.deckbuilder.mtgdeckbuilder.application.similarity.CardCooccurrenceIndex.Dirty;
+import com.deckbuilder.mtgdeckbuilder.application.similarity.CardCooccurrenceIndex.PersistedRow;
+import com.deckbuilder.mtgdeckbuilder.application.similarity.CooccurrenceCodec;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.CardCooccurrenceRepository;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.CardInDeckRepository;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.CardRepository;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.CardRepository.CardSummaryView;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.exception.CardNotFoundException;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.mapper.CardEntityMapper;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.model.CardCooccurrenceEntity;
+import com.deckbuilder.mtgdeckbuilder.model.CardCompanion;
+import com.deckbuilder.mtgdeckbuilder.model.CardSummary;
+import com.deckbuilder.mtgdeckbuilder.model.DeckDelta;
+import com.deckbuilder.mtgdeckbuilder.model.DeckDelta.CardChange;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Card Co-occurrence Service Tests")
+class CardCooccurrenceServiceImplTest {
+
+    @Mock
+    private CardRepository cardRepository;
+
+    @Mock
+    private CardInDeckRepository cardInDeckRepository;
+
+    @Mock
+    private CardEntityMapper cardEntityMapper;
+
+    @Mock
+    private CardCooccurrenceRepository cardCooccurrenceRepository;
+
+    private ForkJoinPool pool;
+    private CardCooccurrenceIndex cardCooccurrenceIndex;
+    private CardCooccurrenceService cardCooccurrenceService;
+
+    @BeforeEach
+    void setUp() {
+        // Real matrix on a small pool, so the parallel count and the incremental updates are exercised
+        pool = new ForkJoinPool(4);
+        cardCooccurrenceIndex = new CardCooccurrenceIndex(pool);
+        cardCooccurrenceService = new CardCooccurrenceServiceImpl(cardRepository, cardInDeckRepository,
+            cardEntityMapper, cardCooccurrenceIndex, cardCooccurrenceRepository);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should rank companions by the decks shared with the card")
+    void shouldFindCompanionsByDecksShared() {
+        // Given - card 1 is played in three decks, with card 2 in all of them and card 3 in one
+        givenDecks(Map.of(
+            10L, new long[]{1, 2, 3},
+            11L, new long[]{1, 2},
+            12L, new long[]{1, 2, 4},
+            13L, new long[]{3, 4}));
+        givenSummaries();
+        cardCooccurrenceService.rebuildIndex();
+
+        // When
+        List<CardCompanion> companions = cardCooccurrenceService.findCompanions(1L, 20);
+
+        // Then
+        assertThat(companions)
+            .extracting(companion -> companion.getCard().getId(), CardCompanion::getDecks, CardCompanion::getShare)
+            .containsExactly(tuple(2L, 3, 1.0), tuple(3L, 1, 1 / 3.0), tuple(4L, 1, 1 / 3.0));
+    }
+
+    @Test
+    @DisplayName("Should follow card changes without counting the matrix again")
+    void shouldApplyCardChangesIncrementally() {
+        // Given
+        givenDecks(Map.of(10L, new long[]{1, 2}, 11L, new long[]{1, 3}));
+        givenSummaries();
+        cardCooccurrenceService.rebuildIndex();
+
+        // When - deck 11 swaps card 3 for card 2, and a new deck plays cards 1 and 3
+        cardCooccurrenceIndex.recordChange(DeckDelta.builder().deckId(11L).changes(List.of(
+            CardChange.builder().cardId(2L).section("main").previousQuantity(0).quantity(4).build(),
+            CardChange.builder().cardId(3L).section("main").previousQuantity(4).quantity(0).build(),
+            CardChange.builder().cardId(9L).section("sideboard").previousQuantity(0).quantity(2).build())).build());
+        cardCooccurrenceIndex.recordDeck(12L, List.of(1L, 3L, 3L));
+        List<CardCompanion> companions = cardCooccurrenceService.findCompanions(1L, 20);
+
+        // Then
+        verify(cardInDeckRepository, times(1)).streamMainDeckCardIds();
+        assertThat(companions)
+            .extracting(companion -> companion.getCard().getId(), CardCompanion::getDecks)
+            .containsExactly(tuple(2L, 2), tuple(3L, 1));
+    }
+
+    @Test
+    @DisplayName("Should hand changed rows to the flush in their compressed form")
+    void shouldDrainChangedRows() {
+        // Given - a rebuilt matrix is written in full once
+        givenDecks(Map.of(10L, new long[]{1, 2}));
+        cardCooccurrenceService.rebuildIndex();
+        assertThat(cardCooccurrenceIndex.drainDirty().rewriteAll()).isTrue();
+
+        // When
+        cardCooccurrenceIndex.remove(10L);
+        Dirty dirty = cardCooccurrenceIndex.drainDirty();
+
+        // Then - both rows changed and are now empty
+        assertThat(dirty.rewriteAll()).isFalse();
+        assertThat(dirty.rows()).extracting(PersistedRow::cardId, PersistedRow::decks, PersistedRow::neighbors)
+            .containsExactlyInAnyOrder(tuple(1L, 0, 0), tuple(2L, 0, 0));
+        assertThat(cardCooccurrenceIndex.drainDirty().rows()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should load the persisted rows instead of counting the matrix again")
+    void shouldRestorePersistedRows() {
+        // Given - the rows a previous run flushed
+        givenDecks(Map.of(
+            10L, new long[]{1, 2, 3},
+            11L, new long[]{1, 2},
+            12L, new long[]{3}));
+        cardCooccurrenceService.rebuildIndex();
+        List<CardCooccurrenceEntity> persisted = cardCooccurrenceIndex.drainDirty().rows().stream()
+            .map(row -> CardCooccurrenceEntity.builder().cardId(row.cardId()).decks(row.decks())
+                .neighbors(row.neighbors()).payload(row.payload()).build())
+            .toList();
+
+        CardCooccurrenceIndex restarted = new CardCooccurrenceIndex(pool);
+        CardCooccurrenceService restartedService = new CardCooccurrenceServiceImpl(cardRepository,
+            cardInDeckRepository, cardEntityMapper, restarted, cardCooccurrenceRepository);
+        when(cardCooccurrenceRepository.count()).thenReturn((long) persisted.size());
+        when(cardCooccurrenceRepository.findAll()).thenReturn(persisted);
+        givenSummaries();
+
+        // When
+        int loaded = restartedService.loadIndex();
+        restarted.recordDeck(13L, List.of(1L, 3L));
+        List<CardCompanion> companions = restartedService.findCompanions(1L, 20);
+
+        // Then - same counts, later changes apply, and only the changed rows are written back
+        assertThat(loaded).isEqualTo(3);
+        assertThat(companions)
+            .extracting(companion -> companion.getCard().getId(), CardCompanion::getDecks, CardCompanion::getShare)
+            .containsExactly(tuple(2L, 2, 2 / 3.0), tuple(3L, 2, 2 / 3.0));
+        Dirty dirty = restarted.drainDirty();
+        assertThat(dirty.rewriteAll()).isFalse();
+        assertThat(dirty.rows()).extracting(PersistedRow::cardId).containsExactlyInAnyOrder(1L, 3L);
+    }
+
+    @Test
+    @DisplayName("Should count the matrix when nothing was persisted yet")
+    void shouldRebuild_WhenNoRowsPersisted() {
+        // Given
+        givenDecks(Map.of(10L, new long[]{1, 2}));
+        when(cardCooccurrenceRepository.count()).thenReturn(0L);
+
+        // When
+        int loaded = cardCooccurrenceService.loadIndex();
+
+        // Then
+        assertThat(loaded).isEqualTo(2);
+        assertThat(cardCooccurrenceIndex.drainDirty().rewriteAll()).isTrue();
+        verify(cardCooccurrenceRepository, never()).findAll();
+    }
+
+    @Test
+    @DisplayName("Should answer with no companions until the matrix is loaded")
+    void shouldFindNoCompanions_WhenMatrixNotLoaded() {
+        // Given
+        when(cardRepository.existsById(1L)).thenReturn(true);
+
+        // When
+        List<CardCompanion> companions = cardCooccurrenceService.findCompanions(1L, 20);
+
+        // Then - the request never counts the matrix itself
+        assertThat(companions).isEmpty();
+        verify(cardInDeckRepository, never()).streamMainDeckCardIds();
+    }
+
+    @Test
+    @DisplayName("Should round-trip a row through the codec")
+    void shouldEncodeAndDecodeRow() {
+        // Given
+        long[] cardIds = {3, 4, 900, 1_000_000};
+        int[] decks = {1, 250, 7, 70_000};
+
+        // When
+        byte[] payload = CooccurrenceCodec.encode(cardIds, decks, cardIds.length);
+        CooccurrenceCodec.Row row = CooccurrenceCodec.decode(payload, cardIds.length);
+
+        // Then
+        assertThat(row.cardIds()).containsExactly(cardIds);
+        assertThat(row.decks()).containsExactly(decks);
+        assertThat(payload).hasSizeLessThan(cardIds.length * 12);
+    }
+
+    @Test
+    @DisplayName("Should throw exception for a non-existent card")
+    void shouldThrowException_WhenCardNotFound() {
+        // Given
+        when(cardRepository.existsById(999L)).thenReturn(false);
+
+        // When & Then
+        assertThatThrownBy(() -> cardCooccurrenceService.findCompanions(999L, 20))
+            .isInstanceOf(CardNotFoundException.class);
+        verify(cardInDeckRepository, never()).streamMainDeckCardIds();
+    }
+
+    private void givenDecks(Map<Long, long[]> decks) {
+        when(cardInDeckRepository.streamMainDeckCardIds()).thenAnswer(invocation -> DeckCardIdRows.of(decks).stream());
+    }
+
+    private void givenSummaries() {
+        when(cardRepository.existsById(1L)).thenReturn(true);
+        when(cardRepository.findSummaryViewsByIdIn(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return ids.stream().map(CardCooccurrenceServiceImplTest::summaryView).toList();
+        });
+        when(cardEntityMapper.toSummary(any())).thenAnswer(invocation -> {
+            CardSummaryView view = invocation.getArgument(0);
+            return CardSummary.builder().id(view.getId()).build();
+        });
+    }
+
+    private static CardSummaryView summaryView(Long id) {
+        CardSummaryView view = mock(CardSummaryView.class);
+        when(view.getId()).thenReturn(id);
+        return view;
+    }
+}
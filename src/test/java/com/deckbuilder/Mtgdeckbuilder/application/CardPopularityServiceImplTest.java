@@ -0,0 +1,188 @@
+package com.deckbuilder.mtgdeckbuilder.application;
+
+import com.deckbuilder.mtgdeckbuilder.application.implement.CardPopularityServiceImpl;
+import com.deckbuilder.mtgdeckbuilder.application.job.CardPopularityFlushJob;
+import com.deckbuilder.mtgdeckbuilder.application.stats.CardPopularityCounters;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.CardPopularityRepository;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.CardPopularityRepositoryCustom.Increment;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.CardRepository;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.DeckRepository;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.DeckRepository.FormatDeckCountView;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.FormatRepository;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.exception.CardNotFoundException;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.model.CardPopularityEntity;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.model.FormatEntity;
+import com.deckbuilder.mtgdeckbuilder.model.CardPopularity;
+import com.deckbuilder.mtgdeckbuilder.model.DeckDelta;
+import com.deckbuilder.mtgdeckbuilder.model.DeckDelta.CardChange;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Card Popularity Service Tests")
+class CardPopularityServiceImplTest {
+
+    @Mock
+    private CardRepository cardRepository;
+
+    @Mock
+    private CardPopularityRepository cardPopularityRepository;
+
+    @Mock
+    private DeckRepository deckRepository;
+
+    @Mock
+    private FormatRepository formatRepository;
+
+    private CardPopularityCounters cardPopularityCounters;
+    private CardPopularityFlushJob cardPopularityFlushJob;
+    private CardPopularityService cardPopularityService;
+
+    @BeforeEach
+    void setUp() {
+        // Real counters, so accumulation and draining are exercised against the mocked table
+        cardPopularityCounters = new CardPopularityCounters();
+        cardPopularityFlushJob = new CardPopularityFlushJob(cardPopularityCounters, cardPopularityRepository);
+        cardPopularityService = new CardPopularityServiceImpl(cardRepository, cardPopularityRepository,
+            deckRepository, formatRepository);
+    }
+
+    @Test
+    @DisplayName("Should count only cards entering or leaving a main deck")
+    void shouldCountMainDeckEntriesAndExits() {
+        // When - card 1 enters, card 2 gains copies, card 3 leaves and card 4 enters the sideboard
+        cardPopularityCounters.recordChange(7L, DeckDelta.builder().deckId(1L).changes(List.of(
+            CardChange.builder().cardId(1L).section("main").previousQuantity(0).quantity(4).build(),
+            CardChange.builder().cardId(2L).section("main").previousQuantity(2).quantity(4).build(),
+            CardChange.builder().cardId(3L).section("main").previousQuantity(1).quantity(0).build(),
+            CardChange.builder().cardId(4L).section("sideboard").previousQuantity(0).quantity(2).build())).build());
+        cardPopularityCounters.recordDeck(7L, List.of(1L, 1L, 5L), 1);
+
+        // Then
+        assertThat(cardPopularityCounters.drain())
+            .extracting(Increment::cardId, Increment::formatId, Increment::decks)
+            .containsExactlyInAnyOrder(tuple(1L, 7L, 2), tuple(3L, 7L, -1), tuple(5L, 7L, 1));
+        assertThat(cardPopularityCounters.drain()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should lose no increment of concurrent writers")
+    void shouldKeepConcurrentIncrements() throws Exception {
+        // Given
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+        List<Increment> drained = new ArrayList<>();
+
+        // When - eight writers add the same card to 1000 decks each while the flush drains
+        try {
+            for (int writer = 0; writer < 8; writer++) {
+                futures.add(executor.submit(() -> {
+                    for (int deck = 0; deck < 1000; deck++) {
+                        cardPopularityCounters.recordDeck(7L, List.of(1L), 1);
+                    }
+                }));
+            }
+            for (int i = 0; i < 20; i++) {
+                drained.addAll(cardPopularityCounters.drain());
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        drained.addAll(cardPopularityCounters.drain());
+
+        // Then
+        assertThat(drained.stream().mapToInt(Increment::decks).sum()).isEqualTo(8000);
+    }
+
+    @Test
+    @DisplayName("Should keep the changes for the next flush when writing them fails")
+    void shouldRestoreChanges_WhenFlushFails() {
+        // Given
+        cardPopularityCounters.recordDeck(7L, List.of(1L, 2L), 1);
+        doThrow(new IllegalStateException("database unavailable")).when(cardPopularityRepository).addDecks(anyList());
+
+        // When
+        assertThatThrownBy(() -> cardPopularityFlushJob.flush()).isInstanceOf(IllegalStateException.class);
+
+        // Then
+        assertThat(cardPopularityCounters.drain())
+            .extracting(Increment::cardId, Increment::decks)
+            .containsExactlyInAnyOrder(tuple(1L, 1), tuple(2L, 1));
+    }
+
+    @Test
+    @DisplayName("Should compute inclusion rates per format, highest first")
+    void shouldFindInclusionRates() {
+        // Given - the card is in 34 of 100 Modern decks and 40 of 200 Legacy decks
+        when(cardRepository.existsById(1L)).thenReturn(true);
+        when(cardPopularityRepository.findByCardIdAndDecksGreaterThanOrderByDecksDesc(1L, 0)).thenReturn(List.of(
+            CardPopularityEntity.builder().cardId(1L).formatId(3L).decks(40).build(),
+            CardPopularityEntity.builder().cardId(1L).formatId(2L).decks(34).build()));
+        when(deckRepository.countByFormatIdIn(List.of(3L, 2L)))
+            .thenReturn(List.of(formatDecks(2L, 100), formatDecks(3L, 200)));
+        when(formatRepository.findAllById(List.of(3L, 2L)))
+            .thenReturn(List.of(format(2L, "Modern"), format(3L, "Legacy")));
+
+        // When
+        List<CardPopularity> popularity = cardPopularityService.findInclusionRates(1L);
+
+        // Then
+        assertThat(popularity)
+            .extracting(CardPopularity::getFormatName, CardPopularity::getDecks, CardPopularity::getFormatDecks,
+                CardPopularity::getInclusionRate)
+            .containsExactly(tuple("Modern", 34, 100L, 0.34), tuple("Legacy", 40, 200L, 0.2));
+    }
+
+    @Test
+    @DisplayName("Should throw exception for a non-existent card")
+    void shouldThrowException_WhenCardNotFound() {
+        // Given
+        when(cardRepository.existsById(999L)).thenReturn(false);
+
+        // When & Then
+        assertThatThrownBy(() -> cardPopularityService.findInclusionRates(999L))
+            .isInstanceOf(CardNotFoundException.class);
+        verify(cardPopularityRepository, never()).findByCardIdAndDecksGreaterThanOrderByDecksDesc(999L, 0);
+    }
+
+    private static FormatDeckCountView formatDecks(Long formatId, long decks) {
+        return new FormatDeckCountView() {
+            @Override
+            public Long getFormatId() {
+                return formatId;
+            }
+
+            @Override
+            public long getDecks() {
+                return decks;
+            }
+        };
+    }
+
+    private static FormatEntity format(Long id, String name) {
+        return FormatEntity.builder().id(id).name(name).build();
+    }
+}
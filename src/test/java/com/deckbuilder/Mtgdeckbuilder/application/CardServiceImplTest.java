@@ -1,17 +1,25 @@
 package com.deckbuilder.mtgdeckbuilder.application;
 
 import com.deckbuilder.mtgdeckbuilder.application.implement.CardServiceImpl;
+import com.deckbuilder.mtgdeckbuilder.application.importer.CardNameIndex;
+import com.deckbuilder.mtgdeckbuilder.application.rules.FormatRulesCache;
+import com.deckbuilder.mtgdeckbuilder.application.rules.LegalityMatrix;
+import com.deckbuilder.mtgdeckbuilder.application.stats.DeckStatsCache;
 import com.deckbuilder.mtgdeckbuilder.infrastructure.CardRepository;
 import com.deckbuilder.mtgdeckbuilder.infrastructure.config.PaginationConfig;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.exception.CardNotFoundException;
 import com.deckbuilder.mtgdeckbuilder.infrastructure.mapper.CardEntityMapper;
 import com.deckbuilder.mtgdeckbuilder.infrastructure.model.CardEntity;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.model.CardManaSymbols;
 import com.deckbuilder.mtgdeckbuilder.model.Card;
 import com.deckbuilder.mtgdeckbuilder.model.CardSearchCriteria;
 import com.deckbuilder.mtgdeckbuilder.model.CardSearchResult;
+import com.deckbuilder.mtgdeckbuilder.model.ManaSymbols;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -23,6 +31,7 @@ import org.springframework.data.domain.PageRequest;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -43,6 +52,18 @@ class CardServiceImplTest {
 	@Mock
 	private PaginationConfig paginationConfig;
 
+	@Mock
+	private LegalityMatrix legalityMatrix;
+
+	@Mock
+	private FormatRulesCache formatRulesCache;
+
+	@Mock
+	private DeckStatsCache deckStatsCache;
+
+	@Mock
+	private CardNameIndex cardNameIndex;
+
 	@InjectMocks
 	private CardServiceImpl cardService;
 
@@ -170,6 +191,34 @@ class CardServiceImplTest {
 		verify(this.cardEntityMapper, times(1)).toEntity(newCard);
 		verify(this.cardRepository, times(1)).save(newEntity);
 		verify(this.cardEntityMapper, times(1)).toModel(savedEntity);
+		verify(this.formatRulesCache, times(1)).invalidateCardNames(List.of("New Card"));
+	}
+
+	@Test
+	@DisplayName("Should store the parsed mana cost when creating a card")
+	void shouldStoreParsedManaSymbols_WhenCreatingCard() {
+		// Given
+		final Card newCard = Card.builder().name("Odd Card").manaCost("{X}{2}{W}{U/P}{R/G}{S}").typeLine("Sorcery")
+				.build();
+		final CardEntity newEntity = new CardEntity();
+		newEntity.setManaCost("{X}{2}{W}{U/P}{R/G}{S}");
+		final CardManaSymbols embeddable = new CardManaSymbols();
+		final ArgumentCaptor<ManaSymbols> parsed = ArgumentCaptor.forClass(ManaSymbols.class);
+
+		when(this.cardEntityMapper.toEntity(newCard)).thenReturn(newEntity);
+		when(this.cardEntityMapper.toEmbeddable(parsed.capture())).thenReturn(embeddable);
+		when(this.cardRepository.save(newEntity)).thenReturn(newEntity);
+		when(this.cardEntityMapper.toModel(newEntity)).thenReturn(newCard);
+
+		// When
+		this.cardService.createCard(newCard);
+
+		// Then
+		assertThat(newEntity.getManaSymbols()).isSameAs(embeddable);
+		assertThat(parsed.getValue()).isEqualTo(ManaSymbols.builder()
+				.generic(2).white(1).blue(1).red(1).green(1)
+				.colored(3).hybrid(1).phyrexian(1).x(1).snow(1)
+				.build());
 	}
 
 	@Test
@@ -192,7 +241,7 @@ class CardServiceImplTest {
 		final Card savedCard = Card.builder().id(1L).name("Lightning Bolt Updated").manaCost("{R}").typeLine("Instant")
 				.build();
 
-		when(this.cardRepository.existsById(1L)).thenReturn(true);
+		when(this.cardRepository.findNameById(1L)).thenReturn(Optional.of("Lightning Bolt"));
 		when(this.cardEntityMapper.toEntity(updatedCard)).thenReturn(updatedEntity);
 		when(this.cardRepository.save(any(CardEntity.class))).thenReturn(savedEntity);
 		when(this.cardEntityMapper.toModel(savedEntity)).thenReturn(savedCard);
@@ -204,8 +253,10 @@ class CardServiceImplTest {
 		assertThat(result).isPresent();
 		assertThat(result.get().getId()).isEqualTo(1L);
 		assertThat(result.get().getName()).isEqualTo("Lightning Bolt Updated");
-		verify(this.cardRepository, times(1)).existsById(1L);
+		verify(this.cardRepository, times(1)).findNameById(1L);
 		verify(this.cardRepository, times(1)).save(any(CardEntity.class));
+		verify(this.formatRulesCache, times(1))
+				.invalidateCardNames(List.of("Lightning Bolt", "Lightning Bolt Updated"));
 	}
 
 	@Test
@@ -213,15 +264,16 @@ class CardServiceImplTest {
 	void shouldReturnEmptyWhenUpdatingNonExistentCard() {
 		// Given
 		final Card updatedCard = Card.builder().name("Non-existent Card").build();
-		when(this.cardRepository.existsById(999L)).thenReturn(false);
+		when(this.cardRepository.findNameById(999L)).thenReturn(Optional.empty());
 
 		// When
 		final Optional<Card> result = this.cardService.updateCard(999L, updatedCard);
 
 		// Then
 		assertThat(result).isEmpty();
-		verify(this.cardRepository, times(1)).existsById(999L);
+		verify(this.cardRepository, times(1)).findNameById(999L);
 		verify(this.cardRepository, never()).save(any(CardEntity.class));
+		verifyNoInteractions(this.formatRulesCache);
 	}
 
 	@Test
@@ -229,6 +281,7 @@ class CardServiceImplTest {
 	void shouldDeleteCard() {
 		// Given
 		final Long cardId = 1L;
+		when(this.cardRepository.findNameById(cardId)).thenReturn(Optional.of("Lightning Bolt"));
 		doNothing().when(this.cardRepository).deleteById(cardId);
 
 		// When
@@ -236,6 +289,7 @@ class CardServiceImplTest {
 
 		// Then
 		verify(this.cardRepository, times(1)).deleteById(cardId);
+		verify(this.formatRulesCache, times(1)).invalidateCardNames(List.of("Lightning Bolt"));
 	}
 
 	@Test
@@ -261,20 +315,27 @@ class CardServiceImplTest {
 	}
 
 	@Test
-	@DisplayName("Should get cards by format")
+	@DisplayName("Should get every card of a format from the chunked stream")
 	void shouldGetCardsByFormat() {
-		// Given
-		final Page<CardEntity> entityPage = new PageImpl<>(List.of(this.testCardEntity));
-		when(this.cardRepository.searchCardsWithDetailedCriteria(any(), any(Pageable.class))).thenReturn(entityPage);
+		// Given - two chunks, so nothing is truncated at a page size
+		final CardEntity secondEntity = new CardEntity();
+		secondEntity.setId(2L);
+		final Card secondCard = Card.builder().id(2L).name("Counterspell").build();
+		doAnswer(invocation -> {
+			final Consumer<List<CardEntity>> chunkConsumer = invocation.getArgument(2);
+			chunkConsumer.accept(List.of(this.testCardEntity));
+			chunkConsumer.accept(List.of(secondEntity));
+			return null;
+		}).when(this.cardRepository).streamByFormat(eq(1L), anyInt(), any());
 		when(this.cardEntityMapper.toModel(this.testCardEntity)).thenReturn(this.testCard);
+		when(this.cardEntityMapper.toModel(secondEntity)).thenReturn(secondCard);
 
 		// When
 		final List<Card> result = this.cardService.getCardsByFormat(1L);
 
 		// Then
-		assertThat(result).hasSize(1);
-		assertThat(result.get(0).getName()).isEqualTo("Lightning Bolt");
-		verify(this.cardRepository, times(1)).searchCardsWithDetailedCriteria(any(), any(Pageable.class));
+		assertThat(result).extracting(Card::getName).containsExactly("Lightning Bolt", "Counterspell");
+		verify(this.cardRepository, never()).searchCardsWithDetailedCriteria(any(), any(Pageable.class));
 	}
 
 	// ========================================
@@ -579,6 +640,40 @@ class CardServiceImplTest {
 		verify(this.cardRepository, times(1)).searchCardsWithDetailedCriteria(eq(criteria), any(Pageable.class));
 	}
 
+	@Test
+	@DisplayName("Should resolve the commander's color identity from the card index before searching")
+	void shouldSearchCardsWithinCommanderIdentity() {
+		// Given - an Izzet commander (U = 2, R = 8)
+		final CardSearchCriteria criteria = CardSearchCriteria.builder().commanderId(7L).build();
+		final Page<CardEntity> entityPage = new PageImpl<>(List.of(), PageRequest.of(0, 20), 0);
+
+		when(this.paginationConfig.validatePageSize(20)).thenReturn(20);
+		when(this.paginationConfig.validatePageNumber(0)).thenReturn(0);
+		when(this.legalityMatrix.isKnownCard(7L)).thenReturn(true);
+		when(this.legalityMatrix.getColorIdentity(7L)).thenReturn(10);
+		when(this.cardRepository.searchCardsWithDetailedCriteria(eq(criteria), any(Pageable.class))).thenReturn(entityPage);
+
+		// When
+		this.cardService.searchCardsWithCriteria(criteria, 20, 0);
+
+		// Then
+		assertThat(criteria.getCommanderIdentityMask()).isEqualTo(10);
+		verify(this.cardRepository, never()).findById(any());
+	}
+
+	@Test
+	@DisplayName("Should throw exception when searching within an unknown commander's identity")
+	void shouldThrowException_WhenCommanderNotFound() {
+		// Given
+		final CardSearchCriteria criteria = CardSearchCriteria.builder().commanderId(999L).build();
+		when(this.legalityMatrix.isKnownCard(999L)).thenReturn(false);
+
+		// When & Then
+		assertThatThrownBy(() -> this.cardService.searchCardsWithCriteria(criteria, 20, 0))
+			.isInstanceOf(CardNotFoundException.class);
+		verify(this.cardRepository, never()).searchCardsWithDetailedCriteria(any(), any());
+	}
+
 	@Test
 	@DisplayName("Should get random cards without filters")
 	void shouldGetRandomCardsWithoutFilters() {
@@ -0,0 +1,45 @@
+package com.deckbuilder.mtgdeckbuilder.application;
+
+import com.deckbuilder.mtgdeckbuilder.infrastructure.CardInDeckRepository;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.CardInDeckRepository.DeckCardIdView;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Main deck card id rows, as streamed by {@link CardInDeckRepository#streamMainDeckCardIds()}, for tests of the
+ * in-memory deck indexes
+ */
+final class DeckCardIdRows {
+
+    private DeckCardIdRows() {
+    }
+
+    /**
+     * One row per card of each deck, ordered by deck id like the repository query
+     */
+    static List<DeckCardIdView> of(Map<Long, long[]> decks) {
+        List<DeckCardIdView> rows = new ArrayList<>();
+        decks.keySet().stream().sorted().forEach(deckId -> {
+            for (long cardId : decks.get(deckId)) {
+                rows.add(row(deckId, cardId));
+            }
+        });
+        return rows;
+    }
+
+    private static DeckCardIdView row(Long deckId, Long cardId) {
+        return new DeckCardIdView() {
+            @Override
+            public Long getDeckId() {
+                return deckId;
+            }
+
+            @Override
+            public Long getCardId() {
+                return cardId;
+            }
+        };
+    }
+}
@@ -0,0 +1,161 @@
+package com.deckbuilder.mtgdeckbuilder.application;
+
+import com.deckbuilder.mtgdeckbuilder.application.history.DeckChangeCodec;
+import com.deckbuilder.mtgdeckbuilder.application.history.DeckChangeCodec.Entry;
+import com.deckbuilder.mtgdeckbuilder.application.history.DeckRevisionLog;
+import com.deckbuilder.mtgdeckbuilder.application.implement.DeckHistoryServiceImpl;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.CardInDeckRepository;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.DeckRepository;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.DeckRevisionRepository;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.exception.DeckNotFoundException;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.exception.DeckRevisionNotFoundException;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.model.DeckRevisionEntity;
+import com.deckbuilder.mtgdeckbuilder.model.Deck.CardInDeck;
+import com.deckbuilder.mtgdeckbuilder.model.DeckDelta.CardChange;
+import com.deckbuilder.mtgdeckbuilder.model.DeckDiff;
+import com.deckbuilder.mtgdeckbuilder.model.DeckRevision;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Deck History Service Tests")
+class DeckHistoryServiceImplTest {
+
+    private static final LocalDateTime CREATED = LocalDateTime.of(2025, 1, 1, 12, 0);
+
+    @Mock
+    private DeckRepository deckRepository;
+
+    @Mock
+    private DeckRevisionRepository deckRevisionRepository;
+
+    @Mock
+    private CardInDeckRepository cardInDeckRepository;
+
+    private DeckHistoryService deckHistoryService;
+
+    private DeckRevisionEntity snapshot;
+    private DeckRevisionEntity addBolts;
+    private DeckRevisionEntity swapSideboard;
+
+    @BeforeEach
+    void setUp() {
+        // Real revision log over mocked repositories, so encoding, replay and merge are exercised
+        deckHistoryService = new DeckHistoryServiceImpl(deckRepository,
+            new DeckRevisionLog(deckRevisionRepository, cardInDeckRepository));
+
+        snapshot = revision(1, true, List.of(new Entry("main", 10L, 4), new Entry("sideboard", 20L, 2)));
+        addBolts = revision(2, false, List.of(new Entry("main", 300_000L, 4)));
+        swapSideboard = revision(3, false, List.of(new Entry("sideboard", 20L, -2), new Entry("sideboard", 21L, 3),
+            new Entry("main", 10L, -1)));
+    }
+
+    @Test
+    @DisplayName("Should encode a single card edit in a few bytes")
+    void shouldEncodeEditCompactly() {
+        // When
+        byte[] payload = DeckChangeCodec.encode(List.of(new Entry("main", 300_000L, 4)));
+
+        // Then
+        assertThat(payload).hasSizeLessThanOrEqualTo(6);
+        assertThat(DeckChangeCodec.decode(payload)).containsExactly(new Entry("main", 300_000L, 4));
+        assertThat(DeckChangeCodec.decode(swapSideboard.getPayload())).containsExactly(new Entry("main", 10L, -1),
+            new Entry("sideboard", 20L, -2), new Entry("sideboard", 21L, 3));
+    }
+
+    @Test
+    @DisplayName("Should rebuild a revision from the snapshot and the deltas after it")
+    void shouldRebuildRevision() {
+        // Given
+        when(deckRepository.findRevisionById(1L)).thenReturn(3L);
+        stubHistory(3, snapshot, addBolts, swapSideboard);
+
+        // When
+        DeckRevision revision = deckHistoryService.getRevision(1L, 3);
+
+        // Then
+        assertThat(revision.getRevision()).isEqualTo(3L);
+        assertThat(revision.getCreated()).isEqualTo(CREATED.plusMinutes(3));
+        assertThat(revision.getCards())
+            .extracting(CardInDeck::getSection, CardInDeck::getCardId, CardInDeck::getQuantity)
+            .containsExactly(tuple("main", 10L, 3), tuple("main", 300_000L, 4), tuple("sideboard", 21L, 3));
+    }
+
+    @Test
+    @DisplayName("Should diff two revisions card by card")
+    void shouldDiffRevisions() {
+        // Given
+        when(deckRepository.findRevisionById(1L)).thenReturn(3L);
+        stubHistory(1, snapshot);
+        stubHistory(3, snapshot, addBolts, swapSideboard);
+
+        // When
+        DeckDiff diff = deckHistoryService.diff(1L, 1, 3);
+
+        // Then
+        assertThat(diff.getChanges())
+            .extracting(CardChange::getSection, CardChange::getCardId, CardChange::getPreviousQuantity,
+                CardChange::getQuantity)
+            .containsExactly(
+                tuple("main", 10L, 4, 3),
+                tuple("main", 300_000L, 0, 4),
+                tuple("sideboard", 20L, 2, 0),
+                tuple("sideboard", 21L, 0, 3));
+    }
+
+    @Test
+    @DisplayName("Should reject revisions that were never recorded")
+    void shouldRejectUnknownRevision() {
+        // Given
+        when(deckRepository.findRevisionById(1L)).thenReturn(3L);
+        when(deckRevisionRepository.findFirstByDeckIdAndSnapshotTrueAndRevisionLessThanEqualOrderByRevisionDesc(1L, 4))
+            .thenReturn(Optional.of(snapshot));
+        when(deckRevisionRepository.findByDeckIdAndRevisionBetweenOrderByRevisionAsc(1L, 1, 4))
+            .thenReturn(List.of(snapshot, addBolts, swapSideboard));
+
+        // When & Then
+        assertThatThrownBy(() -> deckHistoryService.getRevision(1L, 4))
+            .isInstanceOf(DeckRevisionNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("Should throw exception for a non-existent deck")
+    void shouldThrowException_WhenDeckNotFound() {
+        // Given
+        when(deckRepository.findRevisionById(999L)).thenReturn(null);
+
+        // When & Then
+        assertThatThrownBy(() -> deckHistoryService.getRevision(999L, 1))
+            .isInstanceOf(DeckNotFoundException.class);
+    }
+
+    private void stubHistory(long target, DeckRevisionEntity... revisions) {
+        when(deckRevisionRepository.findFirstByDeckIdAndSnapshotTrueAndRevisionLessThanEqualOrderByRevisionDesc(1L,
+            target)).thenReturn(Optional.of(snapshot));
+        when(deckRevisionRepository.findByDeckIdAndRevisionBetweenOrderByRevisionAsc(1L, 1, target))
+            .thenReturn(List.of(revisions));
+    }
+
+    private static DeckRevisionEntity revision(long revision, boolean snapshot, List<Entry> entries) {
+        return DeckRevisionEntity.builder()
+            .deckId(1L)
+            .revision(revision)
+            .created(CREATED.plusMinutes(revision))
+            .snapshot(snapshot)
+            .payload(DeckChangeCodec.encode(entries))
+            .build();
+    }
+}
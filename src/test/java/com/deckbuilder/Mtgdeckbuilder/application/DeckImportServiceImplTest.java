@@ -0,0 +1,193 @@
+package com.deckbuilder.mtgdeckbuilder.application;
+
+import com.deckbuilder.mtgdeckbuilder.application.implement.DeckImportServiceImpl;
+import com.deckbuilder.mtgdeckbuilder.application.importer.CardNameIndex;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.CardInDeckRepository;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.CardRepository;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.CardRepository.CardPrintingView;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.DeckRepository;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.exception.InvalidDeckCompositionException;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.model.CardInDeckEntity;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.model.DeckEntity;
+import com.deckbuilder.mtgdeckbuilder.model.DeckCardOperation;
+import com.deckbuilder.mtgdeckbuilder.model.DeckCardOperation.Type;
+import com.deckbuilder.mtgdeckbuilder.model.DeckDelta;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Deck Import Service Tests")
+class DeckImportServiceImplTest {
+
+    @Mock
+    private DeckService deckService;
+
+    @Mock
+    private DeckRepository deckRepository;
+
+    @Mock
+    private CardInDeckRepository cardInDeckRepository;
+
+    @Mock
+    private CardRepository cardRepository;
+
+    private DeckImportService deckImportService;
+
+    @BeforeEach
+    void setUp() {
+        // Real name index over a mocked repository, so parsing and name resolution are exercised together
+        when(cardRepository.findAllPrintings()).thenReturn(List.of(
+            printing(1L, "Lightning Bolt", "141", "Magic 2010", false),
+            printing(2L, "Lightning Bolt", "401", "Modern Horizons 2", false),
+            printing(3L, "Fire // Ice", "290", "Modern Horizons 2", false),
+            printing(4L, "Delver of Secrets // Insectile Aberration", "51", "Innistrad", false),
+            printing(5L, "Lim-Dûl's Vault", "172", "Alliances", false),
+            printing(6L, "Pyroblast", "213", "Ice Age", true),
+            printing(7L, "Pyroblast", "214", "Ice Age", false)));
+        deckImportService = new DeckImportServiceImpl(deckService, deckRepository, cardInDeckRepository,
+            new CardNameIndex(cardRepository));
+    }
+
+    @Test
+    @DisplayName("Should resolve names, faces and printings and apply one batch")
+    void shouldResolveAndApplyOneBatch() {
+        // Given
+        String decklist = String.join("\n",
+            "4 lightning bolt",
+            "2x Lightning Bolt (Modern Horizons 2) 401",
+            "1 fire//ice",
+            "4 Delver of Secrets",
+            "1 Lim-Dul's Vault",
+            "",
+            "2 Pyroblast");
+        DeckDelta delta = DeckDelta.builder().deckId(1L).version(7L).build();
+        when(deckService.applyCardOperations(eq(1L), anyList())).thenReturn(delta);
+
+        // When
+        DeckDelta result = deckImportService.importDecklist(1L, decklist, false);
+
+        // Then
+        assertThat(result).isSameAs(delta);
+        assertThat(capturedOperations())
+            .extracting(DeckCardOperation::getType, DeckCardOperation::getCardId, DeckCardOperation::getQuantity,
+                DeckCardOperation::getSection)
+            .containsExactly(
+                tuple(Type.ADD, 1L, 4, "main"),
+                tuple(Type.ADD, 2L, 2, "main"),
+                tuple(Type.ADD, 3L, 1, "main"),
+                tuple(Type.ADD, 4L, 4, "main"),
+                tuple(Type.ADD, 5L, 1, "main"),
+                tuple(Type.ADD, 7L, 2, "sideboard"));
+        verify(cardRepository, times(1)).findAllPrintings();
+    }
+
+    @Test
+    @DisplayName("Should reject the whole list when a card is unknown")
+    void shouldRejectList_WhenCardIsUnknown() {
+        // Given
+        String decklist = "4 Lightning Bolt\n4 Not A Real Card\nfour Counterspell";
+
+        // When & Then
+        assertThatThrownBy(() -> deckImportService.importDecklist(1L, decklist, false))
+            .isInstanceOf(InvalidDeckCompositionException.class)
+            .hasMessageContaining("2 problems")
+            .hasMessageContaining("Not A Real Card")
+            .hasMessageContaining("line 3");
+        verify(deckService, never()).applyCardOperations(anyLong(), anyList());
+    }
+
+    @Test
+    @DisplayName("Should set listed quantities and clear unlisted cards when replacing")
+    void shouldReplaceContents() {
+        // Given
+        when(deckRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(new DeckEntity()));
+        when(cardInDeckRepository.findByDeckId(1L)).thenReturn(List.of(
+            row(1L, 2, "main"),
+            row(3L, 1, "main"),
+            row(1L, 1, "sideboard")));
+        when(deckService.applyCardOperations(eq(1L), anyList())).thenReturn(DeckDelta.builder().deckId(1L).build());
+
+        // When
+        deckImportService.importDecklist(1L, "Deck\n4 Lightning Bolt\nSideboard\n2 Pyroblast", true);
+
+        // Then
+        assertThat(capturedOperations())
+            .extracting(DeckCardOperation::getType, DeckCardOperation::getCardId, DeckCardOperation::getQuantity,
+                DeckCardOperation::getSection)
+            .containsExactly(
+                tuple(Type.SET, 1L, 4, "main"),
+                tuple(Type.SET, 7L, 2, "sideboard"),
+                tuple(Type.SET, 3L, 0, "main"),
+                tuple(Type.SET, 1L, 0, "sideboard"));
+    }
+
+    private List<DeckCardOperation> capturedOperations() {
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<DeckCardOperation>> captor = ArgumentCaptor.forClass(List.class);
+        verify(deckService).applyCardOperations(eq(1L), captor.capture());
+        return captor.getValue();
+    }
+
+    private static CardInDeckEntity row(Long cardId, int quantity, String section) {
+        CardInDeckEntity row = new CardInDeckEntity();
+        row.setCardId(cardId);
+        row.setDeckId(1L);
+        row.setQuantity(quantity);
+        row.setSection(section);
+        return row;
+    }
+
+    private static CardPrintingView printing(Long cardId, String name, String collectorNumber, String setName,
+                                             boolean promo) {
+        return new CardPrintingView() {
+            @Override
+            public Long getCardId() {
+                return cardId;
+            }
+
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public String getCollectorNumber() {
+                return collectorNumber;
+            }
+
+            @Override
+            public String getSetName() {
+                return setName;
+            }
+
+            @Override
+            public Boolean getPromo() {
+                return promo;
+            }
+
+            @Override
+            public Boolean getVariation() {
+                return false;
+            }
+        };
+    }
+}
@@ -1,33 +1,56 @@
 package com.deckbuilder.mtgdeckbuilder.application;
 
+import com.deckbuilder.mtgdeckbuilder.application.history.DeckRevisionLog;
 import com.deckbuilder.mtgdeckbuilder.application.implement.DeckServiceImpl;
+import com.deckbuilder.mtgdeckbuilder.application.metagame.MetagameRefresher;
+import com.deckbuilder.mtgdeckbuilder.application.similarity.CardCooccurrenceIndex;
+import com.deckbuilder.mtgdeckbuilder.application.similarity.DeckSimilarityIndex;
+import com.deckbuilder.mtgdeckbuilder.application.stats.CardPopularityCounters;
+import com.deckbuilder.mtgdeckbuilder.application.stats.DeckStatsCache;
 import com.deckbuilder.mtgdeckbuilder.infrastructure.CardInDeckRepository;
 import com.deckbuilder.mtgdeckbuilder.infrastructure.DeckRepository;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.DeckRepository.DeckPlacementView;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.DeckRepository.DeckSummaryView;
 import com.deckbuilder.mtgdeckbuilder.infrastructure.exception.DeckNotFoundException;
 import com.deckbuilder.mtgdeckbuilder.infrastructure.exception.InvalidDeckCompositionException;
 import com.deckbuilder.mtgdeckbuilder.infrastructure.mapper.DeckEntityMapper;
 import com.deckbuilder.mtgdeckbuilder.infrastructure.model.CardInDeckEntity;
 import com.deckbuilder.mtgdeckbuilder.infrastructure.model.DeckEntity;
 import com.deckbuilder.mtgdeckbuilder.model.Deck;
+import com.deckbuilder.mtgdeckbuilder.model.Deck.CardInDeck;
+import com.deckbuilder.mtgdeckbuilder.model.DeckCardOperation;
+import com.deckbuilder.mtgdeckbuilder.model.DeckDelta;
+import com.deckbuilder.mtgdeckbuilder.model.DeckSummary;
+import com.deckbuilder.mtgdeckbuilder.model.DeckValidationReport;
+import com.deckbuilder.mtgdeckbuilder.model.DeckValidationReport.Rule;
+import com.deckbuilder.mtgdeckbuilder.model.DeckValidationReport.Violation;
+import com.deckbuilder.mtgdeckbuilder.model.DeckVersion;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
@@ -44,6 +67,27 @@ class DeckServiceImplTest {
 	@Mock
 	private CardInDeckRepository cardInDeckRepository;
 
+	@Mock
+	private DeckValidationService deckValidationService;
+
+	@Mock
+	private DeckStatsCache deckStatsCache;
+
+	@Mock
+	private DeckRevisionLog deckRevisionLog;
+
+	@Mock
+	private DeckSimilarityIndex deckSimilarityIndex;
+
+	@Mock
+	private CardCooccurrenceIndex cardCooccurrenceIndex;
+
+	@Mock
+	private CardPopularityCounters cardPopularityCounters;
+
+	@Mock
+	private MetagameRefresher metagameRefresher;
+
 	@InjectMocks
 	private DeckServiceImpl deckService;
 
@@ -142,19 +186,40 @@ class DeckServiceImplTest {
 	}
 
 	@Test
-	@DisplayName("Should find decks by format ID")
+	@DisplayName("Should find one keyset page of deck summaries by format ID")
 	void shouldFindDecksByFormat() {
 		// Given
-		when(this.deckRepository.findByFormatId(1L)).thenReturn(Collections.singletonList(this.testDeckEntity));
-		when(this.deckEntityMapper.toModelList(anyList())).thenReturn(Collections.singletonList(this.testDeck));
+		final DeckSummaryView view = mock(DeckSummaryView.class);
+		final DeckSummary summary = DeckSummary.builder().id(8L).formatId(1L).mainCount(60).build();
+		when(this.deckRepository.findSummariesByFormatAfter(1L, 7L, PageRequest.of(0, 50))).thenReturn(List.of(view));
+		when(this.deckEntityMapper.toSummary(view)).thenReturn(summary);
 
 		// When
-		final List<Deck> result = this.deckService.findByFormat(1L);
+		final List<DeckSummary> result = this.deckService.findByFormat(1L, 7L, 50);
 
 		// Then
-		assertThat(result).hasSize(1);
-		assertThat(result.get(0).getFormatId()).isEqualTo(1L);
-		verify(this.deckRepository).findByFormatId(1L);
+		assertThat(result).containsExactly(summary);
+		verify(this.deckRepository, never()).findAll(any(Pageable.class));
+	}
+
+	@Test
+	@DisplayName("Should stream deck summaries by format ID and close the cursor")
+	void shouldStreamDecksByFormat() {
+		// Given
+		final DeckSummaryView view = mock(DeckSummaryView.class);
+		final DeckSummary summary = DeckSummary.builder().id(8L).formatId(1L).build();
+		final boolean[] closed = {false};
+		when(this.deckRepository.streamSummariesByFormat(1L))
+				.thenReturn(Stream.of(view).onClose(() -> closed[0] = true));
+		when(this.deckEntityMapper.toSummary(view)).thenReturn(summary);
+		final List<DeckSummary> received = new ArrayList<>();
+
+		// When
+		this.deckService.streamByFormat(1L, received::add);
+
+		// Then
+		assertThat(received).containsExactly(summary);
+		assertThat(closed[0]).isTrue();
 	}
 
 	@Test
@@ -193,6 +258,27 @@ class DeckServiceImplTest {
 		assertThat(result.getName()).isEqualTo("Updated Deck");
 		verify(this.deckRepository).existsById(1L);
 		verify(this.deckRepository).save(any(DeckEntity.class));
+		verify(this.cardPopularityCounters, never()).recordDeck(any(), any(), anyInt());
+	}
+
+	@Test
+	@DisplayName("Should move the main deck's card popularity when the deck changes format")
+	void shouldMovePopularity_WhenFormatChanges() {
+		// Given - the deck was in format 2 and is saved in format 1
+		final DeckPlacementView placement = mock(DeckPlacementView.class);
+		when(placement.getFormatId()).thenReturn(2L);
+		when(this.deckRepository.existsById(1L)).thenReturn(true);
+		when(this.deckRepository.findPlacementById(1L)).thenReturn(Optional.of(placement));
+		when(this.deckEntityMapper.toEntity(any(Deck.class))).thenReturn(this.testDeckEntity);
+		when(this.deckRepository.save(any(DeckEntity.class))).thenReturn(this.testDeckEntity);
+		when(this.cardInDeckRepository.findMainCardIdsByDeckId(1L)).thenReturn(List.of(100L, 101L));
+
+		// When
+		this.deckService.update(1L, this.testDeck);
+
+		// Then
+		verify(this.cardPopularityCounters).recordDeck(2L, List.of(100L, 101L), -1);
+		verify(this.cardPopularityCounters).recordDeck(1L, List.of(100L, 101L), 1);
 	}
 
 	@Test
@@ -251,21 +337,40 @@ class DeckServiceImplTest {
 		final int quantity = 4;
 		final String section = "main";
 
-		when(this.deckRepository.existsById(deckId)).thenReturn(true);
-		when(this.cardInDeckRepository.findByDeckIdAndCardIdAndSection(deckId, cardId, section))
-				.thenReturn(Optional.empty());
+		when(this.deckRepository.findByIdForUpdate(deckId)).thenReturn(Optional.of(this.testDeckEntity));
+		when(this.cardInDeckRepository.findByDeckIdAndCardId(deckId, cardId)).thenReturn(List.of());
 		when(this.cardInDeckRepository.save(any(CardInDeckEntity.class))).thenReturn(this.testCardInDeck);
-		when(this.deckRepository.findById(deckId)).thenReturn(Optional.of(this.testDeckEntity));
-		when(this.deckEntityMapper.toModel(this.testDeckEntity)).thenReturn(this.testDeck);
+		final LocalDateTime modified = LocalDateTime.of(2025, 1, 1, 12, 0);
+		when(this.deckRepository.findModifiedById(deckId)).thenReturn(modified);
+		final DeckRepository.SectionCountsView counts = mock(DeckRepository.SectionCountsView.class);
+		when(counts.getMain()).thenReturn(quantity);
+		when(this.deckRepository.findSectionCountsById(deckId)).thenReturn(Optional.of(counts));
+		when(this.deckRepository.findRevisionById(deckId)).thenReturn(7L);
 
 		// When
-		final Deck result = this.deckService.addCard(deckId, cardId, quantity, section);
+		final DeckDelta result = this.deckService.addCard(deckId, cardId, quantity, section);
 
 		// Then
 		assertThat(result).isNotNull();
-		assertThat(result.getId()).isEqualTo(deckId);
-		verify(this.deckRepository).existsById(deckId);
-		verify(this.cardInDeckRepository).findByDeckIdAndCardIdAndSection(deckId, cardId, section);
+		assertThat(result.getDeckId()).isEqualTo(deckId);
+		assertThat(result.getVersion()).isEqualTo(DeckVersion.of(modified));
+		assertThat(result.getRevision()).isEqualTo(7L);
+		verify(this.deckRevisionLog).record(deckId, 7L, result.getChanges());
+		assertThat(result.getChanges()).singleElement().satisfies(change -> {
+			assertThat(change.getCardId()).isEqualTo(cardId);
+			assertThat(change.getPreviousQuantity()).isZero();
+			assertThat(change.getQuantity()).isEqualTo(quantity);
+		});
+		assertThat(result.getSectionTotals()).containsOnlyKeys("main", "sideboard", "maybeboard")
+				.containsEntry("main", quantity).containsEntry("sideboard", 0);
+		verify(this.deckRepository, never()).findById(any());
+		verify(this.deckRepository).adjustSectionCounts(deckId, quantity, 0, 0);
+		verify(this.deckValidationService).validateCardAddition(1L, null, cardId, section, quantity, quantity);
+		verify(this.deckStatsCache).recordChange(result);
+		verify(this.cardPopularityCounters).recordChange(1L, result);
+		verify(this.cardInDeckRepository, never()).sumQuantityByDeckIdAndSection(any(), any());
+		verify(this.deckRepository).findByIdForUpdate(deckId);
+		verify(this.cardInDeckRepository).findByDeckIdAndCardId(deckId, cardId);
 		verify(this.cardInDeckRepository).save(any(CardInDeckEntity.class));
 	}
 
@@ -280,21 +385,52 @@ class DeckServiceImplTest {
 
 		final CardInDeckEntity existingCard = CardInDeckEntity.builder().id(1L).deckId(deckId).cardId(cardId)
 				.quantity(2).section(section).build();
-
-		when(this.deckRepository.existsById(deckId)).thenReturn(true);
-		when(this.cardInDeckRepository.findByDeckIdAndCardIdAndSection(deckId, cardId, section))
-				.thenReturn(Optional.of(existingCard));
+		final CardInDeckEntity sideboardCard = CardInDeckEntity.builder().id(2L).deckId(deckId).cardId(cardId)
+				.quantity(1).section("sideboard").build();
+		final CardInDeckEntity maybeboardCard = CardInDeckEntity.builder().id(3L).deckId(deckId).cardId(cardId)
+				.quantity(3).section("maybeboard").build();
+		this.testDeckEntity.setMainCount(30);
+
+		when(this.deckRepository.findByIdForUpdate(deckId)).thenReturn(Optional.of(this.testDeckEntity));
+		when(this.cardInDeckRepository.findByDeckIdAndCardId(deckId, cardId))
+				.thenReturn(List.of(maybeboardCard, existingCard, sideboardCard));
 		when(this.cardInDeckRepository.save(any(CardInDeckEntity.class))).thenReturn(existingCard);
-		when(this.deckRepository.findById(deckId)).thenReturn(Optional.of(this.testDeckEntity));
-		when(this.deckEntityMapper.toModel(this.testDeckEntity)).thenReturn(this.testDeck);
 
 		// When
-		final Deck result = this.deckService.addCard(deckId, cardId, addQuantity, section);
+		final DeckDelta result = this.deckService.addCard(deckId, cardId, addQuantity, section);
 
 		// Then
 		assertThat(result).isNotNull();
+		assertThat(result.getChanges()).singleElement().satisfies(change -> {
+			assertThat(change.getPreviousQuantity()).isEqualTo(2);
+			assertThat(change.getQuantity()).isEqualTo(4);
+		});
 		assertThat(existingCard.getQuantity()).isEqualTo(4); // 2 + 2
 		verify(this.cardInDeckRepository).save(existingCard);
+		verify(this.deckRepository).adjustSectionCounts(deckId, 2, 0, 0);
+		// Sideboard copies count towards the copy limit, maybeboard ones do not
+		verify(this.deckValidationService).validateCardAddition(1L, null, cardId, section, 5, 32);
+	}
+
+	@Test
+	@DisplayName("Should lock the deck and write nothing when the addition breaks a deck rule")
+	void shouldNotWrite_WhenAdditionIsInvalid() {
+		// Given
+		final Long deckId = 1L;
+		final Long cardId = 100L;
+
+		when(this.deckRepository.findByIdForUpdate(deckId)).thenReturn(Optional.of(this.testDeckEntity));
+		when(this.cardInDeckRepository.findByDeckIdAndCardId(deckId, cardId)).thenReturn(List.of());
+		doThrow(new InvalidDeckCompositionException("Deck section \"main\" size limit exceeded"))
+				.when(this.deckValidationService).validateCardAddition(1L, null, cardId, "main", 4, 4);
+
+		// When/Then
+		assertThatThrownBy(() -> this.deckService.addCard(deckId, cardId, 4, "main"))
+				.isInstanceOf(InvalidDeckCompositionException.class).hasMessageContaining("size limit exceeded");
+
+		verify(this.deckRepository).findByIdForUpdate(deckId);
+		verify(this.cardInDeckRepository, never()).save(any());
+		verify(this.deckRepository, never()).adjustSectionCounts(any(), anyInt(), anyInt(), anyInt());
 	}
 
 	@Test
@@ -304,42 +440,35 @@ class DeckServiceImplTest {
 		final Long deckId = 1L;
 		final Long cardId = 100L;
 
-		when(this.deckRepository.existsById(deckId)).thenReturn(true);
-		when(this.deckRepository.findById(deckId)).thenReturn(Optional.of(this.testDeckEntity));
-		when(this.deckEntityMapper.toModel(this.testDeckEntity)).thenReturn(this.testDeck);
+		when(this.deckRepository.findByIdForUpdate(deckId)).thenReturn(Optional.of(this.testDeckEntity));
 
-		// Main section
-		when(this.cardInDeckRepository.findByDeckIdAndCardIdAndSection(deckId, cardId, "main"))
-				.thenReturn(Optional.empty());
+		when(this.cardInDeckRepository.findByDeckIdAndCardId(deckId, cardId)).thenReturn(List.of());
 		when(this.cardInDeckRepository.save(any(CardInDeckEntity.class))).thenReturn(this.testCardInDeck);
 
-		// Sideboard section
-		when(this.cardInDeckRepository.findByDeckIdAndCardIdAndSection(deckId, cardId, "sideboard"))
-				.thenReturn(Optional.empty());
-
 		// When
-		final Deck result1 = this.deckService.addCard(deckId, cardId, 4, "main");
-		final Deck result2 = this.deckService.addCard(deckId, cardId, 2, "sideboard");
+		final DeckDelta result1 = this.deckService.addCard(deckId, cardId, 4, "main");
+		final DeckDelta result2 = this.deckService.addCard(deckId, cardId, 2, "sideboard");
 
 		// Then
 		assertThat(result1).isNotNull();
 		assertThat(result2).isNotNull();
-		verify(this.cardInDeckRepository).findByDeckIdAndCardIdAndSection(deckId, cardId, "main");
-		verify(this.cardInDeckRepository).findByDeckIdAndCardIdAndSection(deckId, cardId, "sideboard");
+		verify(this.cardInDeckRepository, times(2)).findByDeckIdAndCardId(deckId, cardId);
 		verify(this.cardInDeckRepository, times(2)).save(any(CardInDeckEntity.class));
+		verify(this.deckRepository).adjustSectionCounts(deckId, 4, 0, 0);
+		verify(this.deckRepository).adjustSectionCounts(deckId, 0, 2, 0);
 	}
 
 	@Test
 	@DisplayName("Should throw exception when adding card to non-existent deck")
 	void shouldThrowException_WhenAddingCardToNonExistentDeck() {
 		// Given
-		when(this.deckRepository.existsById(999L)).thenReturn(false);
+		when(this.deckRepository.findByIdForUpdate(999L)).thenReturn(Optional.empty());
 
 		// When/Then
 		assertThatThrownBy(() -> this.deckService.addCard(999L, 100L, 4, "main"))
 				.isInstanceOf(DeckNotFoundException.class).hasMessageContaining("Deck not found with id: 999");
 
-		verify(this.deckRepository).existsById(999L);
+		verify(this.deckRepository).findByIdForUpdate(999L);
 		verify(this.cardInDeckRepository, never()).save(any());
 	}
 
@@ -347,7 +476,7 @@ class DeckServiceImplTest {
 	@DisplayName("Should throw exception when adding card with invalid quantity")
 	void shouldThrowException_WhenAddingCardWithInvalidQuantity() {
 		// Given
-		when(this.deckRepository.existsById(1L)).thenReturn(true);
+		when(this.deckRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(this.testDeckEntity));
 
 		// When/Then - Zero quantity
 		assertThatThrownBy(() -> this.deckService.addCard(1L, 100L, 0, "main"))
@@ -366,7 +495,7 @@ class DeckServiceImplTest {
 	@DisplayName("Should throw exception when adding card with invalid section")
 	void shouldThrowException_WhenAddingCardWithInvalidSection() {
 		// Given
-		when(this.deckRepository.existsById(1L)).thenReturn(true);
+		when(this.deckRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(this.testDeckEntity));
 
 		// When/Then - Invalid section
 		assertThatThrownBy(() -> this.deckService.addCard(1L, 100L, 4, "invalid"))
@@ -386,11 +515,8 @@ class DeckServiceImplTest {
 		final Long deckId = 1L;
 		final Long cardId = 100L;
 
-		when(this.deckRepository.existsById(deckId)).thenReturn(true);
-		when(this.deckRepository.findById(deckId)).thenReturn(Optional.of(this.testDeckEntity));
-		when(this.deckEntityMapper.toModel(this.testDeckEntity)).thenReturn(this.testDeck);
-		when(this.cardInDeckRepository.findByDeckIdAndCardIdAndSection(eq(deckId), eq(cardId), anyString()))
-				.thenReturn(Optional.empty());
+		when(this.deckRepository.findByIdForUpdate(deckId)).thenReturn(Optional.of(this.testDeckEntity));
+		when(this.cardInDeckRepository.findByDeckIdAndCardId(deckId, cardId)).thenReturn(List.of());
 		when(this.cardInDeckRepository.save(any(CardInDeckEntity.class))).thenReturn(this.testCardInDeck);
 
 		// When/Then - All valid sections should work
@@ -415,20 +541,19 @@ class DeckServiceImplTest {
 		final CardInDeckEntity existingCard = CardInDeckEntity.builder().id(1L).deckId(deckId).cardId(cardId)
 				.quantity(4).section(section).build();
 
-		when(this.deckRepository.existsById(deckId)).thenReturn(true);
+		when(this.deckRepository.findByIdForUpdate(deckId)).thenReturn(Optional.of(this.testDeckEntity));
 		when(this.cardInDeckRepository.findByDeckIdAndCardIdAndSection(deckId, cardId, section))
 				.thenReturn(Optional.of(existingCard));
 		when(this.cardInDeckRepository.save(any(CardInDeckEntity.class))).thenReturn(existingCard);
-		when(this.deckRepository.findById(deckId)).thenReturn(Optional.of(this.testDeckEntity));
-		when(this.deckEntityMapper.toModel(this.testDeckEntity)).thenReturn(this.testDeck);
 
 		// When
-		final Deck result = this.deckService.removeCard(deckId, cardId, removeQuantity, section);
+		final DeckDelta result = this.deckService.removeCard(deckId, cardId, removeQuantity, section);
 
 		// Then
 		assertThat(result).isNotNull();
 		assertThat(existingCard.getQuantity()).isEqualTo(3); // 4 - 1
 		verify(this.cardInDeckRepository).save(existingCard);
+		verify(this.deckRepository).adjustSectionCounts(deckId, -1, 0, 0);
 		verify(this.cardInDeckRepository, never()).deleteByDeckIdAndCardIdAndSection(any(), any(), any());
 	}
 
@@ -444,18 +569,20 @@ class DeckServiceImplTest {
 		final CardInDeckEntity existingCard = CardInDeckEntity.builder().id(1L).deckId(deckId).cardId(cardId)
 				.quantity(4).section(section).build();
 
-		when(this.deckRepository.existsById(deckId)).thenReturn(true);
+		when(this.deckRepository.findByIdForUpdate(deckId)).thenReturn(Optional.of(this.testDeckEntity));
 		when(this.cardInDeckRepository.findByDeckIdAndCardIdAndSection(deckId, cardId, section))
 				.thenReturn(Optional.of(existingCard));
 		doNothing().when(this.cardInDeckRepository).deleteByDeckIdAndCardIdAndSection(deckId, cardId, section);
-		when(this.deckRepository.findById(deckId)).thenReturn(Optional.of(this.testDeckEntity));
-		when(this.deckEntityMapper.toModel(this.testDeckEntity)).thenReturn(this.testDeck);
 
 		// When
-		final Deck result = this.deckService.removeCard(deckId, cardId, removeQuantity, section);
+		final DeckDelta result = this.deckService.removeCard(deckId, cardId, removeQuantity, section);
 
 		// Then
 		assertThat(result).isNotNull();
+		assertThat(result.getChanges()).singleElement().satisfies(change -> {
+			assertThat(change.getPreviousQuantity()).isEqualTo(4);
+			assertThat(change.getQuantity()).isZero();
+		});
 		verify(this.cardInDeckRepository).deleteByDeckIdAndCardIdAndSection(deckId, cardId, section);
 		verify(this.cardInDeckRepository, never()).save(any());
 	}
@@ -472,32 +599,31 @@ class DeckServiceImplTest {
 		final CardInDeckEntity existingCard = CardInDeckEntity.builder().id(1L).deckId(deckId).cardId(cardId)
 				.quantity(4).section(section).build();
 
-		when(this.deckRepository.existsById(deckId)).thenReturn(true);
+		when(this.deckRepository.findByIdForUpdate(deckId)).thenReturn(Optional.of(this.testDeckEntity));
 		when(this.cardInDeckRepository.findByDeckIdAndCardIdAndSection(deckId, cardId, section))
 				.thenReturn(Optional.of(existingCard));
 		doNothing().when(this.cardInDeckRepository).deleteByDeckIdAndCardIdAndSection(deckId, cardId, section);
-		when(this.deckRepository.findById(deckId)).thenReturn(Optional.of(this.testDeckEntity));
-		when(this.deckEntityMapper.toModel(this.testDeckEntity)).thenReturn(this.testDeck);
 
 		// When
-		final Deck result = this.deckService.removeCard(deckId, cardId, removeQuantity, section);
+		final DeckDelta result = this.deckService.removeCard(deckId, cardId, removeQuantity, section);
 
-		// Then
+		// Then - the counter only drops by the copies that were actually there
 		assertThat(result).isNotNull();
 		verify(this.cardInDeckRepository).deleteByDeckIdAndCardIdAndSection(deckId, cardId, section);
+		verify(this.deckRepository).adjustSectionCounts(deckId, -4, 0, 0);
 	}
 
 	@Test
 	@DisplayName("Should throw exception when removing card from non-existent deck")
 	void shouldThrowException_WhenRemovingCardFromNonExistentDeck() {
 		// Given
-		when(this.deckRepository.existsById(999L)).thenReturn(false);
+		when(this.deckRepository.findByIdForUpdate(999L)).thenReturn(Optional.empty());
 
 		// When/Then
 		assertThatThrownBy(() -> this.deckService.removeCard(999L, 100L, 1, "main"))
 				.isInstanceOf(DeckNotFoundException.class).hasMessageContaining("Deck not found with id: 999");
 
-		verify(this.deckRepository).existsById(999L);
+		verify(this.deckRepository).findByIdForUpdate(999L);
 		verify(this.cardInDeckRepository, never()).deleteByDeckIdAndCardIdAndSection(any(), any(), any());
 	}
 
@@ -509,7 +635,7 @@ class DeckServiceImplTest {
 		final Long cardId = 999L;
 		final String section = "main";
 
-		when(this.deckRepository.existsById(deckId)).thenReturn(true);
+		when(this.deckRepository.findByIdForUpdate(deckId)).thenReturn(Optional.of(this.testDeckEntity));
 		when(this.cardInDeckRepository.findByDeckIdAndCardIdAndSection(deckId, cardId, section))
 				.thenReturn(Optional.empty());
 
@@ -525,7 +651,7 @@ class DeckServiceImplTest {
 	@DisplayName("Should throw exception when removing card with invalid quantity")
 	void shouldThrowException_WhenRemovingCardWithInvalidQuantity() {
 		// Given
-		when(this.deckRepository.existsById(1L)).thenReturn(true);
+		when(this.deckRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(this.testDeckEntity));
 
 		// When/Then - Zero quantity
 		assertThatThrownBy(() -> this.deckService.removeCard(1L, 100L, 0, "main"))
@@ -544,7 +670,7 @@ class DeckServiceImplTest {
 	@DisplayName("Should throw exception when removing card with invalid section")
 	void shouldThrowException_WhenRemovingCardWithInvalidSection() {
 		// Given
-		when(this.deckRepository.existsById(1L)).thenReturn(true);
+		when(this.deckRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(this.testDeckEntity));
 
 		// When/Then
 		assertThatThrownBy(() -> this.deckService.removeCard(1L, 100L, 1, "invalid"))
@@ -563,12 +689,10 @@ class DeckServiceImplTest {
 		final CardInDeckEntity mainCard = CardInDeckEntity.builder().id(1L).deckId(deckId).cardId(cardId).quantity(4)
 				.section("main").build();
 
-		when(this.deckRepository.existsById(deckId)).thenReturn(true);
+		when(this.deckRepository.findByIdForUpdate(deckId)).thenReturn(Optional.of(this.testDeckEntity));
 		when(this.cardInDeckRepository.findByDeckIdAndCardIdAndSection(deckId, cardId, "main"))
 				.thenReturn(Optional.of(mainCard));
 		doNothing().when(this.cardInDeckRepository).deleteByDeckIdAndCardIdAndSection(deckId, cardId, "main");
-		when(this.deckRepository.findById(deckId)).thenReturn(Optional.of(this.testDeckEntity));
-		when(this.deckEntityMapper.toModel(this.testDeckEntity)).thenReturn(this.testDeck);
 
 		// When
 		this.deckService.removeCard(deckId, cardId, 4, "main");
@@ -577,4 +701,213 @@ class DeckServiceImplTest {
 		verify(this.cardInDeckRepository).deleteByDeckIdAndCardIdAndSection(deckId, cardId, "main");
 		verify(this.cardInDeckRepository, never()).deleteByDeckIdAndCardIdAndSection(deckId, cardId, "sideboard");
 	}
+
+	// ==================== VERSION TESTS ====================
+
+	@Test
+	@DisplayName("Should derive deck version from last modification without loading the deck")
+	void shouldFindVersion_FromLastModification() {
+		// Given
+		final LocalDateTime modified = LocalDateTime.of(2025, 1, 1, 12, 0, 0, 123_456_000);
+		when(this.deckRepository.findModifiedById(1L)).thenReturn(modified);
+		when(this.deckRepository.findModifiedById(999L)).thenReturn(null);
+
+		// When/Then
+		assertThat(this.deckService.findVersion(1L)).contains(DeckVersion.of(modified));
+		assertThat(this.deckService.findVersion(999L)).isEmpty();
+		verify(this.deckRepository, never()).findById(any());
+	}
+
+	// ==================== BATCH OPERATION TESTS ====================
+
+	@Test
+	@SuppressWarnings("unchecked")
+	@DisplayName("Should apply a batch with one validation call and one batch write")
+	void shouldApplyBatch_WithSingleValidationAndBatchWrite() {
+		// Given - deck holds 2x card 100 in main
+		when(this.deckRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(this.testDeckEntity));
+		when(this.cardInDeckRepository.findByDeckId(1L)).thenReturn(List.of(this.testCardInDeck));
+
+		final List<DeckCardOperation> operations = List.of(
+				DeckCardOperation.builder().type(DeckCardOperation.Type.ADD).cardId(100L).quantity(2).section("main")
+						.build(),
+				DeckCardOperation.builder().type(DeckCardOperation.Type.SET).cardId(200L).quantity(3).section("main")
+						.build(),
+				DeckCardOperation.builder().type(DeckCardOperation.Type.REMOVE).cardId(100L).quantity(1)
+						.section("main").build());
+
+		// When
+		final DeckDelta result = this.deckService.applyCardOperations(1L, operations);
+
+		// Then
+		assertThat(result).isNotNull();
+		assertThat(result.getChanges()).hasSize(2);
+		assertThat(result.getSectionTotals()).containsEntry("main", 6).containsEntry("sideboard", 0);
+		verify(this.deckRepository, never()).findSectionCountsById(any());
+		// The deck row (counters and modification time) is written before the cards, once for the whole batch
+		final InOrder writes = inOrder(this.deckRepository, this.cardInDeckRepository);
+		writes.verify(this.deckRepository).adjustSectionCounts(1L, 4, 0, 0);
+		writes.verify(this.cardInDeckRepository).applyBatch(eq(1L), anyList());
+
+		final ArgumentCaptor<Map<Long, Integer>> increased = ArgumentCaptor.forClass(Map.class);
+		final ArgumentCaptor<Map<String, Integer>> totals = ArgumentCaptor.forClass(Map.class);
+		verify(this.deckValidationService).validateBatch(eq(1L), isNull(), increased.capture(), totals.capture());
+		assertThat(increased.getValue()).containsOnly(entry(100L, 3), entry(200L, 3));
+		assertThat(totals.getValue()).containsEntry("main", 6);
+
+		final ArgumentCaptor<List<CardInDeck>> written = ArgumentCaptor.forClass(List.class);
+		verify(this.cardInDeckRepository).applyBatch(eq(1L), written.capture());
+		assertThat(written.getValue()).hasSize(2);
+		assertThat(written.getValue()).filteredOn(entry -> entry.getCardId().equals(100L))
+				.singleElement().satisfies(entry -> {
+					assertThat(entry.getId()).isEqualTo(1L);
+					assertThat(entry.getQuantity()).isEqualTo(3);
+				});
+		assertThat(written.getValue()).filteredOn(entry -> entry.getCardId().equals(200L))
+				.singleElement().satisfies(entry -> {
+					assertThat(entry.getId()).isNull();
+					assertThat(entry.getQuantity()).isEqualTo(3);
+				});
+		verify(this.cardInDeckRepository, never()).save(any());
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	@DisplayName("Should validate a batch against copies across main deck and sideboard")
+	void shouldValidateBatch_WithCopiesAcrossSections() {
+		// Given - deck holds 2x card 100 in main
+		when(this.deckRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(this.testDeckEntity));
+		when(this.cardInDeckRepository.findByDeckId(1L)).thenReturn(List.of(this.testCardInDeck));
+
+		// When
+		this.deckService.applyCardOperations(1L, List.of(
+				DeckCardOperation.builder().type(DeckCardOperation.Type.ADD).cardId(100L).quantity(2)
+						.section("sideboard").build(),
+				DeckCardOperation.builder().type(DeckCardOperation.Type.ADD).cardId(300L).quantity(5)
+						.section("maybeboard").build()));
+
+		// Then - maybeboard copies are never validated
+		final ArgumentCaptor<Map<Long, Integer>> increased = ArgumentCaptor.forClass(Map.class);
+		verify(this.deckValidationService).validateBatch(eq(1L), isNull(), increased.capture(), anyMap());
+		assertThat(increased.getValue()).containsOnly(entry(100L, 4));
+	}
+
+	@Test
+	@DisplayName("Should skip validation when a batch only removes cards")
+	void shouldSkipValidation_WhenBatchOnlyRemoves() {
+		// Given
+		when(this.deckRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(this.testDeckEntity));
+		when(this.cardInDeckRepository.findByDeckId(1L)).thenReturn(List.of(this.testCardInDeck));
+
+		// When
+		this.deckService.applyCardOperations(1L, List.of(DeckCardOperation.builder()
+				.type(DeckCardOperation.Type.REMOVE).cardId(100L).quantity(5).section("main").build()));
+
+		// Then
+		verify(this.deckValidationService, never()).validateBatch(any(), any(), anyMap(), anyMap());
+		verify(this.cardInDeckRepository).applyBatch(eq(1L), anyList());
+	}
+
+	@Test
+	@DisplayName("Should reject a batch removing a card that is not in the section")
+	void shouldRejectBatch_WhenRemovingMissingCard() {
+		// Given
+		when(this.deckRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(this.testDeckEntity));
+		when(this.cardInDeckRepository.findByDeckId(1L)).thenReturn(List.of(this.testCardInDeck));
+
+		// When/Then
+		assertThatThrownBy(() -> this.deckService.applyCardOperations(1L, List.of(DeckCardOperation.builder()
+				.type(DeckCardOperation.Type.REMOVE).cardId(100L).quantity(1).section("sideboard").build())))
+				.isInstanceOf(InvalidDeckCompositionException.class)
+				.hasMessageContaining("Card not found in deck section");
+
+		verify(this.cardInDeckRepository, never()).applyBatch(any(), anyList());
+	}
+
+	@Test
+	@DisplayName("Should throw exception when applying a batch to a non-existent deck")
+	void shouldThrowException_WhenBatchTargetsNonExistentDeck() {
+		// Given
+		when(this.deckRepository.findByIdForUpdate(999L)).thenReturn(Optional.empty());
+
+		// When/Then
+		assertThatThrownBy(() -> this.deckService.applyCardOperations(999L, List.of(DeckCardOperation.builder()
+				.type(DeckCardOperation.Type.ADD).cardId(100L).quantity(1).section("main").build())))
+				.isInstanceOf(DeckNotFoundException.class);
+
+		verifyNoInteractions(this.deckValidationService);
+	}
+
+	@Test
+	@DisplayName("Should fork a deck by copying its cards in one statement without revalidating")
+	void shouldForkDeck_WithoutValidation_WhenFormatUnchanged() {
+		// Given
+		final Deck fork = this.testDeck.toBuilder().id(2L).name("My Fork").userId(5L).parentDeckId(1L).build();
+		when(this.deckRepository.findById(1L)).thenReturn(Optional.of(this.testDeckEntity));
+		when(this.deckRepository.save(any(DeckEntity.class))).thenAnswer(invocation -> {
+			final DeckEntity saved = invocation.getArgument(0);
+			saved.setId(2L);
+			return saved;
+		});
+		when(this.cardInDeckRepository.copyDeckContents(1L, 2L)).thenReturn(12);
+		when(this.deckEntityMapper.toModel(any(DeckEntity.class))).thenReturn(fork);
+
+		// When
+		final Deck result = this.deckService.fork(1L, Deck.builder().name("My Fork").userId(5L).build());
+
+		// Then
+		assertThat(result).isEqualTo(fork);
+		final ArgumentCaptor<DeckEntity> saved = ArgumentCaptor.forClass(DeckEntity.class);
+		verify(this.deckRepository).save(saved.capture());
+		assertThat(saved.getValue().getName()).isEqualTo("My Fork");
+		assertThat(saved.getValue().getUserId()).isEqualTo(5L);
+		assertThat(saved.getValue().getFormatId()).isEqualTo(1L);
+		assertThat(saved.getValue().getParentDeckId()).isEqualTo(1L);
+		assertThat(saved.getValue().getDescription()).isEqualTo("A test deck");
+
+		final InOrder inOrder = inOrder(this.cardInDeckRepository, this.deckRepository, this.deckRevisionLog);
+		inOrder.verify(this.cardInDeckRepository).copyDeckContents(1L, 2L);
+		inOrder.verify(this.deckRepository).recountSections(2L);
+		inOrder.verify(this.deckRepository).startFirstRevision(2L);
+		inOrder.verify(this.deckRevisionLog).record(2L, 1L, List.of());
+		verifyNoInteractions(this.deckValidationService);
+		verify(this.cardInDeckRepository, never()).findByDeckId(any());
+	}
+
+	@Test
+	@DisplayName("Should reject a fork into a format where the cards are not legal")
+	void shouldRejectFork_WhenCardsIllegalInNewFormat() {
+		// Given
+		when(this.deckRepository.findById(1L)).thenReturn(Optional.of(this.testDeckEntity));
+		when(this.deckValidationService.validateDeckForFormat(1L, 3L)).thenReturn(DeckValidationReport.builder()
+				.deckId(1L).formatId(3L).valid(false)
+				.violations(List.of(
+						Violation.builder().rule(Rule.MAIN_DECK_TOO_SMALL).section("main")
+								.message("Main deck has 2 cards, minimum is 60").build(),
+						Violation.builder().rule(Rule.BANNED).section("main").cardId(100L)
+								.message("Card 100 is banned").build()))
+				.build());
+
+		// When/Then
+		assertThatThrownBy(() -> this.deckService.fork(1L, Deck.builder().formatId(3L).build()))
+				.isInstanceOf(InvalidDeckCompositionException.class)
+				.hasMessageContaining("Card 100 is banned")
+				.hasMessageNotContaining("minimum");
+
+		verify(this.deckRepository, never()).save(any());
+		verify(this.cardInDeckRepository, never()).copyDeckContents(any(), any());
+	}
+
+	@Test
+	@DisplayName("Should fork nothing when one deck of a bulk fork does not exist")
+	void shouldThrowException_WhenBulkForkSourceMissing() {
+		// Given
+		when(this.deckRepository.findAllById(List.of(1L, 999L))).thenReturn(List.of(this.testDeckEntity));
+
+		// When/Then
+		assertThatThrownBy(() -> this.deckService.forkAll(List.of(1L, 999L, 1L), new Deck()))
+				.isInstanceOf(DeckNotFoundException.class);
+
+		verify(this.deckRepository, never()).save(any());
+	}
 }
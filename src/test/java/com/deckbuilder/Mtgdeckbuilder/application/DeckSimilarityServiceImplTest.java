@@ -0,0 +1,176 @@
+package com.deckbuilder.mtgdeckbuilder.application;
+
+import com.deckbuilder.mtgdeckbuilder.application.implement.DeckSimilarityServiceImpl;
+import com.deckbuilder.mtgdeckbuilder.application.similarity.DeckSimilarityIndex;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.CardInDeckRepository;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.DeckRepository;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.DeckRepository.DeckSummaryView;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.exception.DeckNotFoundException;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.mapper.DeckEntityMapper;
+import com.deckbuilder.mtgdeckbuilder.model.DeckDelta;
+import com.deckbuilder.mtgdeckbuilder.model.DeckDelta.CardChange;
+import com.deckbuilder.mtgdeckbuilder.model.DeckSummary;
+import com.deckbuilder.mtgdeckbuilder.model.SimilarDeck;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Deck Similarity Service Tests")
+class DeckSimilarityServiceImplTest {
+
+    @Mock
+    private DeckRepository deckRepository;
+
+    @Mock
+    private CardInDeckRepository cardInDeckRepository;
+
+    @Mock
+    private DeckEntityMapper deckEntityMapper;
+
+    private ForkJoinPool pool;
+    private DeckSimilarityIndex deckSimilarityIndex;
+    private DeckSimilarityService deckSimilarityService;
+
+    private final Map<Long, DeckSummaryView> views = new HashMap<>();
+    private final Map<DeckSummaryView, DeckSummary> summaries = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        // Real index on a small pool, so the parallel build and the band lookup are exercised
+        pool = new ForkJoinPool(4);
+        deckSimilarityIndex = new DeckSimilarityIndex(pool);
+        deckSimilarityService = new DeckSimilarityServiceImpl(deckRepository, cardInDeckRepository, deckEntityMapper,
+            deckSimilarityIndex);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should rank overlapping public decks and skip dissimilar and private ones")
+    void shouldFindSimilarPublicDecks() {
+        // Given - deck 2 shares 18 of 22 distinct cards with deck 1, deck 3 none, deck 4 is a private copy
+        givenDecks(Map.of(
+            1L, cards(1, 20),
+            2L, concat(cards(1, 18), cards(21, 22)),
+            3L, cards(100, 119),
+            4L, cards(1, 20)));
+        givenSummaries(Map.of(2L, false, 3L, false, 4L, true));
+        deckSimilarityService.rebuildIndex();
+
+        // When
+        List<SimilarDeck> similar = deckSimilarityService.findSimilar(1L, 20, 0.5);
+
+        // Then
+        assertThat(similar).singleElement().satisfies(match -> {
+            assertThat(match.getDeck().getId()).isEqualTo(2L);
+            assertThat(match.getSharedCards()).isEqualTo(18);
+            assertThat(match.getSimilarity()).isCloseTo(18 / 22.0, within(1e-9));
+        });
+    }
+
+    @Test
+    @DisplayName("Should follow card changes without rebuilding the index")
+    void shouldApplyCardChangesIncrementally() {
+        // Given
+        givenDecks(Map.of(1L, cards(1, 20), 3L, cards(100, 119)));
+        givenSummaries(Map.of(3L, false));
+        deckSimilarityService.rebuildIndex();
+        assertThat(deckSimilarityService.findSimilar(1L, 20, 0.5)).isEmpty();
+
+        // When - deck 3 swaps 18 of its cards for cards of deck 1
+        List<CardChange> changes = new ArrayList<>();
+        for (long card = 1; card <= 18; card++) {
+            changes.add(CardChange.builder().cardId(card).section("main").previousQuantity(0).quantity(4).build());
+            changes.add(CardChange.builder().cardId(card + 99).section("main").previousQuantity(4).quantity(0)
+                .build());
+        }
+        deckSimilarityIndex.recordChange(DeckDelta.builder().deckId(3L).changes(changes).build());
+        List<SimilarDeck> similar = deckSimilarityService.findSimilar(1L, 20, 0.5);
+
+        // Then
+        verify(cardInDeckRepository, times(1)).streamMainDeckCardIds();
+        assertThat(similar).singleElement().satisfies(match -> {
+            assertThat(match.getDeck().getId()).isEqualTo(3L);
+            assertThat(match.getSharedCards()).isEqualTo(18);
+        });
+    }
+
+    @Test
+    @DisplayName("Should find no similar decks without building the index on the request")
+    void shouldFindNothing_WhenIndexNotBuilt() {
+        // Given
+        when(deckRepository.existsById(1L)).thenReturn(true);
+
+        // When
+        List<SimilarDeck> similar = deckSimilarityService.findSimilar(1L, 20, 0.5);
+
+        // Then
+        assertThat(similar).isEmpty();
+        verify(cardInDeckRepository, never()).streamMainDeckCardIds();
+    }
+
+    @Test
+    @DisplayName("Should throw exception for a non-existent deck")
+    void shouldThrowException_WhenDeckNotFound() {
+        // Given
+        when(deckRepository.existsById(999L)).thenReturn(false);
+
+        // When & Then
+        assertThatThrownBy(() -> deckSimilarityService.findSimilar(999L, 20, 0.5))
+            .isInstanceOf(DeckNotFoundException.class);
+        verify(cardInDeckRepository, never()).streamMainDeckCardIds();
+    }
+
+    private void givenDecks(Map<Long, long[]> decks) {
+        when(deckRepository.existsById(1L)).thenReturn(true);
+        when(cardInDeckRepository.streamMainDeckCardIds()).thenReturn(DeckCardIdRows.of(decks).stream());
+    }
+
+    private void givenSummaries(Map<Long, Boolean> privacyByDeck) {
+        privacyByDeck.forEach((deckId, isPrivate) -> {
+            DeckSummaryView view = mock(DeckSummaryView.class);
+            views.put(deckId, view);
+            summaries.put(view, DeckSummary.builder().id(deckId).isPrivate(isPrivate).build());
+        });
+        when(deckRepository.findSummariesByIdIn(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return ids.stream().map(views::get).toList();
+        });
+        when(deckEntityMapper.toSummary(any())).thenAnswer(invocation -> summaries.get(invocation.getArgument(0)));
+    }
+
+    private static long[] cards(long from, long to) {
+        return LongStream.rangeClosed(from, to).toArray();
+    }
+
+    private static long[] concat(long[] first, long[] second) {
+        return LongStream.concat(LongStream.of(first), LongStream.of(second)).toArray();
+    }
+}
@@ -0,0 +1,286 @@
+package com.deckbuilder.mtgdeckbuilder.application;
+
+import com.deckbuilder.mtgdeckbuilder.application.implement.DeckSimulationServiceImpl;
+import com.deckbuilder.mtgdeckbuilder.application.simulation.HandSimulator;
+import com.deckbuilder.mtgdeckbuilder.application.simulation.SourceRequirementTable;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.CardInDeckRepository;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.CardInDeckRepository.MainDeckManaView;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.CardInDeckRepository.MainDeckStatsView;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.DeckRepository;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.exception.DeckNotFoundException;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.exception.InvalidRequestException;
+import com.deckbuilder.mtgdeckbuilder.model.DeckSimulation;
+import com.deckbuilder.mtgdeckbuilder.model.DeckSimulation.Category;
+import com.deckbuilder.mtgdeckbuilder.model.DeckSimulation.Condition;
+import com.deckbuilder.mtgdeckbuilder.model.DeckSimulationResult;
+import com.deckbuilder.mtgdeckbuilder.model.ManaBaseAdvice;
+import com.deckbuilder.mtgdeckbuilder.model.ManaBaseAdvice.ColorRequirement;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Deck Simulation Service Tests")
+class DeckSimulationServiceImplTest {
+
+    @Mock
+    private DeckRepository deckRepository;
+
+    @Mock
+    private CardInDeckRepository cardInDeckRepository;
+
+    private ForkJoinPool pool;
+    private DeckSimulationService deckSimulationService;
+
+    @BeforeEach
+    void setUp() {
+        // Real simulator on a small pool, so the fork-join split is exercised
+        pool = new ForkJoinPool(4);
+        deckSimulationService = new DeckSimulationServiceImpl(deckRepository, cardInDeckRepository,
+            new HandSimulator(pool), new SourceRequirementTable());
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should answer a single condition exactly")
+    void shouldAnswerSingleConditionExactly() {
+        // Given - 4 copies of a card in 60, opening hand only
+        givenDeck(List.of(
+            row(1L, 4, 1, "Instant"),
+            row(2L, 56, 0, "Basic Land — Island")));
+        DeckSimulation simulation = DeckSimulation.builder()
+            .onThePlay(true)
+            .turn(0)
+            .conditions(List.of(condition(Category.CARD, "1", 1)))
+            .build();
+
+        // When
+        DeckSimulationResult result = deckSimulationService.simulate(1L, simulation);
+
+        // Then - 1 - C(56,7) / C(60,7)
+        assertThat(result.getMethod()).isEqualTo(DeckSimulationResult.EXACT);
+        assertThat(result.getDeckSize()).isEqualTo(60);
+        assertThat(result.getCardsSeen()).isEqualTo(7);
+        assertThat(result.getProbability()).isCloseTo(0.3994996, within(1e-6));
+        assertThat(result.getTrials()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should estimate compound conditions close to the exact odds")
+    void shouldEstimateCompoundConditions() {
+        // Given - 24 lands, 8 two-drops; two lands and a two-drop by turn 2 on the play is 0.62807 exactly
+        givenDeck(List.of(
+            row(1L, 24, 0, "Basic Land — Forest"),
+            row(2L, 8, 2, "Creature — Elf"),
+            row(3L, 28, 3, "Sorcery")));
+        DeckSimulation simulation = DeckSimulation.builder()
+            .onThePlay(true)
+            .turn(2)
+            .trials(200_000L)
+            .seed(42L)
+            .conditions(List.of(
+                condition(Category.LAND, null, 2),
+                condition(Category.MANA_VALUE, "2", 1)))
+            .build();
+
+        // When
+        DeckSimulationResult result = deckSimulationService.simulate(1L, simulation);
+
+        // Then
+        assertThat(result.getMethod()).isEqualTo(DeckSimulationResult.MONTE_CARLO);
+        assertThat(result.getCardsSeen()).isEqualTo(8);
+        assertThat(result.getTrials()).isEqualTo(200_000L);
+        assertThat(result.getProbability()).isCloseTo(0.62807, within(0.01));
+        assertThat(result.getStandardError()).isGreaterThan(0.0).isLessThan(0.002);
+        assertThat(result.getConditionProbabilities().get(0)).isCloseTo(0.90987, within(1e-5));
+    }
+
+    @Test
+    @DisplayName("Should repeat an estimate for the same seed")
+    void shouldRepeatEstimateForSameSeed() {
+        // Given
+        givenDeck(List.of(
+            row(1L, 17, 0, "Land"),
+            row(2L, 23, 2, "Artifact Creature — Golem")));
+        DeckSimulation simulation = DeckSimulation.builder()
+            .onThePlay(false)
+            .turn(3)
+            .trials(50_000L)
+            .seed(7L)
+            .conditions(List.of(
+                condition(Category.LAND, null, 3),
+                condition(Category.TYPE, "creature", 2)))
+            .build();
+
+        // When
+        DeckSimulationResult first = deckSimulationService.simulate(1L, simulation);
+        DeckSimulationResult second = deckSimulationService.simulate(1L, simulation);
+
+        // Then
+        assertThat(first.getCardsSeen()).isEqualTo(10);
+        assertThat(second.getProbability()).isEqualTo(first.getProbability());
+    }
+
+    @Test
+    @DisplayName("Should reject a condition without a numeric value before reading the deck")
+    void shouldRejectInvalidCondition() {
+        // Given
+        DeckSimulation simulation = DeckSimulation.builder()
+            .turn(1)
+            .conditions(List.of(condition(Category.MANA_VALUE, "two", 1)))
+            .build();
+
+        // When & Then
+        assertThatThrownBy(() -> deckSimulationService.simulate(1L, simulation))
+            .isInstanceOf(InvalidRequestException.class);
+        verify(cardInDeckRepository, never()).findMainDeckStatsViews(anyLong());
+    }
+
+    @Test
+    @DisplayName("Should throw exception for a non-existent deck")
+    void shouldThrowException_WhenDeckNotFound() {
+        // Given
+        when(deckRepository.existsById(999L)).thenReturn(false);
+        DeckSimulation simulation = DeckSimulation.builder()
+            .turn(1)
+            .conditions(List.of(condition(Category.LAND, null, 2)))
+            .build();
+
+        // When & Then
+        assertThatThrownBy(() -> deckSimulationService.simulate(999L, simulation))
+            .isInstanceOf(DeckNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("Should size colored sources by the most demanding spell of each color")
+    void shouldAdviseManaBase() {
+        // Given
+        when(deckRepository.existsById(1L)).thenReturn(true);
+        when(cardInDeckRepository.findMainDeckManaViews(1L)).thenReturn(List.of(
+            manaRow(1L, "Island", 14, 0, null, "Basic Land — Island", "U"),
+            manaRow(2L, "Mountain", 10, 0, null, "Basic Land — Mountain", "R"),
+            manaRow(3L, "Counterspell", 4, 2, "{U}{U}", "Instant", "U"),
+            manaRow(4L, "Lightning Bolt", 4, 1, "{R}", "Instant", "R"),
+            manaRow(5L, "Fireball", 28, 4, "{3}{R}", "Sorcery", "R")));
+
+        // When
+        ManaBaseAdvice advice = deckSimulationService.adviseManaBase(1L, 0.9, true);
+
+        // Then - UU on turn 2 needs 24 sources, R on turn 1 needs 16 and outweighs R on turn 4
+        assertThat(advice.getDeckSize()).isEqualTo(60);
+        assertThat(advice.getLandCount()).isEqualTo(24);
+        assertThat(advice.getSuggestedLandCount()).isEqualTo(26);
+        assertThat(advice.getColors()).extracting(ColorRequirement::getColor, ColorRequirement::getSources,
+                ColorRequirement::getRequiredSources, ColorRequirement::getCardName)
+            .containsExactly(
+                tuple("U", 14, 24, "Counterspell"),
+                tuple("R", 10, 16, "Lightning Bolt"));
+    }
+
+    @Test
+    @DisplayName("Should reject a target that is not a probability")
+    void shouldRejectInvalidTarget() {
+        // When & Then
+        assertThatThrownBy(() -> deckSimulationService.adviseManaBase(1L, 1.5, true))
+            .isInstanceOf(InvalidRequestException.class);
+        verify(deckRepository, never()).existsById(anyLong());
+    }
+
+    private void givenDeck(List<MainDeckStatsView> rows) {
+        when(deckRepository.existsById(1L)).thenReturn(true);
+        when(cardInDeckRepository.findMainDeckStatsViews(1L)).thenReturn(rows);
+    }
+
+    private static Condition condition(Category category, String value, int min) {
+        return Condition.builder().category(category).value(value).min(min).build();
+    }
+
+    private static MainDeckManaView manaRow(Long cardId, String name, int quantity, int cmc, String manaCost,
+            String typeLine, String colorIdentity) {
+        return new MainDeckManaView() {
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public String getColorIdentity() {
+                return colorIdentity;
+            }
+
+            @Override
+            public Integer getQuantity() {
+                return quantity;
+            }
+
+            @Override
+            public Long getCardId() {
+                return cardId;
+            }
+
+            @Override
+            public Integer getCmc() {
+                return cmc;
+            }
+
+            @Override
+            public String getManaCost() {
+                return manaCost;
+            }
+
+            @Override
+            public String getTypeLine() {
+                return typeLine;
+            }
+        };
+    }
+
+    private static MainDeckStatsView row(Long cardId, int quantity, int cmc, String typeLine) {
+        return new MainDeckStatsView() {
+            @Override
+            public Integer getQuantity() {
+                return quantity;
+            }
+
+            @Override
+            public Long getCardId() {
+                return cardId;
+            }
+
+            @Override
+            public Integer getCmc() {
+                return cmc;
+            }
+
+            @Override
+            public String getManaCost() {
+                return null;
+            }
+
+            @Override
+            public String getTypeLine() {
+                return typeLine;
+            }
+        };
+    }
+}
@@ -0,0 +1,290 @@
+package com.deckbuilder.mtgdeckbuilder.application;
+
+import com.deckbuilder.mtgdeckbuilder.application.implement.DeckStatsServiceImpl;
+import com.deckbuilder.mtgdeckbuilder.application.stats.DeckStatsCache;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.CardInDeckRepository;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.CardInDeckRepository.MainDeckStatsView;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.CardRepository;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.DeckRepository;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.config.StatsCacheConfig;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.exception.DeckNotFoundException;
+import com.deckbuilder.mtgdeckbuilder.model.DeckDelta;
+import com.deckbuilder.mtgdeckbuilder.model.DeckDelta.CardChange;
+import com.deckbuilder.mtgdeckbuilder.model.DeckStats;
+import com.deckbuilder.mtgdeckbuilder.model.DeckVersion;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Deck Stats Service Tests")
+class DeckStatsServiceImplTest {
+
+    private static final LocalDateTime MODIFIED = LocalDateTime.of(2025, 1, 1, 12, 0);
+    private static final LocalDateTime MODIFIED_AFTER_ADD = MODIFIED.plusMinutes(1);
+
+    @Mock
+    private DeckRepository deckRepository;
+
+    @Mock
+    private CardInDeckRepository cardInDeckRepository;
+
+    @Mock
+    private CardRepository cardRepository;
+
+    private DeckStatsCache deckStatsCache;
+    private DeckStatsService deckStatsService;
+
+    @BeforeEach
+    void setUp() {
+        // Real cache over mocked repositories, so caching and incremental updates are exercised
+        useCache(new StatsCacheConfig());
+    }
+
+    @Test
+    @DisplayName("Should compute curve, pips and types from one query")
+    void shouldComputeStatsFromOneQuery() {
+        // Given
+        when(deckRepository.findModifiedById(1L)).thenReturn(MODIFIED);
+        when(cardInDeckRepository.findMainDeckStatsViews(1L)).thenReturn(List.of(
+            row(1L, 4, 1, "{R}", "Instant"),
+            row(2L, 2, 3, "{1}{R/G}{G}", "Artifact Creature — Golem"),
+            row(3L, 8, 8, "{6}{U}{U}", "Creature — Leviathan"),
+            row(4L, 20, 0, null, "Basic Land — Mountain")));
+
+        // When
+        DeckStats stats = deckStatsService.getStats(1L);
+
+        // Then
+        assertThat(stats.getVersion()).isEqualTo(DeckVersion.of(MODIFIED));
+        assertThat(stats.getTotalCards()).isEqualTo(34);
+        assertThat(stats.getLandCount()).isEqualTo(20);
+        assertThat(stats.getManaCurve()).containsEntry("0", 0).containsEntry("1", 4).containsEntry("3", 2)
+            .containsEntry("7+", 8);
+        assertThat(stats.getColorPips()).containsEntry("R", 6).containsEntry("G", 4).containsEntry("U", 16)
+            .containsEntry("W", 0);
+        assertThat(stats.getTypeBreakdown()).containsEntry("Instant", 4).containsEntry("Creature", 10)
+            .containsEntry("Land", 20).doesNotContainKey("Artifact");
+        assertThat(stats.getAverageManaValue()).isEqualTo((4 * 1 + 2 * 3 + 8 * 8) / 14.0);
+    }
+
+    @Test
+    @DisplayName("Should serve unchanged decks from cache")
+    void shouldServeUnchangedDeckFromCache() {
+        // Given
+        when(deckRepository.findModifiedById(1L)).thenReturn(MODIFIED);
+        when(cardInDeckRepository.findMainDeckStatsViews(1L)).thenReturn(List.of(row(1L, 4, 1, "{R}", "Instant")));
+
+        // When
+        deckStatsService.getStats(1L);
+        DeckStats stats = deckStatsService.getStats(1L);
+
+        // Then
+        assertThat(stats.getTotalCards()).isEqualTo(4);
+        verify(cardInDeckRepository, times(1)).findMainDeckStatsViews(1L);
+    }
+
+    @Test
+    @DisplayName("Should move cached stats to the new version by applying the card delta")
+    void shouldApplyCardDeltaIncrementally() {
+        // Given - stats cached at the first version
+        when(deckRepository.findModifiedById(1L)).thenReturn(MODIFIED);
+        when(cardInDeckRepository.findMainDeckStatsViews(1L)).thenReturn(List.of(row(1L, 4, 1, "{R}", "Instant")));
+        deckStatsService.getStats(1L);
+
+        when(cardRepository.findStatsViewsByIdIn(List.of(5L))).thenReturn(List.of(row(5L, 0, 2, "{W}{W}", "Sorcery")));
+
+        // When - two copies of a new card are added and one copy of the instant removed
+        deckStatsCache.recordChange(DeckDelta.builder()
+            .deckId(1L)
+            .version(DeckVersion.of(MODIFIED_AFTER_ADD))
+            .changes(List.of(
+                CardChange.builder().cardId(5L).section("main").previousQuantity(0).quantity(2).build(),
+                CardChange.builder().cardId(1L).section("main").previousQuantity(4).quantity(3).build(),
+                CardChange.builder().cardId(9L).section("sideboard").previousQuantity(0).quantity(1).build()))
+            .build());
+        when(deckRepository.findModifiedById(1L)).thenReturn(MODIFIED_AFTER_ADD);
+        DeckStats stats = deckStatsService.getStats(1L);
+
+        // Then - no rescan, only the touched buckets moved
+        verify(cardInDeckRepository, times(1)).findMainDeckStatsViews(1L);
+        assertThat(stats.getVersion()).isEqualTo(DeckVersion.of(MODIFIED_AFTER_ADD));
+        assertThat(stats.getTotalCards()).isEqualTo(5);
+        assertThat(stats.getManaCurve()).containsEntry("1", 3).containsEntry("2", 2);
+        assertThat(stats.getColorPips()).containsEntry("R", 3).containsEntry("W", 4);
+        assertThat(stats.getTypeBreakdown()).containsEntry("Instant", 3).containsEntry("Sorcery", 2);
+    }
+
+    @Test
+    @DisplayName("Should recompute when a delta does not match the cached quantities")
+    void shouldRecompute_WhenDeltaDoesNotMatch() {
+        // Given
+        when(deckRepository.findModifiedById(1L)).thenReturn(MODIFIED);
+        when(cardInDeckRepository.findMainDeckStatsViews(1L)).thenReturn(List.of(row(1L, 4, 1, "{R}", "Instant")));
+        deckStatsService.getStats(1L);
+
+        // When - the delta claims a previous quantity the cache never saw
+        deckStatsCache.recordChange(DeckDelta.builder()
+            .deckId(1L)
+            .version(DeckVersion.of(MODIFIED_AFTER_ADD))
+            .changes(List.of(CardChange.builder().cardId(1L).section("main").previousQuantity(2).quantity(3).build()))
+            .build());
+        when(deckRepository.findModifiedById(1L)).thenReturn(MODIFIED_AFTER_ADD);
+        deckStatsService.getStats(1L);
+
+        // Then
+        verify(cardInDeckRepository, times(2)).findMainDeckStatsViews(1L);
+        verify(cardRepository, never()).findStatsViewsByIdIn(anyCollection());
+    }
+
+    @Test
+    @DisplayName("Should cache a load at an earlier modification time than the cached version")
+    void shouldReplaceCachedStats_WhenLoadedVersionIsEarlier() {
+        // Given - a transaction that started earlier committed last, so the deck's modification time went backwards
+        when(deckRepository.findModifiedById(1L)).thenReturn(MODIFIED_AFTER_ADD, MODIFIED);
+        when(cardInDeckRepository.findMainDeckStatsViews(1L)).thenReturn(List.of(row(1L, 4, 1, "{R}", "Instant")));
+        deckStatsService.getStats(1L);
+
+        // When
+        deckStatsService.getStats(1L);
+        DeckStats stats = deckStatsService.getStats(1L);
+
+        // Then - the second load replaced the entry and the third read was served from it
+        assertThat(stats.getVersion()).isEqualTo(DeckVersion.of(MODIFIED));
+        verify(cardInDeckRepository, times(2)).findMainDeckStatsViews(1L);
+    }
+
+    @Test
+    @DisplayName("Should drop the least recently read deck once the cache is full")
+    void shouldEvictLeastRecentlyReadDeck_WhenCacheIsFull() {
+        // Given
+        StatsCacheConfig config = new StatsCacheConfig();
+        config.setMaxDecks(2);
+        useCache(config);
+        for (long deckId = 1; deckId <= 3; deckId++) {
+            when(deckRepository.findModifiedById(deckId)).thenReturn(MODIFIED);
+            when(cardInDeckRepository.findMainDeckStatsViews(deckId)).thenReturn(List.of(row(1L, 4, 1, "{R}",
+                "Instant")));
+        }
+
+        // When - deck 1 is read again before deck 3 fills the cache
+        deckStatsService.getStats(1L);
+        deckStatsService.getStats(2L);
+        deckStatsService.getStats(1L);
+        deckStatsService.getStats(3L);
+        deckStatsService.getStats(1L);
+        deckStatsService.getStats(2L);
+
+        // Then - deck 2 was evicted, deck 1 stayed cached
+        verify(cardInDeckRepository, times(1)).findMainDeckStatsViews(1L);
+        verify(cardInDeckRepository, times(2)).findMainDeckStatsViews(2L);
+    }
+
+    @Test
+    @DisplayName("Should recompute stats that stayed idle too long")
+    void shouldRecompute_WhenCachedStatsAreIdle() {
+        // Given
+        StatsCacheConfig config = new StatsCacheConfig();
+        config.setMaxIdle(Duration.ZERO);
+        useCache(config);
+        when(deckRepository.findModifiedById(1L)).thenReturn(MODIFIED);
+        when(cardInDeckRepository.findMainDeckStatsViews(1L)).thenReturn(List.of(row(1L, 4, 1, "{R}", "Instant")));
+
+        // When
+        deckStatsService.getStats(1L);
+        DeckStats stats = deckStatsService.getStats(1L);
+
+        // Then
+        assertThat(stats.getTotalCards()).isEqualTo(4);
+        verify(cardInDeckRepository, times(2)).findMainDeckStatsViews(1L);
+    }
+
+    @Test
+    @DisplayName("Should recompute when a changed card's contribution was evicted")
+    void shouldRecompute_WhenContributionWasEvicted() {
+        // Given - room for one card contribution only
+        StatsCacheConfig config = new StatsCacheConfig();
+        config.setMaxCards(1);
+        useCache(config);
+        when(deckRepository.findModifiedById(1L)).thenReturn(MODIFIED);
+        when(cardInDeckRepository.findMainDeckStatsViews(1L)).thenReturn(List.of(row(1L, 4, 1, "{R}", "Instant")));
+        deckStatsService.getStats(1L);
+
+        when(cardRepository.findStatsViewsByIdIn(List.of(5L))).thenReturn(List.of(row(5L, 0, 2, "{W}{W}", "Sorcery")));
+
+        // When - loading the new card's contribution evicts the instant's
+        deckStatsCache.recordChange(DeckDelta.builder()
+            .deckId(1L)
+            .version(DeckVersion.of(MODIFIED_AFTER_ADD))
+            .changes(List.of(
+                CardChange.builder().cardId(5L).section("main").previousQuantity(0).quantity(2).build(),
+                CardChange.builder().cardId(1L).section("main").previousQuantity(4).quantity(3).build()))
+            .build());
+        when(deckRepository.findModifiedById(1L)).thenReturn(MODIFIED_AFTER_ADD);
+        deckStatsService.getStats(1L);
+
+        // Then
+        verify(cardInDeckRepository, times(2)).findMainDeckStatsViews(1L);
+    }
+
+    @Test
+    @DisplayName("Should throw exception for a non-existent deck")
+    void shouldThrowException_WhenDeckNotFound() {
+        // Given
+        when(deckRepository.findModifiedById(999L)).thenReturn(null);
+
+        // When & Then
+        assertThatThrownBy(() -> deckStatsService.getStats(999L))
+            .isInstanceOf(DeckNotFoundException.class);
+        verify(cardInDeckRepository, never()).findMainDeckStatsViews(999L);
+    }
+
+    private void useCache(StatsCacheConfig config) {
+        deckStatsCache = new DeckStatsCache(cardRepository, config);
+        deckStatsService = new DeckStatsServiceImpl(deckRepository, cardInDeckRepository, deckStatsCache);
+    }
+
+    private static MainDeckStatsView row(Long cardId, int quantity, int cmc, String manaCost, String typeLine) {
+        return new MainDeckStatsView() {
+            @Override
+            public Integer getQuantity() {
+                return quantity;
+            }
+
+            @Override
+            public Long getCardId() {
+                return cardId;
+            }
+
+            @Override
+            public Integer getCmc() {
+                return cmc;
+            }
+
+            @Override
+            public String getManaCost() {
+                return manaCost;
+            }
+
+            @Override
+            public String getTypeLine() {
+                return typeLine;
+            }
+        };
+    }
+}
@@ -1,28 +1,39 @@
 package com.deckbuilder.mtgdeckbuilder.application;
 
 import com.deckbuilder.mtgdeckbuilder.application.implement.DeckValidationServiceImpl;
+import com.deckbuilder.mtgdeckbuilder.application.rules.FormatRulesCache;
+import com.deckbuilder.mtgdeckbuilder.application.rules.LegalityMatrix;
 import com.deckbuilder.mtgdeckbuilder.infrastructure.CardInDeckRepository;
 import com.deckbuilder.mtgdeckbuilder.infrastructure.CardLegalityRepository;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.CardLegalityRepository.LegalityStatusView;
 import com.deckbuilder.mtgdeckbuilder.infrastructure.CardRepository;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.CardRepository.ColorIdentityView;
 import com.deckbuilder.mtgdeckbuilder.infrastructure.DeckRepository;
 import com.deckbuilder.mtgdeckbuilder.infrastructure.FormatRepository;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.exception.DeckNotFoundException;
 import com.deckbuilder.mtgdeckbuilder.infrastructure.exception.InvalidDeckCompositionException;
 import com.deckbuilder.mtgdeckbuilder.infrastructure.model.CardEntity;
-import com.deckbuilder.mtgdeckbuilder.infrastructure.model.CardLegalityEntity;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.model.CardInDeckEntity;
 import com.deckbuilder.mtgdeckbuilder.infrastructure.model.DeckEntity;
 import com.deckbuilder.mtgdeckbuilder.infrastructure.model.FormatEntity;
+import com.deckbuilder.mtgdeckbuilder.model.DeckValidationReport;
+import com.deckbuilder.mtgdeckbuilder.model.DeckValidationReport.Rule;
+import com.deckbuilder.mtgdeckbuilder.model.DeckValidationReport.Violation;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -44,7 +55,10 @@ class DeckValidationServiceTest {
     @Mock
     private CardInDeckRepository cardInDeckRepository;
 
-    @InjectMocks
+    private FormatRulesCache formatRulesCache;
+
+    private LegalityMatrix legalityMatrix;
+
     private DeckValidationServiceImpl deckValidationService;
 
     private DeckEntity testDeck;
@@ -52,7 +66,6 @@ class DeckValidationServiceTest {
     private CardEntity basicLand;
     private CardEntity bannedCard;
     private FormatEntity standardFormat;
-    private CardLegalityEntity bannedLegality;
 
     @BeforeEach
     void setUp() {
@@ -108,16 +121,30 @@ class DeckValidationServiceTest {
                 .maxSideboardSize(0)
                 .build();
 
-        // Card legalities
-        bannedLegality = new CardLegalityEntity();
-        bannedLegality.setCardId(3L);
-        bannedLegality.setFormatId(1L);
-        bannedLegality.setLegalityStatus("banned");
+        // Real caches over the mocked repositories, so every test also exercises the read-through loading
+        formatRulesCache = new FormatRulesCache(formatRepository);
+        legalityMatrix = new LegalityMatrix(cardRepository, cardLegalityRepository);
+        deckValidationService = new DeckValidationServiceImpl(deckRepository, cardInDeckRepository,
+            formatRulesCache, legalityMatrix, Runnable::run);
+    }
+
+    private void givenCardIndex() {
+        when(cardRepository.findAllIds()).thenReturn(List.of(1L, 2L, 3L, 4L));
+        when(cardRepository.findUnlimitedCopyIds()).thenReturn(List.of(2L));
+    }
 
-        CardLegalityEntity restrictedLegality = new CardLegalityEntity();
-        restrictedLegality.setCardId(4L);
-        restrictedLegality.setFormatId(1L);
-        restrictedLegality.setLegalityStatus("restricted");
+    private static LegalityStatusView legality(Long cardId, String status) {
+        return new LegalityStatusView() {
+            @Override
+            public Long getCardId() {
+                return cardId;
+            }
+
+            @Override
+            public String getLegalityStatus() {
+                return status;
+            }
+        };
     }
 
     @Test
@@ -130,29 +157,25 @@ class DeckValidationServiceTest {
     @DisplayName("Should allow valid card addition")
     void shouldAllowValidCardAddition() {
         // Given
-        when(deckRepository.findById(1L)).thenReturn(Optional.of(testDeck));
-        when(cardRepository.findById(1L)).thenReturn(Optional.of(regularCard));
-        when(cardLegalityRepository.findByCardIdAndFormatId(1L, 1L)).thenReturn(Optional.empty());
+        givenCardIndex();
         when(formatRepository.findById(1L)).thenReturn(Optional.of(standardFormat));
-        when(cardInDeckRepository.sumQuantityByDeckIdAndSection(1L, "main")).thenReturn(0);
+        when(cardLegalityRepository.findStatusesByFormatId(1L)).thenReturn(List.of());
 
         // When & Then - Should not throw exception
-        deckValidationService.validateCardAddition(1L, 1L, 4, "main", false);
+        deckValidationService.validateCardAddition(1L, null, 1L, "main", 4, 4);
 
-        // Verify interactions - After optimization, in validateCardAddition only:
-        // 1. cardRepository.findById called once in validateCardAddition
-        // 2. cardLegalityRepository.findByCardIdAndFormatId called once (optimized!)
-        // 3. formatRepository.findById called once in private getMaxAllowedQuantity
-        verify(deckRepository).findById(1L);
-        verify(cardRepository, times(1)).findById(1L);
-        verify(cardLegalityRepository, times(1)).findByCardIdAndFormatId(1L, 1L);
+        // Verify interactions - the caller passes the deck state, and card and legality lookups are answered by
+        // the caches, not per-card queries
+        verifyNoInteractions(deckRepository, cardInDeckRepository);
+        verify(cardRepository, never()).findById(any());
+        verify(cardLegalityRepository, never()).findByCardIdAndFormatId(any(), any());
     }
 
     @Test
     @DisplayName("Should skip validation for maybeboard")
     void shouldSkipValidationForMaybeboard() {
         // When & Then - Should not throw exception or call any repositories
-        deckValidationService.validateCardAddition(1L, 1L, 100, "maybeboard", false);
+        deckValidationService.validateCardAddition(1L, null, 1L, "maybeboard", 100, 100);
 
         // Verify no validation calls were made
         verifyNoInteractions(deckRepository, cardRepository, cardLegalityRepository, formatRepository);
@@ -162,47 +185,41 @@ class DeckValidationServiceTest {
     @DisplayName("Should throw exception for banned card")
     void shouldThrowExceptionForBannedCard() {
         // Given
-        when(deckRepository.findById(1L)).thenReturn(Optional.of(testDeck));
-        when(cardRepository.findById(3L)).thenReturn(Optional.of(bannedCard));
-        when(cardLegalityRepository.findByCardIdAndFormatId(3L, 1L)).thenReturn(Optional.of(bannedLegality));
+        givenCardIndex();
         when(formatRepository.findById(1L)).thenReturn(Optional.of(standardFormat));
+        when(cardLegalityRepository.findStatusesByFormatId(1L)).thenReturn(List.of(legality(3L, "banned")));
 
         // When & Then
-        assertThatThrownBy(() -> deckValidationService.validateCardAddition(1L, 3L, 1, "main", false))
+        assertThatThrownBy(() -> deckValidationService.validateCardAddition(1L, null, 3L, "main", 1, 1))
             .isInstanceOf(InvalidDeckCompositionException.class)
             .hasMessageContaining("banned");
 
-        // Verify interactions - for banned cards, it fails early so cardRepository.findById is only called once
-        verify(deckRepository).findById(1L);
-        verify(cardRepository).findById(3L);
-        verify(cardLegalityRepository).findByCardIdAndFormatId(3L, 1L);
+        // Verify interactions - for banned cards, it fails before the deck size check
+        verify(cardLegalityRepository).findStatusesByFormatId(1L);
+        verifyNoInteractions(cardInDeckRepository);
     }
 
     @Test
     @DisplayName("Should allow unlimited basic lands")
     void shouldAllowUnlimitedBasicLands() {
         // Given
-        when(deckRepository.findById(1L)).thenReturn(Optional.of(testDeck));
-        when(cardRepository.findById(2L)).thenReturn(Optional.of(basicLand));
-        when(cardLegalityRepository.findByCardIdAndFormatId(2L, 1L)).thenReturn(Optional.empty());
+        givenCardIndex();
         when(formatRepository.findById(1L)).thenReturn(Optional.of(standardFormat));
-        when(cardInDeckRepository.sumQuantityByDeckIdAndSection(1L, "main")).thenReturn(40); // Already 40 cards in deck
+        when(cardLegalityRepository.findStatusesByFormatId(1L)).thenReturn(List.of());
 
         // When & Then - Should allow any quantity for basic lands (20 would exceed normal 4-card limit)
-        // This should NOT throw an exception even though we're adding 20 copies of a card
-        deckValidationService.validateCardAddition(1L, 2L, 20, "main", false);
+        // This should NOT throw an exception even though we're adding 20 copies of a card to a deck of 40
+        deckValidationService.validateCardAddition(1L, null, 2L, "main", 20, 60);
 
         // Also verify that getMaxAllowedQuantity returns unlimited for basic lands
         int maxAllowed = deckValidationService.getMaxAllowedQuantity(2L, 1L);
         assertThat(maxAllowed).isEqualTo(9999); // UNLIMITED_QUANTITY constant used by service
 
-        // Verify interactions - This test makes TWO separate API calls:
-        // 1. validateCardAddition() - optimized internally
-        // 2. getMaxAllowedQuantity() - separate public API call
-        // So cardRepository.findById is called twice total (once per API call)
-        verify(deckRepository).findById(1L);
-        verify(cardRepository, times(2)).findById(2L);
-        verify(cardLegalityRepository, atLeast(1)).findByCardIdAndFormatId(2L, 1L);
+        // Verify interactions - This test makes TWO separate API calls, but the rules, legality and
+        // card index are each loaded only once
+        verify(formatRepository, times(1)).findById(1L);
+        verify(cardRepository, times(1)).findAllIds();
+        verify(cardLegalityRepository, times(1)).findStatusesByFormatId(1L);
     }
 
     @Test
@@ -222,9 +239,9 @@ class DeckValidationServiceTest {
     @DisplayName("Should return 4 for regular cards max quantity")
     void shouldReturn4ForRegularCardsMaxQuantity() {
         // Given
-        when(cardRepository.findById(1L)).thenReturn(Optional.of(regularCard));
-        when(cardLegalityRepository.findByCardIdAndFormatId(1L, 1L)).thenReturn(Optional.empty());
+        givenCardIndex();
         when(formatRepository.findById(1L)).thenReturn(Optional.of(standardFormat));
+        when(cardLegalityRepository.findStatusesByFormatId(1L)).thenReturn(List.of());
 
         // When
         int maxQuantity = deckValidationService.getMaxAllowedQuantity(1L, 1L);
@@ -233,18 +250,366 @@ class DeckValidationServiceTest {
         assertThat(maxQuantity).isEqualTo(4);
     }
 
+    @Test
+    @DisplayName("Should return 1 for restricted cards max quantity")
+    void shouldReturn1ForRestrictedCardsMaxQuantity() {
+        // Given
+        givenCardIndex();
+        when(formatRepository.findById(1L)).thenReturn(Optional.of(standardFormat));
+        when(cardLegalityRepository.findStatusesByFormatId(1L)).thenReturn(List.of(legality(4L, "restricted")));
+
+        // When & Then
+        assertThat(deckValidationService.getMaxAllowedQuantity(4L, 1L)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should return 1 for any non-basic card in Commander")
+    void shouldReturn1ForCommanderSingleton() {
+        // Given
+        FormatEntity commanderFormat = FormatEntity.builder().id(2L).name("Commander").maxDeckSize(100).build();
+        givenCardIndex();
+        when(formatRepository.findById(2L)).thenReturn(Optional.of(commanderFormat));
+        when(cardLegalityRepository.findStatusesByFormatId(2L)).thenReturn(List.of());
+
+        // When & Then
+        assertThat(deckValidationService.getMaxAllowedQuantity(1L, 2L)).isEqualTo(1);
+        assertThat(deckValidationService.getMaxAllowedQuantity(2L, 2L)).isEqualTo(9999);
+    }
+
     @Test
     @DisplayName("Should throw exception for non-basic card quantity > 4")
     void shouldThrowExceptionForNonBasicCardQuantityGreaterThan4() {
         // Given
-        when(deckRepository.findById(1L)).thenReturn(Optional.of(testDeck));
-        when(cardRepository.findById(1L)).thenReturn(Optional.of(regularCard));
-        when(cardLegalityRepository.findByCardIdAndFormatId(1L, 1L)).thenReturn(Optional.empty());
+        givenCardIndex();
         when(formatRepository.findById(1L)).thenReturn(Optional.of(standardFormat));
+        when(cardLegalityRepository.findStatusesByFormatId(1L)).thenReturn(List.of());
 
         // When & Then - Should throw exception for trying to add 5 copies of a non-basic card
-        assertThatThrownBy(() -> deckValidationService.validateCardAddition(1L, 1L, 5, "main", false))
+        assertThatThrownBy(() -> deckValidationService.validateCardAddition(1L, null, 1L, "main", 5, 5))
+            .isInstanceOf(InvalidDeckCompositionException.class)
+            .hasMessageContaining("quantity limit");
+    }
+
+    @Test
+    @DisplayName("Should check section size against the resulting section total the caller passes")
+    void shouldCheckSectionSizeAgainstResultingTotal() {
+        // Given
+        givenCardIndex();
+        when(formatRepository.findById(1L)).thenReturn(Optional.of(standardFormat));
+        when(cardLegalityRepository.findStatusesByFormatId(1L)).thenReturn(List.of());
+
+        // When & Then - a sideboard of 14 plus 2 overflows, while 15 fits exactly
+        assertThatThrownBy(() -> deckValidationService.validateCardAddition(1L, null, 1L, "sideboard", 2, 16))
+            .isInstanceOf(InvalidDeckCompositionException.class)
+            .hasMessageContaining("size limit exceeded");
+        deckValidationService.validateCardAddition(1L, null, 1L, "sideboard", 3, 15);
+
+        verifyNoInteractions(deckRepository, cardInDeckRepository);
+    }
+
+    @Test
+    @DisplayName("Should throw exception for a card that does not exist")
+    void shouldThrowExceptionForUnknownCard() {
+        // Given
+        givenCardIndex();
+        when(cardRepository.findById(99L)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThatThrownBy(() -> deckValidationService.getMaxAllowedQuantity(99L, 1L))
+            .isInstanceOf(InvalidDeckCompositionException.class)
+            .hasMessageContaining("Card not found with id: 99");
+    }
+
+    @Test
+    @DisplayName("Should look up cards created after the card index was built only once")
+    void shouldPatchCardIndexForNewCards() {
+        // Given
+        CardEntity newCard = new CardEntity();
+        newCard.setId(5L);
+        newCard.setCardType("Creature");
+        newCard.setUnlimitedCopies(false);
+        givenCardIndex();
+        when(cardRepository.findById(5L)).thenReturn(Optional.of(newCard));
+        when(formatRepository.findById(1L)).thenReturn(Optional.of(standardFormat));
+        when(cardLegalityRepository.findStatusesByFormatId(1L)).thenReturn(List.of());
+
+        // When
+        deckValidationService.getMaxAllowedQuantity(5L, 1L);
+        int maxQuantity = deckValidationService.getMaxAllowedQuantity(5L, 1L);
+
+        // Then
+        assertThat(maxQuantity).isEqualTo(4);
+        verify(cardRepository, times(1)).findById(5L);
+        verify(cardRepository, times(1)).findAllIds();
+    }
+
+    @Test
+    @DisplayName("Should reload format rules and legality only after invalidation")
+    void shouldReloadRulesAfterInvalidation() {
+        // Given
+        givenCardIndex();
+        when(formatRepository.findById(1L)).thenReturn(Optional.of(standardFormat));
+        when(cardLegalityRepository.findStatusesByFormatId(1L))
+            .thenReturn(List.of())
+            .thenReturn(List.of(legality(1L, "restricted")));
+
+        // When
+        int before = deckValidationService.getMaxAllowedQuantity(1L, 1L);
+        int cached = deckValidationService.getMaxAllowedQuantity(1L, 1L);
+        formatRulesCache.invalidate(1L);
+        legalityMatrix.invalidateFormat(1L);
+        int after = deckValidationService.getMaxAllowedQuantity(1L, 1L);
+
+        // Then
+        assertThat(before).isEqualTo(4);
+        assertThat(cached).isEqualTo(4);
+        assertThat(after).isEqualTo(1);
+        verify(formatRepository, times(2)).findById(1L);
+        verify(cardLegalityRepository, times(2)).findStatusesByFormatId(1L);
+    }
+
+    @Test
+    @DisplayName("Should validate a whole batch with one load of format, cards and legality")
+    void shouldValidateBatchWithSingleBulkLoad() {
+        // Given
+        givenCardIndex();
+        when(formatRepository.findById(1L)).thenReturn(Optional.of(standardFormat));
+        when(cardLegalityRepository.findStatusesByFormatId(1L)).thenReturn(List.of());
+
+        Map<Long, Integer> increased = Map.of(1L, 4, 2L, 20);
+
+        // When & Then - Should not throw exception
+        deckValidationService.validateBatch(1L, null, increased, Map.of("main", 60, "sideboard", 15));
+
+        verify(formatRepository, times(1)).findById(1L);
+        verify(cardLegalityRepository, times(1)).findStatusesByFormatId(1L);
+        verify(cardRepository, never()).findById(any());
+        verify(cardLegalityRepository, never()).findByCardIdAndFormatId(any(), any());
+        verifyNoInteractions(cardInDeckRepository);
+    }
+
+    @Test
+    @DisplayName("Should reject a batch whose resulting quantity exceeds the card limit")
+    void shouldRejectBatchExceedingCardLimit() {
+        // Given
+        givenCardIndex();
+        when(formatRepository.findById(1L)).thenReturn(Optional.of(standardFormat));
+        when(cardLegalityRepository.findStatusesByFormatId(1L)).thenReturn(List.of());
+
+        Map<Long, Integer> increased = Map.of(1L, 5);
+
+        // When & Then
+        assertThatThrownBy(() -> deckValidationService.validateBatch(1L, null, increased, Map.of("main", 5)))
+            .isInstanceOf(InvalidDeckCompositionException.class)
+            .hasMessageContaining("quantity limit");
+    }
+
+    @Test
+    @DisplayName("Should reject a batch that overflows the main deck")
+    void shouldRejectBatchOverflowingMainDeck() {
+        // Given
+        givenCardIndex();
+        when(formatRepository.findById(1L)).thenReturn(Optional.of(standardFormat));
+        when(cardLegalityRepository.findStatusesByFormatId(1L)).thenReturn(List.of());
+
+        Map<Long, Integer> increased = Map.of(2L, 30);
+
+        // When & Then
+        assertThatThrownBy(() -> deckValidationService.validateBatch(1L, null, increased, Map.of("main", 61)))
+            .isInstanceOf(InvalidDeckCompositionException.class)
+            .hasMessageContaining("size limit exceeded");
+    }
+
+    @Test
+    @DisplayName("Should count copies in the other section towards the card limit")
+    void shouldCountCopiesAcrossMainAndSideboard() {
+        // Given - 2 Lightning Bolts already in the main deck
+        givenCardIndex();
+        when(formatRepository.findById(1L)).thenReturn(Optional.of(standardFormat));
+        when(cardLegalityRepository.findStatusesByFormatId(1L)).thenReturn(List.of());
+
+        // When & Then - 2 in the sideboard fit, a third does not
+        deckValidationService.validateCardAddition(1L, null, 1L, "sideboard", 2 + 2, 2);
+        assertThatThrownBy(() -> deckValidationService.validateCardAddition(1L, null, 1L, "sideboard", 2 + 3, 3))
             .isInstanceOf(InvalidDeckCompositionException.class)
             .hasMessageContaining("quantity limit");
     }
+
+    @Test
+    @DisplayName("Should reject cards that are not legal in the format on every write path")
+    void shouldRejectNotLegalCardOnWrites() {
+        // Given
+        givenCardIndex();
+        when(formatRepository.findById(1L)).thenReturn(Optional.of(standardFormat));
+        when(cardLegalityRepository.findStatusesByFormatId(1L)).thenReturn(List.of(legality(1L, "not_legal")));
+
+        // When & Then
+        assertThatThrownBy(() -> deckValidationService.validateCardAddition(1L, null, 1L, "main", 1, 1))
+            .isInstanceOf(InvalidDeckCompositionException.class)
+            .hasMessageContaining("not legal");
+        assertThatThrownBy(() -> deckValidationService.validateBatch(1L, null, Map.of(1L, 1), Map.of("main", 1)))
+            .isInstanceOf(InvalidDeckCompositionException.class)
+            .hasMessageContaining("not legal");
+        verifyNoInteractions(cardInDeckRepository);
+    }
+
+    @Test
+    @DisplayName("Should not limit the main deck on writes when the format has no maximum deck size")
+    void shouldAcceptAnyMainDeckSizeWithoutFormatMaximum() {
+        // Given
+        when(formatRepository.findById(3L)).thenReturn(Optional.of(
+            FormatEntity.builder().id(3L).name("Freeform").maxDeckSize(0).build()));
+
+        // When & Then - Should not throw exception
+        deckValidationService.validateBatch(3L, null, Map.of(), Map.of("main", 250));
+    }
+
+    @Test
+    @DisplayName("Should apply the format's sideboard size limit")
+    void shouldApplyFormatSideboardLimit() {
+        // Given
+        when(formatRepository.findById(3L)).thenReturn(Optional.of(
+            FormatEntity.builder().id(3L).name("Limited").maxDeckSize(0).maxSideboardSize(10).build()));
+
+        // When & Then
+        assertThat(deckValidationService.getMaxDeckSize(3L, "sideboard")).isEqualTo(10);
+        assertThatThrownBy(() -> deckValidationService.validateBatch(3L, null, Map.of(), Map.of("sideboard", 11)))
+            .isInstanceOf(InvalidDeckCompositionException.class)
+            .hasMessageContaining("\"sideboard\" size limit exceeded: 11 cards, maximum is 10");
+    }
+
+    @Test
+    @DisplayName("Should keep the standard sideboard limit for formats without one")
+    void shouldUseStandardSideboardLimitWithoutFormatLimit() {
+        // Given
+        when(formatRepository.findById(3L)).thenReturn(Optional.of(
+            FormatEntity.builder().id(3L).name("Freeform").maxDeckSize(0).maxSideboardSize(0).build()));
+
+        // When & Then
+        assertThat(deckValidationService.getMaxDeckSize(3L, "sideboard")).isEqualTo(15);
+    }
+
+    private static CardInDeckEntity row(Long deckId, Long cardId, int quantity, String section) {
+        return CardInDeckEntity.builder().deckId(deckId).cardId(cardId).quantity(quantity).section(section).build();
+    }
+
+    @Test
+    @DisplayName("Should report every violation of a deck in one pass")
+    void shouldReportEveryViolation() {
+        // Given - 5 Lightning Bolts, a banned card, a restricted card split over main and sideboard, 16 sideboard lands
+        when(deckRepository.findById(1L)).thenReturn(Optional.of(testDeck));
+        when(cardInDeckRepository.findByDeckId(1L)).thenReturn(List.of(
+            row(1L, 1L, 5, "main"),
+            row(1L, 3L, 1, "main"),
+            row(1L, 4L, 1, "main"),
+            row(1L, 4L, 1, "sideboard"),
+            row(1L, 2L, 16, "sideboard"),
+            row(1L, 1L, 10, "maybeboard")));
+        givenCardIndex();
+        when(formatRepository.findById(1L)).thenReturn(Optional.of(standardFormat));
+        when(cardLegalityRepository.findStatusesByFormatId(1L))
+            .thenReturn(List.of(legality(3L, "banned"), legality(4L, "restricted")));
+
+        // When
+        DeckValidationReport report = deckValidationService.validateDeck(1L);
+
+        // Then
+        assertThat(report.isValid()).isFalse();
+        assertThat(report.getSectionTotals()).containsEntry("main", 7).containsEntry("sideboard", 17);
+        assertThat(report.getViolations()).extracting(Violation::getRule)
+            .containsExactlyInAnyOrder(Rule.QUANTITY, Rule.BANNED, Rule.RESTRICTED, Rule.SIDEBOARD_TOO_LARGE);
+        verify(cardRepository, never()).findById(any());
+        verify(cardLegalityRepository, never()).findByCardIdAndFormatId(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should throw exception when validating a non-existent deck")
+    void shouldThrowExceptionWhenValidatingMissingDeck() {
+        // Given
+        when(deckRepository.findById(999L)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThatThrownBy(() -> deckValidationService.validateDeck(999L))
+            .isInstanceOf(DeckNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("Should validate many decks with one load of decks and contents")
+    void shouldValidateDecksInBulk() {
+        // Given
+        when(deckRepository.findAllById(List.of(1L, 99L))).thenReturn(List.of(testDeck));
+        when(cardInDeckRepository.findByDeckIdIn(Set.of(1L))).thenReturn(List.of(row(1L, 1L, 4, "main")));
+        givenCardIndex();
+        when(formatRepository.findById(1L)).thenReturn(Optional.of(standardFormat));
+        when(cardLegalityRepository.findStatusesByFormatId(1L)).thenReturn(List.of());
+
+        // When
+        List<DeckValidationReport> reports = deckValidationService.validateDecks(List.of(1L, 99L, 1L));
+
+        // Then
+        assertThat(reports).extracting(DeckValidationReport::getDeckId).containsExactly(1L, 99L);
+        assertThat(reports.get(0).isValid()).isTrue();
+        assertThat(reports.get(1).isValid()).isFalse();
+        assertThat(reports.get(1).getViolations()).extracting(Violation::getRule).containsExactly(Rule.DECK_NOT_FOUND);
+        verify(formatRepository, times(1)).findById(1L);
+        verify(deckRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("Should reject a card outside the commander's color identity in a singleton format")
+    void shouldRejectCardOutsideCommanderIdentity() {
+        // Given - a Commander deck led by Lightning Bolt (red); Ancestral Recall is blue
+        givenCardIndex();
+        when(cardRepository.findColorIdentityMasks()).thenReturn(List.of(identity(1L, 8), identity(4L, 2)));
+        when(formatRepository.findById(2L)).thenReturn(Optional.of(
+            FormatEntity.builder().id(2L).name("Commander").maxDeckSize(100).build()));
+        when(cardLegalityRepository.findStatusesByFormatId(2L)).thenReturn(List.of());
+
+        // When & Then
+        assertThatThrownBy(() -> deckValidationService.validateCardAddition(2L, 1L, 4L, "main", 1, 1))
+            .isInstanceOf(InvalidDeckCompositionException.class)
+            .hasMessageContaining("color identity");
+        verifyNoInteractions(cardInDeckRepository);
+    }
+
+    @Test
+    @DisplayName("Should report cards outside the commander's color identity and accept colorless ones")
+    void shouldReportColorIdentityViolations() {
+        // Given
+        testDeck.setFormatId(2L);
+        testDeck.setCommanderCardId(1L);
+        when(deckRepository.findById(1L)).thenReturn(Optional.of(testDeck));
+        when(cardInDeckRepository.findByDeckId(1L)).thenReturn(List.of(
+            row(1L, 1L, 1, "main"),
+            row(1L, 2L, 30, "main"),
+            row(1L, 4L, 1, "main"),
+            row(1L, 4L, 1, "maybeboard")));
+        givenCardIndex();
+        when(cardRepository.findColorIdentityMasks()).thenReturn(List.of(identity(1L, 8), identity(4L, 2)));
+        when(formatRepository.findById(2L)).thenReturn(Optional.of(
+            FormatEntity.builder().id(2L).name("Commander").maxDeckSize(100).build()));
+        when(cardLegalityRepository.findStatusesByFormatId(2L)).thenReturn(List.of());
+
+        // When
+        DeckValidationReport report = deckValidationService.validateDeck(1L);
+
+        // Then
+        assertThat(report.isValid()).isFalse();
+        assertThat(report.getViolations()).extracting(Violation::getRule, Violation::getCardId)
+            .containsExactly(tuple(Rule.COLOR_IDENTITY, 4L));
+    }
+
+    private static ColorIdentityView identity(Long cardId, int mask) {
+        return new ColorIdentityView() {
+            @Override
+            public Long getId() {
+                return cardId;
+            }
+
+            @Override
+            public Integer getMask() {
+                return mask;
+            }
+        };
+    }
 }
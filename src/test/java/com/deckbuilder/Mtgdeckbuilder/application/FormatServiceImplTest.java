@@ -1,6 +1,10 @@
 package com.deckbuilder.mtgdeckbuilder.application;
 
 import com.deckbuilder.mtgdeckbuilder.application.implement.FormatServiceImpl;
+import com.deckbuilder.mtgdeckbuilder.application.job.BanListLegalityJob;
+import com.deckbuilder.mtgdeckbuilder.application.rules.FormatRules;
+import com.deckbuilder.mtgdeckbuilder.application.rules.FormatRulesCache;
+import com.deckbuilder.mtgdeckbuilder.application.rules.LegalityMatrix;
 import com.deckbuilder.mtgdeckbuilder.infrastructure.CardRepository;
 import com.deckbuilder.mtgdeckbuilder.infrastructure.FormatRepository;
 import com.deckbuilder.mtgdeckbuilder.infrastructure.exception.FormatNotFoundException;
@@ -8,12 +12,14 @@ import com.deckbuilder.mtgdeckbuilder.infrastructure.mapper.CardEntityMapper;
 import com.deckbuilder.mtgdeckbuilder.infrastructure.mapper.FormatEntityMapper;
 import com.deckbuilder.mtgdeckbuilder.infrastructure.model.CardEntity;
 import com.deckbuilder.mtgdeckbuilder.infrastructure.model.FormatEntity;
+import com.deckbuilder.mtgdeckbuilder.model.BanListChange;
 import com.deckbuilder.mtgdeckbuilder.model.Card;
 import com.deckbuilder.mtgdeckbuilder.model.Format;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -25,6 +31,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -47,11 +54,21 @@ class FormatServiceImplTest {
 	@Mock
 	private CardEntityMapper cardEntityMapper;
 
+	@Mock
+	private FormatRulesCache formatRulesCache;
+
+	@Mock
+	private LegalityMatrix legalityMatrix;
+
+	@Mock
+	private BanListLegalityJob banListLegalityJob;
+
 	@InjectMocks
 	private FormatServiceImpl formatService;
 
 	private Format testFormat;
 	private FormatEntity testFormatEntity;
+	private FormatRules testRules;
 
 	@BeforeEach
 	void setUp() {
@@ -68,6 +85,10 @@ class FormatServiceImplTest {
 		this.testFormatEntity.setMaxSideboardSize(15);
 		this.testFormatEntity.setBannedCards(Arrays.asList("123", "456"));
 		this.testFormatEntity.setRestrictedCards(List.of("789"));
+
+		// The names on the lists resolved to card ids
+		this.testRules = FormatRules.builder().formatId(1L).name("Standard").bannedCardIds(Set.of(123L, 456L))
+				.restrictedCardIds(Set.of(789L)).build();
 	}
 
 	@Test
@@ -189,6 +210,37 @@ class FormatServiceImplTest {
 		assertThat(result.getDescription()).isEqualTo("Updated description");
 		verify(this.formatRepository).findById(1L);
 		verify(this.formatRepository).save(any(FormatEntity.class));
+		verify(this.formatRulesCache).invalidate(1L);
+		verify(this.legalityMatrix).invalidateFormat(1L);
+	}
+
+	@Test
+	@DisplayName("Should recompute legality from the previous and new ban lists when updating")
+	void shouldApplyBanListChange_WhenUpdating() {
+		// Given - card 789 moves from the restricted list to the ban list
+		final FormatEntity updatedEntity = new FormatEntity();
+		updatedEntity.setId(1L);
+		updatedEntity.setBannedCards(List.of("123", "456", "789"));
+		updatedEntity.setRestrictedCards(List.of());
+		when(this.formatRepository.findById(1L)).thenReturn(Optional.of(this.testFormatEntity));
+		when(this.formatRepository.findBannedCardNames(1L)).thenReturn(List.of("123", "456"));
+		when(this.formatRepository.findRestrictedCardNames(1L)).thenReturn(List.of("789"));
+		when(this.formatEntityMapper.toEntity(any(Format.class))).thenReturn(updatedEntity);
+		when(this.formatRepository.save(updatedEntity)).thenReturn(updatedEntity);
+		final BanListChange banListChange = new BanListChange(1, 2, 3);
+		when(this.banListLegalityJob.apply(1L, List.of("123", "456"), List.of("789"), List.of("123", "456", "789"),
+				List.of())).thenReturn(banListChange);
+		when(this.formatEntityMapper.toModel(updatedEntity)).thenReturn(new Format());
+
+		// When
+		final Format result = this.formatService.update(1L, this.testFormat);
+
+		// Then - the legality changes are returned to the caller
+		assertThat(result.getBanListChange()).isEqualTo(banListChange);
+		final InOrder inOrder = inOrder(this.banListLegalityJob, this.legalityMatrix);
+		inOrder.verify(this.banListLegalityJob).apply(1L, List.of("123", "456"), List.of("789"),
+				List.of("123", "456", "789"), List.of());
+		inOrder.verify(this.legalityMatrix).invalidateFormat(1L);
 	}
 
 	@Test
@@ -219,6 +271,7 @@ class FormatServiceImplTest {
 		assertThat(result).isTrue();
 		verify(this.formatRepository).existsById(1L);
 		verify(this.formatRepository).deleteById(1L);
+		verify(this.formatRulesCache).invalidate(1L);
 	}
 
 	@Test
@@ -240,88 +293,80 @@ class FormatServiceImplTest {
 	@DisplayName("Should return true when card is legal in format")
 	void shouldReturnTrue_WhenCardIsLegal() {
 		// Given
-		final Long cardId = 100L;
-		when(this.formatRepository.findById(1L)).thenReturn(Optional.of(this.testFormatEntity));
+		when(this.formatRulesCache.get(1L)).thenReturn(Optional.of(this.testRules));
 
 		// When
-		final boolean result = this.formatService.isCardLegal(cardId, 1L);
+		final boolean result = this.formatService.isCardLegal(100L, 1L);
 
 		// Then
 		assertThat(result).isTrue();
-		verify(this.formatRepository).findById(1L);
+		verify(this.formatRepository, never()).findById(any());
 	}
 
 	@Test
 	@DisplayName("Should return false when card is banned in format")
 	void shouldReturnFalse_WhenCardIsBanned() {
-		// Given
-		final Long cardId = 123L; // This is in the banned list
-		when(this.formatRepository.findById(1L)).thenReturn(Optional.of(this.testFormatEntity));
+		// Given - card 123 is named on the ban list
+		when(this.formatRulesCache.get(1L)).thenReturn(Optional.of(this.testRules));
 
 		// When
-		final boolean result = this.formatService.isCardLegal(cardId, 1L);
+		final boolean result = this.formatService.isCardLegal(123L, 1L);
 
 		// Then
 		assertThat(result).isFalse();
-		verify(this.formatRepository).findById(1L);
 	}
 
 	@Test
 	@DisplayName("Should return false when format not found for card legality check")
 	void shouldReturnFalse_WhenFormatNotFoundForCardLegality() {
 		// Given
-		when(this.formatRepository.findById(999L)).thenReturn(Optional.empty());
+		when(this.formatRulesCache.get(999L)).thenReturn(Optional.empty());
 
 		// When
 		final boolean result = this.formatService.isCardLegal(100L, 999L);
 
 		// Then
 		assertThat(result).isFalse();
-		verify(this.formatRepository).findById(999L);
 	}
 
 	@Test
 	@DisplayName("Should return true when card is not restricted")
 	void shouldReturnTrue_WhenCardIsNotRestricted() {
 		// Given
-		final Long cardId = 100L; // Not in restricted list
-		when(this.formatRepository.findById(1L)).thenReturn(Optional.of(this.testFormatEntity));
+		when(this.formatRulesCache.get(1L)).thenReturn(Optional.of(this.testRules));
 
 		// When
-		final boolean result = this.formatService.isCardRestricted(cardId, 1L);
+		final boolean result = this.formatService.isCardRestricted(100L, 1L);
 
 		// Then
 		assertThat(result).isFalse();
-		verify(this.formatRepository).findById(1L);
 	}
 
 	@Test
 	@DisplayName("Should return true when card is restricted")
 	void shouldReturnTrue_WhenCardIsRestricted() {
-		// Given
-		final Long cardId = 789L; // This is in the restricted list
-		when(this.formatRepository.findById(1L)).thenReturn(Optional.of(this.testFormatEntity));
+		// Given - card 789 is named on the restricted list
+		when(this.formatRulesCache.get(1L)).thenReturn(Optional.of(this.testRules));
 
 		// When
-		final boolean result = this.formatService.isCardRestricted(cardId, 1L);
+		final boolean result = this.formatService.isCardRestricted(789L, 1L);
 
 		// Then
 		assertThat(result).isTrue();
-		verify(this.formatRepository).findById(1L);
+		verify(this.formatRepository, never()).findById(any());
 	}
 
 	@Test
 	@DisplayName("Should return false when format not found for card restricted check")
 	void shouldReturnFalse_WhenFormatNotFoundForCardRestricted() {
 		// Given
-		when(this.formatRepository.findById(999L)).thenReturn(Optional.empty());
+		when(this.formatRulesCache.get(999L)).thenReturn(Optional.empty());
 
 		// When
 		final boolean result = this.formatService.isCardRestricted(100L, 999L);
 
 		// Then
 		assertThat(result).isFalse();
-		verify(this.formatRepository).findById(999L);
 	}
 
 	@Test
@@ -0,0 +1,221 @@
+package com.deckbuilder.mtgdeckbuilder.application;
+
+import com.deckbuilder.mtgdeckbuilder.application.implement.MetagameServiceImpl;
+import com.deckbuilder.mtgdeckbuilder.application.metagame.MetagameRefresher;
+import com.deckbuilder.mtgdeckbuilder.application.metagame.TournamentRollup;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.CardInDeckRepository;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.CardInDeckRepository.TournamentCardView;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.CardRepository;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.CardRepository.CardSummaryView;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.DeckRepository;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.MetagameRepository;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.MetagameRepositoryCustom.ArchetypeRow;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.MetagameRepositoryCustom.CardRow;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.exception.TournamentNotFoundException;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.mapper.CardEntityMapper;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.model.MetagameArchetypeEntity;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.model.MetagameCardEntity;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.model.MetagameTournamentEntity;
+import com.deckbuilder.mtgdeckbuilder.model.CardSummary;
+import com.deckbuilder.mtgdeckbuilder.model.Metagame;
+import com.deckbuilder.mtgdeckbuilder.model.Metagame.ArchetypeShare;
+import com.deckbuilder.mtgdeckbuilder.model.Metagame.MetagameCard;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Metagame Service Tests")
+class MetagameServiceImplTest {
+
+    private static final String TOURNAMENT = "Regional Championship";
+
+    @Mock
+    private MetagameRepository metagameRepository;
+
+    @Mock
+    private DeckRepository deckRepository;
+
+    @Mock
+    private CardInDeckRepository cardInDeckRepository;
+
+    @Mock
+    private CardRepository cardRepository;
+
+    @Mock
+    private CardEntityMapper cardEntityMapper;
+
+    private MetagameRefresher metagameRefresher;
+    private MetagameService metagameService;
+
+    @BeforeEach
+    void setUp() {
+        // Real refresher, so the tournaments marked for the rollup job can be drained
+        metagameRefresher = new MetagameRefresher();
+        metagameService = new MetagameServiceImpl(metagameRepository, deckRepository, cardInDeckRepository,
+            cardRepository, cardEntityMapper, metagameRefresher);
+    }
+
+    @Test
+    @DisplayName("Should classify decks by their most played archetype and count cards without basic lands")
+    void shouldRollUpArchetypesAndCards() {
+        // Given - deck 1 is mostly Burn, deck 2 ties Burn and Control, deck 3 has no tagged cards and deck 4 is empty
+        List<TournamentCardView> rows = List.of(
+            row(1L, 10L, 4, "Burn", false),
+            row(1L, 11L, 4, "Burn", false),
+            row(1L, 12L, 2, "Control", false),
+            row(2L, 10L, 2, "Burn", false),
+            row(2L, 13L, 2, "Control", false),
+            row(3L, 14L, 4, null, false),
+            row(3L, 99L, 20, null, true));
+
+        // When
+        TournamentRollup rollup = TournamentRollup.of(4, rows);
+
+        // Then
+        assertThat(rollup.decks()).isEqualTo(4);
+        assertThat(rollup.archetypes()).containsExactly(
+            new ArchetypeRow("Burn", 2), new ArchetypeRow(TournamentRollup.UNCLASSIFIED, 2));
+        assertThat(rollup.cards()).containsExactly(
+            new CardRow(10L, 2, 6), new CardRow(11L, 1, 4), new CardRow(12L, 1, 2), new CardRow(13L, 1, 2),
+            new CardRow(14L, 1, 4));
+    }
+
+    @Test
+    @DisplayName("Should read the metagame from the tournament's rollups")
+    void shouldGetMetagame_FromRollups() {
+        // Given
+        LocalDateTime refreshed = LocalDateTime.of(2026, 10, 1, 12, 0);
+        when(metagameRepository.findById(TOURNAMENT)).thenReturn(Optional.of(
+            MetagameTournamentEntity.builder().tournament(TOURNAMENT).decks(10).refreshed(refreshed).build()));
+        when(metagameRepository.findArchetypes(TOURNAMENT)).thenReturn(List.of(
+            MetagameArchetypeEntity.builder().tournament(TOURNAMENT).archetype("Burn").decks(6).build(),
+            MetagameArchetypeEntity.builder().tournament(TOURNAMENT).archetype("Control").decks(4).build()));
+        when(metagameRepository.findTopCards(TOURNAMENT, PageRequest.of(0, 1))).thenReturn(List.of(
+            MetagameCardEntity.builder().tournament(TOURNAMENT).cardId(10L).decks(5).copies(18).build()));
+        stubSummary(10L, "Lightning Bolt");
+
+        // When
+        Metagame metagame = metagameService.getMetagame(TOURNAMENT, 1);
+
+        // Then
+        assertThat(metagame.getDecks()).isEqualTo(10);
+        assertThat(metagame.getRefreshed()).isEqualTo(refreshed);
+        assertThat(metagame.getArchetypes())
+            .extracting(ArchetypeShare::getArchetype, ArchetypeShare::getShare)
+            .containsExactly(tuple("Burn", 0.6), tuple("Control", 0.4));
+        assertThat(metagame.getTopCards())
+            .extracting(card -> card.getCard().getName(), MetagameCard::getInclusionRate,
+                MetagameCard::getAverageCopies)
+            .containsExactly(tuple("Lightning Bolt", 0.5, 3.6));
+        assertThat(metagameRefresher.drain()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should aggregate a tournament without rollups live and mark it for the rollup job")
+    void shouldComputeMetagame_WhenNotRolledUp() {
+        // Given
+        when(metagameRepository.findById(TOURNAMENT)).thenReturn(Optional.empty());
+        when(deckRepository.countByTournament(TOURNAMENT)).thenReturn(2L);
+        when(cardInDeckRepository.findMainCardsByTournament(TOURNAMENT)).thenReturn(List.of(
+            row(1L, 10L, 4, "Burn", false),
+            row(2L, 10L, 2, "Burn", false)));
+        stubSummary(10L, "Lightning Bolt");
+
+        // When
+        Metagame metagame = metagameService.getMetagame(TOURNAMENT, 20);
+
+        // Then
+        assertThat(metagame.getDecks()).isEqualTo(2);
+        assertThat(metagame.getRefreshed()).isNull();
+        assertThat(metagame.getArchetypes())
+            .extracting(ArchetypeShare::getArchetype, ArchetypeShare::getDecks, ArchetypeShare::getShare)
+            .containsExactly(tuple("Burn", 2, 1.0));
+        assertThat(metagame.getTopCards())
+            .extracting(MetagameCard::getDecks, MetagameCard::getAverageCopies)
+            .containsExactly(tuple(2, 3.0));
+        assertThat(metagameRefresher.drain()).containsExactly(TOURNAMENT);
+    }
+
+    @Test
+    @DisplayName("Should throw exception for a tournament without decks")
+    void shouldThrowException_WhenTournamentNotFound() {
+        // Given
+        when(metagameRepository.findById("Unknown")).thenReturn(Optional.empty());
+        when(deckRepository.countByTournament("Unknown")).thenReturn(0L);
+        when(cardInDeckRepository.findMainCardsByTournament("Unknown")).thenReturn(List.of());
+
+        // When & Then
+        assertThatThrownBy(() -> metagameService.getMetagame("Unknown", 20))
+            .isInstanceOf(TournamentNotFoundException.class);
+        assertThat(metagameRefresher.drain()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should replace the tournament's rollups when refreshing it")
+    void shouldReplaceRollups_WhenRefreshing() {
+        // Given
+        when(deckRepository.countByTournament(TOURNAMENT)).thenReturn(1L);
+        when(cardInDeckRepository.findMainCardsByTournament(TOURNAMENT)).thenReturn(List.of(
+            row(1L, 10L, 4, "Burn", false)));
+
+        // When
+        int decks = metagameService.refreshTournament(TOURNAMENT);
+
+        // Then
+        assertThat(decks).isEqualTo(1);
+        verify(metagameRepository).replaceTournament(TOURNAMENT, 1, List.of(new ArchetypeRow("Burn", 1)),
+            List.of(new CardRow(10L, 1, 4)));
+    }
+
+    private void stubSummary(Long cardId, String name) {
+        CardSummaryView view = mock(CardSummaryView.class);
+        when(cardRepository.findSummaryViewsByIdIn(List.of(cardId))).thenReturn(List.of(view));
+        when(cardEntityMapper.toSummary(view)).thenReturn(CardSummary.builder().id(cardId).name(name).build());
+    }
+
+    private static TournamentCardView row(Long deckId, Long cardId, int quantity, String archetype,
+                                          boolean unlimitedCopies) {
+        return new TournamentCardView() {
+            @Override
+            public Long getDeckId() {
+                return deckId;
+            }
+
+            @Override
+            public Long getCardId() {
+                return cardId;
+            }
+
+            @Override
+            public Integer getQuantity() {
+                return quantity;
+            }
+
+            @Override
+            public String getArchetype() {
+                return archetype;
+            }
+
+            @Override
+            public Boolean getUnlimitedCopies() {
+                return unlimitedCopies;
+            }
+        };
+    }
+}
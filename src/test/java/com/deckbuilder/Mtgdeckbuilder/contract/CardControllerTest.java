@@ -1,14 +1,21 @@
 package com.deckbuilder.mtgdeckbuilder.contract;
 
+import com.deckbuilder.apigenerator.openapi.api.model.CardCompanionDTO;
 import com.deckbuilder.apigenerator.openapi.api.model.CardDTO;
+import com.deckbuilder.apigenerator.openapi.api.model.CardPopularityDTO;
 import com.deckbuilder.apigenerator.openapi.api.model.CardSearchResponseDTO;
 import com.deckbuilder.apigenerator.openapi.api.model.CardTagDTO;
+import com.deckbuilder.mtgdeckbuilder.application.CardCooccurrenceService;
+import com.deckbuilder.mtgdeckbuilder.application.CardPopularityService;
 import com.deckbuilder.mtgdeckbuilder.application.CardService;
 import com.deckbuilder.mtgdeckbuilder.application.CardTagService;
+import com.deckbuilder.mtgdeckbuilder.contract.mapper.CardJsonCache;
 import com.deckbuilder.mtgdeckbuilder.contract.mapper.CardMapper;
 import com.deckbuilder.mtgdeckbuilder.contract.mapper.CardTagMapper;
 import com.deckbuilder.mtgdeckbuilder.infrastructure.exception.CardNotFoundException;
 import com.deckbuilder.mtgdeckbuilder.model.Card;
+import com.deckbuilder.mtgdeckbuilder.model.CardCompanion;
+import com.deckbuilder.mtgdeckbuilder.model.CardPopularity;
 import com.deckbuilder.mtgdeckbuilder.model.CardSearchCriteria;
 import com.deckbuilder.mtgdeckbuilder.model.CardSearchResult;
 import com.deckbuilder.mtgdeckbuilder.model.CardTag;
@@ -39,6 +46,12 @@ class CardControllerTest {
 	@Mock
 	private CardService cardService;
 
+	@Mock
+	private CardCooccurrenceService cardCooccurrenceService;
+
+	@Mock
+	private CardPopularityService cardPopularityService;
+
 	@Mock
 	private CardTagService cardTagService;
 
@@ -48,6 +61,9 @@ class CardControllerTest {
 	@Mock
 	private CardTagMapper cardTagMapper;
 
+	@Mock
+	private CardJsonCache cardJsonCache;
+
 	@InjectMocks
 	private CardController cardController;
 
@@ -227,6 +243,7 @@ class CardControllerTest {
 		verify(this.cardMapper, times(1)).toEntity(updatedDTO);
 		verify(this.cardService, times(1)).updateCard(1L, updatedCard);
 		verify(this.cardMapper, times(1)).toDto(savedCard);
+		verify(this.cardJsonCache).invalidate(1L);
 	}
 
 	@Test
@@ -264,6 +281,7 @@ class CardControllerTest {
 		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
 		assertThat(response.getBody()).isNull();
 		verify(this.cardService, times(1)).deleteCard(1L);
+		verify(this.cardJsonCache).invalidate(1L);
 	}
 
 	@Test
@@ -477,7 +495,8 @@ class CardControllerTest {
 			null, null, null, null,
 			null, null, null, null,
 			null, null, null, null,
-			null, null, null, null, null
+			null, null, null, null, null,
+			null, null, null, null
 		);
 
 		// Then
@@ -508,7 +527,8 @@ class CardControllerTest {
 			1, 3, null, null,
 			null, null, null, null,
 			"damage", null, null, null,
-			"en", 10, 0, "name", "asc"
+			"en", 10, 0, "name", "asc",
+			null, null, null, null
 		);
 
 		// Then
@@ -538,7 +558,8 @@ class CardControllerTest {
 			null, null, null, null,
 			null, null, null, null,
 			null, null, null, null,
-			null, 10, 1, null, null
+			null, 10, 1, null, null,
+			null, null, null, null
 		);
 
 		// Then
@@ -613,7 +634,8 @@ class CardControllerTest {
 			null, null, null, null,
 			null, null, null, null,
 			null, null, null, null,
-			null, null, null, null, null
+			null, null, null, null, null,
+			null, null, null, null
 		);
 
 		// Then
@@ -639,7 +661,8 @@ class CardControllerTest {
 			null, null, null, null,
 			null, null, null, null,
 			null, null, null, null,
-			null, null, null, null, null
+			null, null, null, null, null,
+			null, null, null, null
 		);
 
 		// Then
@@ -651,4 +674,40 @@ class CardControllerTest {
 
 		verify(cardService).searchCardsWithCriteria(any(CardSearchCriteria.class), eq(20), eq(0));
 	}
+
+	@Test
+	@DisplayName("Should return the companions of a card with the default limit")
+	void shouldGetCardCompanions_WithDefaultLimit() {
+		// Given
+		final List<CardCompanion> companions = List.of(CardCompanion.builder().decks(12).share(0.75).build());
+		final List<CardCompanionDTO> companionDTOs = List.of(CardCompanionDTO.builder().decks(12).share(0.75).build());
+		when(cardCooccurrenceService.findCompanions(1L, 20)).thenReturn(companions);
+		when(cardMapper.toCompanionDtos(companions)).thenReturn(companionDTOs);
+
+		// When
+		ResponseEntity<List<CardCompanionDTO>> response = cardController.getCardCompanions(1, null);
+
+		// Then
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(response.getBody()).isEqualTo(companionDTOs);
+	}
+
+	@Test
+	@DisplayName("Should return the inclusion rates of a card per format")
+	void shouldGetCardPopularity() {
+		// Given
+		final List<CardPopularity> popularity = List.of(CardPopularity.builder().formatId(2L).formatName("Modern")
+				.decks(34).formatDecks(100).inclusionRate(0.34).build());
+		final List<CardPopularityDTO> popularityDTOs = List.of(CardPopularityDTO.builder().format_id(2)
+				.format_name("Modern").decks(34).format_decks(100).inclusion_rate(0.34).build());
+		when(cardPopularityService.findInclusionRates(1L)).thenReturn(popularity);
+		when(cardMapper.toPopularityDtos(popularity)).thenReturn(popularityDTOs);
+
+		// When
+		ResponseEntity<List<CardPopularityDTO>> response = cardController.getCardPopularity(1);
+
+		// Then
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(response.getBody()).isEqualTo(popularityDTOs);
+	}
 }
@@ -0,0 +1,87 @@
+package com.deckbuilder.mtgdeckbuilder.contract;
+
+import com.deckbuilder.apigenerator.openapi.api.model.CardSummaryDTO;
+import com.deckbuilder.mtgdeckbuilder.application.CardService;
+import com.deckbuilder.mtgdeckbuilder.contract.mapper.CardJsonCache;
+import com.deckbuilder.mtgdeckbuilder.contract.mapper.CardMapper;
+import com.deckbuilder.mtgdeckbuilder.model.CardSummary;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.RawValue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Card JSON Cache Tests")
+class CardJsonCacheTest {
+
+	@Mock
+	private CardService cardService;
+
+	@Mock
+	private CardMapper cardMapper;
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	private CardJsonCache cardJsonCache;
+
+	@BeforeEach
+	void setUp() {
+		this.cardJsonCache = new CardJsonCache(this.cardService, this.cardMapper, this.objectMapper);
+		when(this.cardMapper.toSummaryDto(any(CardSummary.class))).thenAnswer(invocation -> {
+			final CardSummary card = invocation.getArgument(0);
+			return CardSummaryDTO.builder().id(card.getId().intValue()).card_name(card.getName()).build();
+		});
+	}
+
+	@Test
+	@DisplayName("Should load missing cards in one query and write the cached fragments verbatim")
+	void shouldLoadMissingCardsOnceAndServeRawJson() throws Exception {
+		// Given
+		when(this.cardService.findSummaries(List.of(1L, 2L))).thenReturn(List.of(
+				CardSummary.builder().id(1L).name("Lightning Bolt").build(),
+				CardSummary.builder().id(2L).name("Counterspell").build()));
+		this.cardJsonCache.fragmentsOf(List.of(1L, 2L));
+
+		// When - a second deck shares one card with the first
+		when(this.cardService.findSummaries(List.of(3L, 404L))).thenReturn(List.of(
+				CardSummary.builder().id(3L).name("Island").build()));
+		final List<Object> fragments = this.cardJsonCache.fragmentsOf(List.of(2L, 3L, 2L, 404L));
+
+		// Then
+		assertThat(fragments).hasSize(2).allMatch(RawValue.class::isInstance);
+		final String json = this.objectMapper.writeValueAsString(Map.of("card_details", fragments));
+		assertThat(this.objectMapper.readTree(json).get("card_details").get(0).get("card_name").asText())
+				.isEqualTo("Counterspell");
+		verify(this.cardService).findSummaries(List.of(3L, 404L));
+		verify(this.cardMapper, times(3)).toSummaryDto(any(CardSummary.class));
+	}
+
+	@Test
+	@DisplayName("Should re-encode a card after it was invalidated")
+	void shouldReloadInvalidatedCard() throws Exception {
+		// Given
+		when(this.cardService.findSummaries(List.of(1L)))
+				.thenReturn(List.of(CardSummary.builder().id(1L).name("Lightning Bolt").build()))
+				.thenReturn(List.of(CardSummary.builder().id(1L).name("Lightning Bolt Updated").build()));
+		this.cardJsonCache.fragmentsOf(List.of(1L));
+
+		// When
+		this.cardJsonCache.invalidate(1L);
+		final List<Object> fragments = this.cardJsonCache.fragmentsOf(List.of(1L));
+
+		// Then
+		assertThat(this.objectMapper.writeValueAsString(fragments)).contains("Lightning Bolt Updated");
+		verify(this.cardService, times(2)).findSummaries(List.of(1L));
+	}
+}
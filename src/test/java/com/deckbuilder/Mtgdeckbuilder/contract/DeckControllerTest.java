@@ -1,11 +1,50 @@
 package com.deckbuilder.mtgdeckbuilder.contract;
 
+import com.deckbuilder.apigenerator.openapi.api.model.DeckCardBatchDTO;
+import com.deckbuilder.apigenerator.openapi.api.model.DeckCardOperationDTO;
 import com.deckbuilder.apigenerator.openapi.api.model.DeckDTO;
+import com.deckbuilder.apigenerator.openapi.api.model.DeckDeltaDTO;
+import com.deckbuilder.apigenerator.openapi.api.model.DeckDiffDTO;
+import com.deckbuilder.apigenerator.openapi.api.model.DeckForkRequestDTO;
+import com.deckbuilder.apigenerator.openapi.api.model.DeckImportRequestDTO;
+import com.deckbuilder.apigenerator.openapi.api.model.DeckSimulationRequestDTO;
+import com.deckbuilder.apigenerator.openapi.api.model.DeckSimulationResultDTO;
+import com.deckbuilder.apigenerator.openapi.api.model.DeckStatsDTO;
+import com.deckbuilder.apigenerator.openapi.api.model.DeckValidationReportDTO;
+import com.deckbuilder.apigenerator.openapi.api.model.DeckValidationRequestDTO;
 import com.deckbuilder.apigenerator.openapi.api.model.CompleteDeckDTO;
+import com.deckbuilder.apigenerator.openapi.api.model.ManaBaseAdviceDTO;
+import com.deckbuilder.apigenerator.openapi.api.model.MetagameDTO;
+import com.deckbuilder.apigenerator.openapi.api.model.SimilarDeckDTO;
+import com.deckbuilder.apigenerator.openapi.api.model.SimulationConditionDTO;
+import com.deckbuilder.mtgdeckbuilder.application.DeckHistoryService;
+import com.deckbuilder.mtgdeckbuilder.application.DeckImportService;
 import com.deckbuilder.mtgdeckbuilder.application.DeckService;
+import com.deckbuilder.mtgdeckbuilder.application.DeckSimilarityService;
+import com.deckbuilder.mtgdeckbuilder.application.DeckSimulationService;
+import com.deckbuilder.mtgdeckbuilder.application.DeckStatsService;
+import com.deckbuilder.mtgdeckbuilder.application.DeckValidationService;
+import com.deckbuilder.mtgdeckbuilder.application.MetagameService;
+import com.deckbuilder.mtgdeckbuilder.contract.mapper.CardJsonCache;
 import com.deckbuilder.mtgdeckbuilder.contract.mapper.DeckMapper;
 import com.deckbuilder.mtgdeckbuilder.infrastructure.exception.DeckNotFoundException;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.exception.DeckRevisionNotFoundException;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.exception.ErrorResponse;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.exception.GlobalExceptionHandler;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.exception.InvalidRequestException;
 import com.deckbuilder.mtgdeckbuilder.model.Deck;
+import com.deckbuilder.mtgdeckbuilder.model.DeckCardOperation;
+import com.deckbuilder.mtgdeckbuilder.model.DeckDelta;
+import com.deckbuilder.mtgdeckbuilder.model.DeckDiff;
+import com.deckbuilder.mtgdeckbuilder.model.DeckSimulation;
+import com.deckbuilder.mtgdeckbuilder.model.DeckSimulationResult;
+import com.deckbuilder.mtgdeckbuilder.model.DeckStats;
+import com.deckbuilder.mtgdeckbuilder.model.DeckValidationReport;
+import com.deckbuilder.mtgdeckbuilder.model.DeckVersion;
+import com.deckbuilder.mtgdeckbuilder.model.ManaBaseAdvice;
+import com.deckbuilder.mtgdeckbuilder.model.Metagame;
+import com.deckbuilder.mtgdeckbuilder.model.SimilarDeck;
+import com.fasterxml.jackson.databind.util.RawValue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -15,6 +54,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
@@ -25,6 +65,7 @@ import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
@@ -39,6 +80,30 @@ class DeckControllerTest {
 	@Mock
 	private DeckMapper deckMapper;
 
+	@Mock
+	private DeckValidationService deckValidationService;
+
+	@Mock
+	private DeckStatsService deckStatsService;
+
+	@Mock
+	private DeckSimulationService deckSimulationService;
+
+	@Mock
+	private DeckSimilarityService deckSimilarityService;
+
+	@Mock
+	private DeckImportService deckImportService;
+
+	@Mock
+	private DeckHistoryService deckHistoryService;
+
+	@Mock
+	private MetagameService metagameService;
+
+	@Mock
+	private CardJsonCache cardJsonCache;
+
 	@InjectMocks
 	private DeckController deckController;
 
@@ -101,21 +166,130 @@ class DeckControllerTest {
 		when(this.deckMapper.toCompleteDeckDTO(this.testDeck)).thenReturn(this.testCompleteDeckDTO);
 
 		// When
-		final ResponseEntity<CompleteDeckDTO> response = this.deckController.getDeckById(1);
+		final ResponseEntity<CompleteDeckDTO> response = this.deckController.getDeckById(1, null, null);
 
 		// Then
 		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
 		assertThat(response.getBody()).isNotNull();
 		assertThat(response.getBody().getId()).isEqualTo(1);
 		assertThat(response.getBody().getDeck_name()).isEqualTo("Test Deck");
+		assertThat(response.getHeaders().getETag())
+				.isEqualTo("\"" + DeckVersion.of(this.testDeck.getModified()) + "\"");
 		verify(this.deckService).findById(1L);
+		verify(this.deckService, never()).findVersion(any());
+	}
+
+	@Test
+	@DisplayName("Should hydrate the deck with cached card summaries when cards are expanded")
+	void shouldExpandCards() {
+		// Given
+		final Deck deck = this.testDeck.toBuilder().cards(List.of(
+				Deck.CardInDeck.builder().cardId(100L).quantity(4).section("main").build(),
+				Deck.CardInDeck.builder().cardId(200L).quantity(2).section("sideboard").build())).build();
+		final List<Object> fragments = List.of(new RawValue("{\"id\":100}"), new RawValue("{\"id\":200}"));
+		when(this.cardJsonCache.generation()).thenReturn(7L);
+		when(this.deckService.findById(1L)).thenReturn(Optional.of(deck));
+		when(this.cardJsonCache.fragmentsOf(List.of(100L, 200L))).thenReturn(fragments);
+		when(this.deckMapper.toCompleteDeckDTO(deck, fragments)).thenReturn(this.testCompleteDeckDTO);
+
+		// When
+		final ResponseEntity<CompleteDeckDTO> response = this.deckController.getDeckById(1, null, "cards");
+
+		// Then
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(response.getBody()).isEqualTo(this.testCompleteDeckDTO);
+		assertThat(response.getHeaders().getETag())
+				.isEqualTo("\"" + DeckVersion.of(deck.getModified()) + "-cards-7\"");
+		verify(this.deckMapper, never()).toCompleteDeckDTO(deck);
+	}
+
+	@Test
+	@DisplayName("Should not revalidate an expanded deck with the plain deck's ETag")
+	void shouldReturnExpandedDeck_WhenETagIsOfPlainDeck() {
+		// Given
+		when(this.cardJsonCache.generation()).thenReturn(7L);
+		when(this.deckService.findVersion(1L)).thenReturn(Optional.of(42L));
+		when(this.deckService.findById(1L)).thenReturn(Optional.of(this.testDeck));
+		when(this.deckMapper.toCompleteDeckDTO(this.testDeck)).thenReturn(this.testCompleteDeckDTO);
+
+		// When
+		final ResponseEntity<CompleteDeckDTO> response = this.deckController.getDeckById(1, "\"42\"", "cards");
+
+		// Then
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(response.getBody()).isEqualTo(this.testCompleteDeckDTO);
+	}
+
+	@Test
+	@DisplayName("Should return 304 for an expanded deck when neither the deck nor its cards changed")
+	void shouldReturnNotModifiedExpandedDeck_WhenETagMatches() {
+		// Given
+		when(this.cardJsonCache.generation()).thenReturn(7L);
+		when(this.deckService.findVersion(1L)).thenReturn(Optional.of(42L));
+
+		// When
+		final ResponseEntity<CompleteDeckDTO> response = this.deckController.getDeckById(1, "\"42-cards-7\"",
+				"cards");
+
+		// Then
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+		assertThat(response.getHeaders().getETag()).isEqualTo("\"42-cards-7\"");
+		verify(this.deckService, never()).findById(any());
+	}
+
+	@Test
+	@DisplayName("Should reject unknown expand values with a 400")
+	void shouldRejectUnknownExpand() {
+		// When
+		final InvalidRequestException thrown = catchThrowableOfType(
+				() -> this.deckController.getDeckById(1, null, "tags"), InvalidRequestException.class);
+		final ResponseEntity<ErrorResponse> response = new GlobalExceptionHandler()
+				.handleInvalidRequest(thrown, new MockHttpServletRequest("GET", "/decks/1"));
+
+		// Then
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+		assertThat(response.getBody().getError()).isEqualTo("INVALID_ARGUMENT");
+		assertThat(response.getBody().getMessage()).isEqualTo("Unknown expand value 'tags', expected 'cards'");
+		verifyNoInteractions(this.deckService);
+	}
+
+	@Test
+	@DisplayName("Should return 304 without loading the deck when If-None-Match matches")
+	void shouldReturnNotModified_WhenETagMatches() {
+		// Given
+		when(this.deckService.findVersion(1L)).thenReturn(Optional.of(42L));
+
+		// When
+		final ResponseEntity<CompleteDeckDTO> response = this.deckController.getDeckById(1, "W/\"41\", \"42\"", null);
+
+		// Then
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+		assertThat(response.getBody()).isNull();
+		assertThat(response.getHeaders().getETag()).isEqualTo("\"42\"");
+		verify(this.deckService, never()).findById(any());
+	}
+
+	@Test
+	@DisplayName("Should return the deck when If-None-Match is stale")
+	void shouldReturnDeck_WhenETagIsStale() {
+		// Given
+		when(this.deckService.findVersion(1L)).thenReturn(Optional.of(42L));
+		when(this.deckService.findById(1L)).thenReturn(Optional.of(this.testDeck));
+		when(this.deckMapper.toCompleteDeckDTO(this.testDeck)).thenReturn(this.testCompleteDeckDTO);
+
+		// When
+		final ResponseEntity<CompleteDeckDTO> response = this.deckController.getDeckById(1, "\"41\"", null);
+
+		// Then
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(response.getBody()).isEqualTo(this.testCompleteDeckDTO);
 	}
 
 	@Test
 	@DisplayName("Should throw exception when deck not found by ID")
 	void shouldReturn404_WhenDeckNotFound() {
 		// When/Then
-		assertThatThrownBy(() -> this.deckController.getDeckById(999)).isInstanceOf(NoSuchElementException.class);
+		assertThatThrownBy(() -> this.deckController.getDeckById(999, null, null)).isInstanceOf(NoSuchElementException.class);
 
 		verify(this.deckService).findById(999L);
 	}
@@ -200,4 +374,274 @@ class DeckControllerTest {
 
 		verify(this.deckService).deleteById(999L);
 	}
+
+	@Test
+	@DisplayName("Should apply a card batch and return the updated deck")
+	void shouldApplyCardBatch() {
+		// Given
+		final DeckCardOperationDTO operationDTO = DeckCardOperationDTO.builder().op("add").card_id(100).quantity(4)
+				.section("main").build();
+		final DeckCardBatchDTO batchDTO = DeckCardBatchDTO.builder().operations(List.of(operationDTO)).build();
+		final List<DeckCardOperation> operations = List.of(DeckCardOperation.builder()
+				.type(DeckCardOperation.Type.ADD).cardId(100L).quantity(4).section("main").build());
+
+		when(this.deckMapper.toDeckCardOperations(batchDTO.getOperations())).thenReturn(operations);
+		final DeckDelta delta = DeckDelta.builder().deckId(1L).version(42L)
+				.changes(List.of(DeckDelta.CardChange.builder().cardId(100L).section("main").quantity(4).build()))
+				.build();
+		final DeckDeltaDTO deltaDTO = DeckDeltaDTO.builder().deck_id(1).version(42L).build();
+		when(this.deckService.applyCardOperations(1L, operations)).thenReturn(delta);
+		when(this.deckMapper.toDeckDeltaDTO(delta)).thenReturn(deltaDTO);
+
+		// When
+		final ResponseEntity<DeckDeltaDTO> response = this.deckController.batchUpdateDeckCards(1, batchDTO);
+
+		// Then
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(response.getBody()).isEqualTo(deltaDTO);
+		assertThat(response.getHeaders().getETag()).isEqualTo("\"42\"");
+		verify(this.deckService).applyCardOperations(1L, operations);
+	}
+
+	@Test
+	@DisplayName("Should import a decklist and return the applied delta")
+	void shouldImportDecklist() {
+		// Given
+		final DeckImportRequestDTO importDTO = DeckImportRequestDTO.builder().decklist("4 Lightning Bolt").replace(true)
+				.build();
+		final DeckDelta delta = DeckDelta.builder().deckId(1L).version(43L)
+				.changes(List.of(DeckDelta.CardChange.builder().cardId(100L).section("main").quantity(4).build()))
+				.build();
+		final DeckDeltaDTO deltaDTO = DeckDeltaDTO.builder().deck_id(1).version(43L).build();
+		when(this.deckImportService.importDecklist(1L, "4 Lightning Bolt", true)).thenReturn(delta);
+		when(this.deckMapper.toDeckDeltaDTO(delta)).thenReturn(deltaDTO);
+
+		// When
+		final ResponseEntity<DeckDeltaDTO> response = this.deckController.importDecklist(1, importDTO);
+
+		// Then
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(response.getBody()).isEqualTo(deltaDTO);
+		assertThat(response.getHeaders().getETag()).isEqualTo("\"43\"");
+	}
+
+	@Test
+	@DisplayName("Should return the diff between two revisions")
+	void shouldDiffDeckRevisions() {
+		// Given
+		final DeckDiff diff = DeckDiff.builder().deckId(1L).fromRevision(3L).toRevision(9L).changes(List.of()).build();
+		final DeckDiffDTO diffDTO = DeckDiffDTO.builder().deck_id(1).from_revision(3L).to_revision(9L).build();
+		when(this.deckHistoryService.diff(1L, 3L, 9L)).thenReturn(diff);
+		when(this.deckMapper.toDeckDiffDTO(diff)).thenReturn(diffDTO);
+
+		// When
+		final ResponseEntity<DeckDiffDTO> response = this.deckController.diffDeckRevisions(1, 3L, 9L);
+
+		// Then
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(response.getBody()).isEqualTo(diffDTO);
+	}
+
+	@Test
+	@DisplayName("Should return 404 for a revision that was never recorded")
+	void shouldReturn404_WhenRevisionNotFound() {
+		// Given
+		when(this.deckHistoryService.getRevision(1L, 999L)).thenThrow(new DeckRevisionNotFoundException(1L, 999L));
+
+		// When
+		final DeckRevisionNotFoundException thrown = catchThrowableOfType(
+				() -> this.deckController.getDeckRevision(1, 999L), DeckRevisionNotFoundException.class);
+		final ResponseEntity<ErrorResponse> response = new GlobalExceptionHandler()
+				.handleDeckRevisionNotFound(thrown, new MockHttpServletRequest("GET", "/decks/1/revisions/999"));
+
+		// Then
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+		assertThat(response.getBody().getError()).isEqualTo("DECK_REVISION_NOT_FOUND");
+		assertThat(response.getBody().getMessage()).isEqualTo("Deck 1 has no recorded revision 999");
+		verifyNoInteractions(this.deckMapper);
+	}
+
+	@Test
+	@DisplayName("Should fork deck with the requested overrides")
+	void shouldForkDeck() {
+		// Given
+		final DeckForkRequestDTO request = DeckForkRequestDTO.builder().deck_name("My Fork").build();
+		final Deck overrides = Deck.builder().name("My Fork").build();
+		final Deck fork = this.testDeck.toBuilder().id(2L).name("My Fork").parentDeckId(1L).build();
+		final DeckDTO forkDTO = DeckDTO.builder().deck_name("My Fork").build();
+		when(this.deckMapper.toForkOverrides(request)).thenReturn(overrides);
+		when(this.deckService.fork(1L, overrides)).thenReturn(fork);
+		when(this.deckMapper.toDeckDTO(fork)).thenReturn(forkDTO);
+
+		// When
+		final ResponseEntity<DeckDTO> response = this.deckController.forkDeck(1, request);
+
+		// Then
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+		assertThat(response.getBody()).isEqualTo(forkDTO);
+	}
+
+	@Test
+	@DisplayName("Should return the validation report of a deck")
+	void shouldValidateDeck() {
+		// Given
+		final DeckValidationReport report = DeckValidationReport.builder().deckId(1L).valid(true).build();
+		final DeckValidationReportDTO reportDTO = DeckValidationReportDTO.builder().deck_id(1).valid(true).build();
+		when(this.deckValidationService.validateDeck(1L)).thenReturn(report);
+		when(this.deckMapper.toDeckValidationReportDTO(report)).thenReturn(reportDTO);
+
+		// When
+		final ResponseEntity<DeckValidationReportDTO> response = this.deckController.validateDeck(1);
+
+		// Then
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(response.getBody()).isEqualTo(reportDTO);
+	}
+
+	@Test
+	@DisplayName("Should validate decks in bulk")
+	void shouldValidateDecksInBulk() {
+		// Given
+		final DeckValidationRequestDTO request = DeckValidationRequestDTO.builder().deck_ids(List.of(1, 2)).build();
+		final List<DeckValidationReport> reports = List.of(DeckValidationReport.builder().deckId(1L).build(),
+				DeckValidationReport.builder().deckId(2L).build());
+		when(this.deckValidationService.validateDecks(List.of(1L, 2L))).thenReturn(reports);
+		when(this.deckMapper.toDeckValidationReportDTOs(reports)).thenReturn(List.of(
+				DeckValidationReportDTO.builder().deck_id(1).build(), DeckValidationReportDTO.builder().deck_id(2).build()));
+
+		// When
+		final ResponseEntity<List<DeckValidationReportDTO>> response = this.deckController.validateDecks(request);
+
+		// Then
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(response.getBody()).hasSize(2);
+	}
+
+	@Test
+	@DisplayName("Should return deck stats tagged with the deck version and card generation")
+	void shouldReturnDeckStats() {
+		// Given
+		when(this.cardJsonCache.generation()).thenReturn(7L);
+		final DeckStats stats = DeckStats.builder().deckId(1L).version(42L).totalCards(60).build();
+		final DeckStatsDTO statsDTO = DeckStatsDTO.builder().deck_id(1).version(42L).total_cards(60).build();
+		when(this.deckStatsService.getStats(1L)).thenReturn(stats);
+		when(this.deckMapper.toDeckStatsDTO(stats)).thenReturn(statsDTO);
+
+		// When
+		final ResponseEntity<DeckStatsDTO> response = this.deckController.getDeckStats(1, null);
+
+		// Then
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(response.getHeaders().getETag()).isEqualTo("\"42-stats-7\"");
+		assertThat(response.getBody()).isEqualTo(statsDTO);
+	}
+
+	@Test
+	@DisplayName("Should answer stats revalidation with 304 without computing stats")
+	void shouldReturnNotModifiedStats_WhenETagMatches() {
+		// Given
+		when(this.cardJsonCache.generation()).thenReturn(7L);
+		when(this.deckService.findVersion(1L)).thenReturn(Optional.of(42L));
+
+		// When
+		final ResponseEntity<DeckStatsDTO> response = this.deckController.getDeckStats(1, "\"42-stats-7\"");
+
+		// Then
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+		assertThat(response.getBody()).isNull();
+		verifyNoInteractions(this.deckStatsService);
+	}
+
+	@Test
+	@DisplayName("Should recompute stats after a card edit even though the deck version is unchanged")
+	void shouldReturnDeckStats_WhenCardsChangedSinceETag() {
+		// Given
+		final DeckStats stats = DeckStats.builder().deckId(1L).version(42L).totalCards(60).build();
+		final DeckStatsDTO statsDTO = DeckStatsDTO.builder().deck_id(1).version(42L).total_cards(60).build();
+		when(this.cardJsonCache.generation()).thenReturn(8L);
+		when(this.deckService.findVersion(1L)).thenReturn(Optional.of(42L));
+		when(this.deckStatsService.getStats(1L)).thenReturn(stats);
+		when(this.deckMapper.toDeckStatsDTO(stats)).thenReturn(statsDTO);
+
+		// When
+		final ResponseEntity<DeckStatsDTO> response = this.deckController.getDeckStats(1, "\"42-stats-7\"");
+
+		// Then
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(response.getHeaders().getETag()).isEqualTo("\"42-stats-8\"");
+	}
+
+	@Test
+	@DisplayName("Should simulate draws of a deck")
+	void shouldSimulateDeck() {
+		// Given
+		final DeckSimulationRequestDTO request = DeckSimulationRequestDTO.builder().turn(2)
+				.conditions(List.of(SimulationConditionDTO.builder().category("land").min(2).build())).build();
+		final DeckSimulation simulation = DeckSimulation.builder().onThePlay(true).turn(2).build();
+		final DeckSimulationResult result = DeckSimulationResult.builder().deckId(1L).probability(0.5)
+				.method(DeckSimulationResult.EXACT).build();
+		final DeckSimulationResultDTO resultDTO = DeckSimulationResultDTO.builder().deck_id(1).probability(0.5)
+				.method("exact").build();
+		when(this.deckMapper.toDeckSimulation(request)).thenReturn(simulation);
+		when(this.deckSimulationService.simulate(1L, simulation)).thenReturn(result);
+		when(this.deckMapper.toDeckSimulationResultDTO(result)).thenReturn(resultDTO);
+
+		// When
+		final ResponseEntity<DeckSimulationResultDTO> response = this.deckController.simulateDeck(1, request);
+
+		// Then
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(response.getBody()).isEqualTo(resultDTO);
+	}
+
+	@Test
+	@DisplayName("Should advise a mana base on the play at 90% by default")
+	void shouldAdviseManaBase_WithDefaults() {
+		// Given
+		final ManaBaseAdvice advice = ManaBaseAdvice.builder().deckId(1L).deckSize(60).targetProbability(0.9).build();
+		final ManaBaseAdviceDTO adviceDTO = ManaBaseAdviceDTO.builder().deck_id(1).deck_size(60).build();
+		when(this.deckSimulationService.adviseManaBase(1L, 0.9, true)).thenReturn(advice);
+		when(this.deckMapper.toManaBaseAdviceDTO(advice)).thenReturn(adviceDTO);
+
+		// When
+		final ResponseEntity<ManaBaseAdviceDTO> response = this.deckController.getDeckManaBase(1, null, null);
+
+		// Then
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(response.getBody()).isEqualTo(adviceDTO);
+	}
+
+	@Test
+	@DisplayName("Should find similar decks with the default limit and threshold")
+	void shouldFindSimilarDecks_WithDefaults() {
+		// Given
+		final List<SimilarDeck> similar = List.of(SimilarDeck.builder().similarity(0.8).sharedCards(20).build());
+		final List<SimilarDeckDTO> similarDTOs = List.of(SimilarDeckDTO.builder().similarity(0.8).shared_cards(20).build());
+		when(this.deckSimilarityService.findSimilar(1L, 20, 0.5)).thenReturn(similar);
+		when(this.deckMapper.toSimilarDeckDTOs(similar)).thenReturn(similarDTOs);
+
+		// When
+		final ResponseEntity<List<SimilarDeckDTO>> response = this.deckController.findSimilarDecks(1, null, null);
+
+		// Then
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(response.getBody()).isEqualTo(similarDTOs);
+	}
+
+	@Test
+	@DisplayName("Should get a tournament's metagame with the default number of top cards")
+	void shouldGetMetagame_WithDefaultTopCards() {
+		// Given
+		final Metagame metagame = Metagame.builder().tournament("Regional Championship").decks(120).build();
+		final MetagameDTO metagameDTO = MetagameDTO.builder().tournament("Regional Championship").decks(120).build();
+		when(this.metagameService.getMetagame("Regional Championship", 20)).thenReturn(metagame);
+		when(this.deckMapper.toMetagameDTO(metagame)).thenReturn(metagameDTO);
+
+		// When
+		final ResponseEntity<MetagameDTO> response = this.deckController.getMetagame("Regional Championship", null);
+
+		// Then
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(response.getBody()).isEqualTo(metagameDTO);
+	}
 }
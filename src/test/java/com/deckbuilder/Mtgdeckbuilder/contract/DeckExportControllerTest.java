@@ -0,0 +1,95 @@
+package com.deckbuilder.mtgdeckbuilder.contract;
+
+import com.deckbuilder.mtgdeckbuilder.application.DeckExportService;
+import com.deckbuilder.mtgdeckbuilder.application.export.DeckExportFormat;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.DeckRepository.DeckNameView;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.exception.DeckNotFoundException;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.exception.InvalidRequestException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Deck Export Controller Tests")
+class DeckExportControllerTest {
+
+	@Mock
+	private DeckExportService deckExportService;
+
+	@InjectMocks
+	private DeckExportController deckExportController;
+
+	@Test
+	@DisplayName("Should stream one deck as an MTGO attachment")
+	void shouldStreamDeckExport() throws Exception {
+		// Given
+		final DeckNameView deck = deck(1L, "Burn");
+		when(this.deckExportService.findDecks(List.of(1L))).thenReturn(List.of(deck));
+		when(this.deckExportService.fileName(deck, DeckExportFormat.MTGO)).thenReturn("1-burn.dek");
+
+		// When
+		final ResponseEntity<StreamingResponseBody> response = this.deckExportController.exportDeck(1, "mtgo");
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		response.getBody().writeTo(out);
+
+		// Then
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(response.getHeaders().getContentType().isCompatibleWith(MediaType.APPLICATION_XML)).isTrue();
+		assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_DISPOSITION)).contains("1-burn.dek");
+		verify(this.deckExportService).exportDeck(deck, DeckExportFormat.MTGO, out);
+	}
+
+	@Test
+	@DisplayName("Should fail before streaming when the deck does not exist")
+	void shouldFailBeforeStreaming_WhenDeckNotFound() {
+		// Given
+		when(this.deckExportService.findDecks(List.of(999L))).thenThrow(new DeckNotFoundException(999L));
+
+		// When & Then
+		assertThatThrownBy(() -> this.deckExportController.exportDeck(999, null))
+				.isInstanceOf(DeckNotFoundException.class);
+	}
+
+	@Test
+	@DisplayName("Should reject bulk exports without exactly one selector or with an unknown format")
+	void shouldRejectInvalidBulkExport() throws Exception {
+		// When & Then
+		assertThatThrownBy(() -> this.deckExportController.exportDecks(null, null, "text"))
+				.isInstanceOf(InvalidRequestException.class);
+		assertThatThrownBy(() -> this.deckExportController.exportDecks(List.of(1L), "Pro Tour", "text"))
+				.isInstanceOf(InvalidRequestException.class);
+		assertThatThrownBy(() -> this.deckExportController.exportDecks(List.of(1L), null, "pdf"))
+				.isInstanceOf(InvalidRequestException.class);
+		verify(this.deckExportService, never()).exportDecks(any(), any(), any());
+	}
+
+	private static DeckNameView deck(Long id, String name) {
+		return new DeckNameView() {
+			@Override
+			public Long getId() {
+				return id;
+			}
+
+			@Override
+			public String getName() {
+				return name;
+			}
+		};
+	}
+}
@@ -1,9 +1,13 @@
 package com.deckbuilder.mtgdeckbuilder.contract;
 
+import com.deckbuilder.apigenerator.openapi.api.model.DeckSummaryDTO;
 import com.deckbuilder.apigenerator.openapi.api.model.FormatDTO;
+import com.deckbuilder.mtgdeckbuilder.application.DeckService;
 import com.deckbuilder.mtgdeckbuilder.application.FormatService;
+import com.deckbuilder.mtgdeckbuilder.contract.mapper.DeckMapper;
 import com.deckbuilder.mtgdeckbuilder.contract.mapper.FormatMapper;
 import com.deckbuilder.mtgdeckbuilder.infrastructure.exception.FormatNotFoundException;
+import com.deckbuilder.mtgdeckbuilder.model.DeckSummary;
 import com.deckbuilder.mtgdeckbuilder.model.Format;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -35,6 +39,12 @@ class FormatControllerTest {
 	@Mock
 	private FormatMapper formatMapper;
 
+	@Mock
+	private DeckService deckService;
+
+	@Mock
+	private DeckMapper deckMapper;
+
 	@InjectMocks
 	private FormatController formatController;
 
@@ -176,4 +186,21 @@ class FormatControllerTest {
 
 		verify(this.formatService).deleteById(999L);
 	}
+
+	@Test
+	@DisplayName("Should list one keyset page of a format's decks")
+	void shouldListFormatDecks() {
+		// Given
+		final List<DeckSummary> decks = List.of(DeckSummary.builder().id(11L).name("Burn").formatId(1L).build());
+		final List<DeckSummaryDTO> deckDTOs = List.of(DeckSummaryDTO.builder().id(11).deck_name("Burn").build());
+		when(this.deckService.findByFormat(1L, 10L, 100)).thenReturn(decks);
+		when(this.deckMapper.toDeckSummaryDTOs(decks)).thenReturn(deckDTOs);
+
+		// When
+		final ResponseEntity<List<DeckSummaryDTO>> response = this.formatController.listFormatDecks(1, 10, null);
+
+		// Then
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(response.getBody()).isEqualTo(deckDTOs);
+	}
 }
@@ -0,0 +1,86 @@
+package com.deckbuilder.mtgdeckbuilder.infrastructure;
+
+import com.deckbuilder.mtgdeckbuilder.infrastructure.model.CardCooccurrenceEntity;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * The batch writes commit in their own transaction, so these tests run without a surrounding one and delete the
+ * committed rows afterwards.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Card Co-occurrence Repository Tests")
+class CardCooccurrenceRepositoryTest {
+
+    private static final LocalDateTime UPDATED = LocalDateTime.of(2026, 1, 1, 12, 0);
+
+    @Autowired
+    private CardCooccurrenceRepository cardCooccurrenceRepository;
+
+    @AfterEach
+    void tearDown() {
+        cardCooccurrenceRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should update stored rows, insert new ones and delete emptied ones")
+    void shouldWriteChangedRows() {
+        // Given
+        cardCooccurrenceRepository.saveAll(List.of(row(1L, 2, new byte[]{1}), row(2L, 5, new byte[]{2})));
+
+        // When
+        cardCooccurrenceRepository.writeRows(List.of(row(1L, 3, new byte[]{1, 4}), row(3L, 1, new byte[]{3})),
+            Set.of(2L), false);
+
+        // Then
+        assertThat(cardCooccurrenceRepository.findAll())
+            .extracting(CardCooccurrenceEntity::getCardId, CardCooccurrenceEntity::getDecks,
+                CardCooccurrenceEntity::getPayload)
+            .containsExactlyInAnyOrder(
+                tuple(1L, 3, new byte[]{1, 4}),
+                tuple(3L, 1, new byte[]{3}));
+    }
+
+    @Test
+    @DisplayName("Should replace every stored row when rewriting all")
+    void shouldRewriteAllRows() {
+        // Given
+        cardCooccurrenceRepository.saveAll(List.of(row(1L, 2, new byte[]{1}), row(2L, 5, new byte[]{2})));
+
+        // When
+        cardCooccurrenceRepository.writeRows(List.of(row(2L, 6, new byte[]{2, 1}), row(3L, 1, new byte[]{3})),
+            Set.of(), true);
+
+        // Then
+        assertThat(cardCooccurrenceRepository.findAll())
+            .extracting(CardCooccurrenceEntity::getCardId, CardCooccurrenceEntity::getDecks)
+            .containsExactlyInAnyOrder(
+                tuple(2L, 6),
+                tuple(3L, 1));
+    }
+
+    private static CardCooccurrenceEntity row(Long cardId, int decks, byte[] payload) {
+        return CardCooccurrenceEntity.builder()
+            .cardId(cardId)
+            .decks(decks)
+            .neighbors(payload.length)
+            .payload(payload)
+            .updated(UPDATED)
+            .build();
+    }
+}
@@ -1,5 +1,6 @@
 package com.deckbuilder.mtgdeckbuilder.infrastructure;
 
+import com.deckbuilder.mtgdeckbuilder.infrastructure.CardLegalityRepositoryCustom.StatusChange;
 import com.deckbuilder.mtgdeckbuilder.infrastructure.model.CardEntity;
 import com.deckbuilder.mtgdeckbuilder.infrastructure.model.CardLegalityEntity;
 import com.deckbuilder.mtgdeckbuilder.infrastructure.model.FormatEntity;
@@ -11,6 +12,7 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -217,4 +219,68 @@ class CardLegalityRepositoryTest {
         assertThat(isBannedInStandard).isFalse();
         assertThat(isBannedInCommander).isTrue();
     }
+
+    @Test
+    @DisplayName("Should keep the status a list replaced and give it back when the card leaves the lists")
+    void shouldKeepAndRestoreStatusBeforeList() {
+        // Given
+        CardLegalityEntity legality = new CardLegalityEntity();
+        legality.setCardId(testCard.getId());
+        legality.setFormatId(standardFormat.getId());
+        legality.setLegalityStatus("not_legal");
+        entityManager.persist(legality);
+        entityManager.flush();
+
+        // When - banned, then moved to the restricted list, then dropped from both
+        int banned = cardLegalityRepository.upsertListStatuses(standardFormat.getId(),
+            List.of(new StatusChange(testCard.getId(), "banned")));
+        int restricted = cardLegalityRepository.upsertListStatuses(standardFormat.getId(),
+            List.of(new StatusChange(testCard.getId(), "restricted")));
+        entityManager.clear();
+        CardLegalityEntity listed = cardLegalityRepository
+            .findByCardIdAndFormatId(testCard.getId(), standardFormat.getId()).orElseThrow();
+        int restored = cardLegalityRepository.restoreUnlistedStatuses(standardFormat.getId(),
+            List.of(testCard.getId()));
+        entityManager.clear();
+
+        // Then
+        assertThat(banned).isEqualTo(1);
+        assertThat(restricted).isEqualTo(1);
+        assertThat(listed.getLegalityStatus()).isEqualTo("restricted");
+        assertThat(listed.isSetByList()).isTrue();
+        assertThat(listed.getStatusBeforeList()).isEqualTo("not_legal");
+        assertThat(restored).isEqualTo(1);
+        assertThat(cardLegalityRepository.findByCardIdAndFormatId(testCard.getId(), standardFormat.getId()))
+            .get()
+            .satisfies(row -> {
+                assertThat(row.getLegalityStatus()).isEqualTo("not_legal");
+                assertThat(row.isSetByList()).isFalse();
+                assertThat(row.getStatusBeforeList()).isNull();
+            });
+    }
+
+    @Test
+    @DisplayName("Should insert a row for a listed card without one and delete it when the card leaves the lists")
+    void shouldInsertAndDeleteListOwnedRow() {
+        // When
+        int written = cardLegalityRepository.upsertListStatuses(commanderFormat.getId(),
+            List.of(new StatusChange(testCard.getId(), "banned")));
+        entityManager.clear();
+        Optional<CardLegalityEntity> inserted = cardLegalityRepository
+            .findByCardIdAndFormatId(testCard.getId(), commanderFormat.getId());
+        int restored = cardLegalityRepository.restoreUnlistedStatuses(commanderFormat.getId(),
+            List.of(testCard.getId()));
+        entityManager.clear();
+
+        // Then
+        assertThat(written).isEqualTo(1);
+        assertThat(inserted).get().satisfies(row -> {
+            assertThat(row.getLegalityStatus()).isEqualTo("banned");
+            assertThat(row.isSetByList()).isTrue();
+            assertThat(row.getStatusBeforeList()).isNull();
+        });
+        assertThat(restored).isEqualTo(1);
+        assertThat(cardLegalityRepository.findByCardIdAndFormatId(testCard.getId(), commanderFormat.getId()))
+            .isEmpty();
+    }
 }
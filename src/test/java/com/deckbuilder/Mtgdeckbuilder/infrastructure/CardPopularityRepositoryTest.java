@@ -0,0 +1,74 @@
+package com.deckbuilder.mtgdeckbuilder.infrastructure;
+
+import com.deckbuilder.mtgdeckbuilder.infrastructure.CardPopularityRepositoryCustom.DeckCount;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.CardPopularityRepositoryCustom.Increment;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.model.CardPopularityEntity;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.model.CardPopularityId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The batch writes commit in their own transaction, so these tests run without a surrounding one and delete the
+ * committed rows afterwards.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Card Popularity Repository Tests")
+class CardPopularityRepositoryTest {
+
+    private static final long FORMAT_ID = 1L;
+
+    @Autowired
+    private CardPopularityRepository cardPopularityRepository;
+
+    @AfterEach
+    void tearDown() {
+        cardPopularityRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should add to existing counts and insert pairs seen for the first time")
+    void shouldAddDecks() {
+        // Given
+        cardPopularityRepository.save(new CardPopularityEntity(10L, FORMAT_ID, 3));
+
+        // When
+        cardPopularityRepository.addDecks(List.of(new Increment(10L, FORMAT_ID, -1), new Increment(11L, FORMAT_ID, 2)));
+
+        // Then
+        assertThat(decks(10L)).isEqualTo(2);
+        assertThat(decks(11L)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should overwrite existing counts and insert missing ones")
+    void shouldSetDecks() {
+        // Given
+        cardPopularityRepository.save(new CardPopularityEntity(10L, FORMAT_ID, 3));
+
+        // When
+        cardPopularityRepository.setDecks(List.of(new DeckCount(10L, FORMAT_ID, 7), new DeckCount(11L, FORMAT_ID, 4)));
+
+        // Then
+        assertThat(decks(10L)).isEqualTo(7);
+        assertThat(decks(11L)).isEqualTo(4);
+        assertThat(cardPopularityRepository.count()).isEqualTo(2);
+    }
+
+    private int decks(Long cardId) {
+        return cardPopularityRepository.findById(new CardPopularityId(cardId, FORMAT_ID))
+            .orElseThrow()
+            .getDecks();
+    }
+}
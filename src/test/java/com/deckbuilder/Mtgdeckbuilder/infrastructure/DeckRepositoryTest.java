@@ -1,5 +1,6 @@
 package com.deckbuilder.mtgdeckbuilder.infrastructure;
 
+import com.deckbuilder.mtgdeckbuilder.infrastructure.DeckRepository.DeckSummaryView;
 import com.deckbuilder.mtgdeckbuilder.infrastructure.model.DeckEntity;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -19,6 +20,7 @@ import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -121,24 +123,21 @@ class DeckRepositoryTest {
 	}
 
 	@Test
-	@DisplayName("Should find decks by format ID")
-	void shouldFindDecksByFormatId() {
+	@DisplayName("Should find a page of deck summaries by format ID after a deck ID")
+	void shouldFindDeckSummariesByFormatId() {
 		// Given
-		final DeckEntity deck2 = new DeckEntity();
-		deck2.setId(2L);
-		deck2.setName("Standard Deck");
-		deck2.setFormatId(1L);
-
-		final List<DeckEntity> decks = Arrays.asList(this.testDeckEntity, deck2);
-		when(this.deckRepository.findByFormatId(1L)).thenReturn(decks);
+		final DeckSummaryView deck = mock(DeckSummaryView.class);
+		when(deck.getFormatId()).thenReturn(1L);
+		final Pageable limit = PageRequest.of(0, 2);
+		when(this.deckRepository.findSummariesByFormatAfter(1L, 5L, limit)).thenReturn(List.of(deck));
 
 		// When
-		final List<DeckEntity> result = this.deckRepository.findByFormatId(1L);
+		final List<DeckSummaryView> result = this.deckRepository.findSummariesByFormatAfter(1L, 5L, limit);
 
 		// Then
-		assertThat(result).hasSize(2);
-		assertThat(result).allMatch(deck -> deck.getFormatId().equals(1L));
-		verify(this.deckRepository).findByFormatId(1L);
+		assertThat(result).hasSize(1);
+		assertThat(result).allMatch(summary -> summary.getFormatId().equals(1L));
+		verify(this.deckRepository).findSummariesByFormatAfter(1L, 5L, limit);
 	}
 
 	@Test
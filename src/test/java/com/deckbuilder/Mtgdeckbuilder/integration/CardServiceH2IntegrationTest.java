@@ -0,0 +1,162 @@
+package com.deckbuilder.mtgdeckbuilder.integration;
+
+import com.deckbuilder.mtgdeckbuilder.application.CardService;
+import com.deckbuilder.mtgdeckbuilder.application.rules.FormatRules;
+import com.deckbuilder.mtgdeckbuilder.application.rules.FormatRulesCache;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.CardLegalityRepository;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.CardRepository;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.FormatRepository;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.model.CardEntity;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.model.CardLegalityEntity;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.model.FormatEntity;
+import com.deckbuilder.mtgdeckbuilder.model.Card;
+import com.deckbuilder.mtgdeckbuilder.model.CardColor;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Card service against H2, counting the statements Hibernate actually runs
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("Card Service Integration Tests with H2")
+class CardServiceH2IntegrationTest {
+
+    private static final int CARDS = 40;
+
+    @Autowired
+    private CardService cardService;
+
+    @Autowired
+    private CardRepository cardRepository;
+
+    @Autowired
+    private FormatRepository formatRepository;
+
+    @Autowired
+    private CardLegalityRepository cardLegalityRepository;
+
+    @Autowired
+    private FormatRulesCache formatRulesCache;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    @DisplayName("Should stream a format with a constant number of statements, whatever its size")
+    void shouldStreamFormatWithConstantStatementCount() {
+        // Given - 40 legal printings with every collection filled, half of them reprints of one parent card
+        FormatEntity format = formatRepository.save(FormatEntity.builder()
+            .name("Standard")
+            .description("Standard format")
+            .minDeckSize(60)
+            .maxDeckSize(60)
+            .maxSideboardSize(15)
+            .build());
+        CardEntity parent = cardRepository.save(card("Lightning Bolt", null));
+        for (int i = 0; i < CARDS; i++) {
+            CardEntity printing = cardRepository.save(card("Lightning Bolt", i % 2 == 0 ? parent.getId() : null));
+            CardLegalityEntity legality = new CardLegalityEntity();
+            legality.setCardId(printing.getId());
+            legality.setFormatId(format.getId());
+            legality.setLegalityStatus("legal");
+            cardLegalityRepository.save(legality);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        // When
+        List<Card> cards = new ArrayList<>();
+        try {
+            cardService.streamByFormat(format.getId(), cards::add);
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+
+        // Then - the cursor, one parent lookup and one query per collection, instead of six per card
+        assertThat(cards).hasSize(CARDS);
+        assertThat(cards).filteredOn(card -> card.getId().equals(parent.getId())).hasSize(CARDS / 2);
+        assertThat(cards).allSatisfy(card -> {
+            assertThat(card.getColors()).containsExactly("R");
+            assertThat(card.getKeywords()).containsExactly("Instant speed");
+        });
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(8);
+    }
+
+    @Test
+    @DisplayName("Should evict only the cached rules of formats listing a written card's name")
+    void shouldEvictOnlyFormatsListingWrittenCard() {
+        // Given - one format bans the card under a differently spaced and cased name, the other lists nothing
+        FormatEntity listing = formatRepository.save(FormatEntity.builder()
+            .name("Modern")
+            .minDeckSize(60)
+            .maxDeckSize(60)
+            .maxSideboardSize(15)
+            .bannedCards(new ArrayList<>(List.of(" lightning BOLT ")))
+            .restrictedCards(new ArrayList<>())
+            .build());
+        FormatEntity unlisted = formatRepository.save(FormatEntity.builder()
+            .name("Pauper")
+            .minDeckSize(60)
+            .maxDeckSize(60)
+            .maxSideboardSize(15)
+            .bannedCards(new ArrayList<>())
+            .restrictedCards(new ArrayList<>())
+            .build());
+        FormatRules listingRules = formatRulesCache.get(listing.getId()).orElseThrow();
+        FormatRules unlistedRules = formatRulesCache.get(unlisted.getId()).orElseThrow();
+        CardEntity printing = cardRepository.save(card("Lightning Bolt", null));
+        entityManager.flush();
+
+        // When
+        formatRulesCache.invalidateCardNames(List.of(printing.getName()));
+
+        // Then
+        assertThat(formatRulesCache.get(listing.getId())).get()
+            .isNotSameAs(listingRules)
+            .satisfies(rules -> assertThat(rules.isBannedCard(printing.getId())).isTrue());
+        assertThat(formatRulesCache.get(unlisted.getId())).get().isSameAs(unlistedRules);
+    }
+
+    private static CardEntity card(String name, Long parentCardId) {
+        CardEntity card = new CardEntity();
+        card.setName(name);
+        card.setManaCost("{R}");
+        card.setCmc(1);
+        card.setColorIdentity("R");
+        card.setTypeLine("Instant");
+        card.setCardType("Instant");
+        card.setRarity("common");
+        card.setCardText("Deal 3 damage to any target.");
+        card.setImageUrl("http://example.com/lightning-bolt.jpg");
+        card.setLanguage("en");
+        card.setUnlimitedCopies(false);
+        card.setFoil(false);
+        card.setGameChanger(false);
+        card.setParentCardId(parentCardId);
+        card.setColors(new ArrayList<>(List.of(CardColor.R)));
+        card.setColorIdentityColors(new ArrayList<>(List.of(CardColor.R)));
+        card.setTypes(new ArrayList<>(List.of("Instant")));
+        card.setSupertypes(new ArrayList<>());
+        card.setKeywords(new ArrayList<>(List.of("Instant speed")));
+        card.setSubtypes(new ArrayList<>());
+        return card;
+    }
+}
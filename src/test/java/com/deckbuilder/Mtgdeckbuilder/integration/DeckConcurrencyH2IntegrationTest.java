@@ -0,0 +1,168 @@
+package com.deckbuilder.mtgdeckbuilder.integration;
+
+import com.deckbuilder.mtgdeckbuilder.application.DeckService;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.CardInDeckRepository;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.CardRepository;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.DeckRepository;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.FormatRepository;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.UserRepository;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.exception.InvalidDeckCompositionException;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.model.CardEntity;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.model.CardInDeckEntity;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.model.FormatEntity;
+import com.deckbuilder.mtgdeckbuilder.infrastructure.model.UserEntity;
+import com.deckbuilder.mtgdeckbuilder.model.Deck;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Stress test for simultaneous edits of one deck. Runs without a surrounding test transaction so every
+ * writer commits on its own, and cleans up the committed rows afterwards.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Deck Concurrency Integration Tests with H2")
+class DeckConcurrencyH2IntegrationTest {
+
+    private static final int WRITERS = 200;
+    private static final int THREADS = 8;
+    private static final int MAX_DECK_SIZE = 100;
+
+    @Autowired
+    private DeckService deckService;
+
+    @Autowired
+    private DeckRepository deckRepository;
+
+    @Autowired
+    private CardRepository cardRepository;
+
+    @Autowired
+    private FormatRepository formatRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CardInDeckRepository cardInDeckRepository;
+
+    private UserEntity testUser;
+    private FormatEntity testFormat;
+    private CardEntity basicLand;
+    private Long deckId;
+
+    @BeforeEach
+    void setUp() {
+        testUser = new UserEntity();
+        testUser.setUsername("concurrentuser");
+        testUser.setEmail("concurrent@example.com");
+        testUser.setName("Concurrent User");
+        testUser.setHashedPassword("hashedpassword123");
+        testUser.setCountry("US");
+        testUser.setRegistrationDate(LocalDateTime.now());
+        testUser = userRepository.save(testUser);
+
+        testFormat = formatRepository.save(FormatEntity.builder()
+                .name("Concurrency Format")
+                .description("Format with a small main deck limit")
+                .minDeckSize(MAX_DECK_SIZE)
+                .maxDeckSize(MAX_DECK_SIZE)
+                .maxSideboardSize(15)
+                .build());
+
+        basicLand = new CardEntity();
+        basicLand.setName("Mountain");
+        basicLand.setManaCost("");
+        basicLand.setCmc(0);
+        basicLand.setColorIdentity("R");
+        basicLand.setTypeLine("Basic Land — Mountain");
+        basicLand.setCardType("Land");
+        basicLand.setCardSupertype("Basic");
+        basicLand.setRarity("common");
+        basicLand.setCardText("({T}: Add {R}.)");
+        basicLand.setImageUrl("http://example.com/mountain.jpg");
+        basicLand.setLanguage("en");
+        basicLand.setCollectorNumber("999");
+        basicLand.setUnlimitedCopies(true);
+        basicLand.setFoil(false);
+        basicLand.setGameChanger(false);
+        basicLand.setPromo(false);
+        basicLand.setVariation(false);
+        basicLand = cardRepository.save(basicLand);
+
+        deckId = deckService.create(Deck.builder()
+                .name("Contended Deck")
+                .userId(testUser.getId())
+                .formatId(testFormat.getId())
+                .isPrivate(false)
+                .build()).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        cardInDeckRepository.deleteAll(cardInDeckRepository.findByDeckId(deckId));
+        deckRepository.deleteById(deckId);
+        cardRepository.deleteById(basicLand.getId());
+        formatRepository.deleteById(testFormat.getId());
+        userRepository.deleteById(testUser.getId());
+    }
+
+    @Test
+    @DisplayName("Should neither lose increments nor overflow the deck under concurrent writers")
+    void shouldKeepTotalsCorrectUnderConcurrentWriters() throws Exception {
+        // Given
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger accepted = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        // When - twice as many single-copy additions as the main deck can hold race for the same row
+        try {
+            for (int i = 0; i < WRITERS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        deckService.addCard(deckId, basicLand.getId(), 1, "main");
+                        accepted.incrementAndGet();
+                    } catch (InvalidDeckCompositionException e) {
+                        rejected.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Then - every accepted increment is stored and the limit held
+        assertThat(accepted.get()).isEqualTo(MAX_DECK_SIZE);
+        assertThat(rejected.get()).isEqualTo(WRITERS - MAX_DECK_SIZE);
+
+        List<CardInDeckEntity> rows = cardInDeckRepository.findByDeckId(deckId);
+        assertThat(rows).singleElement().satisfies(row -> assertThat(row.getQuantity()).isEqualTo(MAX_DECK_SIZE));
+        assertThat(deckRepository.findSectionCountsById(deckId).orElseThrow().getMain()).isEqualTo(MAX_DECK_SIZE);
+        assertThat(deckRepository.findIdsWithDriftedSectionCounts()).doesNotContain(deckId);
+    }
+}
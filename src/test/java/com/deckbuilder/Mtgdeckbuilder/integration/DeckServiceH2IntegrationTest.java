@@ -1,6 +1,10 @@
 package com.deckbuilder.mtgdeckbuilder.integration;
 
+import com.deckbuilder.mtgdeckbuilder.application.DeckExportService;
+import com.deckbuilder.mtgdeckbuilder.application.DeckHistoryService;
 import com.deckbuilder.mtgdeckbuilder.application.DeckService;
+import com.deckbuilder.mtgdeckbuilder.application.export.DeckExportFormat;
+import com.deckbuilder.mtgdeckbuilder.application.job.DeckCounterReconciliationJob;
 import com.deckbuilder.mtgdeckbuilder.infrastructure.CardInDeckRepository;
 import com.deckbuilder.mtgdeckbuilder.infrastructure.CardRepository;
 import com.deckbuilder.mtgdeckbuilder.infrastructure.DeckRepository;
@@ -12,6 +16,10 @@ import com.deckbuilder.mtgdeckbuilder.infrastructure.model.DeckEntity;
 import com.deckbuilder.mtgdeckbuilder.infrastructure.model.FormatEntity;
 import com.deckbuilder.mtgdeckbuilder.infrastructure.model.UserEntity;
 import com.deckbuilder.mtgdeckbuilder.model.Deck;
+import com.deckbuilder.mtgdeckbuilder.model.DeckDelta;
+import com.deckbuilder.mtgdeckbuilder.model.DeckDiff;
+import com.deckbuilder.mtgdeckbuilder.model.DeckRevision;
+import com.deckbuilder.mtgdeckbuilder.model.DeckSummary;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -20,8 +28,14 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -53,6 +67,15 @@ class DeckServiceH2IntegrationTest {
     @Autowired
     private CardInDeckRepository cardInDeckRepository;
 
+    @Autowired
+    private DeckCounterReconciliationJob deckCounterReconciliationJob;
+
+    @Autowired
+    private DeckExportService deckExportService;
+
+    @Autowired
+    private DeckHistoryService deckHistoryService;
+
     private UserEntity testUser;
     private FormatEntity standardFormat;
     private CardEntity testCard;
@@ -150,11 +173,12 @@ class DeckServiceH2IntegrationTest {
         deck = deckService.create(deck);
 
         // When - Add cards to the deck
-        Deck updatedDeck = deckService.addCard(deck.getId(), testCard.getId(), 4, "main");
+        DeckDelta delta = deckService.addCard(deck.getId(), testCard.getId(), 4, "main");
 
         // Then
-        assertThat(updatedDeck).isNotNull();
-        assertThat(updatedDeck.getId()).isEqualTo(deck.getId());
+        assertThat(delta).isNotNull();
+        assertThat(delta.getDeckId()).isEqualTo(deck.getId());
+        assertThat(delta.getSectionTotals()).containsEntry("main", 4).containsEntry("sideboard", 0);
 
         // Verify the card was added to the deck via repository
         List<CardInDeckEntity> cardsInDeck = cardInDeckRepository.findByDeckId(deck.getId());
@@ -184,11 +208,12 @@ class DeckServiceH2IntegrationTest {
         deckService.addCard(deck.getId(), testCard.getId(), 4, "main");
 
         // When - Remove 2 cards from the deck
-        Deck updatedDeck = deckService.removeCard(deck.getId(), testCard.getId(), 2, "main");
+        DeckDelta delta = deckService.removeCard(deck.getId(), testCard.getId(), 2, "main");
 
         // Then
-        assertThat(updatedDeck).isNotNull();
-        assertThat(updatedDeck.getId()).isEqualTo(deck.getId());
+        assertThat(delta).isNotNull();
+        assertThat(delta.getDeckId()).isEqualTo(deck.getId());
+        assertThat(delta.getSectionTotals()).containsEntry("main", 2);
 
         // Verify the card quantity was updated
         List<CardInDeckEntity> cardsInDeck = cardInDeckRepository.findByDeckId(deck.getId());
@@ -215,10 +240,11 @@ class DeckServiceH2IntegrationTest {
         deckService.addCard(deck.getId(), testCard.getId(), 3, "main");
 
         // When - Remove all 3 cards from the deck
-        Deck updatedDeck = deckService.removeCard(deck.getId(), testCard.getId(), 3, "main");
+        DeckDelta delta = deckService.removeCard(deck.getId(), testCard.getId(), 3, "main");
 
         // Then
-        assertThat(updatedDeck).isNotNull();
+        assertThat(delta).isNotNull();
+        assertThat(delta.getChanges()).singleElement().satisfies(change -> assertThat(change.getQuantity()).isZero());
 
         // Verify the card was completely removed
         List<CardInDeckEntity> cardsInDeck = cardInDeckRepository.findByDeckId(deck.getId());
@@ -260,4 +286,208 @@ class DeckServiceH2IntegrationTest {
                 .orElseThrow();
         assertThat(sideboardCard.getQuantity()).isEqualTo(2);
     }
+
+    @Test
+    @DisplayName("Should maintain section counters and recount drifted decks")
+    void shouldMaintainSectionCountersAndRecountDriftedDecks() {
+        // Given
+        Deck deck = Deck.builder()
+                .name("Counted Deck")
+                .userId(testUser.getId())
+                .formatId(standardFormat.getId())
+                .isPrivate(false)
+                .build();
+        deck = deckService.create(deck);
+
+        deckService.addCard(deck.getId(), testCard.getId(), 4, "main");
+        deckService.addCard(deck.getId(), testCard.getId(), 2, "sideboard");
+        deckService.removeCard(deck.getId(), testCard.getId(), 1, "main");
+
+        DeckRepository.SectionCountsView counts = deckRepository.findSectionCountsById(deck.getId()).orElseThrow();
+        assertThat(counts.getMain()).isEqualTo(3);
+        assertThat(counts.getSideboard()).isEqualTo(2);
+        assertThat(counts.getMaybeboard()).isZero();
+        assertThat(deckRepository.findIdsWithDriftedSectionCounts()).doesNotContain(deck.getId());
+
+        // When - the counters drift behind the application's back
+        deckRepository.adjustSectionCounts(deck.getId(), 5, 0, 1);
+        assertThat(deckRepository.findIdsWithDriftedSectionCounts()).contains(deck.getId());
+        int recounted = deckCounterReconciliationJob.reconcile();
+
+        // Then
+        assertThat(recounted).isPositive();
+        counts = deckRepository.findSectionCountsById(deck.getId()).orElseThrow();
+        assertThat(counts.getMain()).isEqualTo(3);
+        assertThat(counts.getMaybeboard()).isZero();
+        assertThat(deckRepository.findIdsWithDriftedSectionCounts()).doesNotContain(deck.getId());
+    }
+
+    @Test
+    @DisplayName("Should export decks as text and as a zip with one file per deck")
+    void shouldExportDecks() throws Exception {
+        // Given
+        Deck burn = deckService.create(Deck.builder()
+                .name("Mono Red Burn")
+                .userId(testUser.getId())
+                .formatId(standardFormat.getId())
+                .isPrivate(false)
+                .build());
+        Deck empty = deckService.create(Deck.builder()
+                .name("Empty")
+                .userId(testUser.getId())
+                .formatId(standardFormat.getId())
+                .isPrivate(false)
+                .build());
+        deckService.addCard(burn.getId(), testCard.getId(), 4, "main");
+        deckService.addCard(burn.getId(), testCard.getId(), 2, "sideboard");
+        List<DeckRepository.DeckNameView> decks = deckExportService.findDecks(List.of(empty.getId(), burn.getId()));
+
+        // When
+        ByteArrayOutputStream text = new ByteArrayOutputStream();
+        deckExportService.exportDeck(decks.get(0), DeckExportFormat.TEXT, text);
+        ByteArrayOutputStream zip = new ByteArrayOutputStream();
+        deckExportService.exportDecks(decks, DeckExportFormat.MTGO, zip);
+
+        // Then
+        assertThat(text.toString(StandardCharsets.UTF_8)).isEqualTo(
+                "// Mono Red Burn\nDeck\n4 Lightning Bolt\n\nSideboard\n2 Lightning Bolt\n");
+
+        List<String> entries = new ArrayList<>();
+        String burnDek = null;
+        try (ZipInputStream in = new ZipInputStream(new ByteArrayInputStream(zip.toByteArray()))) {
+            for (ZipEntry entry = in.getNextEntry(); entry != null; entry = in.getNextEntry()) {
+                entries.add(entry.getName());
+                String content = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+                if (entry.getName().contains("burn")) {
+                    burnDek = content;
+                }
+            }
+        }
+        assertThat(entries).containsExactly(burn.getId() + "-mono-red-burn.dek", empty.getId() + "-empty.dek");
+        assertThat(burnDek)
+                .contains("<Cards Quantity=\"4\" Sideboard=\"false\" Name=\"Lightning Bolt\" />")
+                .contains("<Cards Quantity=\"2\" Sideboard=\"true\" Name=\"Lightning Bolt\" />")
+                .endsWith("</Deck>\n");
+    }
+
+    @Test
+    @DisplayName("Should rebuild every past revision across snapshots and diff two of them")
+    void shouldRebuildPastRevisions() {
+        // Given - 40 single-copy edits, so the history spans the snapshot at revision 33
+        Deck deck = deckService.create(Deck.builder()
+                .name("Tuned Deck")
+                .userId(testUser.getId())
+                .formatId(standardFormat.getId())
+                .isPrivate(false)
+                .build());
+        List<int[]> expected = new ArrayList<>();
+        int main = 0;
+        int sideboard = 0;
+        for (int i = 0; i < 40; i++) {
+            boolean toMain = i % 3 != 2;
+            boolean add = toMain ? main < 4 && (i / 4) % 2 == 0 || main == 0 : sideboard < 2;
+            String section = toMain ? "main" : "sideboard";
+            DeckDelta delta = add
+                    ? deckService.addCard(deck.getId(), testCard.getId(), 1, section)
+                    : deckService.removeCard(deck.getId(), testCard.getId(), 1, section);
+            if (toMain) {
+                main += add ? 1 : -1;
+            } else {
+                sideboard += add ? 1 : -1;
+            }
+            assertThat(delta.getRevision()).isEqualTo(i + 1L);
+            expected.add(new int[] {main, sideboard});
+        }
+
+        // When & Then - every revision matches the quantities the deck had at that point
+        for (int revision = 1; revision <= 40; revision++) {
+            DeckRevision rebuilt = deckHistoryService.getRevision(deck.getId(), revision);
+            int[] quantities = expected.get(revision - 1);
+            assertThat(quantityIn(rebuilt, "main")).as("main at revision %d", revision).isEqualTo(quantities[0]);
+            assertThat(quantityIn(rebuilt, "sideboard")).as("sideboard at revision %d", revision)
+                    .isEqualTo(quantities[1]);
+        }
+
+        DeckDiff diff = deckHistoryService.diff(deck.getId(), 1, 40);
+        assertThat(diff.getChanges()).hasSize(1).allSatisfy(change -> {
+            int[] first = expected.get(0);
+            int[] last = expected.get(39);
+            int index = "main".equals(change.getSection()) ? 0 : 1;
+            assertThat(change.getPreviousQuantity()).isEqualTo(first[index]);
+            assertThat(change.getQuantity()).isEqualTo(last[index]);
+        });
+    }
+
+    @Test
+    @DisplayName("Should fork a deck with its cards, counters and a first snapshot")
+    void shouldForkDeck() {
+        // Given
+        Deck source = deckService.create(Deck.builder()
+                .name("Source Deck")
+                .userId(testUser.getId())
+                .formatId(standardFormat.getId())
+                .isPrivate(false)
+                .build());
+        deckService.addCard(source.getId(), testCard.getId(), 4, "main");
+        deckService.addCard(source.getId(), testCard.getId(), 2, "sideboard");
+
+        // When
+        Deck fork = deckService.fork(source.getId(), Deck.builder().name("Forked Deck").isPrivate(true).build());
+
+        // Then
+        assertThat(fork.getId()).isNotEqualTo(source.getId());
+        assertThat(fork.getName()).isEqualTo("Forked Deck");
+        assertThat(fork.getIsPrivate()).isTrue();
+        assertThat(fork.getParentDeckId()).isEqualTo(source.getId());
+        assertThat(cardInDeckRepository.findByDeckId(fork.getId())).hasSize(2);
+
+        var counts = deckRepository.findSectionCountsById(fork.getId()).orElseThrow();
+        assertThat(counts.getMain()).isEqualTo(4);
+        assertThat(counts.getSideboard()).isEqualTo(2);
+
+        DeckRevision first = deckHistoryService.getRevision(fork.getId(), 1);
+        assertThat(quantityIn(first, "main")).isEqualTo(4);
+        assertThat(quantityIn(first, "sideboard")).isEqualTo(2);
+        assertThat(deckService.addCard(fork.getId(), testCard.getId(), 1, "sideboard").getRevision()).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("Should page and stream a format's decks by id without loading cards")
+    void shouldPageAndStreamDecksByFormat() {
+        // Given
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ids.add(deckService.create(Deck.builder()
+                    .name("Format Deck " + i)
+                    .userId(testUser.getId())
+                    .formatId(standardFormat.getId())
+                    .isPrivate(false)
+                    .build()).getId());
+        }
+        deckService.addCard(ids.get(0), testCard.getId(), 3, "main");
+
+        // When - walk the pages by passing the last id seen
+        List<Long> paged = new ArrayList<>();
+        List<DeckSummary> page = deckService.findByFormat(standardFormat.getId(), 0L, 2);
+        while (!page.isEmpty()) {
+            assertThat(page).hasSizeLessThanOrEqualTo(2);
+            page.forEach(deck -> paged.add(deck.getId()));
+            page = deckService.findByFormat(standardFormat.getId(), page.get(page.size() - 1).getId(), 2);
+        }
+        List<DeckSummary> streamed = new ArrayList<>();
+        deckService.streamByFormat(standardFormat.getId(), streamed::add);
+
+        // Then
+        assertThat(paged).containsExactlyElementsOf(ids);
+        assertThat(streamed).extracting(DeckSummary::getId).containsExactlyElementsOf(ids);
+        assertThat(streamed.get(0).getMainCount()).isEqualTo(3);
+        assertThat(streamed.get(0).getName()).isEqualTo("Format Deck 0");
+    }
+
+    private static int quantityIn(DeckRevision revision, String section) {
+        return revision.getCards().stream()
+                .filter(card -> section.equals(card.getSection()))
+                .mapToInt(Deck.CardInDeck::getQuantity)
+                .sum();
+    }
 }